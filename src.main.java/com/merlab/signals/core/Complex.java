@@ -28,6 +28,26 @@ public class Complex {
     public double abs() { 
     	return Math.hypot(re, im); 
     }
+
+    public Complex div(Complex o) {
+        double d = o.re * o.re + o.im * o.im;
+        return new Complex((re * o.re + im * o.im) / d, (im * o.re - re * o.im) / d);
+    }
+
+    public Complex scale(double k) {
+        return new Complex(re * k, im * k);
+    }
+
+    public Complex conj() {
+        return new Complex(re, -im);
+    }
+
+    /** Raíz cuadrada principal */
+    public Complex sqrt() {
+        double r = Math.sqrt(abs());
+        double theta = Math.atan2(im, re) / 2;
+        return new Complex(r * Math.cos(theta), r * Math.sin(theta));
+    }
     
     @Override
     public boolean equals(Object o) {
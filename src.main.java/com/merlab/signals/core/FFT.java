@@ -0,0 +1,437 @@
+package com.merlab.signals.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * FFT radix-2 iterativa y en sitio sobre arrays separados (re, im).
+ * Las tablas de twiddles y de inversión de bits se calculan una vez por
+ * tamaño y se reutilizan en todas las llamadas (ver {@link #plan(int)}).
+ * Las longitudes que no son potencia de dos se resuelven con el algoritmo
+ * de Bluestein (chirp-z) sobre una FFT radix-2 de tamaño ≥ 2n-1, y las
+ * señales reales se empaquetan en una transformada compleja de n/2 puntos
+ * ({@link #realForward(double[], double[], double[])}).
+ */
+public final class FFT {
+
+    /** Máximo de planes Bluestein / reales guardados (tamaños arbitrarios). */
+    private static final int MAX_CACHED_PLANS = 32;
+
+    private static final Map<Integer, Plan> PLANS = new ConcurrentHashMap<>();
+    private static final Map<Integer, BluesteinPlan> BLUESTEIN_PLANS = lruCache();
+    private static final Map<Integer, double[][]> REAL_TWIDDLES = lruCache();
+
+    private FFT() {
+    }
+
+    /** Comprueba si n es potencia de dos */
+    public static boolean isPowerOfTwo(int n) {
+        return n > 0 && (n & (n - 1)) == 0;
+    }
+
+    /**
+     * Devuelve el plan (tablas precalculadas) para transformadas de tamaño n.
+     * Los planes son inmutables y seguros entre hilos.
+     *
+     * @param n longitud de la transformada, potencia de dos
+     */
+    public static Plan plan(int n) {
+        if (!isPowerOfTwo(n)) {
+            throw new IllegalArgumentException("FFT requiere longitud potencia de dos, got " + n);
+        }
+        return PLANS.computeIfAbsent(n, Plan::new);
+    }
+
+    /**
+     * FFT directa en sitio: X[k] = Σ x[j]·e^{-2πijk/n}, para cualquier n ≥ 1.
+     * Radix-2 si n es potencia de dos; Bluestein en otro caso.
+     */
+    public static void forward(double[] re, double[] im) {
+        checkLengths(re, im);
+        int n = re.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("FFT de longitud 0");
+        }
+        if (isPowerOfTwo(n)) {
+            plan(n).forward(re, im);
+        } else {
+            bluesteinPlan(n).forward(re, im);
+        }
+    }
+
+    /**
+     * FFT inversa en sitio, normalizada por 1/n (inverse(forward(x)) == x),
+     * para cualquier n ≥ 1.
+     */
+    public static void inverse(double[] re, double[] im) {
+        checkLengths(re, im);
+        int n = re.length;
+        if (isPowerOfTwo(n)) {
+            plan(n).inverse(re, im);
+            return;
+        }
+        // x = conj(FFT(conj(X))) / n
+        for (int i = 0; i < n; i++) im[i] = -im[i];
+        forward(re, im);
+        double scale = 1.0 / n;
+        for (int i = 0; i < n; i++) {
+            re[i] *= scale;
+            im[i] = -im[i] * scale;
+        }
+    }
+
+    /**
+     * FFT de una señal real. Devuelve los n/2+1 bins no redundantes
+     * (X[n-k] = conj(X[k]) para el resto). Para n par las muestras se
+     * empaquetan como z[j] = x[2j] + i·x[2j+1] y se resuelve una sola
+     * transformada compleja de n/2 puntos.
+     *
+     * @param x  muestras reales (no se modifican)
+     * @param re salida, parte real, longitud n/2+1
+     * @param im salida, parte imaginaria, longitud n/2+1
+     */
+    public static void realForward(double[] x, double[] re, double[] im) {
+        RealPlan plan = realPlan(x.length);
+        realForward(plan, x, re, im, plan.newScratch());
+    }
+
+    /**
+     * Igual que {@link #realForward(double[], double[], double[])}, con el
+     * plan ya resuelto y buffers de trabajo del llamador: no reserva memoria
+     * ni consulta las cachés de planes. Para transformar muchas tramas del
+     * mismo tamaño (STFT, Welch) se resuelve el plan una vez y cada hilo usa
+     * su propio {@code scratch}.
+     *
+     * @param plan    plan de {@link #realPlan(int)}, de tamaño x.length
+     * @param x       muestras reales (no se modifican)
+     * @param re      salida, parte real, longitud n/2+1
+     * @param im      salida, parte imaginaria, longitud n/2+1
+     * @param scratch buffers de {@link RealPlan#newScratch()}; no se comparten entre hilos
+     */
+    public static void realForward(RealPlan plan, double[] x, double[] re, double[] im,
+                                   RealPlan.Scratch scratch) {
+        int n = plan.n;
+        int bins = n / 2 + 1;
+        if (x.length != n) {
+            throw new IllegalArgumentException("El plan es de tamaño " + n + ", got " + x.length);
+        }
+        if (re.length != bins || im.length != bins) {
+            throw new IllegalArgumentException(
+                "La salida de realForward debe tener longitud " + bins);
+        }
+        double[] zr = scratch.zr, zi = scratch.zi;
+        if ((n & 1) == 1) {
+            // n impar: transformada compleja completa y nos quedamos con la mitad
+            System.arraycopy(x, 0, zr, 0, n);
+            Arrays.fill(zi, 0.0);
+            plan.complexForward(zr, zi, scratch);
+            System.arraycopy(zr, 0, re, 0, bins);
+            System.arraycopy(zi, 0, im, 0, bins);
+            return;
+        }
+        int half = n / 2;
+        for (int j = 0; j < half; j++) {
+            zr[j] = x[2 * j];
+            zi[j] = x[2 * j + 1];
+        }
+        plan.complexForward(zr, zi, scratch);
+        double[] wc = plan.wc, ws = plan.ws;
+        // DC y Nyquist son reales: X[0] = Re Z0 + Im Z0, X[n/2] = Re Z0 - Im Z0
+        re[0] = zr[0] + zi[0];
+        im[0] = 0.0;
+        re[half] = zr[0] - zi[0];
+        im[half] = 0.0;
+        for (int k = 1; k < half; k++) {
+            int a = k;
+            int b = half - k;
+            double ar = zr[a], ai = zi[a];
+            double br = zr[b], bi = -zi[b];          // conj(Z[half-k])
+            double er = 0.5 * (ar + br), ei = 0.5 * (ai + bi);   // parte par
+            double or = 0.5 * (ai - bi), oi = -0.5 * (ar - br); // parte impar: (a-b)/(2i)
+            re[k] = er + wc[k] * or - ws[k] * oi;
+            im[k] = ei + wc[k] * oi + ws[k] * or;
+        }
+    }
+
+    /**
+     * Resuelve una vez el plan de {@link #realForward} para n muestras: la
+     * transformada compleja interna (radix-2 o Bluestein) y los twiddles
+     * del desempaquetado. El plan es inmutable y seguro entre hilos.
+     */
+    public static RealPlan realPlan(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("FFT de longitud 0");
+        }
+        return new RealPlan(n);
+    }
+
+    /** Plan Bluestein (cacheado) para longitudes arbitrarias. */
+    private static BluesteinPlan bluesteinPlan(int n) {
+        BluesteinPlan p = BLUESTEIN_PLANS.get(n);
+        if (p == null) {
+            p = new BluesteinPlan(n);
+            BLUESTEIN_PLANS.put(n, p);
+        }
+        return p;
+    }
+
+    /** Twiddles e^{-2πik/n}, k = 0..n/2, para el desempaquetado real (cacheados). */
+    private static double[][] realTwiddles(int n) {
+        double[][] w = REAL_TWIDDLES.get(n);
+        if (w == null) {
+            int half = n / 2;
+            double[] c = new double[half + 1], s = new double[half + 1];
+            for (int k = 0; k <= half; k++) {
+                double angle = -2 * Math.PI * k / n;
+                c[k] = Math.cos(angle);
+                s[k] = Math.sin(angle);
+            }
+            if ((n & 3) == 0) {
+                // valor exacto en n/4 para no introducir ruido de redondeo
+                c[n / 4] = 0.0;
+                s[n / 4] = -1.0;
+            }
+            w = new double[][] {c, s};
+            REAL_TWIDDLES.put(n, w);
+        }
+        return w;
+    }
+
+    /**
+     * Plan de {@link #realForward(RealPlan, double[], double[], double[], RealPlan.Scratch)}
+     * para un tamaño n.
+     */
+    public static final class RealPlan {
+        private final int n;
+        // longitud de la transformada compleja: n/2 si n es par, n si es impar
+        private final int size;
+        private final Plan radix2;
+        private final BluesteinPlan bluestein;
+        private final double[] wc;
+        private final double[] ws;
+
+        private RealPlan(int n) {
+            this.n = n;
+            this.size = (n & 1) == 0 ? n / 2 : n;
+            this.radix2 = isPowerOfTwo(size) ? plan(size) : null;
+            this.bluestein = radix2 == null ? bluesteinPlan(size) : null;
+            if ((n & 1) == 0) {
+                double[][] w = realTwiddles(n);
+                this.wc = w[0];
+                this.ws = w[1];
+            } else {
+                this.wc = null;
+                this.ws = null;
+            }
+        }
+
+        /** Número de muestras reales */
+        public int size() {
+            return n;
+        }
+
+        /** Bins de salida: n/2 + 1 */
+        public int bins() {
+            return n / 2 + 1;
+        }
+
+        /** Buffers de trabajo para este plan (uno por hilo). */
+        public Scratch newScratch() {
+            return new Scratch(size, bluestein == null ? 0 : bluestein.m);
+        }
+
+        private void complexForward(double[] re, double[] im, Scratch scratch) {
+            if (radix2 != null) {
+                radix2.forward(re, im);
+            } else {
+                bluestein.forward(re, im, scratch.ar, scratch.ai);
+            }
+        }
+
+        /** Buffers de trabajo de un {@link RealPlan}; no se comparten entre hilos. */
+        public static final class Scratch {
+            private final double[] zr;
+            private final double[] zi;
+            private final double[] ar;
+            private final double[] ai;
+
+            private Scratch(int size, int bluesteinSize) {
+                this.zr = new double[size];
+                this.zi = new double[size];
+                this.ar = new double[bluesteinSize];
+                this.ai = new double[bluesteinSize];
+            }
+        }
+    }
+
+    /** Mapa LRU sincronizado para planes de tamaños arbitrarios. */
+    private static <V> Map<Integer, V> lruCache() {
+        return Collections.synchronizedMap(new LinkedHashMap<Integer, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, V> eldest) {
+                return size() > MAX_CACHED_PLANS;
+            }
+        });
+    }
+
+    private static void checkLengths(double[] re, double[] im) {
+        if (re.length != im.length) {
+            throw new IllegalArgumentException(
+                "re e im deben tener la misma longitud: " + re.length + " vs " + im.length);
+        }
+    }
+
+    /**
+     * Tablas precalculadas para un tamaño n: cos/sin de e^{-2πik/n} para k &lt; n/2
+     * y la permutación de inversión de bits.
+     */
+    public static final class Plan {
+        private final int n;
+        private final double[] cos;
+        private final double[] sin;
+        private final int[] rev;
+
+        private Plan(int n) {
+            this.n = n;
+            int half = n / 2;
+            this.cos = new double[half];
+            this.sin = new double[half];
+            for (int k = 0; k < half; k++) {
+                double angle = -2 * Math.PI * k / n;
+                cos[k] = Math.cos(angle);
+                sin[k] = Math.sin(angle);
+            }
+            this.rev = new int[n];
+            int bits = Integer.numberOfTrailingZeros(n);
+            for (int i = 0; i < n; i++) {
+                rev[i] = bits == 0 ? 0 : Integer.reverse(i) >>> (32 - bits);
+            }
+        }
+
+        /** Longitud de la transformada */
+        public int size() {
+            return n;
+        }
+
+        /** FFT directa en sitio; re.length y im.length deben ser size(). */
+        public void forward(double[] re, double[] im) {
+            transform(re, im, false);
+        }
+
+        /** FFT inversa en sitio, normalizada por 1/n. */
+        public void inverse(double[] re, double[] im) {
+            transform(re, im, true);
+            double scale = 1.0 / n;
+            for (int i = 0; i < n; i++) {
+                re[i] *= scale;
+                im[i] *= scale;
+            }
+        }
+
+        private void transform(double[] re, double[] im, boolean inverse) {
+            if (re.length != n || im.length != n) {
+                throw new IllegalArgumentException(
+                    "El plan es de tamaño " + n + ", got " + re.length + "/" + im.length);
+            }
+            // 1) permutación de inversión de bits
+            for (int i = 0; i < n; i++) {
+                int j = rev[i];
+                if (j > i) {
+                    double t = re[i]; re[i] = re[j]; re[j] = t;
+                    t = im[i]; im[i] = im[j]; im[j] = t;
+                }
+            }
+            // 2) mariposas, de tamaño 2 a n
+            double sign = inverse ? -1.0 : 1.0;
+            for (int len = 2; len <= n; len <<= 1) {
+                int halfLen = len >>> 1;
+                int step = n / len;
+                for (int start = 0; start < n; start += len) {
+                    for (int k = 0, t = 0; k < halfLen; k++, t += step) {
+                        double wr = cos[t];
+                        double wi = sign * sin[t];
+                        int a = start + k;
+                        int b = a + halfLen;
+                        double xr = re[b] * wr - im[b] * wi;
+                        double xi = re[b] * wi + im[b] * wr;
+                        re[b] = re[a] - xr;
+                        im[b] = im[a] - xi;
+                        re[a] += xr;
+                        im[a] += xi;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Algoritmo de Bluestein: expresa la DFT de n puntos como una convolución
+     * con el chirp e^{-iπk²/n}, resuelta con una FFT radix-2 de tamaño m ≥ 2n-1.
+     * El chirp y la FFT del filtro se calculan una vez por n.
+     */
+    private static final class BluesteinPlan {
+        private final int n;
+        private final int m;
+        private final double[] chirpCos;
+        private final double[] chirpSin;
+        private final double[] filterRe;
+        private final double[] filterIm;
+        private final Plan inner;
+
+        private BluesteinPlan(int n) {
+            this.n = n;
+            this.m = Integer.highestOneBit(2 * n - 1) << (isPowerOfTwo(2 * n - 1) ? 0 : 1);
+            this.inner = plan(m);
+            this.chirpCos = new double[n];
+            this.chirpSin = new double[n];
+            long mod = 2L * n;
+            for (int k = 0; k < n; k++) {
+                // k² mod 2n evita perder precisión con k grandes
+                long kk = ((long) k * k) % mod;
+                double angle = -Math.PI * kk / n;
+                chirpCos[k] = Math.cos(angle);
+                chirpSin[k] = Math.sin(angle);
+            }
+            // filtro b[k] = conj(chirp[|k|]), circular en m
+            this.filterRe = new double[m];
+            this.filterIm = new double[m];
+            filterRe[0] = chirpCos[0];
+            filterIm[0] = -chirpSin[0];
+            for (int k = 1; k < n; k++) {
+                filterRe[k] = filterRe[m - k] = chirpCos[k];
+                filterIm[k] = filterIm[m - k] = -chirpSin[k];
+            }
+            inner.forward(filterRe, filterIm);
+        }
+
+        void forward(double[] re, double[] im) {
+            forward(re, im, new double[m], new double[m]);
+        }
+
+        /** Igual, con buffers de trabajo ar/ai de longitud m del llamador. */
+        void forward(double[] re, double[] im, double[] ar, double[] ai) {
+            for (int k = 0; k < n; k++) {
+                ar[k] = re[k] * chirpCos[k] - im[k] * chirpSin[k];
+                ai[k] = re[k] * chirpSin[k] + im[k] * chirpCos[k];
+            }
+            Arrays.fill(ar, n, m, 0.0);
+            Arrays.fill(ai, n, m, 0.0);
+            inner.forward(ar, ai);
+            for (int k = 0; k < m; k++) {
+                double r = ar[k] * filterRe[k] - ai[k] * filterIm[k];
+                double i = ar[k] * filterIm[k] + ai[k] * filterRe[k];
+                ar[k] = r;
+                ai[k] = i;
+            }
+            inner.inverse(ar, ai);
+            for (int k = 0; k < n; k++) {
+                re[k] = ar[k] * chirpCos[k] - ai[k] * chirpSin[k];
+                im[k] = ar[k] * chirpSin[k] + ai[k] * chirpCos[k];
+            }
+        }
+    }
+}
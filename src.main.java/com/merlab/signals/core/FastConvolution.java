@@ -0,0 +1,214 @@
+package com.merlab.signals.core;
+
+import java.util.Arrays;
+
+/**
+ * Convolución y correlación rápidas por FFT (overlap-add).
+ * El kernel se transforma una sola vez; la señal se procesa en bloques de
+ * L = nfft - m + 1 muestras, empaquetando dos bloques reales en cada FFT
+ * compleja (parte real e imaginaria), ya que el kernel es real.
+ * {@link #useFFT(double, int, int)} decide cuándo compensa frente al bucle
+ * directo O(N·M).
+ */
+public final class FastConvolution {
+
+    /** Por debajo de esta longitud (la menor de las dos) siempre se usa el bucle directo. */
+    public static final int MIN_FFT_LENGTH = 32;
+
+    /** Coste relativo estimado de una FFT por muestra y nivel (log2). */
+    private static final double FFT_COST = 6.0;
+
+    private FastConvolution() {
+    }
+
+    /**
+     * Indica si la vía FFT es más barata que el bucle directo.
+     *
+     * @param directOps multiplicaciones del bucle directo (p. ej. n·m)
+     * @param n         longitud de la señal
+     * @param m         longitud del kernel
+     */
+    public static boolean useFFT(double directOps, int n, int m) {
+        int shorter = Math.min(n, m);
+        if (shorter < MIN_FFT_LENGTH) {
+            return false;
+        }
+        int nfft = blockSize(n, m);
+        double fftOps = FFT_COST * (n + m) * (31 - Integer.numberOfLeadingZeros(nfft));
+        return directOps > fftOps;
+    }
+
+    /**
+     * Convolución lineal completa por overlap-add: y[k] = Σ x[i]·h[k-i],
+     * longitud n + m - 1.
+     *
+     * @param out buffer de salida de longitud n + m - 1, o null para reservarlo
+     * @return la convolución (en {@code out} si se proporcionó)
+     */
+    public static double[] convolve(double[] x, double[] h, double[] out) {
+        int len = (x.length == 0 || h.length == 0) ? 0 : x.length + h.length - 1;
+        double[] y = out == null ? new double[len] : out;
+        if (y.length != len) {
+            throw new IllegalArgumentException(
+                "Buffer de salida de longitud " + y.length + ", se esperaba " + len);
+        }
+        if (len == 0) {
+            return y;
+        }
+        // la convolución es conmutativa: el más corto hace de kernel
+        if (h.length > x.length) {
+            double[] t = x; x = h; h = t;
+        }
+        int n = x.length, m = h.length;
+        int nfft = blockSize(n, m);
+        int block = nfft - m + 1;
+
+        double[] hr = new double[nfft], hi = new double[nfft];
+        System.arraycopy(h, 0, hr, 0, m);
+        FFT.forward(hr, hi);
+
+        Arrays.fill(y, 0.0);
+        double[] re = new double[nfft], im = new double[nfft];
+        for (int s1 = 0; s1 < n; s1 += 2 * block) {
+            int s2 = s1 + block;
+            int l1 = Math.min(block, n - s1);
+            int l2 = Math.max(0, Math.min(block, n - s2));
+            Arrays.fill(re, 0.0);
+            Arrays.fill(im, 0.0);
+            System.arraycopy(x, s1, re, 0, l1);
+            if (l2 > 0) {
+                System.arraycopy(x, s2, im, 0, l2);
+            }
+            FFT.forward(re, im);
+            for (int k = 0; k < nfft; k++) {
+                double r = re[k] * hr[k] - im[k] * hi[k];
+                double i = re[k] * hi[k] + im[k] * hr[k];
+                re[k] = r;
+                im[k] = i;
+            }
+            FFT.inverse(re, im);
+            // parte real = bloque 1 * h, parte imaginaria = bloque 2 * h
+            int e1 = Math.min(len, s1 + l1 + m - 1);
+            for (int j = s1; j < e1; j++) {
+                y[j] += re[j - s1];
+            }
+            if (l2 > 0) {
+                int e2 = Math.min(len, s2 + l2 + m - 1);
+                for (int j = s2; j < e2; j++) {
+                    y[j] += im[j - s2];
+                }
+            }
+        }
+        return y;
+    }
+
+    /**
+     * Correlación cruzada sin normalizar para lags 0..maxLag:
+     * c[k] = Σ_i a[i]·b[i+k], sumando solo donde ambas muestras existen.
+     * Elige automáticamente entre el bucle directo y la FFT.
+     */
+    public static double[] correlate(double[] a, double[] b, int maxLag) {
+        if (maxLag < 0) {
+            throw new IllegalArgumentException("maxLag debe ser >= 0");
+        }
+        int na = a.length, nb = b.length;
+        double[] c = new double[maxLag + 1];
+        if (na == 0 || nb == 0) {
+            return c;
+        }
+        if (useFFT((double) (maxLag + 1) * Math.min(na, nb), na, nb)) {
+            // c[k] = (reverse(a) * b)[na - 1 + k]
+            double[] ra = new double[na];
+            for (int i = 0; i < na; i++) {
+                ra[i] = a[na - 1 - i];
+            }
+            double[] full = convolve(ra, b, null);
+            for (int k = 0; k <= maxLag; k++) {
+                int idx = na - 1 + k;
+                c[k] = idx < full.length ? full[idx] : 0.0;
+            }
+            return c;
+        }
+        for (int k = 0; k <= maxLag; k++) {
+            double sum = 0.0;
+            int iMax = Math.min(na, nb - k);
+            for (int i = 0; i < iMax; i++) {
+                sum += a[i] * b[i + k];
+            }
+            c[k] = sum;
+        }
+        return c;
+    }
+
+    /**
+     * Autocorrelación sin normalizar c[k] = Σ_i x[i]·x[i+k] para lags
+     * 0..maxLag (0 más allá de n - 1).
+     * <p>
+     * Con muchos lags usa Wiener–Khinchin: c = IFFT(|FFT(x)|²), rellenando
+     * con ceros hasta nfft ≥ n + maxLag para evitar el solapamiento circular.
+     * El espectro de potencia es real y par, así que la inversa se resuelve
+     * con otra FFT real: dos transformadas reales de nfft puntos en total.
+     */
+    public static double[] autocorrelate(double[] x, int maxLag) {
+        if (maxLag < 0) {
+            throw new IllegalArgumentException("maxLag debe ser >= 0");
+        }
+        int n = x.length;
+        double[] c = new double[maxLag + 1];
+        if (n == 0) {
+            return c;
+        }
+        int lags = Math.min(maxLag, n - 1);
+        if (!useFFT((double) (lags + 1) * n, n, lags + 1)) {
+            for (int k = 0; k <= lags; k++) {
+                double sum = 0.0;
+                for (int i = 0; i + k < n; i++) {
+                    sum += x[i] * x[i + k];
+                }
+                c[k] = sum;
+            }
+            return c;
+        }
+        int nfft = Integer.highestOneBit(n + lags - 1) << 1;
+        double[] buf = new double[nfft];
+        System.arraycopy(x, 0, buf, 0, n);
+        int half = nfft / 2;
+        double[] re = new double[half + 1], im = new double[half + 1];
+        FFT.realForward(buf, re, im);
+        // |X[k]|² extendido a longitud completa por simetría par
+        for (int k = 0; k <= half; k++) {
+            double p = re[k] * re[k] + im[k] * im[k];
+            buf[k] = p;
+            if (k > 0 && k < half) {
+                buf[nfft - k] = p;
+            }
+        }
+        FFT.realForward(buf, re, im);
+        for (int k = 0; k <= lags; k++) {
+            c[k] = re[k] / nfft;
+        }
+        return c;
+    }
+
+    /**
+     * Tamaño de FFT por bloque (potencia de dos) que minimiza el coste
+     * por muestra de salida: bloques(nfft) · nfft · log2(nfft).
+     */
+    static int blockSize(int n, int m) {
+        int shorter = Math.min(n, m), longer = Math.max(n, m);
+        int min = Integer.highestOneBit(Math.max(1, 2 * shorter - 1)) << 1;
+        int max = Math.max(min, Integer.highestOneBit(Math.max(1, n + m - 2)) << 1);
+        int best = min;
+        double bestCost = Double.MAX_VALUE;
+        for (int nfft = min; nfft <= max && nfft > 0; nfft <<= 1) {
+            int block = nfft - shorter + 1;
+            double blocks = Math.ceil((double) longer / block);
+            double cost = blocks * nfft * (31 - Integer.numberOfLeadingZeros(nfft));
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = nfft;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,160 @@
+package com.merlab.signals.core;
+
+import java.util.Arrays;
+
+/**
+ * Estadísticos de orden sobre arrays primitivos por selección (introselect)
+ * en lugar de ordenar: O(N) esperado por llamada, con O(N log N) como peor
+ * caso (si la recursión se degrada se ordena el subrango restante).
+ * <p>
+ * Varios rangos se resuelven en una única pasada de particionado
+ * ({@link #orderStatistics(double[], int...)}): cada partición se recorre
+ * solo hacia los lados que todavía contienen algún rango pedido.
+ * <p>
+ * Las funciones públicas no modifican la entrada (trabajan sobre una copia).
+ * Con NaN presentes se ordena la copia, para conservar el orden total de
+ * {@link Double#compare} (NaN al final), igual que la versión con listas.
+ */
+public final class OrderStatistics {
+
+    /** Subrangos más pequeños que esto se ordenan directamente. */
+    private static final int SORT_THRESHOLD = 16;
+
+    private OrderStatistics() {
+    }
+
+    /**
+     * Devuelve los valores que ocuparían las posiciones {@code ranks} si x
+     * estuviera ordenado ascendentemente (rangos base 0, en cualquier orden).
+     */
+    public static double[] orderStatistics(double[] x, int... ranks) {
+        int n = x.length;
+        for (int k : ranks) {
+            if (k < 0 || k >= n) {
+                throw new IllegalArgumentException("Rango " + k + " fuera de [0, " + n + ")");
+            }
+        }
+        double[] work = x.clone();
+        int[] sorted = ranks.clone();
+        Arrays.sort(sorted);
+        if (hasNaN(work)) {
+            Arrays.sort(work);
+        } else {
+            int depth = 2 * (32 - Integer.numberOfLeadingZeros(Math.max(1, n)));
+            select(work, 0, n - 1, sorted, 0, sorted.length, depth);
+        }
+        double[] out = new double[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {
+            out[i] = work[ranks[i]];
+        }
+        return out;
+    }
+
+    /** Mediana (promedio de los dos centrales si n es par) */
+    public static double median(double[] x) {
+        int n = x.length;
+        if (n == 0) throw new IllegalArgumentException("Señal vacía");
+        if (n % 2 == 1) {
+            return orderStatistics(x, n / 2)[0];
+        }
+        double[] v = orderStatistics(x, n / 2 - 1, n / 2);
+        return (v[0] + v[1]) / 2.0;
+    }
+
+    /** Percentil p (0–100) con interpolación lineal entre rangos vecinos */
+    public static double percentile(double[] x, double p) {
+        return percentiles(x, p)[0];
+    }
+
+    /**
+     * Varios percentiles (0–100, interpolación lineal) con una sola pasada
+     * de selección.
+     */
+    public static double[] percentiles(double[] x, double... ps) {
+        int n = x.length;
+        if (n == 0) throw new IllegalArgumentException("Señal vacía");
+        int[] ranks = new int[2 * ps.length];
+        for (int i = 0; i < ps.length; i++) {
+            double p = ps[i];
+            if (p < 0 || p > 100) throw new IllegalArgumentException("p debe estar en [0,100]");
+            double idx = p / 100.0 * (n - 1);
+            ranks[2 * i] = (int) Math.floor(idx);
+            ranks[2 * i + 1] = (int) Math.ceil(idx);
+        }
+        double[] v = orderStatistics(x, ranks);
+        double[] out = new double[ps.length];
+        for (int i = 0; i < ps.length; i++) {
+            double idx = ps[i] / 100.0 * (n - 1);
+            int lo = ranks[2 * i], hi = ranks[2 * i + 1];
+            double a = v[2 * i], b = v[2 * i + 1];
+            out[i] = (lo == hi) ? a : a + (idx - lo) * (b - a);
+        }
+        return out;
+    }
+
+    /** Mediana de |xᵢ – mediana(x)| */
+    public static double medianAbsoluteDeviation(double[] x) {
+        double med = median(x);
+        double[] dev = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            dev[i] = Math.abs(x[i] - med);
+        }
+        return median(dev);
+    }
+
+    private static boolean hasNaN(double[] a) {
+        for (double v : a) {
+            if (v != v) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Introselect multi-rango: deja en a[k] el k-ésimo menor para todo k en
+     * ranks[from..to) (ordenados, todos dentro de [lo, hi]).
+     * Partición en tres vías, robusta frente a valores repetidos.
+     */
+    private static void select(double[] a, int lo, int hi, int[] ranks, int from, int to, int depth) {
+        while (from < to) {
+            if (hi - lo < SORT_THRESHOLD || depth == 0) {
+                Arrays.sort(a, lo, hi + 1);
+                return;
+            }
+            depth--;
+            double pivot = medianOf3(a[lo], a[(lo + hi) >>> 1], a[hi]);
+            // [lo, lt) < pivot, [lt, gt] == pivot, (gt, hi] > pivot
+            int lt = lo, i = lo, gt = hi;
+            while (i <= gt) {
+                double v = a[i];
+                if (v < pivot) {
+                    a[i++] = a[lt];
+                    a[lt++] = v;
+                } else if (v > pivot) {
+                    a[i] = a[gt];
+                    a[gt--] = v;
+                } else {
+                    i++;
+                }
+            }
+            int split1 = from;
+            while (split1 < to && ranks[split1] < lt) split1++;
+            int split2 = split1;
+            while (split2 < to && ranks[split2] <= gt) split2++;
+            // rangos a la izquierda: recursión; a la derecha: iteración
+            if (from < split1) {
+                select(a, lo, lt - 1, ranks, from, split1, depth);
+            }
+            from = split2;
+            lo = gt + 1;
+        }
+    }
+
+    private static double medianOf3(double a, double b, double c) {
+        if (a < b) {
+            if (b < c) return b;
+            return a < c ? c : a;
+        }
+        if (a < c) return a;
+        return b < c ? c : b;
+    }
+}
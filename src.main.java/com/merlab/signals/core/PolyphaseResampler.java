@@ -0,0 +1,177 @@
+package com.merlab.signals.core;
+
+/**
+ * Remuestreador FIR polifásico de razón racional L/M (interpolar por
+ * {@code up}, filtrar, diezmar por {@code down}).
+ * <p>
+ * El filtro se descompone en {@code up} subfiltros (fases) de
+ * ⌈taps / up⌉ coeficientes: cada muestra de salida se obtiene con una sola
+ * fase aplicada directamente a las muestras de entrada, sin materializar la
+ * señal interpolada ni calcular las muestras que el diezmado descartaría.
+ * Coste por salida: ⌈taps / up⌉ multiplicaciones.
+ * <p>
+ * Filtro por defecto (igual que {@code scipy.signal.resample_poly}): sinc
+ * enventanado con Kaiser β = 5, corte en 1 / max(L, M) de Nyquist y
+ * 20·max(L, M) + 1 coeficientes, con ganancia {@code up}. El retardo de
+ * grupo se compensa: la salida tiene ⌈n·L/M⌉ muestras alineadas con la
+ * entrada.
+ */
+public final class PolyphaseResampler {
+
+    /** β de la ventana de Kaiser del filtro por defecto */
+    public static final double KAISER_BETA = 5.0;
+
+    private final int up;
+    private final int down;
+    private final int delay;
+    /** phases[p][r] = h[p + up·r] */
+    private final double[][] phases;
+
+    /**
+     * Remuestreador con el filtro anti-aliasing por defecto. La razón se
+     * reduce por el máximo común divisor.
+     *
+     * @param up   factor de interpolación L (≥ 1)
+     * @param down factor de diezmado M (≥ 1)
+     */
+    public PolyphaseResampler(int up, int down) {
+        this(reduce(up, down, true), reduce(up, down, false), null);
+    }
+
+    /**
+     * Remuestreador con coeficientes propios (a la tasa interpolada, con
+     * ganancia {@code up} incluida). El retardo compensado es (taps - 1) / 2,
+     * lo natural para filtros de fase lineal de longitud impar.
+     */
+    public PolyphaseResampler(int up, int down, double[] taps) {
+        if (up < 1 || down < 1) {
+            throw new IllegalArgumentException("up y down deben ser >= 1");
+        }
+        if (taps != null && taps.length == 0) {
+            throw new IllegalArgumentException("El filtro no puede estar vacío");
+        }
+        this.up = up;
+        this.down = down;
+        double[] h = taps != null ? taps.clone() : (up == down ? new double[] {1.0} : design(up, down));
+        this.delay = (h.length - 1) / 2;
+        int len = (h.length + up - 1) / up;
+        this.phases = new double[up][len];
+        for (int k = 0; k < h.length; k++) {
+            phases[k % up][k / up] = h[k];
+        }
+    }
+
+    private static int reduce(int up, int down, boolean numerator) {
+        if (up < 1 || down < 1) {
+            throw new IllegalArgumentException("up y down deben ser >= 1");
+        }
+        int a = up, b = down;
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return numerator ? up / a : down / a;
+    }
+
+    /** Sinc enventanado con Kaiser normalizado a ganancia DC = up. */
+    private static double[] design(int up, int down) {
+        int maxRate = Math.max(up, down);
+        double fc = 1.0 / maxRate;
+        int halfLen = 10 * maxRate;
+        int n = 2 * halfLen + 1;
+        double[] h = new double[n];
+        double i0Beta = besselI0(KAISER_BETA);
+        double sum = 0.0;
+        for (int k = 0; k < n; k++) {
+            double m = k - halfLen;
+            double x = fc * m;
+            double sinc = m == 0 ? 1.0 : Math.sin(Math.PI * x) / (Math.PI * x);
+            double r = 2.0 * k / (n - 1) - 1.0;
+            double w = besselI0(KAISER_BETA * Math.sqrt(Math.max(0.0, 1 - r * r))) / i0Beta;
+            h[k] = fc * sinc * w;
+            sum += h[k];
+        }
+        for (int k = 0; k < n; k++) {
+            h[k] = h[k] / sum * up;
+        }
+        return h;
+    }
+
+    /** Función de Bessel modificada de primera especie, orden 0 (serie de potencias). */
+    private static double besselI0(double x) {
+        double term = 1.0, sum = 1.0, q = x * x / 4;
+        for (int k = 1; k < 200 && term > 1e-17 * sum; k++) {
+            term *= q / ((double) k * k);
+            sum += term;
+        }
+        return sum;
+    }
+
+    /** Factor de interpolación L (tras reducir) */
+    public int getUp() {
+        return up;
+    }
+
+    /** Factor de diezmado M (tras reducir) */
+    public int getDown() {
+        return down;
+    }
+
+    /** Retardo compensado, en muestras de la tasa interpolada */
+    public int getDelay() {
+        return delay;
+    }
+
+    /** Coeficientes por fase (⌈taps / up⌉) */
+    public int getPhaseLength() {
+        return phases[0].length;
+    }
+
+    /** Número de muestras de salida para n de entrada: ⌈n·L/M⌉ */
+    public long outputLength(long n) {
+        return (n * up + down - 1) / down;
+    }
+
+    /** Remuestrea la señal completa. */
+    public double[] resample(double[] x) {
+        int count = (int) outputLength(x.length);
+        double[] y = new double[count];
+        for (int m = 0; m < count; m++) {
+            y[m] = outputAt(m, x, 0, x.length);
+        }
+        return y;
+    }
+
+    /** Remuestrea la señal completa. */
+    public Signal resample(Signal input) {
+        return Signal.wrap(resample(input.view()));
+    }
+
+    /**
+     * Muestra de salida m a partir de un buffer cuya posición 0 es la
+     * muestra global {@code base}; las muestras globales fuera de
+     * [max(base, 0), end) cuentan como cero. Uso interno de la versión
+     * por bloques ({@code StreamingResampler}).
+     */
+    public double outputAt(long m, double[] buf, long base, long end) {
+        long t = m * down + delay;
+        long i0 = t / up;
+        double[] h = phases[(int) (t % up)];
+        int rMin = (int) Math.max(0, i0 - (end - 1));
+        int rMax = (int) Math.min(h.length - 1, i0 - Math.max(base, 0));
+        double acc = 0.0;
+        for (int r = rMin; r <= rMax; r++) {
+            acc += h[r] * buf[(int) (i0 - r - base)];
+        }
+        return acc;
+    }
+
+    /**
+     * Mayor índice de entrada que necesita la salida m (la más reciente
+     * de su ventana).
+     */
+    public long lastInputFor(long m) {
+        return (m * down + delay) / up;
+    }
+}
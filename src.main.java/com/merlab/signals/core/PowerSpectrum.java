@@ -0,0 +1,71 @@
+package com.merlab.signals.core;
+
+/**
+ * Densidad espectral de potencia unilateral (bins 0..fs/2 con paso
+ * uniforme), en unidades²/Hz. Producida por {@link Welch}.
+ */
+public final class PowerSpectrum {
+    private final double[] density;
+    private final double df;
+
+    /**
+     * @param density densidad por bin (no se copia)
+     * @param df      separación entre bins en Hz
+     */
+    public PowerSpectrum(double[] density, double df) {
+        this.density = density;
+        this.df = df;
+    }
+
+    /** Número de bins */
+    public int size() {
+        return density.length;
+    }
+
+    /** Separación entre bins (Hz) */
+    public double binWidth() {
+        return df;
+    }
+
+    /** Frecuencia (Hz) del bin k */
+    public double frequency(int k) {
+        return k * df;
+    }
+
+    /** Frecuencias (Hz) de todos los bins */
+    public double[] frequencies() {
+        double[] f = new double[density.length];
+        for (int k = 0; k < f.length; k++) {
+            f[k] = k * df;
+        }
+        return f;
+    }
+
+    /**
+     * Densidad por bin. Es el array interno, sin copia: no modificar.
+     */
+    public double[] density() {
+        return density;
+    }
+
+    /** Potencia total: Σ PSD[k]·df (≈ varianza de la señal sin media) */
+    public double totalPower() {
+        double sum = 0.0;
+        for (double p : density) {
+            sum += p;
+        }
+        return sum * df;
+    }
+
+    /** Potencia en la banda [fLo, fHi) Hz */
+    public double bandPower(double fLo, double fHi) {
+        double sum = 0.0;
+        for (int k = 0; k < density.length; k++) {
+            double f = k * df;
+            if (f >= fLo && f < fHi) {
+                sum += density[k];
+            }
+        }
+        return sum * df;
+    }
+}
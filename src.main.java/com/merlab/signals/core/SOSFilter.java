@@ -0,0 +1,332 @@
+package com.merlab.signals.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Filtro IIR como cascada de secciones de segundo orden (biquads, SOS).
+ * Cada sección se evalúa en forma directa II transpuesta y toda la cascada
+ * se aplica en una sola pasada sobre los datos: para cada muestra se
+ * recorren las secciones con el estado en un array local.
+ * <p>
+ * Incluye diseño Butterworth y Chebyshev tipo I (pasa-bajos, pasa-altos y
+ * pasabanda) por transformación bilineal con pre-distorsión de frecuencia.
+ * Las frecuencias de corte se expresan como fracción de la frecuencia de
+ * muestreo, en (0, 0.5).
+ * <p>
+ * A diferencia de {@link SignalProcessor#lowPassFilter(double[], double)},
+ * el estado inicial es cero (no se arranca en x[0]).
+ */
+public final class SOSFilter {
+
+    /** Tipo de respuesta del filtro */
+    public enum Type {
+        LOW_PASS,
+        HIGH_PASS,
+        BAND_PASS
+    }
+
+    /** Coeficientes por sección: b0, b1, b2, a1, a2 (a0 normalizado a 1). */
+    private final double[] coeffs;
+    private final int sections;
+
+    /**
+     * Crea la cascada a partir de secciones {b0, b1, b2, a0, a1, a2}.
+     *
+     * @param sos una fila de 6 coeficientes por sección
+     */
+    public SOSFilter(double[][] sos) {
+        if (sos.length == 0) {
+            throw new IllegalArgumentException("Se requiere al menos una sección");
+        }
+        this.sections = sos.length;
+        this.coeffs = new double[5 * sections];
+        for (int s = 0; s < sections; s++) {
+            double[] row = sos[s];
+            if (row.length != 6) {
+                throw new IllegalArgumentException(
+                    "Cada sección debe tener 6 coeficientes (b0 b1 b2 a0 a1 a2), got " + row.length);
+            }
+            double a0 = row[3];
+            if (a0 == 0.0) {
+                throw new IllegalArgumentException("a0 no puede ser 0 (sección " + s + ")");
+            }
+            int c = 5 * s;
+            coeffs[c]     = row[0] / a0;
+            coeffs[c + 1] = row[1] / a0;
+            coeffs[c + 2] = row[2] / a0;
+            coeffs[c + 3] = row[4] / a0;
+            coeffs[c + 4] = row[5] / a0;
+        }
+    }
+
+    // ————————————————————————————————————————
+    // Diseño
+    // ————————————————————————————————————————
+
+    /** Butterworth pasa-bajos de orden {@code order}. */
+    public static SOSFilter butterworthLowPass(int order, double cutoff) {
+        return design(Type.LOW_PASS, order, 0.0, cutoff, 0.0);
+    }
+
+    /** Butterworth pasa-altos de orden {@code order}. */
+    public static SOSFilter butterworthHighPass(int order, double cutoff) {
+        return design(Type.HIGH_PASS, order, 0.0, cutoff, 0.0);
+    }
+
+    /** Butterworth pasabanda; el filtro resultante es de orden 2·order. */
+    public static SOSFilter butterworthBandPass(int order, double low, double high) {
+        return design(Type.BAND_PASS, order, 0.0, low, high);
+    }
+
+    /** Chebyshev tipo I pasa-bajos con rizado {@code rippleDb} en la banda de paso. */
+    public static SOSFilter chebyshevLowPass(int order, double rippleDb, double cutoff) {
+        return design(Type.LOW_PASS, order, checkRipple(rippleDb), cutoff, 0.0);
+    }
+
+    /** Chebyshev tipo I pasa-altos con rizado {@code rippleDb} en la banda de paso. */
+    public static SOSFilter chebyshevHighPass(int order, double rippleDb, double cutoff) {
+        return design(Type.HIGH_PASS, order, checkRipple(rippleDb), cutoff, 0.0);
+    }
+
+    /** Chebyshev tipo I pasabanda; el filtro resultante es de orden 2·order. */
+    public static SOSFilter chebyshevBandPass(int order, double rippleDb, double low, double high) {
+        return design(Type.BAND_PASS, order, checkRipple(rippleDb), low, high);
+    }
+
+    private static double checkRipple(double rippleDb) {
+        if (!(rippleDb > 0.0)) {
+            throw new IllegalArgumentException("El rizado debe ser > 0 dB");
+        }
+        return rippleDb;
+    }
+
+    private static void checkCutoff(double f) {
+        if (!(f > 0.0 && f < 0.5)) {
+            throw new IllegalArgumentException("Frecuencia de corte fuera de (0, 0.5): " + f);
+        }
+    }
+
+    /**
+     * Diseño por prototipo analógico + transformación bilineal.
+     * rippleDb == 0 → Butterworth; rippleDb &gt; 0 → Chebyshev tipo I.
+     */
+    private static SOSFilter design(Type type, int order, double rippleDb, double f1, double f2) {
+        if (order < 1) {
+            throw new IllegalArgumentException("El orden debe ser >= 1");
+        }
+        checkCutoff(f1);
+        if (type == Type.BAND_PASS) {
+            checkCutoff(f2);
+            if (f2 <= f1) {
+                throw new IllegalArgumentException("Se requiere low < high");
+            }
+        }
+
+        // 1) polos del prototipo pasa-bajos con corte en 1 rad/s
+        Complex[] proto = new Complex[order];
+        double passGain = 1.0;
+        if (rippleDb == 0.0) {
+            for (int k = 0; k < order; k++) {
+                double theta = Math.PI * (2 * k + order + 1) / (2.0 * order);
+                proto[k] = new Complex(Math.cos(theta), Math.sin(theta));
+            }
+        } else {
+            double eps = Math.sqrt(Math.pow(10, rippleDb / 10) - 1);
+            double mu = asinh(1 / eps) / order;
+            for (int k = 0; k < order; k++) {
+                double theta = Math.PI * (2 * k + 1) / (2.0 * order);
+                proto[k] = new Complex(-Math.sinh(mu) * Math.sin(theta),
+                                        Math.cosh(mu) * Math.cos(theta));
+            }
+            if (order % 2 == 0) {
+                // orden par: la ganancia en DC está en el fondo del rizado
+                passGain = 1 / Math.sqrt(1 + eps * eps);
+            }
+        }
+
+        // 2) transformación de frecuencia analógica (con pre-distorsión)
+        double w1 = Math.tan(Math.PI * f1);
+        List<Complex> analog = new ArrayList<>();
+        double refOmega;
+        switch (type) {
+            case LOW_PASS:
+                for (Complex p : proto) analog.add(p.scale(w1));
+                refOmega = 0.0;
+                break;
+            case HIGH_PASS:
+                for (Complex p : proto) analog.add(new Complex(w1, 0).div(p));
+                refOmega = Math.PI;
+                break;
+            default: {
+                double w2 = Math.tan(Math.PI * f2);
+                double bw = w2 - w1;
+                double w0sq = w1 * w2;
+                for (Complex p : proto) {
+                    Complex pb = p.scale(bw);
+                    Complex disc = pb.mul(pb).sub(new Complex(4 * w0sq, 0)).sqrt();
+                    analog.add(pb.add(disc).scale(0.5));
+                    analog.add(pb.sub(disc).scale(0.5));
+                }
+                refOmega = 2 * Math.atan(Math.sqrt(w0sq));
+                break;
+            }
+        }
+
+        // 3) bilineal: z = (1 + s) / (1 - s)
+        List<Complex> complexPoles = new ArrayList<>();
+        List<Double> realPoles = new ArrayList<>();
+        Complex one = new Complex(1, 0);
+        for (Complex s : analog) {
+            Complex z = one.add(s).div(one.sub(s));
+            if (Math.abs(z.im) <= 1e-12 * Math.max(1.0, z.abs())) {
+                realPoles.add(z.re);
+            } else if (z.im > 0) {
+                complexPoles.add(z); // su conjugado forma la misma sección
+            }
+        }
+
+        // 4) agrupar en secciones
+        List<double[]> rows = new ArrayList<>();
+        for (Complex z : complexPoles) {
+            rows.add(section(type, 2, -2 * z.re, z.re * z.re + z.im * z.im));
+        }
+        for (int i = 0; i + 1 < realPoles.size(); i += 2) {
+            double r1 = realPoles.get(i), r2 = realPoles.get(i + 1);
+            rows.add(section(type, 2, -(r1 + r2), r1 * r2));
+        }
+        if (realPoles.size() % 2 == 1) {
+            rows.add(section(type, 1, -realPoles.get(realPoles.size() - 1), 0.0));
+        }
+
+        // 5) ganancia unitaria por sección en la frecuencia de referencia
+        for (double[] row : rows) {
+            double g = 1.0 / sectionMagnitude(row, refOmega);
+            row[0] *= g;
+            row[1] *= g;
+            row[2] *= g;
+        }
+        double[] first = rows.get(0);
+        first[0] *= passGain;
+        first[1] *= passGain;
+        first[2] *= passGain;
+        return new SOSFilter(rows.toArray(new double[0][]));
+    }
+
+    /** Numerador según el tipo: ceros en z=-1 (LP), z=1 (HP) o ambos (BP). */
+    private static double[] section(Type type, int poles, double a1, double a2) {
+        double b0, b1, b2;
+        if (poles == 1) {
+            b0 = 1;
+            b1 = type == Type.HIGH_PASS ? -1 : 1;
+            b2 = 0;
+        } else if (type == Type.LOW_PASS) {
+            b0 = 1; b1 = 2; b2 = 1;
+        } else if (type == Type.HIGH_PASS) {
+            b0 = 1; b1 = -2; b2 = 1;
+        } else {
+            b0 = 1; b1 = 0; b2 = -1;
+        }
+        return new double[] {b0, b1, b2, 1.0, a1, a2};
+    }
+
+    private static double sectionMagnitude(double[] row, double omega) {
+        double c1 = Math.cos(omega), s1 = -Math.sin(omega);
+        double c2 = Math.cos(2 * omega), s2 = -Math.sin(2 * omega);
+        double nr = row[0] + row[1] * c1 + row[2] * c2;
+        double ni = row[1] * s1 + row[2] * s2;
+        double dr = row[3] + row[4] * c1 + row[5] * c2;
+        double di = row[4] * s1 + row[5] * s2;
+        return Math.hypot(nr, ni) / Math.hypot(dr, di);
+    }
+
+    private static double asinh(double x) {
+        return Math.log(x + Math.sqrt(x * x + 1));
+    }
+
+    // ————————————————————————————————————————
+    // Aplicación
+    // ————————————————————————————————————————
+
+    /** Filtra la señal completa partiendo de estado cero. */
+    public double[] filter(double[] x) {
+        return filter(x, null);
+    }
+
+    /**
+     * Filtra con buffer de salida ({@code out} puede ser null o {@code x}).
+     */
+    public double[] filter(double[] x, double[] out) {
+        double[] y = out == null ? new double[x.length] : out;
+        if (y.length != x.length) {
+            throw new IllegalArgumentException(
+                "Buffer de salida de longitud " + y.length + ", se esperaba " + x.length);
+        }
+        double[] c = coeffs;
+        double[] state = new double[2 * sections];
+        for (int i = 0; i < x.length; i++) {
+            double v = x[i];
+            for (int s = 0, k = 0, z = 0; s < sections; s++, k += 5, z += 2) {
+                // forma directa II transpuesta
+                double w = c[k] * v + state[z];
+                state[z] = c[k + 1] * v - c[k + 3] * w + state[z + 1];
+                state[z + 1] = c[k + 2] * v - c[k + 4] * w;
+                v = w;
+            }
+            y[i] = v;
+        }
+        return y;
+    }
+
+    /** Filtra una señal; devuelve una nueva señal de la misma longitud. */
+    public Signal filter(Signal input) {
+        return Signal.wrap(filter(input.view(), null));
+    }
+
+    /**
+     * Filtra varios canales de forma independiente (cada uno con estado cero),
+     * en paralelo cuando hay más de un canal.
+     *
+     * @param channels una fila por canal
+     * @return una fila filtrada por canal
+     */
+    public double[][] filter(double[][] channels) {
+        double[][] out = new double[channels.length][];
+        IntStream range = IntStream.range(0, channels.length);
+        if (channels.length > 1) {
+            range = range.parallel();
+        }
+        range.forEach(ch -> out[ch] = filter(channels[ch], null));
+        return out;
+    }
+
+    /** Número de secciones de segundo orden */
+    public int getSectionCount() {
+        return sections;
+    }
+
+    /** Copia de los coeficientes, una fila {b0, b1, b2, 1, a1, a2} por sección. */
+    public double[][] getSections() {
+        double[][] sos = new double[sections][];
+        for (int s = 0; s < sections; s++) {
+            int k = 5 * s;
+            sos[s] = new double[] {coeffs[k], coeffs[k + 1], coeffs[k + 2], 1.0, coeffs[k + 3], coeffs[k + 4]};
+        }
+        return sos;
+    }
+
+    /**
+     * Módulo de la respuesta en frecuencia |H(e^{jω})|.
+     *
+     * @param frequency fracción de la frecuencia de muestreo, en [0, 0.5]
+     */
+    public double magnitude(double frequency) {
+        double omega = 2 * Math.PI * frequency;
+        double m = 1.0;
+        for (double[] row : getSections()) {
+            m *= sectionMagnitude(row, omega);
+        }
+        return m;
+    }
+}
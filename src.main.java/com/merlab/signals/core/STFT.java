@@ -0,0 +1,126 @@
+package com.merlab.signals.core;
+
+import java.util.stream.IntStream;
+
+/**
+ * Transformada de Fourier de tiempo corto (STFT).
+ * <p>
+ * La señal se divide en tramas de {@code frameSize} muestras separadas
+ * {@code hop} muestras; cada trama se multiplica por la ventana y se
+ * transforma con la FFT real empaquetada ({@link FFT#realForward}), cuyo
+ * plan se cachea por tamaño y es compartido por todas las tramas. Solo se
+ * emiten tramas completas: 1 + (n - frameSize) / hop.
+ * <p>
+ * Las tramas se reparten en bloques contiguos entre los núcleos; cada bloque
+ * reserva sus buffers (trama, re, im) una sola vez y escribe directamente en
+ * su fila de la matriz de salida, así que el resultado no depende del
+ * paralelismo.
+ */
+public final class STFT {
+
+    /** Tramas por bloque paralelo (cada bloque reutiliza sus buffers). */
+    private static final int FRAMES_PER_TASK = 16;
+
+    private final int frameSize;
+    private final int hop;
+    private final WindowFunction window;
+    private final double[] coefficients;
+
+    /**
+     * @param frameSize muestras por trama (≥ 1; potencia de dos es lo más rápido)
+     * @param hop       desplazamiento entre tramas consecutivas (≥ 1)
+     * @param window    ventana de análisis
+     */
+    public STFT(int frameSize, int hop, WindowFunction window) {
+        if (frameSize < 1) {
+            throw new IllegalArgumentException("frameSize debe ser >= 1");
+        }
+        if (hop < 1) {
+            throw new IllegalArgumentException("hop debe ser >= 1");
+        }
+        this.frameSize = frameSize;
+        this.hop = hop;
+        this.window = window;
+        this.coefficients = window.coefficients(frameSize);
+    }
+
+    public int getFrameSize() {
+        return frameSize;
+    }
+
+    public int getHop() {
+        return hop;
+    }
+
+    public WindowFunction getWindow() {
+        return window;
+    }
+
+    /** Coeficientes de la ventana (copia) */
+    public double[] windowCoefficients() {
+        return coefficients.clone();
+    }
+
+    /** Bins de frecuencia por trama: frameSize/2 + 1 */
+    public int bins() {
+        return frameSize / 2 + 1;
+    }
+
+    /** Número de tramas completas para una señal de n muestras */
+    public int frameCount(int n) {
+        return n < frameSize ? 0 : 1 + (n - frameSize) / hop;
+    }
+
+    /** Espectrograma de magnitud |X[t][k]| */
+    public Spectrogram magnitude(double[] x) {
+        return transform(x, false);
+    }
+
+    /** Espectrograma de magnitud |X[t][k]| */
+    public Spectrogram magnitude(Signal input) {
+        return magnitude(input.view());
+    }
+
+    /** Espectrograma de potencia |X[t][k]|² */
+    public Spectrogram power(double[] x) {
+        return transform(x, true);
+    }
+
+    /** Espectrograma de potencia |X[t][k]|² */
+    public Spectrogram power(Signal input) {
+        return power(input.view());
+    }
+
+    private Spectrogram transform(double[] x, boolean power) {
+        int frames = frameCount(x.length);
+        int bins = bins();
+        double[] data = new double[frames * bins];
+        int tasks = (frames + FRAMES_PER_TASK - 1) / FRAMES_PER_TASK;
+        IntStream range = IntStream.range(0, tasks);
+        if (tasks > 1) {
+            range = range.parallel();
+        }
+        // plan y twiddles se resuelven una vez; cada tarea tiene sus buffers
+        FFT.RealPlan plan = FFT.realPlan(frameSize);
+        range.forEach(task -> {
+            FFT.RealPlan.Scratch scratch = plan.newScratch();
+            double[] frame = new double[frameSize];
+            double[] re = new double[bins];
+            double[] im = new double[bins];
+            int end = Math.min(frames, (task + 1) * FRAMES_PER_TASK);
+            for (int t = task * FRAMES_PER_TASK; t < end; t++) {
+                int start = t * hop;
+                for (int i = 0; i < frameSize; i++) {
+                    frame[i] = x[start + i] * coefficients[i];
+                }
+                FFT.realForward(plan, frame, re, im, scratch);
+                int row = t * bins;
+                for (int k = 0; k < bins; k++) {
+                    double p = re[k] * re[k] + im[k] * im[k];
+                    data[row + k] = power ? p : Math.sqrt(p);
+                }
+            }
+        });
+        return new Spectrogram(data, frames, bins, frameSize, hop);
+    }
+}
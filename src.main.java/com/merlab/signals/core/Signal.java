@@ -1,20 +1,30 @@
 package com.merlab.signals.core;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.RandomAccess;
 
 /**
- * Representa una señal como una lista de valores numéricos.
+ * Representa una señal como una secuencia de valores numéricos.
+ * Internamente las muestras se guardan en un double[] creciente,
+ * sin objetos Double por muestra.
  */
 public class Signal {
-    private final List<Double> values;
+    private static final double[] EMPTY = new double[0];
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private double[] data;
+    private int size;
+    // reserva que entregó esta señal y aún no la ha recuperado (o null)
+    SignalPool pool;
 
     /**
      * Crea una señal vacía.
      */
     public Signal() {
-        this.values = new ArrayList<>();
+        this.data = EMPTY;
+        this.size = 0;
     }
 
     /**
@@ -24,7 +34,34 @@ public class Signal {
      * @param initial valores iniciales de la señal
      */
     public Signal(List<Double> initial) {
-        this.values = new ArrayList<>(initial);
+        this.data = toPrimitive(initial);
+        this.size = data.length;
+    }
+
+    /**
+     * Crea una señal a partir de un array primitivo.
+     * Se realiza una copia defensiva del array.
+     *
+     * @param initial valores iniciales de la señal
+     */
+    public Signal(double[] initial) {
+        this.data = initial.clone();
+        this.size = data.length;
+    }
+
+    /**
+     * Crea una señal que adopta el array dado sin copiarlo.
+     * El llamador no debe seguir modificando el array salvo que quiera
+     * modificar la señal.
+     *
+     * @param data muestras de la señal
+     * @return señal respaldada por {@code data}
+     */
+    public static Signal wrap(double[] data) {
+        Signal s = new Signal();
+        s.data = data;
+        s.size = data.length;
+        return s;
     }
 
     /**
@@ -33,7 +70,10 @@ public class Signal {
      * @param value valor a agregar
      */
     public void add(double value) {
-        values.add(value);
+        if (size == data.length) {
+            grow(size + 1);
+        }
+        data[size++] = value;
     }
 
     /**
@@ -43,7 +83,10 @@ public class Signal {
      * @return valor en la posición i
      */
     public double get(int i) {
-        return values.get(i);
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index " + i + " out of bounds for length " + size);
+        }
+        return data[i];
     }
 
     /**
@@ -52,61 +95,160 @@ public class Signal {
      * @return tamaño de la señal
      */
     public int size() {
-        return values.size();
+        return size;
+    }
+
+    /**
+     * Devuelve una copia de las muestras como array primitivo.
+     *
+     * @return nuevo array de longitud {@link #size()}
+     */
+    public double[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+
+    /**
+     * Devuelve las muestras en un array de longitud exacta {@link #size()}.
+     * Si no sobra capacidad es el array interno, sin copiarlo, y escribir en
+     * él modifica la señal; si sobra (tras {@link #add(double)}) es una copia
+     * recortada. No modifica la señal, así que varios hilos pueden leerla a
+     * la vez; {@link #trimToSize()} evita la copia en lecturas repetidas.
+     *
+     * @return muestras de la señal
+     */
+    public double[] view() {
+        double[] d = data;
+        int n = size;
+        return d.length == n ? d : Arrays.copyOf(d, n);
+    }
+
+    /**
+     * Ajusta la capacidad al número de muestras, para que {@link #view()}
+     * devuelva el array interno. {@link SignalStack} lo hace al apilar.
+     */
+    public void trimToSize() {
+        if (data.length != size) {
+            data = Arrays.copyOf(data, size);
+        }
+    }
+
+    /**
+     * Entrega el array interno de longitud exacta y deja la señal vacía,
+     * para que {@link SignalPool} lo reutilice sin que la señal lo vea.
+     */
+    double[] detach() {
+        double[] d = view();
+        data = EMPTY;
+        size = 0;
+        return d;
+    }
+
+    /** Adopta {@code d} como contenido (inverso de {@link #detach()}). */
+    void attach(double[] d) {
+        data = d;
+        size = d.length;
     }
 
     /**
      * Devuelve una vista inmutable de los valores de la señal.
+     * Se mantiene por compatibilidad; el código de cálculo debe usar
+     * {@link #view()} o {@link #toArray()} para evitar el boxing.
      *
      * @return lista no modificable de valores
      */
     public List<Double> getValues() {
-        return Collections.unmodifiableList(values);
+        return new ValuesView();
     }
-    
-    
-    // Setter 
+
+
+    // Setter
     /*
     public void setValues(List<Double> values) {
         this.values = values;
     }
     */
-    
+
     /**
      * Reemplaza los valores de la señal con una nueva lista.
-     * Se limpia la lista interna y se agregan todos los valores de la nueva lista.
      *
      * @param newValues lista de valores para actualizar la señal
      */
     public void setValues(List<Double> newValues) {
-        values.clear();
-        values.addAll(newValues);
+        // copiamos antes de asignar: newValues puede ser nuestra propia vista
+        double[] copy = toPrimitive(newValues);
+        this.data = copy;
+        this.size = copy.length;
+    }
+
+    /**
+     * Reemplaza los valores de la señal con una copia del array dado.
+     *
+     * @param newValues valores para actualizar la señal
+     */
+    public void setValues(double[] newValues) {
+        this.data = newValues.clone();
+        this.size = newValues.length;
     }
 
 
     public void print() {
-        for (int i = 0; i < values.size(); i++) {
-            System.out.printf("x=%d, y=%.2f%n", i + 1, values.get(i));
+        for (int i = 0; i < size; i++) {
+            System.out.printf("x=%d, y=%.2f%n", i + 1, data[i]);
         }
     }
-    
+
     // Método para imprimir las señales
     public void println() {
-        values.forEach(System.out::println);
+        for (int i = 0; i < size; i++) {
+            System.out.println(data[i]);
+        }
     }
-    
+
     /**
-     * Devuelve una copia de la lista interna de datos.
+     * Devuelve una vista de solo lectura de los datos.
      * Así evitas exponer la lista mutable directamente.
      */
     public List<Double> getData() {
         return getValues();
     }
-}
-
-
 
+    /** Asegura capacidad para al menos minCapacity muestras (crecimiento ×1.5). */
+    private void grow(int minCapacity) {
+        int newCapacity = Math.max(DEFAULT_CAPACITY, data.length + (data.length >> 1));
+        if (newCapacity < minCapacity) {
+            newCapacity = minCapacity;
+        }
+        data = Arrays.copyOf(data, newCapacity);
+    }
 
+    /** Copia una lista a double[], sin boxing si la lista es la vista de otra Signal. */
+    static double[] toPrimitive(List<Double> values) {
+        if (values instanceof Signal.ValuesView) {
+            return ((Signal.ValuesView) values).owner().toArray();
+        }
+        int n = values.size();
+        double[] out = new double[n];
+        int i = 0;
+        for (double v : values) {
+            out[i++] = v;
+        }
+        return out;
+    }
 
+    /** Vista List&lt;Double&gt; inmutable y viva sobre el array interno. */
+    private final class ValuesView extends AbstractList<Double> implements RandomAccess {
+        @Override
+        public Double get(int index) {
+            return Signal.this.get(index);
+        }
 
+        @Override
+        public int size() {
+            return size;
+        }
 
+        Signal owner() {
+            return Signal.this;
+        }
+    }
+}
@@ -11,46 +11,10 @@ import com.merlab.signals.nn.manager.NeuralNetworkManager;
 import com.merlab.signals.nn.processor.DefaultNeuralNetworkProcessor;
 import com.merlab.signals.persistence.DatabaseManager;
 import com.merlab.signals.plot.SignalPlotter;
-import com.merlab.signals.rpn.AddOp;
-import com.merlab.signals.rpn.AddPadWithZerosOp;
-import com.merlab.signals.rpn.AutocorrelationOp;
-import com.merlab.signals.rpn.BandPassFilterOp;
-import com.merlab.signals.rpn.BlendOp;
-import com.merlab.signals.rpn.ClampOp;
-import com.merlab.signals.rpn.ConvolveOp;
-import com.merlab.signals.rpn.ConvolveReversedOp;
-import com.merlab.signals.rpn.ConvolveReversedWithStrideOp;
-import com.merlab.signals.rpn.DecimateOp;
-import com.merlab.signals.rpn.DerivativeOp;
-import com.merlab.signals.rpn.DivideOp;
-import com.merlab.signals.rpn.FFTOp;
-import com.merlab.signals.rpn.GaussianSmoothingOp;
-import com.merlab.signals.rpn.GenerateNormalOp;
-import com.merlab.signals.rpn.GenerateSineAllOp;
-import com.merlab.signals.rpn.HighPassFilterOp;
-import com.merlab.signals.rpn.IntegrateOp;
-import com.merlab.signals.rpn.InterpolateOp;
-import com.merlab.signals.rpn.KurtosisOp;
-import com.merlab.signals.rpn.LQROp;
-import com.merlab.signals.rpn.LowPassFilterOp;
-import com.merlab.signals.rpn.MaxOp;
-import com.merlab.signals.rpn.MeanOp;
-import com.merlab.signals.rpn.MedianOp;
-import com.merlab.signals.rpn.MinOp;
-import com.merlab.signals.rpn.MovingAverageOp;
-import com.merlab.signals.rpn.MultiplyOp;
-import com.merlab.signals.rpn.NormalizeOp;
 import com.merlab.signals.rpn.RPNEngine;
 import com.merlab.signals.rpn.RPNParser;
+import com.merlab.signals.rpn.RPNRegistry;
 import com.merlab.signals.rpn.RPNStack;
-import com.merlab.signals.rpn.RangeOp;
-import com.merlab.signals.rpn.ScaleOp;
-import com.merlab.signals.rpn.SkewnessOp;
-import com.merlab.signals.rpn.StdDevOp;
-import com.merlab.signals.rpn.SubtractOp;
-import com.merlab.signals.rpn.VarianceOp;
-import com.merlab.signals.rpn.WeightedMovingAverageOp;
-import com.merlab.signals.rpn.ZeroCrossingRateOp;
 
 /**
  * Orquesta el flujo de procesamiento de señales usando SignalStack.
@@ -67,11 +31,12 @@ public class SignalManager {
     private final boolean doStats;
     private final boolean doFeatures;
     private final boolean doNN;
+    // opcional: buffers reciclados para los resultados intermedios
+    private final SignalPool signalPool;
     
     // — nuevo: campos para el motor genérico —
     private final RPNEngine   rpnEngine;
     private final RPNParser   rpnParser;
-    private final RPNStack    rpnStack;
     
     
 
@@ -91,74 +56,70 @@ public class SignalManager {
                          boolean doStats,
                          boolean doFeatures,
                          boolean doNN) {
+        this(provider, signalStack, databaseManager, doStats, doFeatures, doNN, null);
+    }
+
+    /**
+     * Constructor con reserva de buffers: los resultados de
+     * {@link #operateRPN} y {@link #sumLastTwoSignals()} se escriben en
+     * buffers de {@code signalPool}, y los operandos que salen del stack se
+     * devuelven a la reserva si venían de ella (y no siguen en el stack).
+     * No se deben conservar referencias a esos intermedios tras la
+     * siguiente operación.
+     *
+     * @param signalPool reserva de buffers, o null para no reciclar
+     */
+    public SignalManager(SignalProvider provider,
+                         SignalStack signalStack,
+                         DatabaseManager databaseManager,
+                         boolean doStats,
+                         boolean doFeatures,
+                         boolean doNN,
+                         SignalPool signalPool) {
         this.provider = provider;
         this.signalStack = signalStack;
         this.databaseManager = databaseManager;
         this.doStats = doStats;
         this.doFeatures = doFeatures;
         this.doNN = doNN;
+        this.signalPool = signalPool;
+        if (signalPool != null && signalStack != null) {
+            // lo que se cae del stack (DROP_OLDEST, clear) también vuelve a la reserva
+            signalStack.setDiscardListener(this::recycle);
+        }
         
-        // Inicializar RPN genérico
-        this.rpnEngine = new RPNEngine();
-        // Registrar operaciones básicas
-        rpnEngine.register("+",    new AddOp());
-        rpnEngine.register("+pwz",    new AddPadWithZerosOp());
-        rpnEngine.register("-",    new SubtractOp());
-        rpnEngine.register("*",    new MultiplyOp());
-        rpnEngine.register("/",    new DivideOp());
-        rpnEngine.register("norm", new NormalizeOp());
-        
-        // … registrar aquí todas las demás ops …
-        rpnEngine.register("dec", new DecimateOp());
-        rpnEngine.register("ip", new InterpolateOp());       
-        rpnEngine.register("scale",     new ScaleOp());
-        rpnEngine.register("deriv",     new DerivativeOp());
-        rpnEngine.register("intg",      new IntegrateOp());
-        rpnEngine.register("conv",      new ConvolveOp());
-        rpnEngine.register("convR",     new ConvolveReversedOp());
-        rpnEngine.register("convRS",     new ConvolveReversedWithStrideOp());
-        rpnEngine.register("lpf",       new LowPassFilterOp());
-        rpnEngine.register("hpf",       new HighPassFilterOp());
-        rpnEngine.register("bpf",       new BandPassFilterOp());
-        rpnEngine.register("fft",       new FFTOp());
-        rpnEngine.register("mean",      new MeanOp());
-        rpnEngine.register("var",       new VarianceOp());
-        rpnEngine.register("std",       new StdDevOp());
-        rpnEngine.register("median",    new MedianOp());
-        rpnEngine.register("min",       new MinOp());
-        rpnEngine.register("max",       new MaxOp());
-        rpnEngine.register("range",     new RangeOp());
-        rpnEngine.register("acor",      new AutocorrelationOp());
-        rpnEngine.register("movavg",    new MovingAverageOp());
-        rpnEngine.register("wma",       new WeightedMovingAverageOp());
-        rpnEngine.register("gsmooth",   new GaussianSmoothingOp());
-        rpnEngine.register("zcr",       new ZeroCrossingRateOp());
-        rpnEngine.register("lqr",       new LQROp());
-        rpnEngine.register("skew",      new SkewnessOp());
-        rpnEngine.register("kurt",      new KurtosisOp());
-        rpnEngine.register("blend",     new BlendOp());
-        rpnEngine.register("clamp",      new ClampOp());
-        
-        rpnEngine.register("gsin",      new GenerateSineAllOp());
-        rpnEngine.register("gnorm",      new GenerateNormalOp());
-
+        // RPN genérico: registro inmutable compartido con RPNParser
+        this.rpnEngine = new RPNEngine(RPNRegistry.builtins());
         this.rpnParser = new RPNParser(rpnEngine);
-        this.rpnStack  = new RPNStack();
     }
     
     /**
      * Ejecuta una expresión RPN genérica.
      * @param tokens     lista de tokens postfix, p. ej. ["sigA","sigB","+"]
      * @param variables  mapa de nombres→Signal para resolver "sigA","sigB",…
-     * @return la señal resultante (tope de rpnStack)
+     * @return la señal resultante (tope de la pila)
      */
     public Signal operateWithRPN(List<String> tokens, Map<String,Signal> variables) {
-        // Limpio el RPNStack para cada llamada
-        rpnStack.clear();
-        // Ejecuto todos los tokens
-        rpnParser.parseAndExecute(tokens, variables, rpnStack);
+        // Una pila por llamada: se puede invocar desde varios hilos
+        RPNStack stack = new RPNStack();
+        rpnParser.parseAndExecute(tokens, variables, stack);
         // El resultado final debe ser un Signal
-        return (Signal) rpnStack.peek();
+        return (Signal) stack.peek();
+    }
+
+    /**
+     * Ejecuta la misma expresión RPN sobre muchos mapas de variables (p. ej.
+     * uno por canal), en paralelo; el resultado i corresponde al mapa i.
+     * @param tokens     lista de tokens postfix
+     * @param variables  un mapa nombre→Signal por evaluación
+     * @return las señales resultantes, en el orden de entrada
+     */
+    public List<Signal> operateWithRPNBatch(List<String> tokens, List<Map<String,Signal>> variables) {
+        List<Signal> out = new ArrayList<>(variables.size());
+        for (Object result : rpnParser.compile(tokens).evaluateAll(variables)) {
+            out.add((Signal) result);
+        }
+        return out;
     }
     
     // — legado RPNOp/LengthMode —
@@ -184,31 +145,45 @@ public class SignalManager {
         //Signal a = signalStack.pop();
         //Signal b = signalStack.pop();
 
-        // 3. Elegir la función de SignalProcessor
-        List<Double> resultValues;
-        switch (op) {
-            case ADD:
-                resultValues = SignalProcessor.addSignals(second.getValues(), top.getValues(), mode);
-                break;
-            case SUBTRACT:
-                resultValues = SignalProcessor.subtractSignals(second.getValues(), top.getValues(), mode);
-                break;
-            case MULTIPLY:
-                resultValues = SignalProcessor.multiplySignals(second.getValues(), top.getValues(), mode);
-                break;
-            case DIVIDE:
-                resultValues = SignalProcessor.divideSignals(second.getValues(), top.getValues(), mode);
-                break;
-            default:
-                throw new UnsupportedOperationException("Operación RPN no soportada: " + op);
+        // 3. Elegir la función de SignalProcessor; el resultado va a un
+        //    buffer de la reserva si la hay
+        double[] a = second.view(), b = top.view();
+        Signal result = newResult(a, b, mode);
+        double[] out = result == null ? null : result.view();
+        double[] resultValues;
+        try {
+            switch (op) {
+                case ADD:
+                    resultValues = SignalProcessor.addSignals(a, b, mode, out);
+                    break;
+                case SUBTRACT:
+                    resultValues = SignalProcessor.subtractSignals(a, b, mode, out);
+                    break;
+                case MULTIPLY:
+                    resultValues = SignalProcessor.multiplySignals(a, b, mode, out);
+                    break;
+                case DIVIDE:
+                    resultValues = SignalProcessor.divideSignals(a, b, mode, out);
+                    break;
+                default:
+                    throw new UnsupportedOperationException("Operación RPN no soportada: " + op);
+            }
+        } catch (RuntimeException ex) {
+            // el buffer reservado para el resultado no llega a usarse
+            if (result != null) {
+                signalPool.release(result);
+            }
+            throw ex;
         }
         
         // 4) Sólo **después** de un cálculo exitoso, eliminamos las dos señales
         signalStack.pop();  // quita 'top'
         signalStack.pop();  // quita 'second'
+        recycle(top);
+        recycle(second);
 
         // 4. Apilar el resultado
-        signalStack.push(new Signal(resultValues));
+        signalStack.push(result != null ? result : Signal.wrap(resultValues));
     }    
     
     
@@ -253,6 +228,38 @@ public class SignalManager {
         saveLastSignal();
     }
 
+    /**
+     * Ejecutor paralelo del mismo pipeline que {@link #runPipeline()}
+     * (normalizar y, según la configuración, estadísticas, características
+     * y NN) para lotes de señales de muchos proveedores. El resultado final
+     * se guarda en la base de datos si hay {@code DatabaseManager}. Las
+     * etapas no usan el stack de este manager.
+     *
+     * @param threadsPerStage hilos de cada etapa (>= 1)
+     * @param queueCapacity   señales que caben en cada cola entre etapas (>= 1)
+     * @param plot            si se dibuja cada señal y resultado intermedio
+     */
+    public SignalPipelineExecutor pipelineExecutor(int threadsPerStage, int queueCapacity, boolean plot) {
+        List<SignalPipelineExecutor.Stage> stages = new ArrayList<>();
+        stages.add(new SignalPipelineExecutor.Stage("Señal Procesada", threadsPerStage,
+            s -> Signal.wrap(normalizeByMax(s.toArray()))));
+        if (doStats) {
+            stages.add(new SignalPipelineExecutor.Stage("Media & Varianza", threadsPerStage,
+                StatisticalProcessor::extractStats));
+        }
+        if (doFeatures) {
+            stages.add(new SignalPipelineExecutor.Stage("Características", threadsPerStage,
+                FeatureExtractor::extractFeatures));
+        }
+        if (doNN) {
+            stages.add(new SignalPipelineExecutor.Stage("Salida NN", threadsPerStage,
+                DefaultNeuralNetworkProcessor::predict2));
+        }
+        return new SignalPipelineExecutor(stages, queueCapacity,
+            databaseManager == null ? null : databaseManager::saveSignal,
+            plot ? SignalPlotter::plotSignal : null);
+    }
+
     /**
      * Agrega una señal al stack.
      */
@@ -296,23 +303,31 @@ public class SignalManager {
             throw new IllegalStateException("La señal en el tope es nula");
         }
 
-        // 2) Obtengo los valores originales
-        List<Double> orig = new ArrayList<>(last.getValues());
-        // 3) Calculo el máximo (para dividir)
-        double max = orig.stream().mapToDouble(Double::doubleValue).max().orElse(1.0);
-        if (max == 0.0) max = 1.0;
+        // 2) Normalizo y actualizo la señal en el stack
+        last.setValues(normalizeByMax(last.view()));
+    }
 
-        // 4) Construyo la lista normalizada
-        List<Double> norm = new ArrayList<>(orig.size());
-        // Primer elemento siempre 0
-        norm.add(0.0);
-        // Resto: valor dividido por el máximo
-        for (int i = 1; i < orig.size(); i++) {
-            norm.add(orig.get(i) / max);
+    /**
+     * Normalización del pipeline: la primera muestra a 0 y el resto
+     * dividido por el máximo (1 si el máximo es 0 o no hay muestras).
+     */
+    private static double[] normalizeByMax(double[] orig) {
+        // 1) Calculo el máximo (para dividir)
+        double max = 1.0;
+        if (orig.length > 0) {
+            max = orig[0];
+            for (int i = 1; i < orig.length; i++) {
+                max = Math.max(max, orig[i]);
+            }
         }
+        if (max == 0.0) max = 1.0;
 
-        // 5) Actualizo la señal en el stack
-        last.setValues(norm);
+        // 2) Primer elemento siempre 0; resto: valor dividido por el máximo
+        double[] norm = new double[Math.max(1, orig.length)];
+        for (int i = 1; i < orig.length; i++) {
+            norm[i] = orig[i] / max;
+        }
+        return norm;
     }
 
     
@@ -382,9 +397,7 @@ public class SignalManager {
      * Muestra todas las señales en el stack por consola.
      */
     public void showStack() {
-        for (Signal s : signalStack.getStack()) {
-            s.println();
-        }
+        signalStack.forEach(Signal::println);
     }
 
     /**
@@ -398,9 +411,7 @@ public class SignalManager {
     public void showStack2() {
         // Verifica que signalStack no sea null
         if (signalStack != null) {
-            for (Signal signal : signalStack.getStack()) {
-                signal.println(); // Muestra los valores de la señal
-            }
+            signalStack.forEach(Signal::println); // Muestra los valores de la señal
         } else {
             System.out.println("El stack está vacío o no ha sido inicializado.");
         }
@@ -423,13 +434,50 @@ public class SignalManager {
         Signal s1 = signalStack.pop();
 
         // 3) Operar con el processor (requiere igual longitud o PAD_WITH_ZEROS)
-        List<Double> summed = SignalProcessor.addSignals(
-            s1.getValues(),
-            s2.getValues(),
-            SignalProcessor.LengthMode.REQUIRE_EQUAL
-        );
+        Signal result = null;
+        try {
+            result = newResult(s1.view(), s2.view(), LengthMode.REQUIRE_EQUAL);
+            double[] summed = SignalProcessor.addSignals(s1.view(), s2.view(),
+                LengthMode.REQUIRE_EQUAL, result == null ? null : result.view());
+            if (result == null) {
+                result = Signal.wrap(summed);
+            }
+        } catch (RuntimeException ex) {
+            // las señales vuelven al stack tal como estaban
+            if (result != null) {
+                signalPool.release(result);
+            }
+            signalStack.push(s1);
+            signalStack.push(s2);
+            throw ex;
+        }
+        recycle(s2);
+        recycle(s1);
 
         // 4) Crear nueva Signal y apilarla
-        signalStack.push(new Signal(summed));
-    }    
+        signalStack.push(result);
+    }
+
+    /**
+     * Señal de la reserva con la longitud del resultado de operar a y b, o
+     * null sin reserva (o si las longitudes no casan: la operación lanzará).
+     */
+    private Signal newResult(double[] a, double[] b, LengthMode mode) {
+        if (signalPool == null) {
+            return null;
+        }
+        if (a.length == b.length) {
+            return signalPool.acquire(a.length);
+        }
+        return mode == LengthMode.PAD_WITH_ZEROS ? signalPool.acquire(Math.max(a.length, b.length)) : null;
+    }
+
+    /** Devuelve a la reserva una señal que ha salido del stack, si ya no está en él. */
+    private void recycle(Signal s) {
+        // contains no carga señales volcadas a disco (TieredSignalStack)
+        if (signalPool == null || signalStack.contains(s)) {
+            return;
+        }
+        signalPool.release(s);
+    }
 }
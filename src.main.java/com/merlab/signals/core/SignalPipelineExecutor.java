@@ -0,0 +1,475 @@
+package com.merlab.signals.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Ejecuta un pipeline de etapas (normalizar, estadísticas, características,
+ * NN...) sobre las señales de muchos {@link SignalProvider} a la vez.
+ * Cada proveedor tiene su hilo lector, cada etapa sus propios hilos, y las
+ * etapas se comunican por colas acotadas: cuando una cola se llena, la
+ * etapa anterior (o el proveedor) espera, así que la memoria en vuelo no
+ * depende del tamaño del lote.
+ * <p>
+ * El dibujo y el guardado son salidas laterales: se encolan (también con
+ * cola acotada) para un hilo aparte y no frenan las etapas mientras haya
+ * sitio. Las etapas no deben modificar su señal de entrada, que puede
+ * estar dibujándose en ese momento.
+ * <p>
+ * Una señal cuya etapa lanza cualquier Throwable (o devuelve null) se
+ * descarta y se cuenta como fallida en esa etapa; el resto del lote sigue.
+ * Lo mismo vale para el proveedor (que deja de leerse) y las salidas
+ * laterales, así que un Error en una etapa no bloquea {@link #run}. Cada etapa
+ * lleva contadores de señales procesadas, fallidas, latencia y
+ * rendimiento ({@link #getMetrics()}).
+ */
+public class SignalPipelineExecutor {
+
+    /** Nombre de las métricas de lectura de los proveedores. */
+    public static final String SOURCE = "source";
+    /** Nombre de las métricas de la salida de dibujo. */
+    public static final String PLOT = "plot";
+    /** Nombre de las métricas de la salida de guardado. */
+    public static final String SAVE = "save";
+    /** Título con el que se dibujan las señales recién leídas. */
+    public static final String SOURCE_TITLE = "Señal Original";
+
+    private static final AtomicInteger PIPELINES = new AtomicInteger();
+    // marca de fin de datos en las colas (se compara por identidad)
+    private static final Signal END = new Signal();
+
+    private final int id = PIPELINES.incrementAndGet();
+    private final List<Stage> stages;
+    private final int queueCapacity;
+    private final Consumer<Signal> sink;
+    private final BiConsumer<String, Signal> plotter;
+
+    private final Counter source = new Counter(SOURCE);
+    private final List<Counter> stageCounters = new ArrayList<>();
+    private final Counter plot = new Counter(PLOT);
+    private final Counter save = new Counter(SAVE);
+    private final AtomicReference<Throwable> firstError = new AtomicReference<>();
+    private final AtomicLong elapsedNanos = new AtomicLong();
+    private volatile long runStart;
+    private volatile List<BlockingQueue<?>> queues = List.of();
+
+    /**
+     * Una etapa del pipeline: una función de señal a señal ejecutada por
+     * {@code threads} hilos.
+     */
+    public static final class Stage {
+        private final String name;
+        private final int threads;
+        private final UnaryOperator<Signal> function;
+
+        /**
+         * @param name     nombre (y título de dibujo) de la etapa
+         * @param threads  hilos de la etapa (>= 1)
+         * @param function transformación; no debe modificar su entrada
+         */
+        public Stage(String name, int threads, UnaryOperator<Signal> function) {
+            if (name == null || function == null) {
+                throw new IllegalArgumentException("name y function no pueden ser null");
+            }
+            if (threads < 1) {
+                throw new IllegalArgumentException("threads debe ser >= 1");
+            }
+            this.name = name;
+            this.threads = threads;
+            this.function = function;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+    }
+
+    /** Foto de los contadores de una etapa. */
+    public static final class StageMetrics {
+        private final String name;
+        private final long processed;
+        private final long failed;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final int queued;
+        private final long elapsedNanos;
+
+        StageMetrics(String name, long processed, long failed, long totalNanos, long maxNanos,
+                     int queued, long elapsedNanos) {
+            this.name = name;
+            this.processed = processed;
+            this.failed = failed;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.queued = queued;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /** Señales procesadas con éxito. */
+        public long getProcessed() {
+            return processed;
+        }
+
+        /** Señales descartadas por una excepción (o un resultado null). */
+        public long getFailed() {
+            return failed;
+        }
+
+        /** Tiempo medio por señal dentro de la etapa, en milisegundos. */
+        public double getMeanLatencyMillis() {
+            long n = processed + failed;
+            return n == 0 ? 0.0 : totalNanos / 1e6 / n;
+        }
+
+        /** Tiempo máximo por señal dentro de la etapa, en milisegundos. */
+        public double getMaxLatencyMillis() {
+            return maxNanos / 1e6;
+        }
+
+        /** Señales procesadas por segundo de ejecución del pipeline. */
+        public double getThroughputPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : processed * 1e9 / elapsedNanos;
+        }
+
+        /** Señales esperando en la cola de entrada de la etapa. */
+        public int getQueued() {
+            return queued;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d ok, %d fallidas, %.3f ms/señal (máx %.3f), %.1f señales/s, %d en cola",
+                name, processed, failed, getMeanLatencyMillis(), getMaxLatencyMillis(),
+                getThroughputPerSecond(), queued);
+        }
+    }
+
+    /**
+     * @param stages        etapas, en orden (al menos una)
+     * @param queueCapacity señales que caben en cada cola entre etapas (>= 1)
+     * @param sink          guardado del resultado final, o null
+     * @param plotter       dibujo (título, señal) de cada resultado intermedio, o null
+     */
+    public SignalPipelineExecutor(List<Stage> stages, int queueCapacity,
+                                  Consumer<Signal> sink, BiConsumer<String, Signal> plotter) {
+        if (stages == null || stages.isEmpty()) {
+            throw new IllegalArgumentException("Se requiere al menos una etapa");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity debe ser >= 1");
+        }
+        this.stages = List.copyOf(stages);
+        this.queueCapacity = queueCapacity;
+        this.sink = sink;
+        this.plotter = plotter;
+        for (Stage s : this.stages) {
+            stageCounters.add(new Counter(s.name));
+        }
+    }
+
+    /**
+     * Procesa hasta {@code maxPerProvider} señales de cada proveedor (menos
+     * si devuelve null antes) y espera a que todas hayan pasado por el
+     * pipeline y por las salidas laterales.
+     *
+     * @return señales que completaron todas las etapas en esta ejecución
+     * @throws InterruptedException si se interrumpe la espera; los hilos
+     *         del pipeline se detienen
+     */
+    public synchronized long run(List<? extends SignalProvider> providers, int maxPerProvider)
+            throws InterruptedException {
+        if (providers == null) {
+            throw new IllegalArgumentException("providers no puede ser null");
+        }
+        if (maxPerProvider < 0) {
+            throw new IllegalArgumentException("maxPerProvider debe ser >= 0");
+        }
+        int n = stages.size();
+        List<BlockingQueue<Signal>> in = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            in.add(new ArrayBlockingQueue<>(queueCapacity));
+        }
+        BlockingQueue<SideTask> side = new ArrayBlockingQueue<>(queueCapacity);
+        List<BlockingQueue<?>> all = new ArrayList<>(in);
+        all.add(side);
+        queues = Collections.unmodifiableList(all);
+
+        LongAdder completed = new LongAdder();
+        List<Thread> threads = new ArrayList<>();
+        // hilos que aún pueden escribir en la entrada de cada etapa (y en la lateral)
+        AtomicInteger[] writers = new AtomicInteger[n + 1];
+        writers[0] = new AtomicInteger(Math.max(1, providers.size()));
+        for (int i = 1; i <= n; i++) {
+            writers[i] = new AtomicInteger(stages.get(i - 1).threads);
+        }
+
+        for (int p = 0; p < providers.size(); p++) {
+            SignalProvider provider = providers.get(p);
+            threads.add(thread(SOURCE + "-" + p, () -> {
+                try {
+                    read(provider, maxPerProvider, in.get(0), side);
+                } finally {
+                    finish(0, writers, in, side);
+                }
+            }));
+        }
+        for (int i = 0; i < n; i++) {
+            int stage = i;
+            for (int k = 0; k < stages.get(i).threads; k++) {
+                threads.add(thread(stages.get(i).name + "-" + k, () -> {
+                    try {
+                        work(stage, in, side, completed);
+                    } finally {
+                        // aunque el hilo muera, los siguientes reciben su marca de fin
+                        finish(stage + 1, writers, in, side);
+                    }
+                }));
+            }
+        }
+        if (providers.isEmpty()) {
+            threads.add(thread(SOURCE, () -> finish(0, writers, in, side)));
+        }
+        threads.add(thread("side", () -> drain(side)));
+
+        runStart = System.nanoTime();
+        try {
+            for (Thread t : threads) {
+                t.start();
+            }
+            for (Thread t : threads) {
+                t.join();
+            }
+        } catch (InterruptedException ex) {
+            for (Thread t : threads) {
+                t.interrupt();
+            }
+            throw ex;
+        } finally {
+            elapsedNanos.addAndGet(System.nanoTime() - runStart);
+            runStart = 0;
+            queues = List.of();
+        }
+        return completed.sum();
+    }
+
+    /** Contadores de lectura, de cada etapa y de las salidas laterales configuradas. */
+    public List<StageMetrics> getMetrics() {
+        long start = runStart;
+        long elapsed = elapsedNanos.get() + (start == 0 ? 0 : System.nanoTime() - start);
+        List<BlockingQueue<?>> q = queues;
+        List<StageMetrics> out = new ArrayList<>();
+        out.add(source.snapshot(0, elapsed));
+        for (int i = 0; i < stageCounters.size(); i++) {
+            out.add(stageCounters.get(i).snapshot(q.isEmpty() ? 0 : q.get(i).size(), elapsed));
+        }
+        int sideQueued = q.isEmpty() ? 0 : q.get(q.size() - 1).size();
+        if (plotter != null) {
+            out.add(plot.snapshot(sideQueued, elapsed));
+        }
+        if (sink != null) {
+            out.add(save.snapshot(sideQueued, elapsed));
+        }
+        return out;
+    }
+
+    /** Primera excepción capturada en cualquier etapa, o null. */
+    public Throwable getFirstError() {
+        return firstError.get();
+    }
+
+    public List<Stage> getStages() {
+        return stages;
+    }
+
+    private void read(SignalProvider provider, int max, BlockingQueue<Signal> out,
+                      BlockingQueue<SideTask> side) {
+        try {
+            for (int i = 0; i < max; i++) {
+                long t0 = System.nanoTime();
+                Signal s;
+                try {
+                    s = provider.getSignal();
+                } catch (Throwable ex) {
+                    source.fail(System.nanoTime() - t0, ex);
+                    return;
+                }
+                if (s == null) {
+                    return;
+                }
+                source.record(System.nanoTime() - t0);
+                if (plotter != null) {
+                    side.put(new SideTask(SOURCE_TITLE, s, false));
+                }
+                out.put(s);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void work(int stage, List<BlockingQueue<Signal>> in, BlockingQueue<SideTask> side,
+                      LongAdder completed) {
+        Stage st = stages.get(stage);
+        Counter counter = stageCounters.get(stage);
+        boolean last = stage == stages.size() - 1;
+        try {
+            while (true) {
+                Signal s = in.get(stage).take();
+                if (s == END) {
+                    return;
+                }
+                long t0 = System.nanoTime();
+                Signal r;
+                try {
+                    r = st.function.apply(s);
+                } catch (Throwable ex) {
+                    counter.fail(System.nanoTime() - t0, ex);
+                    continue;
+                }
+                if (r == null) {
+                    counter.fail(System.nanoTime() - t0, null);
+                    continue;
+                }
+                counter.record(System.nanoTime() - t0);
+                if (plotter != null) {
+                    side.put(new SideTask(st.name, r, false));
+                }
+                if (last) {
+                    completed.increment();
+                    if (sink != null) {
+                        side.put(new SideTask(null, r, true));
+                    }
+                } else {
+                    in.get(stage + 1).put(r);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain(BlockingQueue<SideTask> side) {
+        try {
+            while (true) {
+                SideTask task = side.take();
+                if (task.signal == END) {
+                    return;
+                }
+                Counter counter = task.save ? save : plot;
+                long t0 = System.nanoTime();
+                try {
+                    if (task.save) {
+                        sink.accept(task.signal);
+                    } else {
+                        plotter.accept(task.title, task.signal);
+                    }
+                    counter.record(System.nanoTime() - t0);
+                } catch (Throwable ex) {
+                    counter.fail(System.nanoTime() - t0, ex);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Un escritor de la cola {@code queue} (la de la etapa, o la lateral si
+     * es {@code stages.size()}) ha terminado; el último cierra la cola con
+     * una marca de fin por cada hilo lector.
+     */
+    private void finish(int queue, AtomicInteger[] writers, List<BlockingQueue<Signal>> in,
+                        BlockingQueue<SideTask> side) {
+        if (writers[queue].decrementAndGet() != 0 || Thread.currentThread().isInterrupted()) {
+            return;
+        }
+        try {
+            if (queue == stages.size()) {
+                side.put(new SideTask(null, END, false));
+            } else {
+                for (int k = 0; k < stages.get(queue).threads; k++) {
+                    in.get(queue).put(END);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Thread thread(String role, Runnable body) {
+        Thread t = new Thread(body, "signal-pipeline-" + id + "-" + role);
+        t.setDaemon(true);
+        return t;
+    }
+
+    private void recordError(Throwable ex) {
+        if (ex != null) {
+            firstError.compareAndSet(null, ex);
+        }
+    }
+
+    /** Trabajo pendiente para el hilo de salidas laterales. */
+    private static final class SideTask {
+        final String title;
+        final Signal signal;
+        final boolean save;
+
+        SideTask(String title, Signal signal, boolean save) {
+            this.title = title;
+            this.signal = signal;
+            this.save = save;
+        }
+    }
+
+    /** Contadores acumulados de una etapa, seguros entre hilos. */
+    private final class Counter {
+        private final String name;
+        private final LongAdder processed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        Counter(String name) {
+            this.name = name;
+        }
+
+        void record(long elapsed) {
+            processed.increment();
+            time(elapsed);
+        }
+
+        void fail(long elapsed, Throwable ex) {
+            failed.increment();
+            time(elapsed);
+            recordError(ex);
+        }
+
+        private void time(long elapsed) {
+            nanos.add(elapsed);
+            max.accumulateAndGet(elapsed, Math::max);
+        }
+
+        StageMetrics snapshot(int queued, long elapsed) {
+            return new StageMetrics(name, processed.sum(), failed.sum(), nanos.sum(), max.get(),
+                queued, elapsed);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.merlab.signals.core;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reserva de buffers de señal reutilizables, agrupados por longitud.
+ * {@link #acquire(int)} devuelve una señal sobre un buffer reciclado (o
+ * nuevo) y {@link #release(Signal)} lo devuelve a la reserva. Solo se
+ * reciclan señales entregadas por esta misma reserva; la señal liberada
+ * queda vacía, así que una referencia antigua no ve datos ajenos.
+ * La reserva no guarda referencias a las señales entregadas (la marca va
+ * en la propia señal): una que nunca se libera la recoge el GC sin más.
+ * Es segura entre hilos.
+ */
+public class SignalPool {
+    private final int maxPerLength;
+    private final Map<Integer, ArrayDeque<double[]>> free = new HashMap<>();
+    private long hits;
+    private long misses;
+    private int pooled;
+
+    /**
+     * @param maxPerLength buffers libres que se conservan por cada longitud (>= 1)
+     */
+    public SignalPool(int maxPerLength) {
+        if (maxPerLength < 1) {
+            throw new IllegalArgumentException("maxPerLength debe ser >= 1");
+        }
+        this.maxPerLength = maxPerLength;
+    }
+
+    /**
+     * Señal de {@code length} muestras sobre un buffer de la reserva.
+     * El contenido es indefinido: el llamador debe escribir todas las muestras.
+     */
+    public synchronized Signal acquire(int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Longitud negativa: " + length);
+        }
+        ArrayDeque<double[]> q = free.get(length);
+        double[] buf = q == null ? null : q.poll();
+        if (buf != null) {
+            hits++;
+            pooled--;
+        } else {
+            misses++;
+            buf = new double[length];
+        }
+        Signal s = Signal.wrap(buf);
+        s.pool = this;
+        return s;
+    }
+
+    /**
+     * Devuelve el buffer de una señal obtenida con {@link #acquire(int)} y
+     * deja la señal vacía. Otras señales (o una ya liberada) se ignoran.
+     *
+     * @return true si el buffer volvió a la reserva
+     */
+    public synchronized boolean release(Signal signal) {
+        if (signal == null || signal.pool != this) {
+            return false;
+        }
+        signal.pool = null;
+        double[] buf = signal.detach();
+        ArrayDeque<double[]> q = free.computeIfAbsent(buf.length, k -> new ArrayDeque<>());
+        if (buf.length > 0 && q.size() < maxPerLength) {
+            q.push(buf);
+            pooled++;
+        }
+        return true;
+    }
+
+    /** Peticiones servidas con un buffer reciclado. */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /** Peticiones que tuvieron que reservar un buffer nuevo. */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /** Buffers libres en la reserva. */
+    public synchronized int getPooledCount() {
+        return pooled;
+    }
+
+    /** Vacía la reserva (los buffers entregados siguen siendo de sus señales). */
+    public synchronized void clear() {
+        free.clear();
+        pooled = 0;
+    }
+}
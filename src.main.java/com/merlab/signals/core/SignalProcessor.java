@@ -4,10 +4,10 @@ package com.merlab.signals.core;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import com.merlab.signals.core.SignalManager.RPNOp;
 import com.merlab.signals.core.SignalProcessor.LengthMode;
+import com.merlab.signals.simd.Kernels;
 
 public class SignalProcessor {
 	
@@ -68,6 +68,51 @@ public class SignalProcessor {
 	                //throw new IllegalArgumentException("Modo desconocido: " + mode);
 		}
 	}   
+
+    // ————————————————————————————————————————
+    // Utilidades para la API primitiva (double[])
+    // ————————————————————————————————————————
+    /**
+     * Convierte una lista de muestras en un array primitivo nuevo.
+     */
+    public static double[] toArray(List<Double> values) {
+        return Signal.toPrimitive(values);
+    }
+
+    /**
+     * Convierte un array primitivo en una ArrayList mutable, como la que
+     * devolvía históricamente la API basada en List&lt;Double&gt;.
+     */
+    public static List<Double> toList(double[] values) {
+        List<Double> out = new ArrayList<>(values.length);
+        for (double v : values) out.add(v);
+        return out;
+    }
+
+    /**
+     * Devuelve el buffer de salida a usar: {@code out} si se suministró
+     * (debe tener longitud exacta {@code n}), o un array nuevo.
+     */
+    private static double[] output(double[] out, int n) {
+        if (out == null) {
+            return new double[n];
+        }
+        if (out.length != n) {
+            throw new IllegalArgumentException(
+                "Buffer de salida de longitud " + out.length + ", se esperaba " + n);
+        }
+        return out;
+    }
+
+    /**
+     * Longitud resultante de una operación elemento a elemento según LengthMode,
+     * con los mismos mensajes de error que validateAlignment.
+     */
+    private static int alignedLength(int na, int nb, LengthMode mode) {
+        if (na == nb) return na;
+        if (mode == LengthMode.PAD_WITH_ZEROS) return Math.max(na, nb);
+        throw new IllegalArgumentException("Longitudes distintas entre señales");
+    }
 	
     /**
      * Normaliza la señal al rango [0, 1].
@@ -75,9 +120,7 @@ public class SignalProcessor {
      * @return nueva señal normalizada
      */
     public static Signal process(Signal input) {
-        // Suponemos que normalizeTo devuelve List<Double> normalizada
-        List<Double> normalized = normalizeTo(input.getValues(), 1.0);
-        return new Signal(normalized);
+        return Signal.wrap(normalizeTo(input.view(), 1.0));
     }
     
     /**
@@ -89,11 +132,7 @@ public class SignalProcessor {
      * @return       nueva señal escalada
      */
     public static Signal scale(Signal input, double factor, boolean divide) {
-        double f = divide ? 1.0 / factor : factor;
-        List<Double> scaled = input.getValues().stream()
-            .map(v -> v * f)
-            .collect(Collectors.toList());
-        return new Signal(scaled);
+        return Signal.wrap(scale(input.view(), factor, divide));
     }    
     
     /**
@@ -108,78 +147,158 @@ public class SignalProcessor {
     public static List<Double> scale(List<Double> inputSignal,
                                      double factor,
                                      boolean divide) {
-        double f = divide ? 1.0 / factor : factor;
-        return inputSignal.stream()
-                          .map(v -> v * f)
-                          .collect(Collectors.toList());
+        return toList(scale(toArray(inputSignal), factor, divide));
     }    
 
+    /** Versión primitiva de {@link #scale(List, double, boolean)}. */
+    public static double[] scale(double[] x, double factor, boolean divide) {
+        return scale(x, factor, divide, null);
+    }
+
+    /**
+     * Versión primitiva con buffer de salida. {@code out} puede ser null,
+     * o el propio {@code x} para escalar en sitio.
+     */
+    public static double[] scale(double[] x, double factor, boolean divide, double[] out) {
+        double f = divide ? 1.0 / factor : factor;
+        double[] y = output(out, x.length);
+        Kernels.scale(x, f, y, x.length);
+        return y;
+    }
+
     /**
      * Escala un objeto Signal y devuelve otro Signal.
      */
     public static Signal scaleSignal(Signal input,
                                      double factor,
                                      boolean divide) {
-        List<Double> scaled = scale(input.getValues(), factor, divide);
-        return new Signal(scaled);
+        return scale(input, factor, divide);
     }
     
     public static List<Double> normalizeTo(List<Double> inputSignal, double scale) {
-        double max = inputSignal.stream().mapToDouble(Double::doubleValue).max().orElse(1.0);
-        double min = inputSignal.stream().mapToDouble(Double::doubleValue).min().orElse(0.0);
-        double range = (max - min == 0) ? 1.0 : max - min;
+        return toList(normalizeTo(toArray(inputSignal), scale));
+    }
 
-        return inputSignal.stream()
-                .map(val -> ((val - min) / range) * scale)
-                .collect(Collectors.toList());
+    /** Versión primitiva de {@link #normalizeTo(List, double)}. */
+    public static double[] normalizeTo(double[] x, double scale) {
+        return normalizeTo(x, scale, null);
+    }
+
+    /**
+     * Versión primitiva con buffer de salida ({@code out} puede ser null o {@code x}).
+     */
+    public static double[] normalizeTo(double[] x, double scale, double[] out) {
+        double max = 1.0, min = 0.0;
+        if (x.length > 0) {
+            max = Kernels.max(x, x.length);
+            min = Kernels.min(x, x.length);
+        }
+        double range = (max - min == 0) ? 1.0 : max - min;
+        double[] y = output(out, x.length);
+        Kernels.normalize(x, min, range, scale, y, x.length);
+        return y;
     }
     
+    /**
+     * Satura cada muestra al intervalo [min, max]:
+     * x &lt; min ? min : x &gt; max ? max : x.
+     */
+    public static Signal clamp(Signal input, double min, double max) {
+        return Signal.wrap(clamp(input.view(), min, max, null));
+    }
+
+    /**
+     * Versión primitiva de {@link #clamp(Signal, double, double)} con buffer
+     * de salida ({@code out} puede ser null o {@code x}).
+     */
+    public static double[] clamp(double[] x, double min, double max, double[] out) {
+        double[] y = output(out, x.length);
+        Kernels.clamp(x, min, max, y, x.length);
+        return y;
+    }
+
     // Función para decimar la señal con un factor
     public static List<Double> decimate(List<Double> inputSignal, int factor) {
+        return toList(decimate(toArray(inputSignal), factor));
+    }
+
+    /** Versión primitiva de {@link #decimate(List, int)}: toma x[0], x[factor], x[2·factor], … */
+    public static double[] decimate(double[] x, int factor) {
+        return decimate(x, factor, null);
+    }
+
+    /**
+     * Versión primitiva con buffer de salida de longitud ⌈n / factor⌉.
+     */
+    public static double[] decimate(double[] x, int factor, double[] out) {
         // Verificamos si el factor es mayor que 0 para evitar errores
         if (factor <= 0) {
             throw new IllegalArgumentException("El factor de decimación debe ser mayor que 0.");
         }
-
-        return inputSignal.stream()
-                .filter(val -> inputSignal.indexOf(val) % factor == 0) // Tomamos cada n-ésimo valor
-                .collect(Collectors.toList());
+        double[] y = output(out, (x.length + factor - 1) / factor);
+        for (int i = 0, j = 0; i < x.length; i += factor, j++) {
+            y[j] = x[i];
+        }
+        return y;
     }
     
     // Función para decimar la señal, tomando cada 2 valores
     public static List<Double> decimateByTwo(List<Double> inputSignal) {
-        return inputSignal.stream()
-                .filter(val -> inputSignal.indexOf(val) % 2 == 0) // Tomamos cada segundo valor
-                .collect(Collectors.toList());
+        return decimate(inputSignal, 2);
     }    
     
     // Función para interpolar la señal con un factor
     public static List<Double> interpolate(List<Double> inputSignal, int factor) {
-        List<Double> interpolatedSignal = new ArrayList<>();
-        
+        return toList(interpolate(toArray(inputSignal), factor));
+    }
+
+    /** Versión primitiva de {@link #interpolate(List, int)} (interpolación lineal). */
+    public static double[] interpolate(double[] x, int factor) {
+        return interpolate(x, factor, null);
+    }
+
+    /**
+     * Versión primitiva con buffer de salida de longitud (n-1)·factor + 1.
+     */
+    public static double[] interpolate(double[] x, int factor, double[] out) {
+        int n = x.length;
+        if (n == 0) {
+            throw new IndexOutOfBoundsException("Señal vacía");
+        }
+        int steps = Math.max(factor, 1);
+        double[] y = output(out, (n - 1) * steps + 1);
+        int k = 0;
         // Iteramos sobre la señal original para interpolar
-        for (int i = 0; i < inputSignal.size() - 1; i++) {
-            double x1 = i;
-            double y1 = inputSignal.get(i);
-            double x2 = i + 1;
-            double y2 = inputSignal.get(i + 1);
-            
+        for (int i = 0; i < n - 1; i++) {
+            double y1 = x[i];
+            double y2 = x[i + 1];
             // Añadimos el primer punto de la señal original
-            interpolatedSignal.add(y1);
-            
+            y[k++] = y1;
             // Interpolamos los valores entre el punto i y el i+1
             for (int j = 1; j < factor; j++) {
-                double x = x1 + (double) j / factor;
-                double y = y1 + (x - x1) * (y2 - y1) / (x2 - x1);
-                interpolatedSignal.add(y);
+                double t = (double) j / factor;
+                y[k++] = y1 + t * (y2 - y1);
             }
         }
-        
         // Añadimos el último punto
-        interpolatedSignal.add(inputSignal.get(inputSignal.size() - 1));
-        
-        return interpolatedSignal;
+        y[k] = x[n - 1];
+        return y;
     }   
+
+    /**
+     * Remuestreo racional up/down con filtro anti-aliasing polifásico
+     * ({@link PolyphaseResampler}): a diferencia de {@link #decimate} e
+     * {@link #interpolate}, no produce aliasing ni imágenes espectrales.
+     * Devuelve ⌈n·up/down⌉ muestras.
+     */
+    public static List<Double> resample(List<Double> inputSignal, int up, int down) {
+        return toList(resample(toArray(inputSignal), up, down));
+    }
+
+    /** Versión primitiva de {@link #resample(List, int, int)}. */
+    public static double[] resample(double[] x, int up, int down) {
+        return new PolyphaseResampler(up, down).resample(x);
+    }
     
     /**
      * Calcula la derivada discreta de una señal con paso dt.
@@ -189,15 +308,26 @@ public class SignalProcessor {
      * @return       lista de (signal[i] - signal[i-dt]) / dt, para i>=dt
      */
     public static List<Double> derivative(List<Double> signal, int dt) {
+        return toList(derivative(toArray(signal), dt));
+    }
+
+    /** Versión primitiva de {@link #derivative(List, int)}. */
+    public static double[] derivative(double[] x, int dt) {
+        return derivative(x, dt, null);
+    }
+
+    /**
+     * Versión primitiva con buffer de salida de longitud max(0, n - dt).
+     */
+    public static double[] derivative(double[] x, int dt, double[] out) {
         if (dt < 1) {
             throw new IllegalArgumentException("dt debe ser >= 1");
         }
-        List<Double> deriv = new ArrayList<>();
-        for (int i = dt; i < signal.size(); i++) {
-            double diff = signal.get(i) - signal.get(i - dt);
-            deriv.add(diff / dt);
+        double[] y = output(out, Math.max(0, x.length - dt));
+        for (int i = dt; i < x.length; i++) {
+            y[i - dt] = (x[i] - x[i - dt]) / dt;
         }
-        return deriv;
+        return y;
     }
 
     /** 
@@ -210,22 +340,30 @@ public class SignalProcessor {
     
     //derivador
     public static List<Double> derivative1(List<Double> signal) {
-        List<Double> derivative = new ArrayList<>();
-        for (int i = 1; i < signal.size(); i++) {
-            derivative.add(signal.get(i) - signal.get(i - 1));
-        }
-        return derivative;
+        return derivative(signal, 1);
     }
 
     //integrador
     public static List<Double> integrate(List<Double> signal) {
-        List<Double> integratedSignal = new ArrayList<>();
+        return toList(integrate(toArray(signal)));
+    }
+
+    /** Versión primitiva de {@link #integrate(List)} (suma acumulada). */
+    public static double[] integrate(double[] x) {
+        return integrate(x, null);
+    }
+
+    /**
+     * Versión primitiva con buffer de salida ({@code out} puede ser null o {@code x}).
+     */
+    public static double[] integrate(double[] x, double[] out) {
+        double[] y = output(out, x.length);
         double sum = 0;
-        for (double value : signal) {
-            sum += value;
-            integratedSignal.add(sum);
+        for (int i = 0; i < x.length; i++) {
+            sum += x[i];
+            y[i] = sum;
         }
-        return integratedSignal;
+        return y;
     }
     
     /**
@@ -234,15 +372,7 @@ public class SignalProcessor {
     public static List<Double> addSignals_(List<Double> a,
                                           List<Double> b,
                                           LengthMode mode) {
-        // creamos copias para no mutar las originales
-        List<Double> x = new ArrayList<>(a);
-        List<Double> y = new ArrayList<>(b);
-        validateAlignment(x, y, mode);
-        List<Double> out = new ArrayList<>(x.size());
-        for (int i = 0; i < x.size(); i++) {
-            out.add(x.get(i) + y.get(i));
-        }
-        return out;
+        return toList(addSignals(toArray(a), toArray(b), mode));
     }
     
     public static List<Double> addSignals(List<Double> a, List<Double> b, LengthMode mode) {
@@ -263,11 +393,30 @@ public class SignalProcessor {
             validateAlignment(x, y, mode);
         }
 
-        List<Double> out = new ArrayList<>(x.size());
-        for (int i = 0; i < x.size(); i++) {
-            out.add(x.get(i) + y.get(i));
+        return toList(addSignals(toArray(x), toArray(y), mode));
+    }
+
+    /**
+     * Versión primitiva de la suma elemento a elemento. Con PAD_WITH_ZEROS
+     * las muestras que faltan en la señal más corta cuentan como 0.
+     */
+    public static double[] addSignals(double[] a, double[] b, LengthMode mode) {
+        return addSignals(a, b, mode, null);
+    }
+
+    /**
+     * Versión primitiva con buffer de salida ({@code out} puede ser null,
+     * {@code a} o {@code b} cuando tienen la longitud resultante).
+     */
+    public static double[] addSignals(double[] a, double[] b, LengthMode mode, double[] out) {
+        int n = alignedLength(a.length, b.length, mode);
+        double[] y = output(out, n);
+        int common = Math.min(a.length, b.length);
+        Kernels.add(a, b, y, common);
+        for (int i = common; i < n; i++) {
+            y[i] = (i < a.length ? a[i] : 0.0) + (i < b.length ? b[i] : 0.0);
         }
-        return out;
+        return y;
     }
 
 
@@ -277,14 +426,24 @@ public class SignalProcessor {
     public static List<Double> subtractSignals(List<Double> a,
                                                List<Double> b,
                                                LengthMode mode) {
-        List<Double> x = new ArrayList<>(a);
-        List<Double> y = new ArrayList<>(b);
-        validateAlignment(x, y, mode);
-        List<Double> out = new ArrayList<>(x.size());
-        for (int i = 0; i < x.size(); i++) {
-            out.add(x.get(i) - y.get(i));
+        return toList(subtractSignals(toArray(a), toArray(b), mode));
+    }
+
+    /** Versión primitiva de la resta elemento a elemento (a - b). */
+    public static double[] subtractSignals(double[] a, double[] b, LengthMode mode) {
+        return subtractSignals(a, b, mode, null);
+    }
+
+    /** Versión primitiva con buffer de salida ({@code out} puede ser null, {@code a} o {@code b}). */
+    public static double[] subtractSignals(double[] a, double[] b, LengthMode mode, double[] out) {
+        int n = alignedLength(a.length, b.length, mode);
+        double[] y = output(out, n);
+        int common = Math.min(a.length, b.length);
+        Kernels.subtract(a, b, y, common);
+        for (int i = common; i < n; i++) {
+            y[i] = (i < a.length ? a[i] : 0.0) - (i < b.length ? b[i] : 0.0);
         }
-        return out;
+        return y;
     }
 
     /**
@@ -293,14 +452,24 @@ public class SignalProcessor {
     public static List<Double> multiplySignals(List<Double> a,
                                                List<Double> b,
                                                LengthMode mode) {
-        List<Double> x = new ArrayList<>(a);
-        List<Double> y = new ArrayList<>(b);
-        validateAlignment(x, y, mode);
-        List<Double> out = new ArrayList<>(x.size());
-        for (int i = 0; i < x.size(); i++) {
-            out.add(x.get(i) * y.get(i));
+        return toList(multiplySignals(toArray(a), toArray(b), mode));
+    }
+
+    /** Versión primitiva del producto elemento a elemento. */
+    public static double[] multiplySignals(double[] a, double[] b, LengthMode mode) {
+        return multiplySignals(a, b, mode, null);
+    }
+
+    /** Versión primitiva con buffer de salida ({@code out} puede ser null, {@code a} o {@code b}). */
+    public static double[] multiplySignals(double[] a, double[] b, LengthMode mode, double[] out) {
+        int n = alignedLength(a.length, b.length, mode);
+        double[] y = output(out, n);
+        int common = Math.min(a.length, b.length);
+        Kernels.multiply(a, b, y, common);
+        for (int i = common; i < n; i++) {
+            y[i] = (i < a.length ? a[i] : 0.0) * (i < b.length ? b[i] : 0.0);
         }
-        return out;
+        return y;
     }
     
 
@@ -317,23 +486,33 @@ public class SignalProcessor {
     public static List<Double> divideSignals(List<Double> a,
                                              List<Double> b,
                                              LengthMode mode) {
-        // Copiamos para no mutar las originales
-        List<Double> x = new ArrayList<>(a);
-        List<Double> y = new ArrayList<>(b);
-        validateAlignment(x, y, mode);
+        return toList(divideSignals(toArray(a), toArray(b), mode));
+    }    
 
-        List<Double> out = new ArrayList<>(x.size());
-        for (int i = 0; i < x.size(); i++) {
-            double denom = y.get(i);
+    /** Versión primitiva de la división elemento a elemento (a ÷ b). */
+    public static double[] divideSignals(double[] a, double[] b, LengthMode mode) {
+        return divideSignals(a, b, mode, null);
+    }
+
+    /**
+     * Versión primitiva con buffer de salida ({@code out} puede ser null, {@code a} o {@code b}).
+     * @throws IllegalArgumentException si b[i] == 0 en alguna posición
+     */
+    public static double[] divideSignals(double[] a, double[] b, LengthMode mode, double[] out) {
+        int n = alignedLength(a.length, b.length, mode);
+        double[] y = output(out, n);
+        for (int i = 0; i < n; i++) {
+            double num   = i < a.length ? a[i] : 0.0;
+            double denom = i < b.length ? b[i] : 0.0;
             if (denom == 0.0) {
                 throw new IllegalArgumentException(
                     "División por cero en la posición " + i
                 );
             }
-            out.add(x.get(i) / denom);
+            y[i] = num / denom;
         }
-        return out;
-    }    
+        return y;
+    }
 
     /**
      * Convolución discreta (sin invertir y sin “stride”), línea base.
@@ -343,20 +522,48 @@ public class SignalProcessor {
                                         LengthMode mode) {
         // Para convolución clásica, no necesitamos validar igual longitud:
         // asumimos a como “señal” y b como “kernel”
-        int na = a.size(), nb = b.size();
-        List<Double> out = new ArrayList<>(na + nb - 1);
-        for (int n = 0; n < na + nb - 1; n++) {
+        return convolve(a, b);
+    }    
+
+    /** Versión primitiva de la convolución lineal completa (longitud n + m - 1). */
+    public static double[] convolve(double[] x, double[] h) {
+        return convolve(x, h, (double[]) null);
+    }
+
+    /**
+     * Versión primitiva con buffer de salida de longitud n + m - 1
+     * (0 si alguna de las dos está vacía y la otra también).
+     * {@code out} no puede ser ninguno de los arrays de entrada.
+     * Con kernels largos usa la convolución FFT overlap-add de
+     * {@link FastConvolution}; con kernels cortos, el bucle directo.
+     */
+    public static double[] convolve(double[] x, double[] h, double[] out) {
+        int n = x.length, m = h.length;
+        double[] y = output(out, Math.max(0, n + m - 1));
+        if (FastConvolution.useFFT((double) n * m, n, m)) {
+            return FastConvolution.convolve(x, h, y);
+        }
+        for (int k = 0; k < y.length; k++) {
+            int iMin = Math.max(0, k - m + 1);
+            int iMax = Math.min(n - 1, k);
             double sum = 0;
-            for (int k = 0; k < nb; k++) {
-                int i = n - k;
-                if (i >= 0 && i < na) {
-                    sum += a.get(i) * b.get(k);
-                }
+            // sum over all overlaps
+            for (int i = iMin; i <= iMax; i++) {
+                sum += x[i] * h[k - i];
             }
-            out.add(sum);
+            y[k] = sum;
         }
-        return out;
-    }    
+        return y;
+    }
+
+    /** Devuelve una copia invertida de h. */
+    private static double[] reversed(double[] h) {
+        double[] r = new double[h.length];
+        for (int i = 0; i < h.length; i++) {
+            r[i] = h[h.length - 1 - i];
+        }
+        return r;
+    }
     
    
     
@@ -371,35 +578,61 @@ public class SignalProcessor {
     public static List<Double> convolveReversedWithStride(List<Double> signal,
                                                 List<Double> kernel,
                                                 int stride) {
+        return toList(convolveReversedWithStride(toArray(signal), toArray(kernel), stride));
+    }    
+
+    /** Versión primitiva de {@link #convolveReversedWithStride(List, List, int)}. */
+    public static double[] convolveReversedWithStride(double[] signal, double[] kernel, int stride) {
+        return convolveReversedWithStride(signal, kernel, stride, null);
+    }
+
+    /**
+     * Versión primitiva con buffer de salida de longitud ⌊(n - k) / stride⌋ + 1
+     * (0 si la señal es más corta que el kernel).
+     */
+    public static double[] convolveReversedWithStride(double[] signal, double[] kernel,
+                                                      int stride, double[] out) {
         if (stride < 1) {
             throw new IllegalArgumentException("Stride debe ser >= 1");
         }
-        int n = signal.size();
-        int k = kernel.size();
+        int n = signal.length;
+        int k = kernel.length;
         if (k == 0 || n == 0 || n < k) {
-            return Collections.emptyList();
+            return output(out, 0);
         }
-        // invertir el kernel
-        List<Double> rev = new ArrayList<>(kernel);
-        Collections.reverse(rev);
-
-        List<Double> out = new ArrayList<>();
-        // desplazamiento de la ventana de longitud k, avanzando de stride en stride
-        for (int i = 0; i + k <= n; i += stride) {
+        double[] y = output(out, (n - k) / stride + 1);
+        if (FastConvolution.useFFT((double) y.length * k, n, k)) {
+            // salida i-ésima = convolución completa en i·stride + k - 1
+            double[] full = FastConvolution.convolve(signal, kernel, null);
+            for (int o = 0; o < y.length; o++) {
+                y[o] = full[o * stride + k - 1];
+            }
+            return y;
+        }
+        // desplazamiento de la ventana de longitud k, avanzando de stride en stride;
+        // rev[j] = kernel[k-1-j], sin materializar el kernel invertido
+        for (int i = 0, o = 0; i + k <= n; i += stride, o++) {
             double sum = 0;
             for (int j = 0; j < k; j++) {
-                sum += signal.get(i + j) * rev.get(j);
+                sum += signal[i + j] * kernel[k - 1 - j];
             }
-            out.add(sum);
+            y[o] = sum;
         }
-        return out;
-    }    
+        return y;
+    }
     
     public static List<Double> convolveReversed(List<Double> x, List<Double> h) {
-        // reverse h
-        List<Double> hr = new ArrayList<>(h);
-        Collections.reverse(hr);
-        return convolve(x, hr);
+        return toList(convolveReversed(toArray(x), toArray(h)));
+    }
+
+    /** Versión primitiva: convolución lineal de x con h invertido. */
+    public static double[] convolveReversed(double[] x, double[] h) {
+        return convolve(x, reversed(h));
+    }
+
+    /** Versión primitiva con buffer de salida de longitud n + m - 1. */
+    public static double[] convolveReversed(double[] x, double[] h, double[] out) {
+        return convolve(x, reversed(h), out);
     }
     
     
@@ -433,32 +666,32 @@ public class SignalProcessor {
     }
     
     public static List<Double> convolve(List<Double> x, List<Double> h) {
-        int n = x.size();
-        int m = h.size();
-        List<Double> y = new ArrayList<>(n + m - 1);
-        // for each possible output index k
-        for (int k = 0; k < n + m - 1; k++) {
-            double sum = 0;
-            // sum over all overlaps
-            for (int i = 0; i < n; i++) {
-                int j = k - i;
-                if (j >= 0 && j < m) {
-                    sum += x.get(i) * h.get(j);
-                }
-            }
-            y.add(sum);
-        }
-        return y;
+        return toList(convolve(toArray(x), toArray(h)));
     }    
     
     //lowpassfilter
     public static List<Double> lowPassFilter(List<Double> signal, double alpha) {
-        List<Double> result = new ArrayList<>();
-        result.add(signal.get(0)); // El primer valor no cambia
-        for (int i = 1; i < signal.size(); i++) {
-            result.add(alpha * signal.get(i) + (1 - alpha) * result.get(i - 1));
+        return toList(lowPassFilter(toArray(signal), alpha));
+    }
+
+    /** Versión primitiva de {@link #lowPassFilter(List, double)}. */
+    public static double[] lowPassFilter(double[] x, double alpha) {
+        return lowPassFilter(x, alpha, null);
+    }
+
+    /**
+     * Versión primitiva con buffer de salida ({@code out} puede ser null o {@code x}).
+     */
+    public static double[] lowPassFilter(double[] x, double alpha, double[] out) {
+        double[] y = output(out, x.length);
+        if (x.length == 0) return y;
+        double prev = x[0]; // El primer valor no cambia
+        y[0] = prev;
+        for (int i = 1; i < x.length; i++) {
+            prev = alpha * x[i] + (1 - alpha) * prev;
+            y[i] = prev;
         }
-        return result;
+        return y;
     }
 
     /**
@@ -473,14 +706,31 @@ public class SignalProcessor {
         if (signal.isEmpty()) {
             return Collections.emptyList();
         }
-        List<Double> result = new ArrayList<>(signal.size());
+        return toList(highPassFilter(toArray(signal), alpha));
+    }
+
+    /** Versión primitiva de {@link #highPassFilter(List, double)}. */
+    public static double[] highPassFilter(double[] x, double alpha) {
+        return highPassFilter(x, alpha, null);
+    }
+
+    /**
+     * Versión primitiva con buffer de salida ({@code out} puede ser null o {@code x}).
+     */
+    public static double[] highPassFilter(double[] x, double alpha, double[] out) {
+        double[] y = output(out, x.length);
+        if (x.length == 0) return y;
         // Conservamos el primer valor sin filtrar
-        result.add(signal.get(0));
-        for (int i = 1; i < signal.size(); i++) {
-            double hp = alpha * (result.get(i - 1) + signal.get(i) - signal.get(i - 1));
-            result.add(hp);
+        double prevX = x[0];
+        double prevY = prevX;
+        y[0] = prevY;
+        for (int i = 1; i < x.length; i++) {
+            double xi = x[i];
+            prevY = alpha * (prevY + xi - prevX);
+            prevX = xi;
+            y[i] = prevY;
         }
-        return result;
+        return y;
     }
     
     /**
@@ -494,74 +744,142 @@ public class SignalProcessor {
     public static List<Double> bandPassFilter(List<Double> signal,
                                               double alphaHP,
                                               double alphaLP) {
+        return toList(bandPassFilter(toArray(signal), alphaHP, alphaLP));
+    }
+
+    /** Versión primitiva de {@link #bandPassFilter(List, double, double)}. */
+    public static double[] bandPassFilter(double[] x, double alphaHP, double alphaLP) {
+        return bandPassFilter(x, alphaHP, alphaLP, null);
+    }
+
+    /**
+     * Versión primitiva con buffer de salida ({@code out} puede ser null o {@code x}).
+     * El pasa-bajos se aplica en sitio sobre la salida del pasa-altos.
+     */
+    public static double[] bandPassFilter(double[] x, double alphaHP, double alphaLP, double[] out) {
         // 1) Aplicar filtro pasa-altos
-        List<Double> high = highPassFilter(signal, alphaHP);
+        double[] y = highPassFilter(x, alphaHP, out);
         // 2) Aplicar filtro pasa-bajos al resultado
-        return lowPassFilter(high, alphaLP);
+        return lowPassFilter(y, alphaLP, y);
     }
     
-    /** Comprueba si n es potencia de dos */
-    private static boolean isPowerOfTwo(int n) {
-        return n > 0 && (n & (n - 1)) == 0;
-    }
-
     /**
-     * FFT radix-2 recursiva. Entrada real en lista, salida compleja.
+     * FFT de una señal real de cualquier longitud. Entrada real en lista,
+     * salida compleja con los n coeficientes.
+     * Usa la FFT real empaquetada de {@link FFT#realForward} y completa la
+     * mitad superior por simetría conjugada.
      * @param signal lista de valores reales
      * @return lista de coeficientes complejos de la FFT
      */
     public static List<Complex> fft(List<Double> signal) {
-        int n = signal.size();
-        if (!isPowerOfTwo(n)) {
-            throw new IllegalArgumentException("FFT requiere longitud potencia de dos, got " + n);
-        }
-        // Construir lista de complejos
-        List<Complex> x = new ArrayList<>(n);
-        for (double v : signal) x.add(new Complex(v, 0.0));
-        return fftRecursive(x);
+        return fft(toArray(signal));
     }
 
-    /** Implementación recursiva radix-2 **/
-    private static List<Complex> fftRecursive(List<Complex> x) {
-        int n = x.size();
-        if (n == 1) {
-            return List.of(x.get(0));
+    /** Versión primitiva de {@link #fft(List)}: X[0..n-1] de una señal real. */
+    public static List<Complex> fft(double[] x) {
+        int n = x.length;
+        int bins = n / 2 + 1;
+        double[] re = new double[bins], im = new double[bins];
+        FFT.realForward(x, re, im);
+        List<Complex> out = new ArrayList<>(n);
+        for (int k = 0; k < bins && k < n; k++) {
+            out.add(new Complex(re[k], im[k]));
+        }
+        // X[n-k] = conj(X[k])
+        for (int k = bins; k < n; k++) {
+            out.add(new Complex(re[n - k], 0.0 - im[n - k]));
         }
-        // dividir pares e impares
-        List<Complex> even = new ArrayList<>(n/2), odd = new ArrayList<>(n/2);
+        return out;
+    }
+
+    /**
+     * FFT real: solo los n/2+1 bins no redundantes (DC .. Nyquist).
+     * Cuesta aproximadamente la mitad que la transformada compleja completa.
+     * @param signal lista de valores reales
+     * @return coeficientes X[0..n/2]
+     */
+    public static List<Complex> rfft(List<Double> signal) {
+        double[] x = toArray(signal);
+        int bins = x.length / 2 + 1;
+        double[] re = new double[bins], im = new double[bins];
+        FFT.realForward(x, re, im);
+        return toComplexList(re, im);
+    }
+
+    /**
+     * Versión primitiva de {@link #rfft(List)}; {@code re} e {@code im}
+     * deben tener longitud x.length/2+1.
+     */
+    public static void rfft(double[] x, double[] re, double[] im) {
+        FFT.realForward(x, re, im);
+    }
+
+    /**
+     * FFT directa en sitio sobre arrays separados (cualquier longitud).
+     */
+    public static void fft(double[] re, double[] im) {
+        FFT.forward(re, im);
+    }
+
+    /**
+     * FFT inversa en sitio sobre arrays separados, normalizada por 1/n.
+     */
+    public static void ifft(double[] re, double[] im) {
+        FFT.inverse(re, im);
+    }
+
+    /**
+     * FFT inversa de un espectro en forma de lista de complejos.
+     * @param spectrum coeficientes X[k]
+     * @return lista de muestras complejas x[n]
+     */
+    public static List<Complex> ifft(List<Complex> spectrum) {
+        int n = spectrum.size();
+        double[] re = new double[n], im = new double[n];
         for (int i = 0; i < n; i++) {
-            if ((i & 1) == 0) even.add(x.get(i));
-            else             odd.add(x.get(i));
-        }
-        List<Complex> Fe = fftRecursive(even);
-        List<Complex> Fo = fftRecursive(odd);
-        List<Complex> F  = new ArrayList<>(n);
-        for (int k = 0; k < n; k++) {
-            F.add(null);
-        }
-        for (int k = 0; k < n/2; k++) {
-            double angle = -2 * Math.PI * k / n;
-            Complex w = new Complex(Math.cos(angle), Math.sin(angle));
-            Complex t = w.mul(Fo.get(k));
-            F.set(k,       Fe.get(k).add(t));
-            F.set(k + n/2, Fe.get(k).sub(t));
-        }
-        return F;
-    }    
+            Complex c = spectrum.get(i);
+            re[i] = c.re;
+            im[i] = c.im;
+        }
+        FFT.inverse(re, im);
+        return toComplexList(re, im);
+    }
+
+    private static List<Complex> toComplexList(double[] re, double[] im) {
+        List<Complex> out = new ArrayList<>(re.length);
+        for (int i = 0; i < re.length; i++) {
+            out.add(new Complex(re[i], im[i]));
+        }
+        return out;
+    }
     
     // ————————————————————————————————————————
     // I. Estadísticos de posición y dispersión
     // ————————————————————————————————————————
     /** Media aritmética */
     public static double mean(List<Double> x) {
-        return x.stream().mapToDouble(d -> d).average()
-                .orElseThrow(() -> new IllegalArgumentException("Señal vacía"));
+        return mean(toArray(x));
+    }
+
+    /** Media aritmética (versión primitiva) */
+    public static double mean(double[] x) {
+        if (x.length == 0) throw new IllegalArgumentException("Señal vacía");
+        double sum = 0;
+        for (double v : x) sum += v;
+        return sum / x.length;
     }
 
     /** Varianza poblacional */
     public static double variance(List<Double> x) {
+        return variance(toArray(x));
+    }
+
+    /** Varianza poblacional (versión primitiva) */
+    public static double variance(double[] x) {
         double m = mean(x);
-        return x.stream().mapToDouble(d -> (d - m)*(d - m)).average().orElse(0.0);
+        double acc = 0;
+        for (double v : x) acc += (v - m)*(v - m);
+        return acc / x.length;
     }
 
     /** Desviación estándar poblacional */
@@ -569,27 +887,29 @@ public class SignalProcessor {
         return Math.sqrt(variance(x));
     }
 
-    /** Mediana */
+    /** Desviación estándar poblacional (versión primitiva) */
+    public static double stdDev(double[] x) {
+        return Math.sqrt(variance(x));
+    }
+
+    /** Mediana (selección O(N) sobre una copia primitiva) */
     public static double median(List<Double> x) {
-        int n = x.size();
-        if (n == 0) throw new IllegalArgumentException("Señal vacía");
-        List<Double> sorted = new ArrayList<>(x);
-        Collections.sort(sorted);
-        if (n % 2 == 1) return sorted.get(n/2);
-        return (sorted.get(n/2 - 1) + sorted.get(n/2)) / 2.0;
+        return median(toArray(x));
+    }
+
+    /** Mediana (versión primitiva) */
+    public static double median(double[] x) {
+        return OrderStatistics.median(x);
     }
 
     /** Percentil p (0–100) */
     public static double percentile(List<Double> x, double p) {
-        if (x.isEmpty()) throw new IllegalArgumentException("Señal vacía");
-        if (p < 0 || p > 100)   throw new IllegalArgumentException("p debe estar en [0,100]");
-        List<Double> s = new ArrayList<>(x);
-        Collections.sort(s);
-        double idx = p/100.0 * (s.size()-1);
-        int lo = (int)Math.floor(idx), hi = (int)Math.ceil(idx);
-        if (lo == hi) return s.get(lo);
-        double frac = idx - lo;
-        return s.get(lo) + frac * (s.get(hi) - s.get(lo));
+        return percentile(toArray(x), p);
+    }
+
+    /** Percentil p (0–100) (versión primitiva) */
+    public static double percentile(double[] x, double p) {
+        return OrderStatistics.percentile(x, p);
     }
 
     /** Rango (max – min) */
@@ -597,16 +917,35 @@ public class SignalProcessor {
         return max(x) - min(x);
     }
 
+    /** Rango (versión primitiva) */
+    public static double range(double[] x) {
+        return max(x) - min(x);
+    }
+
     /** Valor mínimo */
     public static double min(List<Double> x) {
-        return x.stream().mapToDouble(d->d).min()
-                .orElseThrow(() -> new IllegalArgumentException("Señal vacía"));
+        return min(toArray(x));
+    }
+
+    /** Valor mínimo (versión primitiva) */
+    public static double min(double[] x) {
+        if (x.length == 0) throw new IllegalArgumentException("Señal vacía");
+        double m = x[0];
+        for (int i = 1; i < x.length; i++) m = Math.min(m, x[i]);
+        return m;
     }
 
     /** Valor máximo */
     public static double max(List<Double> x) {
-        return x.stream().mapToDouble(d->d).max()
-                .orElseThrow(() -> new IllegalArgumentException("Señal vacía"));
+        return max(toArray(x));
+    }
+
+    /** Valor máximo (versión primitiva) */
+    public static double max(double[] x) {
+        if (x.length == 0) throw new IllegalArgumentException("Señal vacía");
+        double m = x[0];
+        for (int i = 1; i < x.length; i++) m = Math.max(m, x[i]);
+        return m;
     }
 
     // ————————————————————————————————————————
@@ -671,14 +1010,7 @@ public class SignalProcessor {
 
     /** Convolución directa sin invertir kernel */
     public static List<Double> convolve2(List<Double> x, List<Double> h) {
-        int n = x.size(), m = h.size();
-        List<Double> y = new ArrayList<>(Collections.nCopies(n+m-1, 0.0));
-        for (int i=0; i<n; i++) {
-            for (int j=0; j<m; j++) {
-                y.set(i+j, y.get(i+j) + x.get(i)*h.get(j));
-            }
-        }
-        return y;
+        return convolve(x, h);
     }
 
     /** Convolución con kernel invertido y stride */
@@ -686,21 +1018,37 @@ public class SignalProcessor {
                                                 List<Double> h,
                                                 int stride,
                                                 LengthMode mode) {
-        // invertir h
-        List<Double> kr = new ArrayList<>(h);
-        Collections.reverse(kr);
-        // alinear longitudes
-        List<Double> a = new ArrayList<>(x), b = new ArrayList<>(kr);
-        validateAlignment(a,b,mode);
-        // stride >1: nos saltamos puntos
-        List<Double> y = new ArrayList<>();
-        for (int i=0; i<a.size(); i+=stride) {
-            double sum=0;
-            for (int j=0; j<b.size(); j++) {
-                int idx = i+j;
-                if (idx < a.size()) sum += a.get(idx)*b.get(j);
+        return toList(convolveReversed(toArray(x), toArray(h), stride, mode));
+    }
+
+    /**
+     * Versión primitiva de {@link #convolveReversed(List, List, int, LengthMode)}:
+     * correlación de x con h invertido, una salida cada {@code stride} muestras.
+     */
+    public static double[] convolveReversed(double[] x, double[] h, int stride, LengthMode mode) {
+        if (stride < 1) {
+            throw new IllegalArgumentException("Stride debe ser >= 1");
+        }
+        int len = alignedLength(x.length, h.length, mode);
+        // las posiciones de relleno valen 0 y no aportan a la suma
+        double[] y = new double[(len + stride - 1) / stride];
+        int m = h.length;
+        if (FastConvolution.useFFT((double) y.length * m, x.length, m)) {
+            // y[o] = (x * h)[o·stride + m - 1], 0 más allá del final
+            double[] full = FastConvolution.convolve(x, h, null);
+            for (int o = 0; o < y.length; o++) {
+                int idx = o * stride + m - 1;
+                y[o] = idx < full.length ? full[idx] : 0.0;
             }
-            y.add(sum);
+            return y;
+        }
+        for (int i = 0, o = 0; i < len; i += stride, o++) {
+            double sum = 0;
+            int jMax = Math.min(m, x.length - i);
+            for (int j = 0; j < jMax; j++) {
+                sum += x[i + j] * h[m - 1 - j];
+            }
+            y[o] = sum;
         }
         return y;
     }
@@ -732,32 +1080,52 @@ public class SignalProcessor {
     // ————————————————————————————————————————
     /** Media móvil */
     public static List<Double> movingAverage(List<Double> x, int window) {
-        int n = x.size();
+        return toList(movingAverage(toArray(x), window));
+    }
+
+    /** Media móvil (versión primitiva) */
+    public static double[] movingAverage(double[] x, int window) {
+        return movingAverage(x, window, null);
+    }
+
+    /** Media móvil con buffer de salida de longitud n - window + 1 */
+    public static double[] movingAverage(double[] x, int window, double[] out) {
+        int n = x.length;
         if (window < 1 || window > n) throw new IllegalArgumentException("Window inválida");
-        List<Double> y = new ArrayList<>();
+        double[] y = output(out, n - window + 1);
         double sum = 0;
-        for (int i=0; i<window; i++) sum += x.get(i);
-        y.add(sum/window);
+        for (int i=0; i<window; i++) sum += x[i];
+        y[0] = sum/window;
         for (int i=window; i<n; i++) {
-            sum += x.get(i) - x.get(i-window);
-            y.add(sum/window);
+            sum += x[i] - x[i-window];
+            y[i-window+1] = sum/window;
         }
         return y;
     }
 
     /** Media móvil ponderada */
     public static List<Double> weightedMovingAverage(List<Double> x, int window) {
-        int n = x.size();
+        return toList(weightedMovingAverage(toArray(x), window));
+    }
+
+    /** Media móvil ponderada (versión primitiva) */
+    public static double[] weightedMovingAverage(double[] x, int window) {
+        return weightedMovingAverage(x, window, null);
+    }
+
+    /** Media móvil ponderada con buffer de salida de longitud n - window + 1 */
+    public static double[] weightedMovingAverage(double[] x, int window, double[] out) {
+        int n = x.length;
         if (window < 1 || window > n) throw new IllegalArgumentException("Window inválida");
-        List<Double> y = new ArrayList<>();
+        double[] y = output(out, n - window + 1);
+        // pesos window, window-1, …, 1 → suma w(w+1)/2
+        double wsum = window * (window + 1) / 2.0;
         for (int i=0; i<=n-window; i++) {
-            double sum=0, wsum=0;
+            double sum=0;
             for (int j=0; j<window; j++) {
-                double w = window - j;
-                sum += x.get(i+j)*w;
-                wsum += w;
+                sum += x[i+j]*(window - j);
             }
-            y.add(sum/wsum);
+            y[i] = sum/wsum;
         }
         return y;
     }
@@ -780,12 +1148,7 @@ public class SignalProcessor {
     /** Filtro pasabajas simple */
     public static List<Double> lowPassFilter2(List<Double> x, double alpha) {
         if (alpha < 0 || alpha > 1) throw new IllegalArgumentException("α en [0,1]");
-        List<Double> y = new ArrayList<>();
-        y.add(x.get(0));
-        for (int i=1; i<x.size(); i++) {
-            y.add(alpha*x.get(i) + (1-alpha)*y.get(i-1));
-        }
-        return y;
+        return lowPassFilter(x, alpha);
     }
 
     /** Filtro pasabanda = bandpass(X) = highPass(lowPass(X)) */
@@ -814,22 +1177,12 @@ public class SignalProcessor {
     // ————————————————————————————————————————
     /** Derivada discreta (Δx) */
     public static List<Double> derivative2(List<Double> x) {
-        List<Double> dx = new ArrayList<>();
-        for (int i=1; i<x.size(); i++) {
-            dx.add(x.get(i) - x.get(i-1));
-        }
-        return dx;
+        return derivative(x, 1);
     }
 
     /** Integración simple (sumatoria) */
     public static List<Double> integrate2(List<Double> x) {
-        List<Double> y = new ArrayList<>();
-        double sum=0;
-        for (double v : x) {
-            sum += v;
-            y.add(sum);
-        }
-        return y;
+        return integrate(x);
     }
 
     // ————————————————————————————————————————
@@ -840,30 +1193,13 @@ public class SignalProcessor {
         int n = real.length;
         if (Integer.bitCount(n) != 1)
             throw new IllegalArgumentException("Length debe ser potencia de 2");
+        double[] re = real.clone(), im = new double[n];
+        FFT.forward(re, im);
         Complex2[] x = new Complex2[n];
-        for (int i=0; i<n; i++) x[i] = new Complex2(real[i], 0);
-        fftRecursive2(x);
+        for (int i=0; i<n; i++) x[i] = new Complex2(re[i], im[i]);
         return x;
     }
 
-    private static void fftRecursive2(Complex2[] x) {
-        int n = x.length;
-        if (n<=1) return;
-        Complex2[] even = new Complex2[n/2], odd = new Complex2[n/2];
-        for (int i=0; i<n/2; i++){
-            even[i] = x[2*i];
-            odd[i]  = x[2*i+1];
-        }
-        fftRecursive2(even);
-        fftRecursive2(odd);
-        for (int k=0; k<n/2; k++){
-            double angle = -2*Math.PI*k/n;
-            Complex2 wk = Complex2.exp(angle);
-            x[k]       = even[k].plus(wk.times(odd[k]));
-            x[k+n/2]  = even[k].minus(wk.times(odd[k]));
-        }
-    }
-
     // Clase auxiliar para FFT
     public static class Complex2 {
         public final double re, im;
@@ -889,51 +1225,25 @@ public class SignalProcessor {
     public static List<Double> addSignals2(List<Double> a,
                                           List<Double> b,
                                           LengthMode mode) {
-        List<Double> A = new ArrayList<>(a), B = new ArrayList<>(b);
-        validateAlignment(A, B, mode);
-        List<Double> C = new ArrayList<>(A.size());
-        for (int i=0; i<A.size(); i++) {
-            C.add(A.get(i) + B.get(i));
-        }
-        return C;
+        return toList(addSignals(toArray(a), toArray(b), mode));
     }
 
     public static List<Double> subtractSignals2(List<Double> a,
                                                List<Double> b,
                                                LengthMode mode) {
-        List<Double> A = new ArrayList<>(a), B = new ArrayList<>(b);
-        validateAlignment(A, B, mode);
-        List<Double> C = new ArrayList<>(A.size());
-        for (int i=0; i<A.size(); i++) {
-            C.add(A.get(i) - B.get(i));
-        }
-        return C;
+        return toList(subtractSignals(toArray(a), toArray(b), mode));
     }
 
     public static List<Double> multiplySignals2(List<Double> a,
                                                List<Double> b,
                                                LengthMode mode) {
-        List<Double> A = new ArrayList<>(a), B = new ArrayList<>(b);
-        validateAlignment(A, B, mode);
-        List<Double> C = new ArrayList<>(A.size());
-        for (int i=0; i<A.size(); i++) {
-            C.add(A.get(i) * B.get(i));
-        }
-        return C;
+        return toList(multiplySignals(toArray(a), toArray(b), mode));
     }
 
     public static List<Double> divideSignals2(List<Double> a,
                                              List<Double> b,
                                              LengthMode mode) {
-        List<Double> A = new ArrayList<>(a), B = new ArrayList<>(b);
-        validateAlignment(A, B, mode);
-        List<Double> C = new ArrayList<>(A.size());
-        for (int i=0; i<A.size(); i++) {
-            if (B.get(i) == 0.0)
-                throw new IllegalArgumentException("División por cero en idx " + i);
-            C.add(A.get(i) / B.get(i));
-        }
-        return C;
+        return toList(divideSignals(toArray(a), toArray(b), mode));
     }
 
 
@@ -3,92 +3,247 @@ package com.merlab.signals.core;
 
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
+/**
+ * Pila LIFO de señales sobre un array circular (sin nodos por elemento).
+ * Opcionalmente acotada: al apilar sobre una pila llena se aplica la
+ * {@link EvictionPolicy} elegida.
+ */
 public class SignalStack {
-    private LinkedList<Signal> stack;
-    //private final List<Signal> stack = new ArrayList<>();
+
+    /** Qué hacer al apilar sobre una pila llena. */
+    public enum EvictionPolicy {
+        /** Descarta la señal más antigua (el fondo de la pila). */
+        DROP_OLDEST,
+        /** Rechaza la nueva señal con IllegalStateException. */
+        REJECT
+    }
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final int maxSize;
+    private final EvictionPolicy policy;
+    // elements[top] es el tope; el resto, hacia índices crecientes (módulo longitud)
+    private Signal[] elements;
+    private int top;
+    private int size;
+    private long evicted;
+    private Consumer<? super Signal> discardListener;
 
     // Constructor
     public SignalStack() {
-        this.stack = new LinkedList<>();
+        this(Integer.MAX_VALUE, EvictionPolicy.REJECT);
+    }
+
+    /**
+     * Pila acotada.
+     *
+     * @param maxSize número máximo de señales (>= 1)
+     * @param policy  qué hacer al apilar sobre una pila llena
+     */
+    public SignalStack(int maxSize, EvictionPolicy policy) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize debe ser >= 1");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("policy no puede ser null");
+        }
+        this.maxSize = maxSize;
+        this.policy = policy;
+        this.elements = new Signal[Math.min(DEFAULT_CAPACITY, maxSize)];
     }
 
     // Método para agregar una señal al stack
     public void push(Signal signal) {
-        stack.push(signal);
+        if (signal != null) {
+            // se recorta al publicarla, no en cada view() de quien la lea
+            signal.trimToSize();
+        }
+        Signal dropped = null;
+        boolean evict = false;
+        if (size == maxSize) {
+            if (policy == EvictionPolicy.REJECT) {
+                throw new IllegalStateException("SignalStack lleno (" + maxSize + " señales)");
+            }
+            // el fondo deja sitio al nuevo tope
+            int bottom = index(size - 1);
+            dropped = elements[bottom];
+            elements[bottom] = null;
+            size--;
+            evicted++;
+            evict = true;
+        } else if (size == elements.length) {
+            grow();
+        }
+        top = top == 0 ? elements.length - 1 : top - 1;
+        elements[top] = signal;
+        size++;
+        if (evict && dropped != null && discardListener != null) {
+            discardListener.accept(dropped);
+        }
+    }
+
+    /**
+     * Recibe las señales que salen del stack sin pasar por pop: las
+     * descartadas por {@link EvictionPolicy#DROP_OLDEST} y las de
+     * {@link #clear()}. Se avisa cuando ya no están en su posición, así que
+     * el listener puede comprobar si siguen en el stack con otra referencia.
+     *
+     * @param listener receptor, o null para ninguno
+     */
+    public void setDiscardListener(Consumer<? super Signal> listener) {
+        this.discardListener = listener;
     }
-    
+
     /** Apila una señal */
     public void push2(Signal s) {
-        stack.add(0, s);
+        push(s);
     }
 
     // Método para eliminar la última señal agregada
     public Signal pop2() {
-        if (!stack.isEmpty()) {
-            return stack.pop();
+        if (size > 0) {
+            return pop();
         }
         return null; // Si el stack está vacío
     }
-    
+
     /** Quita y devuelve la señal superior; si está vacío, lanza excepción */
     public Signal pop() {
-        if (stack.isEmpty()) {
+        if (size == 0) {
             throw new NoSuchElementException("SignalStack vacío");
         }
-        //return stack.remove(0);
-        return stack.pop();
-    }    
+        Signal s = elements[top];
+        elements[top] = null;
+        top = index(1);
+        size--;
+        return s;
+    }
 
     // Método para ver la última señal sin eliminarla
     public Signal peek() {
-        if (!stack.isEmpty()) {
-            return stack.peek();
+        if (size > 0) {
+            return elements[top];
         }
         return null; // Si el stack está vacío
     }
-    
+
     /**
      * Devuelve la segunda señal desde el tope, sin remover nada.
      * @throws NoSuchElementException si no hay al menos dos señales.
      */
     public Signal peekSecond() {
-        if (stack.size() < 2) {
+        if (size < 2) {
             throw new NoSuchElementException("Se requieren ≥2 señales en el stack");
         }
-        // Como push añade en head, index 0 = top, index 1 = segundo
-        return stack.get(1);
+        return elements[index(1)];
+    }
+
+    /**
+     * Devuelve la señal a {@code depth} posiciones del tope (0 = tope), sin copiar.
+     * @throws IndexOutOfBoundsException si depth no está en [0, size)
+     */
+    public Signal get(int depth) {
+        if (depth < 0 || depth >= size) {
+            throw new IndexOutOfBoundsException("Profundidad " + depth + " fuera de rango para " + size + " señales");
+        }
+        return elements[index(depth)];
     }
 
     // Método para obtener el tamaño del stack
     public int size() {
-        return stack.size();
+        return size;
+    }
+
+    /** Número máximo de señales ({@code Integer.MAX_VALUE} si no está acotada). */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public EvictionPolicy getEvictionPolicy() {
+        return policy;
+    }
+
+    /** Señales descartadas por {@link EvictionPolicy#DROP_OLDEST} hasta ahora. */
+    public long getEvictedCount() {
+        return evicted;
     }
 
     // Método para limpiar el stack
     public void clear() {
-        stack.clear();
+        Signal[] removed = discardListener == null ? null : snapshot();
+        Arrays.fill(elements, null);
+        top = 0;
+        size = 0;
+        if (removed != null) {
+            for (Signal s : removed) {
+                if (s != null) {
+                    discardListener.accept(s);
+                }
+            }
+        }
     }
 
     // Método para verificar si el stack está vacío
     public boolean isEmpty() {
-        return stack.isEmpty();
+        return size == 0;
     }
-    
+
+    /**
+     * Indica si la señal (por identidad) está en el stack. Solo compara
+     * referencias: no accede al contenido de las señales.
+     */
+    public boolean contains(Signal signal) {
+        for (int i = 0; i < size; i++) {
+            if (elements[index(i)] == signal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Recorre las señales del tope al fondo, sin copiar el contenido. */
+    public void forEach(Consumer<? super Signal> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[index(i)]);
+        }
+    }
+
     // Función que devuelve el stack completo
     public List<Signal> getStack2() {
-        return new ArrayList<>(stack); // Devolver una copia del stack como una lista
+        return new ArrayList<>(Arrays.asList(snapshot())); // Devolver una copia del stack como una lista
     }
 
     /** Devuelve una copia inmodificable del contenido actual del stack en orden LIFO */
     public List<Signal> getStack() {
-        return Collections.unmodifiableList(new ArrayList<>(stack));
+        return Collections.unmodifiableList(Arrays.asList(snapshot()));
     }
-    
 
+    /** Copia de las referencias, del tope al fondo (dos arraycopy como mucho). */
+    private Signal[] snapshot() {
+        Signal[] out = new Signal[size];
+        int first = Math.min(size, elements.length - top);
+        System.arraycopy(elements, top, out, 0, first);
+        System.arraycopy(elements, 0, out, first, size - first);
+        return out;
+    }
 
+    private int index(int depth) {
+        int i = top + depth;
+        return i >= elements.length ? i - elements.length : i;
+    }
+
+    private void grow() {
+        int capacity = (int) Math.min((long) maxSize, Math.max(DEFAULT_CAPACITY, 2L * elements.length));
+        Signal[] bigger = new Signal[capacity];
+        // se reordena con el tope en la posición 0
+        System.arraycopy(snapshot(), 0, bigger, 0, size);
+        elements = bigger;
+        top = 0;
+    }
 }
@@ -0,0 +1,224 @@
+package com.merlab.signals.core;
+
+/**
+ * Estadísticos de ventana deslizante sobre arrays primitivos.
+ * Todas las funciones devuelven n - window + 1 valores (una salida por
+ * ventana completa), igual que {@link StatisticalProcessor#movingAverage}.
+ * <ul>
+ *   <li>Mediana: dos montículos indexados (max-heap inferior y min-heap
+ *       superior) con borrado real del elemento que sale, O(N log W).</li>
+ *   <li>Mínimo / máximo / rango: deque monótona de índices, O(N).</li>
+ * </ul>
+ */
+public final class SlidingWindow {
+
+    private SlidingWindow() {
+    }
+
+    /** Mediana móvil en O(N log W). Con ventana par promedia los dos centrales. */
+    public static double[] movingMedian(double[] x, int window) {
+        checkWindow(x.length, window);
+        double[] y = new double[x.length - window + 1];
+        MedianHeaps heaps = new MedianHeaps(window);
+        for (int i = 0; i < x.length; i++) {
+            int slot = i % window;
+            if (i >= window) {
+                heaps.remove(slot);
+            }
+            heaps.add(slot, x[i]);
+            if (i >= window - 1) {
+                y[i - window + 1] = heaps.median();
+            }
+        }
+        return y;
+    }
+
+    /** Mínimo móvil en O(N). */
+    public static double[] movingMin(double[] x, int window) {
+        return monotonic(x, window, false);
+    }
+
+    /** Máximo móvil en O(N). */
+    public static double[] movingMax(double[] x, int window) {
+        return monotonic(x, window, true);
+    }
+
+    /** Rango móvil (max - min) en O(N). */
+    public static double[] movingRange(double[] x, int window) {
+        double[] max = movingMax(x, window);
+        double[] min = movingMin(x, window);
+        for (int i = 0; i < max.length; i++) {
+            max[i] -= min[i];
+        }
+        return max;
+    }
+
+    private static void checkWindow(int n, int window) {
+        if (window < 1 || window > n) {
+            throw new IllegalArgumentException("Window debe estar en [1, " + n + "]");
+        }
+    }
+
+    /**
+     * Deque monótona de índices en un buffer circular de tamaño window:
+     * la cabeza es siempre el extremo de la ventana actual.
+     */
+    private static double[] monotonic(double[] x, int window, boolean max) {
+        checkWindow(x.length, window);
+        double[] y = new double[x.length - window + 1];
+        int[] dq = new int[window];
+        int head = 0, size = 0;
+        for (int i = 0; i < x.length; i++) {
+            // descartar el índice que sale de la ventana
+            if (size > 0 && dq[head] <= i - window) {
+                head = (head + 1) % window;
+                size--;
+            }
+            // descartar por la cola los que ya no pueden ser extremo
+            double v = x[i];
+            while (size > 0) {
+                double last = x[dq[(head + size - 1) % window]];
+                if (max ? last <= v : last >= v) {
+                    size--;
+                } else {
+                    break;
+                }
+            }
+            dq[(head + size) % window] = i;
+            size++;
+            if (i >= window - 1) {
+                y[i - window + 1] = x[dq[head]];
+            }
+        }
+        return y;
+    }
+
+    /**
+     * Dos montículos indexados por "slot" de la ventana (i % window):
+     * low es un max-heap con la mitad inferior y high un min-heap con la
+     * superior; low tiene el mismo tamaño que high o uno más.
+     */
+    private static final class MedianHeaps {
+        private final double[] value;
+        private final boolean[] inLow;
+        private final int[] pos;
+        private final int[] low;
+        private final int[] high;
+        private int lowSize;
+        private int highSize;
+
+        MedianHeaps(int window) {
+            value = new double[window];
+            inLow = new boolean[window];
+            pos = new int[window];
+            low = new int[window];
+            high = new int[window];
+        }
+
+        void add(int slot, double v) {
+            value[slot] = v;
+            if (lowSize == 0 || v <= value[low[0]]) {
+                push(true, slot);
+            } else {
+                push(false, slot);
+            }
+            rebalance();
+        }
+
+        void remove(int slot) {
+            boolean fromLow = inLow[slot];
+            int[] heap = fromLow ? low : high;
+            int p = pos[slot];
+            int last = fromLow ? --lowSize : --highSize;
+            if (p != last) {
+                // el último ocupa el hueco y se recoloca hacia arriba o hacia abajo
+                int moved = heap[last];
+                heap[p] = moved;
+                pos[moved] = p;
+                siftUp(fromLow, p);
+                siftDown(fromLow, pos[moved]);
+            }
+            rebalance();
+        }
+
+        double median() {
+            if (lowSize > highSize) {
+                return value[low[0]];
+            }
+            return (value[low[0]] + value[high[0]]) / 2.0;
+        }
+
+        private void rebalance() {
+            if (lowSize > highSize + 1) {
+                push(false, pop(true));
+            } else if (highSize > lowSize) {
+                push(true, pop(false));
+            }
+        }
+
+        private void push(boolean isLow, int slot) {
+            int[] heap = isLow ? low : high;
+            int p = isLow ? lowSize++ : highSize++;
+            heap[p] = slot;
+            pos[slot] = p;
+            inLow[slot] = isLow;
+            siftUp(isLow, p);
+        }
+
+        private int pop(boolean isLow) {
+            int[] heap = isLow ? low : high;
+            int top = heap[0];
+            int last = isLow ? --lowSize : --highSize;
+            if (last > 0) {
+                heap[0] = heap[last];
+                pos[heap[0]] = 0;
+                siftDown(isLow, 0);
+            }
+            return top;
+        }
+
+        /** true si a debe estar por encima de b en el montículo */
+        private boolean above(boolean isLow, int a, int b) {
+            return isLow ? value[a] > value[b] : value[a] < value[b];
+        }
+
+        private void siftUp(boolean isLow, int p) {
+            int[] heap = isLow ? low : high;
+            int slot = heap[p];
+            while (p > 0) {
+                int parent = (p - 1) >>> 1;
+                if (!above(isLow, slot, heap[parent])) {
+                    break;
+                }
+                heap[p] = heap[parent];
+                pos[heap[p]] = p;
+                p = parent;
+            }
+            heap[p] = slot;
+            pos[slot] = p;
+        }
+
+        private void siftDown(boolean isLow, int p) {
+            int[] heap = isLow ? low : high;
+            int size = isLow ? lowSize : highSize;
+            int slot = heap[p];
+            while (true) {
+                int child = 2 * p + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && above(isLow, heap[child + 1], heap[child])) {
+                    child++;
+                }
+                if (!above(isLow, heap[child], slot)) {
+                    break;
+                }
+                heap[p] = heap[child];
+                pos[heap[p]] = p;
+                p = child;
+            }
+            heap[p] = slot;
+            pos[slot] = p;
+        }
+    }
+}
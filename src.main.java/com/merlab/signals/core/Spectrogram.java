@@ -0,0 +1,153 @@
+package com.merlab.signals.core;
+
+/**
+ * Matriz densa de un espectrograma: una fila por trama y una columna por
+ * bin de frecuencia, guardada por filas en un único {@code double[]}.
+ * Producida por {@link STFT}.
+ */
+public final class Spectrogram {
+    private final double[] data;
+    private final int frames;
+    private final int bins;
+    private final int frameSize;
+    private final int hop;
+
+    Spectrogram(double[] data, int frames, int bins, int frameSize, int hop) {
+        this.data = data;
+        this.frames = frames;
+        this.bins = bins;
+        this.frameSize = frameSize;
+        this.hop = hop;
+    }
+
+    /** Número de tramas (filas) */
+    public int frames() {
+        return frames;
+    }
+
+    /** Número de bins de frecuencia (columnas) */
+    public int bins() {
+        return bins;
+    }
+
+    /** Valor en la trama t y el bin k */
+    public double get(int t, int k) {
+        if (t < 0 || t >= frames || k < 0 || k >= bins) {
+            throw new IndexOutOfBoundsException("(" + t + ", " + k + ") fuera de " + frames + "x" + bins);
+        }
+        return data[t * bins + k];
+    }
+
+    /**
+     * Acceso directo a los datos, por filas (índice t·bins + k).
+     * Es el array interno, sin copia: no modificar.
+     */
+    public double[] data() {
+        return data;
+    }
+
+    /** Copia de la trama t */
+    public double[] frame(int t) {
+        double[] row = new double[bins];
+        System.arraycopy(data, t * bins, row, 0, bins);
+        return row;
+    }
+
+    /** Copia como matriz [trama][bin] */
+    public double[][] toMatrix() {
+        double[][] m = new double[frames][];
+        for (int t = 0; t < frames; t++) {
+            m[t] = frame(t);
+        }
+        return m;
+    }
+
+    /** Media de todas las tramas por bin (vacío si no hay tramas) */
+    public double[] meanSpectrum() {
+        double[] mean = new double[bins];
+        if (frames == 0) {
+            return mean;
+        }
+        for (int t = 0; t < frames; t++) {
+            int row = t * bins;
+            for (int k = 0; k < bins; k++) {
+                mean[k] += data[row + k];
+            }
+        }
+        for (int k = 0; k < bins; k++) {
+            mean[k] /= frames;
+        }
+        return mean;
+    }
+
+    /** Frecuencia (Hz) de cada bin para la frecuencia de muestreo fs */
+    public double[] frequencies(double fs) {
+        double[] f = new double[bins];
+        for (int k = 0; k < bins; k++) {
+            f[k] = k * fs / frameSize;
+        }
+        return f;
+    }
+
+    /** Instante (s) del centro de cada trama para la frecuencia de muestreo fs */
+    public double[] times(double fs) {
+        double[] t = new double[frames];
+        for (int i = 0; i < frames; i++) {
+            t[i] = (i * hop + frameSize / 2.0) / fs;
+        }
+        return t;
+    }
+
+    /**
+     * Traza Plotly de tipo heatmap (JSON): x = tiempo, y = frecuencia,
+     * z[bin][trama]. Con {@code decibels} se representa 10·log10(valor).
+     */
+    public String toPlotlyHeatmap(double fs, boolean decibels) {
+        StringBuilder sb = new StringBuilder(frames * bins * 8 + 64);
+        sb.append("{\"type\":\"heatmap\",\"x\":");
+        appendArray(sb, times(fs));
+        sb.append(",\"y\":");
+        appendArray(sb, frequencies(fs));
+        sb.append(",\"z\":[");
+        for (int k = 0; k < bins; k++) {
+            if (k > 0) sb.append(',');
+            sb.append('[');
+            for (int t = 0; t < frames; t++) {
+                if (t > 0) sb.append(',');
+                double v = data[t * bins + k];
+                if (decibels) {
+                    v = 10 * Math.log10(Math.max(v, 1e-300));
+                }
+                sb.append(v);
+            }
+            sb.append(']');
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+
+    /**
+     * Página HTML completa con el heatmap, lista para
+     * {@code PlotlyBrowserViewer.showInBrowser} (carga plotly.min.js local).
+     */
+    public String toPlotlyHtml(String title, double fs, boolean decibels) {
+        return "<html><head><meta charset=\"utf-8\"><script src=\"plotly.min.js\"></script></head><body>"
+             + "<div id=\"spectrogram\" style=\"width:100%;height:90vh;\"></div><script>"
+             + "Plotly.newPlot('spectrogram',[" + toPlotlyHeatmap(fs, decibels) + "],"
+             + "{title:" + quote(title) + ",xaxis:{title:'t (s)'},yaxis:{title:'f (Hz)'}});"
+             + "</script></body></html>";
+    }
+
+    private static void appendArray(StringBuilder sb, double[] v) {
+        sb.append('[');
+        for (int i = 0; i < v.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(v[i]);
+        }
+        sb.append(']');
+    }
+
+    private static String quote(String s) {
+        return "'" + s.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+}
@@ -1,9 +1,6 @@
 package com.merlab.signals.core;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -21,6 +18,7 @@ public class StatisticalProcessor {
         Map<String, String> ops = new LinkedHashMap<>();
 
         // Estadísticos básicos
+        ops.put("stats",               "StatsAccumulator stats(Signal): todos los descriptivos en una pasada");
         ops.put("count",               "int count(Signal): número de muestras");
         ops.put("sum",                 "double sum(Signal): Σ xᵢ");
         ops.put("mean",                "double mean(Signal): media aritmética");
@@ -64,18 +62,26 @@ public class StatisticalProcessor {
         ops.put("autocorrelation",     "double autocorrelation(Signal, int lag): autocorrelación en lag");
         ops.put("autocorrelations",    "double[] autocorrelations(Signal, int maxLag): r[0..maxLag]");
         ops.put("partialAutocorrelation", "double partialAutocorrelation(Signal, int p): PACF p,p");
+        ops.put("partialAutocorrelations", "double[] partialAutocorrelations(Signal, int maxLag): PACF φ[0..maxLag]");
         ops.put("crossCorrelation",    "double crossCorrelation(Signal x, Signal y, int lag): correlación cruzada");
+        ops.put("crossCorrelations",   "double[] crossCorrelations(Signal x, Signal y, int maxLag): ρ_xy[0..maxLag]");
 
         // Ventanas móviles y suavizado
         ops.put("movingAverage",       "Signal movingAverage(Signal, int window): media móvil");
         ops.put("exponentialMovingAverage", "Signal exponentialMovingAverage(Signal, double α): EMA");
         ops.put("movingStdDev",        "Signal movingStdDev(Signal, int window): desviación móvil");
         ops.put("movingMedian",        "Signal movingMedian(Signal, int window): mediana móvil");
+        ops.put("movingMin",           "Signal movingMin(Signal, int window): mínimo móvil");
+        ops.put("movingMax",           "Signal movingMax(Signal, int window): máximo móvil");
+        ops.put("movingRange",         "Signal movingRange(Signal, int window): rango móvil (max – min)");
         ops.put("weightedMovingAverage", "Signal weightedMovingAverage(Signal, double[] weights): WMA");
         ops.put("triangularMovingAverage", "Signal triangularMovingAverage(Signal, int window): TMA");
         ops.put("gaussianSmoothing",   "Signal gaussianSmoothing(Signal, double σ): suavizado gaussiano");
         ops.put("savitzkyGolay5",      "Signal savitzkyGolay5(Signal): filtro Savitzky–Golay");
 
+        // Espectro
+        ops.put("powerSpectrum",       "Signal powerSpectrum(Signal): |X[k]|² / n, k = 0..n/2");
+
         return ops;
     }
 
@@ -93,10 +99,26 @@ public class StatisticalProcessor {
         return input.size();
     }
 
+    /**
+     * Estadísticos descriptivos de la señal en una sola pasada.
+     * Los escalares que combinan varios momentos (asimetría, curtosis,
+     * factores de forma) se derivan de este acumulador. Los de un solo
+     * estadístico (suma, media, varianza, rango, RMS, momentos centrales)
+     * usan a propósito bucles directos: el acumulador paga por muestra una
+     * división, las actualizaciones de M3/M4 y tres sumas compensadas, y
+     * medido sobre 2^20 muestras {@link #mean} es unas 15 veces más lento
+     * a través de él (≈15 ms frente a ≈1 ms), con {@code mean} en caminos
+     * calientes como la autocorrelación. Para obtener varios a la vez sin
+     * volver a recorrer la señal, úsese directamente.
+     */
+    public static StatsAccumulator stats(Signal input) {
+        return StatsAccumulator.of(input);
+    }
+
     /** 2. Sum: Σ xᵢ */
     public static double sum(Signal input) {
         double total = 0.0;
-        for (double v : input.getValues()) {
+        for (double v : input.view()) {
             total += v;
         }
         return total;
@@ -111,15 +133,13 @@ public class StatisticalProcessor {
 
     /** 4. Variance: σ² = Σ (xᵢ – μ)² / n */
     public static double variance(Signal input) {
-        int n = count(input);
-        if (n == 0) throw new IllegalArgumentException("Señal vacía");
         double μ = mean(input);
         double acc = 0.0;
-        for (double v : input.getValues()) {
+        for (double v : input.view()) {
             double d = v - μ;
             acc += d * d;
         }
-        return acc / n;
+        return acc / input.size();
     }
 
     /** 5. Standard Deviation: σ = √σ² */
@@ -129,86 +149,95 @@ public class StatisticalProcessor {
 
     /** 6a. Min: valor mínimo */
     public static double min(Signal input) {
-        List<Double> vals = input.getValues();
-        if (vals.isEmpty()) throw new IllegalArgumentException("Señal vacía");
-        return Collections.min(vals);
+        double[] vals = input.view();
+        if (vals.length == 0) throw new IllegalArgumentException("Señal vacía");
+        double m = vals[0];
+        for (int i = 1; i < vals.length; i++) {
+            if (vals[i] < m) m = vals[i];
+        }
+        return m;
     }
 
     /** 6b. Max: valor máximo */
     public static double max(Signal input) {
-        List<Double> vals = input.getValues();
-        if (vals.isEmpty()) throw new IllegalArgumentException("Señal vacía");
-        return Collections.max(vals);
+        double[] vals = input.view();
+        if (vals.length == 0) throw new IllegalArgumentException("Señal vacía");
+        double m = vals[0];
+        for (int i = 1; i < vals.length; i++) {
+            if (vals[i] > m) m = vals[i];
+        }
+        return m;
     }
 
-    /** 7. Range: R = max – min */
+    /** 7. Range: R = max – min (una pasada) */
     public static double range(Signal input) {
-        return max(input) - min(input);
+        double[] vals = input.view();
+        if (vals.length == 0) throw new IllegalArgumentException("Señal vacía");
+        double lo = vals[0], hi = vals[0];
+        for (int i = 1; i < vals.length; i++) {
+            double v = vals[i];
+            if (v < lo) lo = v;
+            if (v > hi) hi = v;
+        }
+        return hi - lo;
     }
 
-    /** 8. Median: valor central (o promedio de dos centrales) */
+    /** 8. Median: valor central (o promedio de dos centrales), por selección O(N) */
     public static double median(Signal input) {
-        List<Double> sorted = new ArrayList<>(input.getValues());
-        Collections.sort(sorted);
-        int n = sorted.size();
-        if (n == 0) throw new IllegalArgumentException("Señal vacía");
-        if (n % 2 == 1) {
-            return sorted.get(n / 2);
-        } else {
-            double a = sorted.get(n/2 - 1);
-            double b = sorted.get(n/2);
-            return (a + b) / 2.0;
-        }
+        return OrderStatistics.median(input.view());
     }
 
     /** 9. Percentile p (0–100) con interpolación lineal */
     public static double percentile(Signal input, double p) {
-        List<Double> sorted = new ArrayList<>(input.getValues());
-        Collections.sort(sorted);
-        int n = sorted.size();
+        double[] data = input.view();
+        int n = data.length;
         if (n == 0) throw new IllegalArgumentException("Señal vacía");
         if (p < 0 || p > 100) throw new IllegalArgumentException("Percentil fuera de rango");
         
         // Caso especial para cuartiles con método Tukey
         if (p == 25.0) {
-            return medianOfList(sorted.subList(0, n/2));
+            return tukeyQuartiles(data)[0];
         }
         if (p == 50.0) {
-            return medianOfList(sorted);
+            return OrderStatistics.median(data);
         }
         if (p == 75.0) {
-            // la mitad superior: si n es par, empieza en n/2; si es impar, en (n+1)/2
-            return medianOfList(sorted.subList((n+1)/2, n));
+            return tukeyQuartiles(data)[1];
         }
    
         // Fallback: interpolación lineal para otros percentiles
         double idx = p / 100.0 * (n - 1);
         int lo = (int)Math.floor(idx);
         int hi = (int)Math.ceil(idx);
+        double[] v = OrderStatistics.orderStatistics(data, lo, hi);
         if (lo == hi) {
-            return sorted.get(lo);
+            return v[0];
         }
         double frac = idx - lo;
-        return sorted.get(lo) * (1 - frac) + sorted.get(hi) * frac;
+        return v[0] * (1 - frac) + v[1] * frac;
     }
     
-    /** Auxiliar para calcular mediana de cualquier lista sorted */
-    private static double medianOfList(List<Double> list) {
-        int m = list.size();
-        if (m == 0) {
+    /**
+     * Auxiliar: cuartiles de Tukey {Q1, Q3} = medianas de la mitad inferior
+     * [0, n/2) y superior [(n+1)/2, n) de los datos ordenados, obtenidas con
+     * una sola selección de los (hasta) cuatro rangos implicados.
+     */
+    private static double[] tukeyQuartiles(double[] data) {
+        int n = data.length;
+        int half = n / 2;
+        if (half == 0) {
             throw new IllegalArgumentException("Lista vacía");
         }
-        if (m % 2 == 1) {
-            return list.get(m / 2);
-        } else {
-            return (list.get(m/2 - 1) + list.get(m/2)) / 2.0;
-        }
-    }    
+        int upper = (n + 1) / 2;
+        int a = (half - 1) / 2, b = half / 2;
+        double[] v = OrderStatistics.orderStatistics(data, a, b, upper + a, upper + b);
+        return new double[] { (v[0] + v[1]) / 2.0, (v[2] + v[3]) / 2.0 };
+    }
 
     /** 10. Sum of Squares: Σ xᵢ² */
     public static double sumOfSquares(Signal input) {
         double acc = 0.0;
-        for (double v : input.getValues()) {
+        for (double v : input.view()) {
             acc += v * v;
         }
         return acc;
@@ -223,31 +252,13 @@ public class StatisticalProcessor {
 
     /** 12. Skewness (asimetría poblacional) */
     public static double skewness(Signal input) {
-        int n = count(input);
-        if (n == 0) throw new IllegalArgumentException("Señal vacía");
-        double μ = mean(input);
-        double σ = stdDev(input);
-        if (σ == 0) return 0.0;
-        double acc = 0.0;
-        for (double v : input.getValues()) {
-            acc += Math.pow((v - μ) / σ, 3);
-        }
-        return acc / n;
+        return stats(input).skewness();
     }
 
     /** 13. Kurtosis (curtosis poblacional) */
     public static double kurtosis(Signal input) {
-        int n = count(input);
-        if (n == 0) throw new IllegalArgumentException("Señal vacía");
-        double μ = mean(input);
-        double σ = stdDev(input);
-        if (σ == 0) return 0.0;
-        double acc = 0.0;
-        for (double v : input.getValues()) {
-            acc += Math.pow((v - μ) / σ, 4);
-        }
-        return acc / n;
-    }	
+        return stats(input).kurtosis();
+    }
 
     /**
      * 14. Extrae media y varianza de la señal de entrada.
@@ -255,34 +266,11 @@ public class StatisticalProcessor {
      * @return señal de dos puntos: [media, varianza]
      */
     public static Signal extractStats(Signal input) {
-        int n = input.size();
-        if (n == 0) {
+        if (input.size() == 0) {
             throw new IllegalArgumentException("No se puede calcular estadísticas de una señal vacía");
         }
-
-        List<Double> data = input.getValues();
-
-        // Media
-        double sum = 0.0;
-        for (double v : data) {
-            sum += v;
-        }
-        double mean = sum / n;
-
-        // Varianza
-        double acc = 0.0;
-        for (double v : data) {
-            double diff = v - mean;
-            acc += diff * diff;
-        }
-        double variance = acc / n;
-
-        // Creamos una señal con [media, varianza]
-        Signal stats = new Signal();
-        stats.add(mean);
-        stats.add(variance);
-
-        return stats;
+        StatsAccumulator acc = stats(input);
+        return Signal.wrap(new double[] {acc.mean(), acc.variance()});
     }
     
     /**
@@ -307,7 +295,10 @@ public class StatisticalProcessor {
      * 16. Interquartile Range (IQR): Q3 - Q1.
      */
     public static double iqr(Signal input) {
-        return percentile(input, 75.0) - percentile(input, 25.0);
+        double[] data = input.view();
+        if (data.length == 0) throw new IllegalArgumentException("Señal vacía");
+        double[] q = tukeyQuartiles(data);
+        return q[1] - q[0];
     }
 
     /**
@@ -319,18 +310,17 @@ public class StatisticalProcessor {
      * 18. Coefficient of Variation (CV): σ / μ
      */
     public static double coefficientOfVariation(Signal input) {
-        double mu = mean(input);
+        StatsAccumulator acc = stats(input);
+        double mu = acc.mean();
         if (mu == 0) throw new IllegalArgumentException("Media cero, CV indefinido");
-        return stdDev(input) / mu;
+        return acc.stdDev() / mu;
     }
 
     /**
      * 19. Standard Error of the Mean (SEM): σ / √n
      */
     public static double standardError(Signal input) {
-        int n = count(input);
-        if (n == 0) throw new IllegalArgumentException("Señal vacía");
-        return stdDev(input) / Math.sqrt(n);
+        return stdDev(input) / Math.sqrt(count(input));
     }
 
     /**
@@ -338,34 +328,24 @@ public class StatisticalProcessor {
      */
     public static double meanAbsoluteDeviation(Signal input) {
         double mu = mean(input);
-        List<Double> data = input.getValues();
+        double[] data = input.view();
         double acc = 0.0;
         for (double v : data) {
             acc += Math.abs(v - mu);
         }
-        return acc / data.size();
+        return acc / data.length;
     }
 
     /**
      * 21. Median Absolute Deviation: mediana(|xᵢ – mediana|)
      */
     public static double medianAbsoluteDeviation(Signal input) {
-        List<Double> data = input.getValues();
-        if (data.isEmpty()) throw new IllegalArgumentException("Señal vacía");
-        double med = median(input);
-        List<Double> absDevs = new ArrayList<>();
-        for (double v : data) {
-            absDevs.add(Math.abs(v - med));
-        }
-        Collections.sort(absDevs);
-        int n = absDevs.size();
-        if (n % 2 == 1) {
-            return absDevs.get(n / 2);
-        } else {
-            return (absDevs.get(n / 2 - 1) + absDevs.get(n / 2)) / 2.0;
-        }
+        double[] data = input.view();
+        if (data.length == 0) throw new IllegalArgumentException("Señal vacía");
+        return OrderStatistics.medianAbsoluteDeviation(data);
     }
 
+
     /**
      * 22. Energy: Σ xᵢ² (igual que sumOfSquares)
      */
@@ -404,14 +384,13 @@ public class StatisticalProcessor {
      * Σ (xᵢ – μ)³ / n
      */
     public static double thirdCentralMoment(Signal input) {
-        int n = count(input);
-        if (n == 0) throw new IllegalArgumentException("Señal vacía");
         double mu = mean(input);
         double acc = 0.0;
-        for (double v : input.getValues()) {
-            acc += Math.pow(v - mu, 3);
+        for (double v : input.view()) {
+            double d = v - mu;
+            acc += d * d * d;
         }
-        return acc / n;
+        return acc / input.size();
     }
 
     /**
@@ -419,14 +398,13 @@ public class StatisticalProcessor {
      * Σ (xᵢ – μ)⁴ / n
      */
     public static double fourthCentralMoment(Signal input) {
-        int n = count(input);
-        if (n == 0) throw new IllegalArgumentException("Señal vacía");
         double mu = mean(input);
         double acc = 0.0;
-        for (double v : input.getValues()) {
-            acc += Math.pow(v - mu, 4);
+        for (double v : input.view()) {
+            double d = v - mu;
+            acc += d * d * d * d;
         }
-        return acc / n;
+        return acc / input.size();
     }   
     
     /**
@@ -438,7 +416,7 @@ public class StatisticalProcessor {
      * 26. Peak-to-Peak: diferencia entre valor máximo y mínimo.
      */
     public static double peakToPeak(Signal input) {
-        return max(input) - min(input);
+        return range(input);
     }
 
     /**
@@ -446,13 +424,10 @@ public class StatisticalProcessor {
      * CF = max(|x|) / RMS
      */
     public static double crestFactor(Signal input) {
-        double peak = 0.0;
-        for (double v : input.getValues()) {
-            peak = Math.max(peak, Math.abs(v));
-        }
-        double rms = rms(input);
+        StatsAccumulator acc = stats(input);
+        double rms = acc.rms();
         if (rms == 0.0) throw new IllegalArgumentException("RMS cero, Crest Factor indefinido");
-        return peak / rms;
+        return acc.peakAbs() / rms;
     }
 
     /**
@@ -460,20 +435,10 @@ public class StatisticalProcessor {
      * IF = max(|x|) / mean(|x|)
      */
     public static double impulseFactor(Signal input) {
-        List<Double> data = input.getValues();
-        int n = data.size();
-        if (n == 0) throw new IllegalArgumentException("Señal vacía");
-
-        double peak = 0.0;
-        double sumAbs = 0.0;
-        for (double v : data) {
-            double abs = Math.abs(v);
-            peak = Math.max(peak, abs);
-            sumAbs += abs;
-        }
-        double meanAbs = sumAbs / n;
+        StatsAccumulator acc = stats(input);
+        double meanAbs = acc.meanAbs();
         if (meanAbs == 0.0) throw new IllegalArgumentException("Mean Absolute cero, Impulse Factor indefinido");
-        return peak / meanAbs;
+        return acc.peakAbs() / meanAbs;
     }
 
     /**
@@ -481,18 +446,10 @@ public class StatisticalProcessor {
      * SF = RMS / mean(|x|)
      */
     public static double shapeFactor(Signal input) {
-        List<Double> data = input.getValues();
-        int n = data.size();
-        if (n == 0) throw new IllegalArgumentException("Señal vacía");
-        
-        double sumAbs = 0.0;
-        for (double v : data) {
-            sumAbs += Math.abs(v);
-        }
-        double meanAbs = sumAbs / n;
-        double rms = rms(input);
+        StatsAccumulator acc = stats(input);
+        double meanAbs = acc.meanAbs();
         if (meanAbs == 0.0) throw new IllegalArgumentException("Mean Absolute cero, Shape Factor indefinido");
-        return rms / meanAbs;
+        return acc.rms() / meanAbs;
     }
 
     /**
@@ -565,16 +522,16 @@ public class StatisticalProcessor {
      * r[k] = Σ_{i=0..n-k-1} (x[i]-μ)*(x[i+k]-μ) / Σ_{i=0..n-1} (x[i]-μ)^2
      */
     public static double autocorrelation(Signal input, int lag) {
-        List<Double> data = input.getValues();
-        int n = data.size();
+        double[] data = input.view();
+        int n = data.length;
         if (lag < 0 || lag >= n) throw new IllegalArgumentException("Lag fuera de rango");
         double mu = mean(input);
         double num = 0.0, den = 0.0;
         for (int i = 0; i < n; i++) {
-            double d = data.get(i) - mu;
+            double d = data[i] - mu;
             den += d * d;
             if (i + lag < n) {
-                num += d * (data.get(i + lag) - mu);
+                num += d * (data[i + lag] - mu);
             }
         }
         return (den == 0.0) ? 0.0 : num / den;
@@ -582,13 +539,27 @@ public class StatisticalProcessor {
 
     /**
      * 34. Devuelve el array de autocorrelaciones r[0..maxLag] para la señal.
+     * Con muchos lags se calcula por Wiener–Khinchin (una FFT de la señal
+     * centrada y otra del espectro de potencia), O(N log N) en lugar de
+     * O(N·maxLag); ver {@link FastConvolution#autocorrelate(double[], int)}.
      */
     public static double[] autocorrelations(Signal input, int maxLag) {
-        int n = input.size();
+        double[] data = input.view();
+        int n = data.length;
         if (maxLag < 0 || maxLag >= n) throw new IllegalArgumentException("maxLag fuera de rango");
+        double mu = mean(input);
+        double[] centered = new double[n];
+        for (int i = 0; i < n; i++) {
+            centered[i] = data[i] - mu;
+        }
+        double[] c = FastConvolution.autocorrelate(centered, maxLag);
+        double den = c[0];
         double[] result = new double[maxLag + 1];
+        if (den == 0.0) {
+            return result;
+        }
         for (int k = 0; k <= maxLag; k++) {
-            result[k] = autocorrelation(input, k);
+            result[k] = c[k] / den;
         }
         return result;
     }
@@ -599,12 +570,26 @@ public class StatisticalProcessor {
      * Retorna φ[p][p].
      */
     public static double partialAutocorrelation(Signal input, int p) {
-        double[] r = autocorrelations(input, p);
-        // Durbin–Levinson recursivo
+        return partialAutocorrelations(input, p)[p];
+    }
+
+    /**
+     * 35b. PACF completa φ[k][k] para k = 0..maxLag (φ[0][0] = 1) con una
+     * sola recursión de Durbin–Levinson, O(maxLag²), sobre las
+     * autocorrelaciones de {@link #autocorrelations(Signal, int)} (mismo
+     * espectro, sin recalcular r por cada lag).
+     */
+    public static double[] partialAutocorrelations(Signal input, int maxLag) {
+        return levinsonDurbin(autocorrelations(input, maxLag), maxLag);
+    }
+
+    /** Auxiliar: coeficientes de reflexión φ[k][k] a partir de r[0..p] */
+    private static double[] levinsonDurbin(double[] r, int p) {
+        double[] pacf = new double[p + 1];
+        pacf[0] = 1.0;
         double[] phiPrev = new double[p + 1];
         double[] phiCurr = new double[p + 1];
-        double[] err    = new double[p + 1];
-        err[0] = r[0];       // varianza
+        double err = r[0];       // varianza
 
         for (int k = 1; k <= p; k++) {
             // calcular phi[k][k]
@@ -612,17 +597,18 @@ public class StatisticalProcessor {
             for (int j = 1; j < k; j++) {
                 num -= phiPrev[j] * r[k - j];
             }
-            phiCurr[k] = num / err[k - 1];
+            phiCurr[k] = num / err;
             // actualizar phi[k][j] para j<k
             for (int j = 1; j < k; j++) {
                 phiCurr[j] = phiPrev[j] - phiCurr[k] * phiPrev[k - j];
             }
             // actualizar error
-            err[k] = err[k - 1] * (1.0 - phiCurr[k] * phiCurr[k]);
+            err *= (1.0 - phiCurr[k] * phiCurr[k]);
+            pacf[k] = phiCurr[k];
             // preparar siguiente iteración
-            System.arraycopy(phiCurr, 1, phiPrev, 1, k + 1 - 1);
+            System.arraycopy(phiCurr, 1, phiPrev, 1, k);
         }
-        return phiCurr[p];
+        return pacf;
     }
 
     /**
@@ -630,27 +616,53 @@ public class StatisticalProcessor {
      * ρ_xy[k] = Σ (x[i]-μx)*(y[i+k]-μy) / sqrt(Σ(x-μx)^2 * Σ(y-μy)^2)
      */
     public static double crossCorrelation(Signal x, Signal y, int lag) {
-        List<Double> dx = x.getValues(), dy = y.getValues();
-        int nx = dx.size(), ny = dy.size();
+        double[] dx = x.view(), dy = y.view();
+        int nx = dx.length, ny = dy.length;
         if (lag < 0 || lag >= nx || lag >= ny) throw new IllegalArgumentException("Lag fuera de rango");
         double mux = mean(x), muy = mean(y);
-        double num = 0.0, denx = 0.0, deny = 0.0;
+        double num = 0.0;
         for (int i = 0; i + lag < nx && i + lag < ny; i++) {
-            double vx = dx.get(i) - mux;
-            double vy = dy.get(i + lag) - muy;
-            num += vx * vy;
+            num += (dx[i] - mux) * (dy[i + lag] - muy);
         }
-        for (double v : dx) {
-            double d = v - mux;
-            denx += d * d;
+        double denom = Math.sqrt(sumOfSquaredDeviations(dx, mux) * sumOfSquaredDeviations(dy, muy));
+        return (denom == 0.0) ? 0.0 : num / denom;
+    }
+
+    /**
+     * 36b. Cross-Correlation para todos los lags 0..maxLag de una vez.
+     * Mismo resultado que {@link #crossCorrelation(Signal, Signal, int)} lag a lag,
+     * pero con señales largas se calcula por FFT ({@link FastConvolution#correlate})
+     * en O(N log N) en lugar de O(N·maxLag).
+     */
+    public static double[] crossCorrelations(Signal x, Signal y, int maxLag) {
+        double[] dx = x.view(), dy = y.view();
+        int nx = dx.length, ny = dy.length;
+        if (maxLag < 0 || maxLag >= nx || maxLag >= ny) throw new IllegalArgumentException("maxLag fuera de rango");
+        double mux = mean(x), muy = mean(y);
+        // la suma solo recorre i + lag < min(nx, ny)
+        int n = Math.min(nx, ny);
+        double[] cx = new double[n], cy = new double[n];
+        for (int i = 0; i < n; i++) {
+            cx[i] = dx[i] - mux;
+            cy[i] = dy[i] - muy;
         }
-        for (double v : dy) {
-            double d = v - muy;
-            deny += d * d;
+        double[] r = FastConvolution.correlate(cx, cy, maxLag);
+        double denom = Math.sqrt(sumOfSquaredDeviations(dx, mux) * sumOfSquaredDeviations(dy, muy));
+        for (int k = 0; k <= maxLag; k++) {
+            r[k] = (denom == 0.0) ? 0.0 : r[k] / denom;
         }
-        double denom = Math.sqrt(denx * deny);
-        return (denom == 0.0) ? 0.0 : num / denom;
-    }    
+        return r;
+    }
+
+    /** Σ (x - μ)² */
+    private static double sumOfSquaredDeviations(double[] x, double mu) {
+        double s = 0.0;
+        for (double v : x) {
+            double d = v - mu;
+            s += d * d;
+        }
+        return s;
+    }
     
     /**
      * Ventanas móviles y suavizado         
@@ -739,32 +751,34 @@ public class StatisticalProcessor {
     /**
      * 40. Moving Median: mediana móvil con ventana de tamaño window.
      * Señal de salida de longitud n–window+1.
+     * Usa dos montículos indexados ({@link SlidingWindow#movingMedian}), O(N log W).
      */
     public static Signal movingMedian(Signal input, int window) {
-        int n = input.size();
-        if (window < 1 || window > n) {
-            throw new IllegalArgumentException("Window debe estar en [1, " + n + "]");
-        }
-        Signal result = new Signal();
-        List<Double> data = input.getValues();
-        Deque<Double> windowList = new ArrayDeque<>();
-        for (int i = 0; i < n; i++) {
-            windowList.addLast(data.get(i));
-            if (windowList.size() > window) {
-                windowList.removeFirst();
-            }
-            if (windowList.size() == window) {
-                List<Double> sorted = new ArrayList<>(windowList);
-                Collections.sort(sorted);
-                int m = window / 2;
-                if (window % 2 == 1) {
-                    result.add(sorted.get(m));
-                } else {
-                    result.add((sorted.get(m-1) + sorted.get(m)) / 2.0);
-                }
-            }
-        }
-        return result;
+        return Signal.wrap(SlidingWindow.movingMedian(input.view(), window));
+    }
+
+    /**
+     * 40b. Moving Min: mínimo móvil con deque monótona, O(N).
+     * Señal de salida de longitud n–window+1.
+     */
+    public static Signal movingMin(Signal input, int window) {
+        return Signal.wrap(SlidingWindow.movingMin(input.view(), window));
+    }
+
+    /**
+     * 40c. Moving Max: máximo móvil con deque monótona, O(N).
+     * Señal de salida de longitud n–window+1.
+     */
+    public static Signal movingMax(Signal input, int window) {
+        return Signal.wrap(SlidingWindow.movingMax(input.view(), window));
+    }
+
+    /**
+     * 40d. Moving Range: max – min de cada ventana, O(N).
+     * Señal de salida de longitud n–window+1.
+     */
+    public static Signal movingRange(Signal input, int window) {
+        return Signal.wrap(SlidingWindow.movingRange(input.view(), window));
     }
 
     /**
@@ -869,4 +883,26 @@ public class StatisticalProcessor {
         return weightedMovingAverage(input, kernel);
     }    
     
+    // ————————————————————————————————————————
+    // Espectro
+    // ————————————————————————————————————————
+
+    /**
+     * 45. Power Spectrum: periodograma |X[k]|² / n para k = 0..n/2.
+     * Acepta cualquier longitud (sin relleno con ceros) y usa la FFT real
+     * empaquetada de {@link FFT#realForward}.
+     */
+    public static Signal powerSpectrum(Signal input) {
+        int n = input.size();
+        if (n == 0) throw new IllegalArgumentException("Señal vacía");
+        int bins = n / 2 + 1;
+        double[] re = new double[bins], im = new double[bins];
+        FFT.realForward(input.view(), re, im);
+        double[] p = new double[bins];
+        for (int k = 0; k < bins; k++) {
+            p[k] = (re[k] * re[k] + im[k] * im[k]) / n;
+        }
+        return Signal.wrap(p);
+    }
+
 }
@@ -0,0 +1,243 @@
+package com.merlab.signals.core;
+
+/**
+ * Acumulador de estadísticos descriptivos en una sola pasada.
+ * <p>
+ * Mantiene count, media y momentos centrales M2/M3/M4 con las
+ * actualizaciones de Welford / Terriberry (numéricamente estables), además
+ * de min, max, Σx, Σx² (energía) y Σ|x| con suma compensada de Neumaier.
+ * Todos los estadísticos escalares de {@link StatisticalProcessor} que
+ * dependen de estas cantidades se derivan de un único recorrido.
+ * <p>
+ * Dos acumuladores se pueden fusionar con {@link #combine(StatsAccumulator)}
+ * (fórmulas de Chan et al.), lo que permite calcular por bloques o en paralelo.
+ */
+public final class StatsAccumulator {
+    private long n;
+    private double mean;
+    private double m2;
+    private double m3;
+    private double m4;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    // sumas compensadas: valor + corrección
+    private double sum, sumC;
+    private double energy, energyC;
+    private double absSum, absSumC;
+
+    /** Acumula todas las muestras del array. */
+    public static StatsAccumulator of(double[] x) {
+        StatsAccumulator acc = new StatsAccumulator();
+        acc.addAll(x);
+        return acc;
+    }
+
+    /** Acumula todas las muestras de la señal. */
+    public static StatsAccumulator of(Signal input) {
+        return of(input.view());
+    }
+
+    /** Añade una muestra. */
+    public void add(double x) {
+        long n1 = n;
+        n++;
+        double delta = x - mean;
+        double deltaN = delta / n;
+        double deltaN2 = deltaN * deltaN;
+        double term1 = delta * deltaN * n1;
+        mean += deltaN;
+        m4 += term1 * deltaN2 * ((double) n * n - 3 * n + 3) + 6 * deltaN2 * m2 - 4 * deltaN * m3;
+        m3 += term1 * deltaN * (n - 2) - 3 * deltaN * m2;
+        m2 += term1;
+
+        if (x < min) min = x;
+        if (x > max) max = x;
+
+        double t = sum + x;
+        sumC += Math.abs(sum) >= Math.abs(x) ? (sum - t) + x : (x - t) + sum;
+        sum = t;
+
+        double sq = x * x;
+        t = energy + sq;
+        energyC += energy >= sq ? (energy - t) + sq : (sq - t) + energy;
+        energy = t;
+
+        double a = Math.abs(x);
+        t = absSum + a;
+        absSumC += absSum >= a ? (absSum - t) + a : (a - t) + absSum;
+        absSum = t;
+    }
+
+    /** Añade todas las muestras del array. */
+    public void addAll(double[] x) {
+        for (double v : x) {
+            add(v);
+        }
+    }
+
+    /**
+     * Fusiona otro acumulador en este; el resultado es el mismo que si se
+     * hubieran añadido todas sus muestras.
+     */
+    public StatsAccumulator combine(StatsAccumulator o) {
+        if (o.n == 0) return this;
+        if (n == 0) {
+            copyFrom(o);
+            return this;
+        }
+        double na = n, nb = o.n, nt = na + nb;
+        double delta = o.mean - mean;
+        double d2 = delta * delta, d3 = d2 * delta, d4 = d2 * d2;
+        double newM2 = m2 + o.m2 + d2 * na * nb / nt;
+        double newM3 = m3 + o.m3 + d3 * na * nb * (na - nb) / (nt * nt)
+            + 3 * delta * (na * o.m2 - nb * m2) / nt;
+        double newM4 = m4 + o.m4 + d4 * na * nb * (na * na - na * nb + nb * nb) / (nt * nt * nt)
+            + 6 * d2 * (na * na * o.m2 + nb * nb * m2) / (nt * nt)
+            + 4 * delta * (na * o.m3 - nb * m3) / nt;
+        mean += delta * nb / nt;
+        m2 = newM2;
+        m3 = newM3;
+        m4 = newM4;
+        n += o.n;
+        min = Math.min(min, o.min);
+        max = Math.max(max, o.max);
+        sum += o.sum;
+        sumC += o.sumC;
+        energy += o.energy;
+        energyC += o.energyC;
+        absSum += o.absSum;
+        absSumC += o.absSumC;
+        return this;
+    }
+
+    private void copyFrom(StatsAccumulator o) {
+        n = o.n;
+        mean = o.mean;
+        m2 = o.m2;
+        m3 = o.m3;
+        m4 = o.m4;
+        min = o.min;
+        max = o.max;
+        sum = o.sum;
+        sumC = o.sumC;
+        energy = o.energy;
+        energyC = o.energyC;
+        absSum = o.absSum;
+        absSumC = o.absSumC;
+    }
+
+    private void requireSamples() {
+        if (n == 0) throw new IllegalArgumentException("Señal vacía");
+    }
+
+    /** Número de muestras */
+    public long count() {
+        return n;
+    }
+
+    /** Σ xᵢ (0 si está vacío) */
+    public double sum() {
+        return sum + sumC;
+    }
+
+    /** Σ xᵢ² (0 si está vacío) */
+    public double energy() {
+        return energy + energyC;
+    }
+
+    /** Σ |xᵢ| (0 si está vacío) */
+    public double absSum() {
+        return absSum + absSumC;
+    }
+
+    /** μ = Σ xᵢ / n */
+    public double mean() {
+        requireSamples();
+        return sum() / n;
+    }
+
+    /** Varianza poblacional M2 / n */
+    public double variance() {
+        requireSamples();
+        return m2 / n;
+    }
+
+    /** Desviación estándar poblacional */
+    public double stdDev() {
+        return Math.sqrt(variance());
+    }
+
+    /** Σ (xᵢ – μ)² */
+    public double m2() {
+        return m2;
+    }
+
+    /** Σ (xᵢ – μ)³ */
+    public double m3() {
+        return m3;
+    }
+
+    /** Σ (xᵢ – μ)⁴ */
+    public double m4() {
+        return m4;
+    }
+
+    /** Tercer momento central Σ (xᵢ – μ)³ / n */
+    public double thirdCentralMoment() {
+        requireSamples();
+        return m3 / n;
+    }
+
+    /** Cuarto momento central Σ (xᵢ – μ)⁴ / n */
+    public double fourthCentralMoment() {
+        requireSamples();
+        return m4 / n;
+    }
+
+    /** Asimetría poblacional (0 si σ = 0) */
+    public double skewness() {
+        requireSamples();
+        if (m2 == 0) return 0.0;
+        return Math.sqrt((double) n) * m3 / Math.pow(m2, 1.5);
+    }
+
+    /** Curtosis poblacional, no en exceso (0 si σ = 0) */
+    public double kurtosis() {
+        requireSamples();
+        if (m2 == 0) return 0.0;
+        return n * m4 / (m2 * m2);
+    }
+
+    public double min() {
+        requireSamples();
+        return min;
+    }
+
+    public double max() {
+        requireSamples();
+        return max;
+    }
+
+    /** max – min */
+    public double range() {
+        return max() - min();
+    }
+
+    /** max(|x|) */
+    public double peakAbs() {
+        requireSamples();
+        return Math.max(Math.abs(min), Math.abs(max));
+    }
+
+    /** √(Σ xᵢ² / n) */
+    public double rms() {
+        requireSamples();
+        return Math.sqrt(energy() / n);
+    }
+
+    /** Σ |xᵢ| / n */
+    public double meanAbs() {
+        requireSamples();
+        return absSum() / n;
+    }
+}
@@ -0,0 +1,352 @@
+package com.merlab.signals.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * SignalStack por niveles: las {@code hotCount} señales del tope siempre
+ * están en memoria, y las más profundas se vuelcan a ficheros temporales
+ * mapeados en memoria cuando las muestras en memoria superan
+ * {@code heapBudgetBytes}. Una señal volcada sigue en el stack como la
+ * misma instancia, pero vacía; {@link #pop()}, {@link #peek()},
+ * {@link #peekSecond()}, {@link #get(int)} y {@link #forEach} la vuelven a
+ * cargar antes de devolverla. Una referencia externa a una señal profunda
+ * la ve vacía mientras está volcada y no debe modificarla.
+ * <p>
+ * {@link #getStack()} y {@link #getStack2()} cargan todas las señales; el
+ * presupuesto se vuelve a aplicar en el siguiente {@link #push(Signal)}.
+ * {@link #clear()} (o {@link #close()}) borra los ficheros temporales.
+ * Si un volcado falla (disco lleno, directorio inexistente...) la señal
+ * se queda en memoria, se cuenta en {@link #getSpillFailureCount()} y la
+ * operación que lo provocó termina con normalidad.
+ */
+public class TieredSignalStack extends SignalStack implements AutoCloseable {
+
+    // FileChannel.map admite como mucho Integer.MAX_VALUE bytes por región
+    private static final long MAP_CHUNK = 1L << 30;
+
+    private final int hotCount;
+    private final long heapBudgetBytes;
+    private final Path spillDir;
+    // señales volcadas -> su fichero
+    private final Map<Signal, Path> spilled = new IdentityHashMap<>();
+    private long spilledBytes;
+    private long residentBytes;
+    private long spillCount;
+    private long pageInCount;
+    private long bytesWritten;
+    private long bytesRead;
+    private long spillFailures;
+    private Exception lastSpillError;
+
+    /**
+     * Stack por niveles con los ficheros en el directorio temporal del sistema.
+     *
+     * @param hotCount        señales del tope que nunca se vuelcan (>= 0)
+     * @param heapBudgetBytes bytes de muestras en memoria por debajo de los
+     *                        cuales no se vuelca nada (>= 0)
+     */
+    public TieredSignalStack(int hotCount, long heapBudgetBytes) {
+        this(hotCount, heapBudgetBytes, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * @param hotCount        señales del tope que nunca se vuelcan (>= 0)
+     * @param heapBudgetBytes bytes de muestras en memoria por debajo de los
+     *                        cuales no se vuelca nada (>= 0)
+     * @param spillDir        directorio de los ficheros temporales
+     */
+    public TieredSignalStack(int hotCount, long heapBudgetBytes, Path spillDir) {
+        this(hotCount, heapBudgetBytes, spillDir, Integer.MAX_VALUE, EvictionPolicy.REJECT);
+    }
+
+    /**
+     * Stack por niveles y acotado.
+     *
+     * @param maxSize número máximo de señales (>= 1)
+     * @param policy  qué hacer al apilar sobre una pila llena
+     */
+    public TieredSignalStack(int hotCount, long heapBudgetBytes, Path spillDir,
+                             int maxSize, EvictionPolicy policy) {
+        super(maxSize, policy);
+        if (hotCount < 0) {
+            throw new IllegalArgumentException("hotCount debe ser >= 0");
+        }
+        if (heapBudgetBytes < 0) {
+            throw new IllegalArgumentException("heapBudgetBytes debe ser >= 0");
+        }
+        if (spillDir == null) {
+            throw new IllegalArgumentException("spillDir no puede ser null");
+        }
+        this.hotCount = hotCount;
+        this.heapBudgetBytes = heapBudgetBytes;
+        this.spillDir = spillDir;
+    }
+
+    @Override
+    public void push(Signal signal) {
+        if (size() == getMaxSize() && getEvictionPolicy() == EvictionPolicy.DROP_OLDEST) {
+            // el fondo se descarta: su fichero ya no hace falta
+            Signal bottom = super.get(size() - 1);
+            if (!containsElsewhere(bottom, size() - 1)) {
+                discard(bottom);
+            }
+        }
+        super.push(signal);
+        rebalance();
+    }
+
+    @Override
+    public Signal pop() {
+        Signal s = super.pop();
+        if (s != null && spilled.containsKey(s)) {
+            pageIn(s);
+        }
+        rebalance();
+        return s;
+    }
+
+    @Override
+    public Signal peek() {
+        return isEmpty() ? null : get(0);
+    }
+
+    @Override
+    public Signal peekSecond() {
+        super.peekSecond(); // valida el tamaño
+        return get(1);
+    }
+
+    @Override
+    public Signal get(int depth) {
+        Signal s = super.get(depth);
+        if (s != null && spilled.containsKey(s)) {
+            pageIn(s);
+        }
+        return s;
+    }
+
+    /** Recorre las señales del tope al fondo, cargando cada una y volcando de nuevo si hace falta. */
+    @Override
+    public void forEach(Consumer<? super Signal> action) {
+        for (int i = 0; i < size(); i++) {
+            action.accept(get(i));
+            if (i >= hotCount) {
+                rebalance();
+            }
+        }
+    }
+
+    @Override
+    public List<Signal> getStack2() {
+        loadAll();
+        return super.getStack2();
+    }
+
+    @Override
+    public List<Signal> getStack() {
+        loadAll();
+        return super.getStack();
+    }
+
+    @Override
+    public void clear() {
+        for (Map.Entry<Signal, Path> e : new ArrayList<>(spilled.entrySet())) {
+            delete(e.getValue());
+        }
+        spilled.clear();
+        spilledBytes = 0;
+        residentBytes = 0;
+        super.clear();
+    }
+
+    /** Igual que {@link #clear()}: vacía el stack y borra los ficheros temporales. */
+    @Override
+    public void close() {
+        clear();
+    }
+
+    public int getHotCount() {
+        return hotCount;
+    }
+
+    public long getHeapBudgetBytes() {
+        return heapBudgetBytes;
+    }
+
+    /** Bytes de muestras del stack en memoria tras el último reparto. */
+    public long getResidentBytes() {
+        return residentBytes;
+    }
+
+    /** Bytes de muestras volcadas a disco ahora mismo. */
+    public long getSpilledBytes() {
+        return spilledBytes;
+    }
+
+    /** Señales volcadas a disco ahora mismo. */
+    public int getSpilledCount() {
+        return spilled.size();
+    }
+
+    /** Volcados a disco hasta ahora. */
+    public long getSpillCount() {
+        return spillCount;
+    }
+
+    /** Recargas desde disco hasta ahora. */
+    public long getPageInCount() {
+        return pageInCount;
+    }
+
+    /** Bytes escritos a disco hasta ahora. */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /** Bytes leídos de disco hasta ahora. */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /** Volcados que fallaron (la señal siguió en memoria). */
+    public long getSpillFailureCount() {
+        return spillFailures;
+    }
+
+    /** Causa del último volcado fallido, o null. */
+    public Exception getLastSpillError() {
+        return lastSpillError;
+    }
+
+    /**
+     * Recorre el stack desde el tope sumando las señales en memoria; por
+     * debajo de las {@code hotCount} primeras, las que no caben en el
+     * presupuesto se vuelcan.
+     */
+    private void rebalance() {
+        long resident = 0;
+        Map<Signal, Boolean> seen = new IdentityHashMap<>();
+        int n = size();
+        for (int depth = 0; depth < n; depth++) {
+            Signal s = super.get(depth);
+            if (s == null || seen.put(s, Boolean.TRUE) != null || spilled.containsKey(s)) {
+                continue;
+            }
+            long bytes = (long) s.size() * Double.BYTES;
+            if (depth < hotCount || bytes == 0 || resident + bytes <= heapBudgetBytes || !spill(s)) {
+                resident += bytes;
+            }
+        }
+        residentBytes = resident;
+    }
+
+    private void loadAll() {
+        for (int i = 0; i < size(); i++) {
+            get(i);
+        }
+    }
+
+    /**
+     * Vuelca una señal a un fichero temporal, mapeándolo por regiones de
+     * {@link #MAP_CHUNK} bytes. Si algo falla borra el fichero, deja la
+     * señal intacta y devuelve false.
+     */
+    private boolean spill(Signal s) {
+        double[] data = s.view();
+        long bytes = (long) data.length * Double.BYTES;
+        Path file = null;
+        try {
+            file = Files.createTempFile(spillDir, "signal_spill_", ".bin");
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                for (long pos = 0; pos < bytes; pos += MAP_CHUNK) {
+                    long len = Math.min(MAP_CHUNK, bytes - pos);
+                    MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_WRITE, pos, len);
+                    map.order(ByteOrder.nativeOrder()).asDoubleBuffer()
+                        .put(data, (int) (pos / Double.BYTES), (int) (len / Double.BYTES));
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            if (file != null) {
+                delete(file);
+            }
+            spillFailures++;
+            lastSpillError = ex;
+            return false;
+        }
+        s.detach();
+        spilled.put(s, file);
+        spilledBytes += bytes;
+        spillCount++;
+        bytesWritten += bytes;
+        return true;
+    }
+
+    private void pageIn(Signal s) {
+        Path file = spilled.get(s);
+        double[] data;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long bytes = ch.size();
+            data = new double[(int) (bytes / Double.BYTES)];
+            for (long pos = 0; pos < bytes; pos += MAP_CHUNK) {
+                long len = Math.min(MAP_CHUNK, bytes - pos);
+                MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_ONLY, pos, len);
+                map.order(ByteOrder.nativeOrder()).asDoubleBuffer()
+                    .get(data, (int) (pos / Double.BYTES), (int) (len / Double.BYTES));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo recargar la señal desde disco", ex);
+        }
+        s.attach(data);
+        spilled.remove(s);
+        delete(file);
+        long bytes = (long) data.length * Double.BYTES;
+        spilledBytes -= bytes;
+        residentBytes += bytes;
+        pageInCount++;
+        bytesRead += bytes;
+    }
+
+    /** Olvida una señal que sale del stack sin volver a memoria. */
+    private void discard(Signal s) {
+        Path file = spilled.remove(s);
+        if (file != null) {
+            try {
+                spilledBytes -= Files.size(file);
+            } catch (IOException ex) {
+                // el fichero ya no está: no queda nada que contar
+            }
+            delete(file);
+        }
+    }
+
+    /** true si {@code s} aparece en el stack a una profundidad distinta de {@code except}. */
+    private boolean containsElsewhere(Signal s, int except) {
+        for (int i = 0; i < size(); i++) {
+            if (i != except && super.get(i) == s) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            // en algunos sistemas un fichero aún mapeado no se puede borrar
+            file.toFile().deleteOnExit();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.merlab.signals.core;
+
+/**
+ * Estimador de Welch de la densidad espectral de potencia.
+ * <p>
+ * La señal se divide en segmentos de {@code segmentSize} muestras
+ * separados {@code hop}; a cada uno se le resta su media, se multiplica por
+ * la ventana y se transforma con la FFT real empaquetada. Los |X[k]|² se
+ * promedian y se escalan a densidad unilateral: 1 / (fs·Σw²), duplicando
+ * todos los bins salvo DC y Nyquist. Es la convención de
+ * {@code scipy.signal.welch} con {@code detrend='constant'}.
+ * <p>
+ * La ventana y Σw² se calculan una vez por instancia, así que un mismo
+ * {@code Welch} se puede reutilizar (y compartir entre hilos) para miles de
+ * ventanas de análisis.
+ */
+public final class Welch {
+    private final int segmentSize;
+    private final int hop;
+    private final double[] window;
+    private final double windowPower;
+
+    /**
+     * @param segmentSize muestras por segmento (≥ 1)
+     * @param hop         desplazamiento entre segmentos (≥ 1)
+     * @param window      ventana de análisis
+     */
+    public Welch(int segmentSize, int hop, WindowFunction window) {
+        if (segmentSize < 1) {
+            throw new IllegalArgumentException("segmentSize debe ser >= 1");
+        }
+        if (hop < 1) {
+            throw new IllegalArgumentException("hop debe ser >= 1");
+        }
+        this.segmentSize = segmentSize;
+        this.hop = hop;
+        this.window = window.coefficients(segmentSize);
+        double s = 0.0;
+        for (double w : this.window) {
+            s += w * w;
+        }
+        this.windowPower = s;
+    }
+
+    /** Welch con ventana Hann y 50 % de solape. */
+    public Welch(int segmentSize) {
+        this(segmentSize, Math.max(1, segmentSize / 2), WindowFunction.HANN);
+    }
+
+    /**
+     * PSD de Welch con ventana Hann y 50 % de solape. Si la señal es más
+     * corta que segmentSize se usa un único segmento de toda la señal.
+     */
+    public static PowerSpectrum psd(double[] x, double fs, int segmentSize) {
+        if (x.length == 0) throw new IllegalArgumentException("Señal vacía");
+        return new Welch(Math.min(segmentSize, x.length)).psd(x, fs);
+    }
+
+    /** PSD de Welch con ventana Hann y 50 % de solape. */
+    public static PowerSpectrum psd(Signal input, double fs, int segmentSize) {
+        return psd(input.view(), fs, segmentSize);
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    public int getHop() {
+        return hop;
+    }
+
+    /**
+     * PSD de la señal x muestreada a fs Hz.
+     *
+     * @throws IllegalArgumentException si x es más corta que un segmento
+     */
+    public PowerSpectrum psd(double[] x, double fs) {
+        if (fs <= 0) {
+            throw new IllegalArgumentException("fs debe ser > 0");
+        }
+        if (x.length < segmentSize) {
+            throw new IllegalArgumentException(
+                "Señal de " + x.length + " muestras, menor que el segmento (" + segmentSize + ")");
+        }
+        int bins = segmentSize / 2 + 1;
+        int segments = 1 + (x.length - segmentSize) / hop;
+        // plan, twiddles y buffers de la FFT se resuelven una vez para todos los segmentos
+        FFT.RealPlan plan = FFT.realPlan(segmentSize);
+        FFT.RealPlan.Scratch scratch = plan.newScratch();
+        double[] frame = new double[segmentSize];
+        double[] re = new double[bins];
+        double[] im = new double[bins];
+        double[] psd = new double[bins];
+        for (int s = 0; s < segments; s++) {
+            int start = s * hop;
+            double mean = 0.0;
+            for (int i = 0; i < segmentSize; i++) {
+                mean += x[start + i];
+            }
+            mean /= segmentSize;
+            for (int i = 0; i < segmentSize; i++) {
+                frame[i] = (x[start + i] - mean) * window[i];
+            }
+            FFT.realForward(plan, frame, re, im, scratch);
+            for (int k = 0; k < bins; k++) {
+                psd[k] += re[k] * re[k] + im[k] * im[k];
+            }
+        }
+        double scale = windowPower == 0.0 ? 0.0 : 1.0 / (fs * windowPower * segments);
+        // bins interiores duplicados (unilateral); Nyquist solo existe con segmento par
+        int lastInterior = segmentSize % 2 == 0 ? bins - 2 : bins - 1;
+        for (int k = 0; k < bins; k++) {
+            psd[k] *= (k >= 1 && k <= lastInterior) ? 2 * scale : scale;
+        }
+        return new PowerSpectrum(psd, fs / segmentSize);
+    }
+
+    /** PSD de la señal muestreada a fs Hz. */
+    public PowerSpectrum psd(Signal input, double fs) {
+        return psd(input.view(), fs);
+    }
+}
@@ -0,0 +1,38 @@
+package com.merlab.signals.core;
+
+/**
+ * Ventanas de análisis para transformadas por tramas (STFT, Welch).
+ * Se generan en su forma periódica (DFT-even): w[i] con denominador n en
+ * lugar de n - 1, que es la adecuada para análisis espectral con solape.
+ */
+public enum WindowFunction {
+    RECTANGULAR,
+    HANN,
+    HAMMING,
+    BLACKMAN;
+
+    /** Coeficientes de la ventana para tramas de n muestras. */
+    public double[] coefficients(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Longitud de ventana debe ser >= 1");
+        }
+        double[] w = new double[n];
+        for (int i = 0; i < n; i++) {
+            double t = 2 * Math.PI * i / n;
+            switch (this) {
+                case HANN:
+                    w[i] = 0.5 - 0.5 * Math.cos(t);
+                    break;
+                case HAMMING:
+                    w[i] = 0.54 - 0.46 * Math.cos(t);
+                    break;
+                case BLACKMAN:
+                    w[i] = 0.42 - 0.5 * Math.cos(t) + 0.08 * Math.cos(2 * t);
+                    break;
+                default:
+                    w[i] = 1.0;
+            }
+        }
+        return w;
+    }
+}
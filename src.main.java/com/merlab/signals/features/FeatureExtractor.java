@@ -3,14 +3,40 @@ package com.merlab.signals.features;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.merlab.signals.core.PowerSpectrum;
 import com.merlab.signals.core.Signal;
 import com.merlab.signals.core.StatisticalProcessor;
+import com.merlab.signals.core.StatsAccumulator;
+import com.merlab.signals.core.Welch;
 
 /**
  * Extrae características de una señal o de sus estadísticas.
  */
 public class FeatureExtractor {
 
+    /** Nombres, en orden, de las componentes de {@link #extractStatisticalFeatures(Signal)} */
+    public static final List<String> STATISTICAL_FEATURES = List.of(
+        "mean", "variance", "stdDev", "skewness", "kurtosis",
+        "min", "max", "range", "rms", "energy",
+        "crestFactor", "impulseFactor", "shapeFactor");
+
+    /**
+     * Nombres, en orden, de las primeras componentes de
+     * {@link #extractSpectralFeatures(PowerSpectrum, double...)}; a
+     * continuación van las energías de cada banda.
+     */
+    public static final List<String> SPECTRAL_FEATURES = List.of(
+        "centroid", "bandwidth", "rolloff", "flatness", "dominantFrequency");
+
+    /** Fracción de la potencia total que define la frecuencia de rolloff */
+    public static final double ROLLOFF_FRACTION = 0.85;
+
+    /** Segmento de Welch por defecto para los descriptores espectrales */
+    public static final int DEFAULT_SEGMENT_SIZE = 256;
+
+    /** Bandas por defecto: [0, fs/2] dividido en este número de bandas iguales */
+    public static final int DEFAULT_BANDS = 4;
+
     /**
      * Extrae un vector de características a partir de la señal de entrada.
      * Aquí, simplemente devolvemos media y varianza.
@@ -31,6 +57,117 @@ public class FeatureExtractor {
     }
 
 
+    /**
+     * Vector de descriptores estadísticos calculado en una sola pasada
+     * ({@link StatsAccumulator}). El orden es el de {@link #STATISTICAL_FEATURES};
+     * los factores de forma valen 0 si su denominador es 0.
+     * @param input señal procesada
+     * @return señal de características
+     */
+    public static Signal extractStatisticalFeatures(Signal input) {
+        StatsAccumulator acc = StatisticalProcessor.stats(input);
+        double rms = acc.rms();
+        double meanAbs = acc.meanAbs();
+        double peak = acc.peakAbs();
+        return Signal.wrap(new double[] {
+            acc.mean(), acc.variance(), acc.stdDev(), acc.skewness(), acc.kurtosis(),
+            acc.min(), acc.max(), acc.range(), rms, acc.energy(),
+            rms == 0.0 ? 0.0 : peak / rms,
+            meanAbs == 0.0 ? 0.0 : peak / meanAbs,
+            meanAbs == 0.0 ? 0.0 : rms / meanAbs
+        });
+    }
+
+    /**
+     * Descriptores espectrales a partir de la PSD de Welch (Hann, 50 % de
+     * solape, segmento de {@link #DEFAULT_SEGMENT_SIZE} o la señal entera si
+     * es más corta) con {@link #DEFAULT_BANDS} bandas iguales hasta fs/2.
+     * @param input señal procesada
+     * @param fs    frecuencia de muestreo en Hz
+     * @return señal de características
+     */
+    public static Signal extractSpectralFeatures(Signal input, double fs) {
+        double[] edges = new double[DEFAULT_BANDS + 1];
+        for (int i = 0; i <= DEFAULT_BANDS; i++) {
+            edges[i] = fs / 2 * i / DEFAULT_BANDS;
+        }
+        return extractSpectralFeatures(Welch.psd(input, fs, DEFAULT_SEGMENT_SIZE), edges);
+    }
+
+    /**
+     * Descriptores espectrales de una PSD ya calculada, en el orden de
+     * {@link #SPECTRAL_FEATURES} seguidos de la energía de cada banda
+     * [edges[i], edges[i+1]) (la última incluye su borde superior).
+     * <ul>
+     *   <li>centroid: Σ f·P / Σ P</li>
+     *   <li>bandwidth: √(Σ (f – centroid)²·P / Σ P)</li>
+     *   <li>rolloff: menor f con potencia acumulada ≥ {@link #ROLLOFF_FRACTION}</li>
+     *   <li>flatness: media geométrica / media aritmética de P</li>
+     *   <li>dominantFrequency: f del bin de máxima potencia</li>
+     * </ul>
+     * Una PSD nula da todas las componentes a 0.
+     * @param psd   densidad espectral
+     * @param edges bordes de banda en Hz, crecientes (puede estar vacío)
+     * @return señal de características
+     */
+    public static Signal extractSpectralFeatures(PowerSpectrum psd, double... edges) {
+        for (int i = 1; i < edges.length; i++) {
+            if (edges[i] < edges[i - 1]) {
+                throw new IllegalArgumentException("Los bordes de banda deben ser crecientes");
+            }
+        }
+        int bands = Math.max(0, edges.length - 1);
+        double[] out = new double[SPECTRAL_FEATURES.size() + bands];
+        double[] p = psd.density();
+        int n = p.length;
+        double df = psd.binWidth();
+
+        // una pasada: Σ P, Σ f·P, Σ f²·P, Σ log P, máximo y energía por banda
+        double total = 0.0, sumF = 0.0, sumF2 = 0.0, sumLog = 0.0;
+        int peak = 0;
+        int band = 0;
+        for (int k = 0; k < n; k++) {
+            double v = p[k];
+            double f = k * df;
+            total += v;
+            sumF += f * v;
+            sumF2 += f * f * v;
+            sumLog += Math.log(v);
+            if (v > p[peak]) {
+                peak = k;
+            }
+            if (bands > 0) {
+                while (band < bands - 1 && f >= edges[band + 1]) {
+                    band++;
+                }
+                boolean inside = f >= edges[band]
+                    && (f < edges[band + 1] || (band == bands - 1 && f <= edges[bands]));
+                if (inside) {
+                    out[SPECTRAL_FEATURES.size() + band] += v * df;
+                }
+            }
+        }
+        if (total == 0.0) {
+            return Signal.wrap(new double[out.length]);
+        }
+        double centroid = sumF / total;
+        double rolloff = 0.0;
+        double threshold = ROLLOFF_FRACTION * total, acc = 0.0;
+        for (int k = 0; k < n; k++) {
+            acc += p[k];
+            if (acc >= threshold) {
+                rolloff = k * df;
+                break;
+            }
+        }
+        out[0] = centroid;
+        out[1] = Math.sqrt(Math.max(0.0, sumF2 / total - centroid * centroid));
+        out[2] = rolloff;
+        out[3] = Math.exp(sumLog / n) / (total / n);
+        out[4] = peak * df;
+        return Signal.wrap(out);
+    }
+
     // Puedes añadir más métodos:
     // public static Signal extractSpectrum(Signal input) { … }
     // public static Signal extractPeaks(Signal input) { … }
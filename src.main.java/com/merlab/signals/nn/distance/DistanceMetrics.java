@@ -6,6 +6,8 @@ import java.util.Map;
 import java.util.HashMap;
 import java.util.stream.IntStream;
 
+import com.merlab.signals.simd.Kernels;
+
 /**
  * Colección de métodos estáticos para calcular diversas métricas de distancia.
  * Cada método recibe dos vectores (arrays de double) o bien Signals (listas de Double)
@@ -20,12 +22,7 @@ public final class DistanceMetrics {
      *   d(a,b) = sqrt( sum_i (a_i - b_i)^2 ).
      */
     public static double euclidean(double[] a, double[] b) {
-        double sum = 0.0;
-        for (int i = 0; i < a.length; i++) {
-            double d = a[i] - b[i];
-            sum += d * d;
-        }
-        return Math.sqrt(sum);
+        return Math.sqrt(Kernels.sumSquaredDiff(a, b, a.length));
     }
 
     /**
@@ -33,11 +30,7 @@ public final class DistanceMetrics {
      *   d(a,b) = sum_i |a_i - b_i|.
      */
     public static double manhattan(double[] a, double[] b) {
-        double sum = 0.0;
-        for (int i = 0; i < a.length; i++) {
-            sum += Math.abs(a[i] - b[i]);
-        }
-        return sum;
+        return Kernels.sumAbsDiff(a, b, a.length);
     }
 
     /**
@@ -45,14 +38,7 @@ public final class DistanceMetrics {
      *   d(a,b) = max_i |a_i - b_i|.
      */
     public static double chebyshev(double[] a, double[] b) {
-        double max = 0.0;
-        for (int i = 0; i < a.length; i++) {
-            double diff = Math.abs(a[i] - b[i]);
-            if (diff > max) {
-                max = diff;
-            }
-        }
-        return max;
+        return Kernels.maxAbsDiff(a, b, a.length);
     }
 
     /**
@@ -80,24 +66,14 @@ public final class DistanceMetrics {
     public static double mahalanobis(double[] a, double[] b, double[][] invCov) {
         int d = a.length;
         double[] diff = new double[d];
-        for (int i = 0; i < d; i++) {
-            diff[i] = a[i] - b[i];
-        }
+        Kernels.subtract(a, b, diff, d);
         // Primero: temp = invCov · diff  (multiplicación matricial)
         double[] temp = new double[d];
         for (int i = 0; i < d; i++) {
-            double s = 0.0;
-            for (int j = 0; j < d; j++) {
-                s += invCov[i][j] * diff[j];
-            }
-            temp[i] = s;
+            temp[i] = Kernels.dot(invCov[i], diff, d);
         }
         // Luego: (a-b)^T · temp
-        double sum = 0.0;
-        for (int i = 0; i < d; i++) {
-            sum += diff[i] * temp[i];
-        }
-        return Math.sqrt(sum);
+        return Math.sqrt(Kernels.dot(diff, temp, d));
     }
 
     /**
@@ -105,12 +81,9 @@ public final class DistanceMetrics {
      *   d(a,b) = 1 - ( (a·b) / (||a|| * ||b||) ).
      */
     public static double cosine(double[] a, double[] b) {
-        double dot = 0.0, normA = 0.0, normB = 0.0;
-        for (int i = 0; i < a.length; i++) {
-            dot += a[i] * b[i];
-            normA += a[i] * a[i];
-            normB += b[i] * b[i];
-        }
+        double dot = Kernels.dot(a, b, a.length);
+        double normA = Kernels.dot(a, a, a.length);
+        double normB = Kernels.dot(b, b, a.length);
         if (normA == 0 || normB == 0) {
             return 1.0;  // si uno de los vectores es cero, se considera distancia máxima
         }
@@ -155,11 +128,8 @@ public final class DistanceMetrics {
      *  Se asume sum(a_i + b_i) > 0.
      */
     public static double brayCurtis(double[] a, double[] b) {
-        double num = 0.0, den = 0.0;
-        for (int i = 0; i < a.length; i++) {
-            num += Math.abs(a[i] - b[i]);
-            den += (a[i] + b[i]);
-        }
+        double num = Kernels.sumAbsDiff(a, b, a.length);
+        double den = Kernels.sum(a, a.length) + Kernels.sum(b, a.length);
         if (den == 0) {
             return 0.0; // si todos los valores son 0 en ambos vectores, se consideran idénticos
         }
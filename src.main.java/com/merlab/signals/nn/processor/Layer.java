@@ -3,6 +3,8 @@ package com.merlab.signals.nn.processor;
 
 import java.util.Objects;
 
+import com.merlab.signals.simd.Kernels;
+
 /**
  * Capa de una red neuronal: realiza la operación lineal + activación.
  */
@@ -76,15 +78,11 @@ public class Layer {
         return activation;
     }
 
-    // Calcula z = W·inputs + b
+    // Calcula z = W·inputs + b (producto escalar por fila con Kernels.dot)
     public double[] computeZ(double[] inputs) {
         double[] z = new double[getNeurons()];
         for (int i = 0; i < z.length; i++) {
-            double sum = biases[i];
-            for (int j = 0; j < inputs.length; j++) {
-                sum += weights[i][j] * inputs[j];
-            }
-            z[i] = sum;
+            z[i] = biases[i] + Kernels.dot(weights[i], inputs, inputs.length);
         }
         return z;
     }
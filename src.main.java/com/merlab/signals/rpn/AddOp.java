@@ -1,25 +1,33 @@
 package com.merlab.signals.rpn;
 
+import java.lang.invoke.MethodHandle;
 import java.util.List;
 
 import com.merlab.signals.core.Signal;
 import com.merlab.signals.core.SignalProcessor;
 import com.merlab.signals.core.SignalProcessor.LengthMode;
+import com.merlab.signals.simd.Kernels;
 
 /**
  * Binary RPN op that adds two Signals element‐wise.
  */
-public class AddOp implements BinaryLengthModeOp {
+public class AddOp implements BinaryLengthModeOp, ElementwiseOp {
     @Override
     public Object apply(RPNStack stack, LengthMode mode) {
         Signal b = (Signal) stack.pop();
         Signal a = (Signal) stack.pop();
-        List<Double> out = SignalProcessor.addSignals(a.getValues(), b.getValues(), mode);
-        Signal result = new Signal(out);
+        Object result = apply(List.of(a, b), mode);
         stack.push(result);
         return result;
     }
 
+    @Override
+    public Object apply(List<Object> args, LengthMode mode) {
+        Signal a = (Signal) args.get(0);
+        Signal b = (Signal) args.get(1);
+        return Signal.wrap(SignalProcessor.addSignals(a.view(), b.view(), mode));
+    }
+
     @Override
     public int arity() { return 2; }
 
@@ -30,6 +38,21 @@ public class AddOp implements BinaryLengthModeOp {
         throw new UnsupportedOperationException("Use apply(stack, mode)");
     }
 
+    @Override
+    public boolean fusable(boolean[] signalArgs) {
+        return signalArgs[0] && signalArgs[1];
+    }
+
+    @Override
+    public void applyBlock(double[][] args, double[] out, long start, int len) {
+        Kernels.add(args[0], args[1], out, len);
+    }
+
+    @Override
+    public MethodHandle sampleHandle(boolean[] signalArgs) {
+        return RPNKernel.ADD;
+    }
+
     // AddOp.java
     @Override public String getName() { return "+"; }
     @Override public String getDescription() { return "Adds two signals element-wise."; }
@@ -1,13 +1,15 @@
 package com.merlab.signals.rpn;
 
+import java.lang.invoke.MethodHandle;
 import java.util.List;
 
 import com.merlab.signals.core.Signal;
 import com.merlab.signals.core.SignalProcessor;
 import com.merlab.signals.core.SignalProcessor.LengthMode;
+import com.merlab.signals.simd.Kernels;
 
 
-public class AddPadWithZerosOp implements RPNOperation{
+public class AddPadWithZerosOp implements ElementwiseOp {
 
     @Override
     public int arity() {
@@ -27,6 +29,26 @@ public class AddPadWithZerosOp implements RPNOperation{
         return new Signal(sum);
     }
     
+    @Override
+    public boolean fusable(boolean[] signalArgs) {
+        return signalArgs[0] && signalArgs[1];
+    }
+
+    @Override
+    public LengthMode lengthMode(LengthMode requested) {
+        return LengthMode.PAD_WITH_ZEROS;
+    }
+
+    @Override
+    public void applyBlock(double[][] args, double[] out, long start, int len) {
+        Kernels.add(args[0], args[1], out, len);
+    }
+
+    @Override
+    public MethodHandle sampleHandle(boolean[] signalArgs) {
+        return RPNKernel.ADD;
+    }
+
     // AddPadWithZerosOp.java
     @Override public String getName() { return "+pwz"; }
     @Override public String getDescription() { return "Adds two signals, padding shorter one with zeros."; }
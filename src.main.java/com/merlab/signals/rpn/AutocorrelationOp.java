@@ -5,21 +5,23 @@ import java.util.List;
 import com.merlab.signals.core.Signal;
 import com.merlab.signals.core.StatisticalProcessor;
 
-/** Pops 1 Signal, pushes its autocorrelation sequence (List<Double>). */
+/**
+ * Pops [Signal, Number maxLag], pushes its autocorrelation sequence
+ * r[0..maxLag] as a Signal. Large lag ranges use the FFT path automatically.
+ */
 public class AutocorrelationOp implements RPNOperation {
     @Override public int arity() { return 2; }
     
     @Override
     public Object apply(List<Object> args) {
-        @SuppressWarnings("unchecked")
-        Signal s = (Signal) args.get(0);
-        int lag  = (int) args.get(1);
-        return StatisticalProcessor.autocorrelation(s, lag);
+        Signal s   = (Signal) args.get(0);
+        int maxLag = ((Number) args.get(1)).intValue();
+        return Signal.wrap(StatisticalProcessor.autocorrelations(s, maxLag));
     }
     
     // AutocorrelationOp.java
     @Override public String getName() { return "acor"; }
-    @Override public String getDescription() { return "Computes the autocorrelation of a signal."; }
-    @Override public String getExample() { return "sig1 acor"; }
+    @Override public String getDescription() { return "Computes the autocorrelation of a signal for lags 0..maxLag."; }
+    @Override public String getExample() { return "sig1 20 acor"; }
     @Override public String getCategory() { return "Statistics"; }
 }
@@ -1,10 +1,24 @@
 package com.merlab.signals.rpn;
 
+import java.util.List;
+
 import com.merlab.signals.core.SignalProcessor.LengthMode;
 
 //Interfaz para operaciones binarias con LengthMode
 public interface BinaryLengthModeOp extends RPNOperation{
 	
 	Object apply(RPNStack stack, LengthMode mode);
+
+	/**
+	 * Versión sin pila, usada por {@link CompiledRPNProgram}: args como en
+	 * {@link #apply(List)}. Por defecto pasa por una pila temporal.
+	 */
+	default Object apply(List<Object> args, LengthMode mode) {
+		RPNStack stack = new RPNStack();
+		for (Object arg : args) {
+			stack.push(arg);
+		}
+		return apply(stack, mode);
+	}
 	
 }
@@ -0,0 +1,29 @@
+package com.merlab.signals.rpn;
+
+import java.util.List;
+
+import com.merlab.signals.core.SOSFilter;
+import com.merlab.signals.core.Signal;
+
+/**
+ * Pops [Signal, Number order, Number low, Number high], pushes the signal filtered by a
+ * Butterworth band-pass biquad cascade. Edges are fractions of the sample rate in (0, 0.5).
+ */
+public class ButterworthBandPassOp implements RPNOperation {
+    @Override public int arity() { return 4; }
+    @Override
+    public Object apply(List<Object> args) {
+        Signal s = (Signal) args.get(0);
+        int order = ((Number) args.get(1)).intValue();
+        double low = ((Number) args.get(2)).doubleValue();
+        double high = ((Number) args.get(3)).doubleValue();
+        SOSFilter filter = SOSFilter.butterworthBandPass(order, low, high);
+        return filter.filter(s);
+    }
+
+    // ButterworthBandPassOp.java
+    @Override public String getName() { return "bwbpf"; }
+    @Override public String getDescription() { return "Applies a Butterworth band-pass filter (order, low, high)."; }
+    @Override public String getExample() { return "sig1 2 0.05 0.2 bwbpf"; }
+    @Override public String getCategory() { return "Filter"; }
+}
@@ -0,0 +1,28 @@
+package com.merlab.signals.rpn;
+
+import java.util.List;
+
+import com.merlab.signals.core.SOSFilter;
+import com.merlab.signals.core.Signal;
+
+/**
+ * Pops [Signal, Number order, Number cutoff], pushes the signal filtered by a
+ * Butterworth low-pass biquad cascade. cutoff is a fraction of the sample rate in (0, 0.5).
+ */
+public class ButterworthLowPassOp implements RPNOperation {
+    @Override public int arity() { return 3; }
+    @Override
+    public Object apply(List<Object> args) {
+        Signal s = (Signal) args.get(0);
+        int order = ((Number) args.get(1)).intValue();
+        double cutoff = ((Number) args.get(2)).doubleValue();
+        SOSFilter filter = SOSFilter.butterworthLowPass(order, cutoff);
+        return filter.filter(s);
+    }
+
+    // ButterworthLowPassOp.java
+    @Override public String getName() { return "bwlpf"; }
+    @Override public String getDescription() { return "Applies a Butterworth low-pass filter (order, cutoff)."; }
+    @Override public String getExample() { return "sig1 4 0.1 bwlpf"; }
+    @Override public String getCategory() { return "Filter"; }
+}
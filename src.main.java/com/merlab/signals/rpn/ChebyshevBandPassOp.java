@@ -0,0 +1,30 @@
+package com.merlab.signals.rpn;
+
+import java.util.List;
+
+import com.merlab.signals.core.SOSFilter;
+import com.merlab.signals.core.Signal;
+
+/**
+ * Pops [Signal, Number order, Number rippleDb, Number low, Number high], pushes the signal
+ * filtered by a Chebyshev type I band-pass biquad cascade. Edges are fractions of the sample rate.
+ */
+public class ChebyshevBandPassOp implements RPNOperation {
+    @Override public int arity() { return 5; }
+    @Override
+    public Object apply(List<Object> args) {
+        Signal s = (Signal) args.get(0);
+        int order = ((Number) args.get(1)).intValue();
+        double ripple = ((Number) args.get(2)).doubleValue();
+        double low = ((Number) args.get(3)).doubleValue();
+        double high = ((Number) args.get(4)).doubleValue();
+        SOSFilter filter = SOSFilter.chebyshevBandPass(order, ripple, low, high);
+        return filter.filter(s);
+    }
+
+    // ChebyshevBandPassOp.java
+    @Override public String getName() { return "chebbpf"; }
+    @Override public String getDescription() { return "Applies a Chebyshev type I band-pass filter (order, ripple dB, low, high)."; }
+    @Override public String getExample() { return "sig1 2 1 0.05 0.2 chebbpf"; }
+    @Override public String getCategory() { return "Filter"; }
+}
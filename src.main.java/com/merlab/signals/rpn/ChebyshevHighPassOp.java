@@ -0,0 +1,29 @@
+package com.merlab.signals.rpn;
+
+import java.util.List;
+
+import com.merlab.signals.core.SOSFilter;
+import com.merlab.signals.core.Signal;
+
+/**
+ * Pops [Signal, Number order, Number rippleDb, Number cutoff], pushes the signal filtered by a
+ * Chebyshev type I high-pass biquad cascade. cutoff is a fraction of the sample rate in (0, 0.5).
+ */
+public class ChebyshevHighPassOp implements RPNOperation {
+    @Override public int arity() { return 4; }
+    @Override
+    public Object apply(List<Object> args) {
+        Signal s = (Signal) args.get(0);
+        int order = ((Number) args.get(1)).intValue();
+        double ripple = ((Number) args.get(2)).doubleValue();
+        double cutoff = ((Number) args.get(3)).doubleValue();
+        SOSFilter filter = SOSFilter.chebyshevHighPass(order, ripple, cutoff);
+        return filter.filter(s);
+    }
+
+    // ChebyshevHighPassOp.java
+    @Override public String getName() { return "chebhpf"; }
+    @Override public String getDescription() { return "Applies a Chebyshev type I high-pass filter (order, ripple dB, cutoff)."; }
+    @Override public String getExample() { return "sig1 4 1 0.1 chebhpf"; }
+    @Override public String getCategory() { return "Filter"; }
+}
@@ -1,9 +1,11 @@
 package com.merlab.signals.rpn;
 
-import java.util.ArrayList;
+import java.lang.invoke.MethodHandle;
 import java.util.List;
 
 import com.merlab.signals.core.Signal;
+import com.merlab.signals.core.SignalProcessor;
+import com.merlab.signals.simd.Kernels;
 
 /**
  * Pops [Signal, Double minVal, Double maxVal], then pushes
@@ -12,25 +14,33 @@ import com.merlab.signals.core.Signal;
  * : x > maxVal ? maxVal
  * : x
  */
-public class ClampOp implements RPNOperation {
+public class ClampOp implements ElementwiseOp {
     @Override public int arity() { return 3; }
 
     @Override
     public Object apply(List<Object> args) {
         Signal s        = (Signal) args.get(0);
-        double minVal   = ((Double) args.get(1)).doubleValue();
-        double maxVal   = ((Double) args.get(2)).doubleValue();
-
-        List<Double> vals = s.getValues();
-        List<Double> out  = new ArrayList<>(vals.size());
-        for (double x : vals) {
-            if (x < minVal)      out.add(minVal);
-            else if (x > maxVal) out.add(maxVal);
-            else                  out.add(x);
-        }
-        return new Signal(out);
+        double minVal   = ((Number) args.get(1)).doubleValue();
+        double maxVal   = ((Number) args.get(2)).doubleValue();
+        return SignalProcessor.clamp(s, minVal, maxVal);
     }
     
+    @Override
+    public boolean fusable(boolean[] signalArgs) {
+        return signalArgs[0] && !signalArgs[1] && !signalArgs[2];
+    }
+
+    /** min and max are Numbers, so their blocks are constant. */
+    @Override
+    public void applyBlock(double[][] args, double[] out, long start, int len) {
+        Kernels.clamp(args[0], args[1][0], args[2][0], out, len);
+    }
+
+    @Override
+    public MethodHandle sampleHandle(boolean[] signalArgs) {
+        return RPNKernel.CLAMP;
+    }
+
     // ClampOp.java
     @Override public String getName() { return "clamp"; }
     @Override public String getDescription() { return "Clamps signal values between min and max."; }
@@ -0,0 +1,346 @@
+package com.merlab.signals.rpn;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.core.SignalProcessor.LengthMode;
+
+/**
+ * An RPN token list resolved once against an {@link RPNEngine}, built by
+ * {@link RPNEngine#compile(List)}:
+ * <ul>
+ *   <li>ops are direct references with their arity;</li>
+ *   <li>numeric literals are parsed and boxed up front (a numeric token is
+ *       always a literal, never a variable name);</li>
+ *   <li>every other token is a variable slot, bound once per run;</li>
+ *   <li>the "pad" prefix is folded into the LengthMode of the next "+".</li>
+ * </ul>
+ * Stack depth and the widest op are known at compile time, so a run does
+ * no registry lookups, no parsing, no per-op argument checks and no per-op
+ * argument copies (ops of the same arity share one operand window per
+ * run): only the ops' work (through the engine's result cache, if enabled).
+ * Programs are immutable and can be run from several threads at once; a
+ * run whose thread is interrupted stops before the next op with a
+ * {@link CancellationException}.
+ */
+public final class CompiledRPNProgram {
+
+    static final byte LITERAL = 0;
+    static final byte VARIABLE = 1;
+    static final byte OP = 2;
+
+    private final RPNEngine engine;
+    private final List<String> tokens;
+    private final String[] names;
+    private final byte[] kinds;
+    private final RPNOperation[] ops;
+    private final int[] arities;
+    private final LengthMode[] modes;
+    private final Object[] literals;
+    private final int[] slots;
+    private final List<String> variables;
+    private final int requiredDepth;
+    private final int maxGrowth;
+    private final int maxArity;
+    private final long version;
+    private final RPNKernel.Cache kernels = new RPNKernel.Cache();
+
+    CompiledRPNProgram(RPNEngine engine, List<String> tokens) {
+        this.engine = engine;
+        this.tokens = List.copyOf(tokens);
+        this.version = engine.version();
+        RPNRegistry registry = engine.getRegistry();
+        int count = 0;
+        for (String token : this.tokens) {
+            if (!"pad".equals(token)) {
+                count++;
+            }
+        }
+        names = new String[count];
+        kinds = new byte[count];
+        ops = new RPNOperation[count];
+        arities = new int[count];
+        modes = new LengthMode[count];
+        literals = new Object[count];
+        slots = new int[count];
+
+        Map<String, Integer> slotOf = new LinkedHashMap<>();
+        LengthMode pending = LengthMode.REQUIRE_EQUAL;
+        int depth = 0, low = 0, high = 0, widest = 0;
+        int pc = 0;
+        for (String token : this.tokens) {
+            if ("pad".equals(token)) {
+                pending = LengthMode.PAD_WITH_ZEROS;
+                continue;
+            }
+            names[pc] = token;
+            if ("+".equals(token) || registry.contains(token)) {
+                RPNOperation op = registry.get(token);
+                if (op == null) {
+                    throw new IllegalArgumentException("Unknown RPN op: " + token);
+                }
+                kinds[pc] = OP;
+                ops[pc] = op;
+                arities[pc] = op.arity();
+                if (op instanceof BinaryLengthModeOp) {
+                    modes[pc] = "+".equals(token) ? pending : LengthMode.REQUIRE_EQUAL;
+                }
+                if ("+".equals(token)) {
+                    pending = LengthMode.REQUIRE_EQUAL;
+                }
+                widest = Math.max(widest, arities[pc]);
+                depth -= arities[pc];
+                low = Math.min(low, depth);
+            } else {
+                Double literal = parseLiteral(token);
+                if (literal != null) {
+                    kinds[pc] = LITERAL;
+                    literals[pc] = literal;
+                } else {
+                    kinds[pc] = VARIABLE;
+                    slots[pc] = slotOf.computeIfAbsent(token, k -> slotOf.size());
+                }
+            }
+            depth++;
+            high = Math.max(high, depth);
+            pc++;
+        }
+        variables = List.copyOf(slotOf.keySet());
+        requiredDepth = -low;
+        maxGrowth = high;
+        maxArity = widest;
+    }
+
+    private static Double parseLiteral(String token) {
+        try {
+            return Double.parseDouble(token);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /** Tokens the program was compiled from. */
+    public List<String> tokens() {
+        return tokens;
+    }
+
+    /** Variable names the program reads, in order of first use. */
+    public List<String> variables() {
+        return variables;
+    }
+
+    /** Values that must already be on the stack before the program runs. */
+    public int requiredDepth() {
+        return requiredDepth;
+    }
+
+    /** Instructions, with "pad" tokens folded away. */
+    int size() {
+        return kinds.length;
+    }
+
+    /** LITERAL, VARIABLE or OP. */
+    byte kind(int pc) {
+        return kinds[pc];
+    }
+
+    String name(int pc) {
+        return names[pc];
+    }
+
+    RPNOperation op(int pc) {
+        return ops[pc];
+    }
+
+    /** LengthMode of a {@link BinaryLengthModeOp}, else null. */
+    LengthMode mode(int pc) {
+        return modes[pc];
+    }
+
+    Object literal(int pc) {
+        return literals[pc];
+    }
+
+    /** Index into {@link #variables()} of a VARIABLE instruction. */
+    int slot(int pc) {
+        return slots[pc];
+    }
+
+    /** Elementwise chains of this program compiled by the JIT so far. */
+    public int compiledKernelCount() {
+        return kernels.compiled();
+    }
+
+    /** Registry version of the engine the program was resolved against. */
+    long version() {
+        return version;
+    }
+
+    /** Runs the program on an empty stack and returns its top value (or null). */
+    public Object run(Map<String, Signal> variables) {
+        Object[] st = run(variables, new Object[0], false);
+        return st.length == 0 ? null : st[st.length - 1];
+    }
+
+    /**
+     * Runs the program on the given stack, consuming values already on it
+     * if the expression needs them, and pushes every value left over.
+     */
+    public void execute(Map<String, Signal> variables, RPNStack stack) {
+        execute(variables, stack, false);
+    }
+
+    /**
+     * @param fused whether chains of {@link ElementwiseOp}s are deferred and
+     *              evaluated in one pass (see {@link RPNPlan})
+     */
+    void execute(Map<String, Signal> variables, RPNStack stack, boolean fused) {
+        checkDepth(stack.size());
+        Object[] initial = new Object[requiredDepth];
+        for (int i = requiredDepth - 1; i >= 0; i--) {
+            initial[i] = stack.pop();
+        }
+        for (Object o : run(variables, initial, fused)) {
+            stack.push(o);
+        }
+    }
+
+    /** Stack bottom-to-top after running on top of {@code initial}. */
+    Object[] run(Map<String, Signal> variables, Object[] initial, boolean fused) {
+        checkDepth(initial.length);
+        Object[] bound = bind(variables);
+        Object[] st = new Object[initial.length + maxGrowth];
+        System.arraycopy(initial, 0, st, 0, initial.length);
+        int sp = initial.length;
+        // one argument window per arity, reused by every op of that arity in this run
+        ArgWindow[] windows = new ArgWindow[maxArity + 1];
+        for (int pc = 0; pc < kinds.length; pc++) {
+            switch (kinds[pc]) {
+                case LITERAL:
+                    st[sp++] = literals[pc];
+                    break;
+                case VARIABLE:
+                    st[sp++] = bound[slots[pc]];
+                    break;
+                default:
+                    // cooperative cancellation point, e.g. for an RPNExecutor timeout
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new CancellationException("RPN evaluation interrupted at " + names[pc]);
+                    }
+                    int n = arities[pc];
+                    sp -= n;
+                    ArgWindow w = windows[n];
+                    if (w == null) {
+                        w = windows[n] = new ArgWindow(n);
+                    }
+                    Object[] args = w.args;
+                    System.arraycopy(st, sp, args, 0, n);
+                    LazySignal lazy = fused ? fuse(pc, args) : null;
+                    if (lazy != null) {
+                        st[sp] = lazy;
+                    } else {
+                        if (fused) {
+                            materialize(args, n);
+                        }
+                        st[sp] = engine.invoke(ops[pc], modes[pc], args, w.list);
+                    }
+                    Arrays.fill(args, null);
+                    for (int i = sp + 1; i < sp + n; i++) {
+                        st[i] = null;
+                    }
+                    sp++;
+            }
+        }
+        Object[] out = Arrays.copyOf(st, sp);
+        if (fused) {
+            materialize(out, sp);
+        }
+        return out;
+    }
+
+    /** Defers the op as a LazySignal if it and its arguments allow it, else null. */
+    private LazySignal fuse(int pc, Object[] args) {
+        if (!(ops[pc] instanceof ElementwiseOp)) {
+            return null;
+        }
+        ElementwiseOp op = (ElementwiseOp) ops[pc];
+        boolean[] signalArgs = new boolean[args.length];
+        for (int i = 0; i < args.length; i++) {
+            signalArgs[i] = args[i] instanceof Signal || args[i] instanceof LazySignal;
+            if (!signalArgs[i] && !(args[i] instanceof Number)) {
+                return null;
+            }
+        }
+        if (!op.fusable(signalArgs)) {
+            return null;
+        }
+        LengthMode mode = modes[pc] != null ? modes[pc] : LengthMode.REQUIRE_EQUAL;
+        // the tree keeps its arguments, so it gets its own copy of the window
+        return new LazySignal(op, args.clone(), op.lengthMode(mode));
+    }
+
+    /** Evaluates any LazySignal among values[0..n), with its JIT kernel if there is one. */
+    private void materialize(Object[] values, int n) {
+        int threshold = engine.getJitThreshold();
+        for (int i = 0; i < n; i++) {
+            if (values[i] instanceof LazySignal) {
+                LazySignal lazy = (LazySignal) values[i];
+                Signal compiled = threshold > 0 ? kernels.evaluate(lazy, threshold) : null;
+                values[i] = compiled != null ? compiled : lazy.materialize();
+            }
+        }
+    }
+
+    private Object[] bind(Map<String, Signal> values) {
+        Object[] bound = new Object[variables.size()];
+        for (int i = 0; i < bound.length; i++) {
+            String name = variables.get(i);
+            Signal s = values.get(name);
+            if (s == null && !values.containsKey(name)) {
+                throw new IllegalArgumentException("Token desconocido en RPNParser: " + name);
+            }
+            bound[i] = s;
+        }
+        return bound;
+    }
+
+    /** Fails like the interpreter would, naming the first op left short of arguments. */
+    void checkDepth(int available) {
+        if (available >= requiredDepth) {
+            return;
+        }
+        int depth = available;
+        for (int pc = 0; pc < kinds.length; pc++) {
+            if (kinds[pc] == OP && depth < arities[pc]) {
+                throw new IllegalStateException(
+                    "Not enough arguments for " + names[pc] + ": need " + arities[pc]);
+            }
+            depth += kinds[pc] == OP ? 1 - arities[pc] : 1;
+        }
+        throw new IllegalStateException("Not enough arguments");
+    }
+
+    @Override
+    public String toString() {
+        return String.join(" ", tokens);
+    }
+
+    /**
+     * Operand array of one arity and its fixed-size List view. Ops get the
+     * view and must not keep it past their call; the result cache copies
+     * the arguments into its keys.
+     */
+    private static final class ArgWindow {
+        final Object[] args;
+        final List<Object> list;
+
+        ArgWindow(int arity) {
+            args = new Object[arity];
+            list = Arrays.asList(args);
+        }
+    }
+}
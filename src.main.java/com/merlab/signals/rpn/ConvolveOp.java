@@ -5,7 +5,10 @@ import java.util.List;
 import com.merlab.signals.core.Signal;
 import com.merlab.signals.core.SignalProcessor;
 
-/** Pops [Signal A, Signal B], pushes their linear convolution A * B. */
+/**
+ * Pops [Signal A, Signal B], pushes their linear convolution A * B.
+ * Long kernels switch to FFT overlap-add automatically (see SignalProcessor.convolve).
+ */
 public class ConvolveOp implements RPNOperation {
     @Override public int arity() { return 2; }
     
@@ -13,8 +16,8 @@ public class ConvolveOp implements RPNOperation {
     public Object apply(List<Object> args) {
         Signal a        = (Signal) args.get(0);
         Signal b        = (Signal) args.get(1);
-        List<Double> c  = SignalProcessor.convolve(a.getValues(), b.getValues());
-        return new Signal(c);
+        double[] c      = SignalProcessor.convolve(a.view(), b.view());
+        return Signal.wrap(c);
     }
     
     // ConvolveOp.java
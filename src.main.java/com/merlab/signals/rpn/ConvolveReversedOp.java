@@ -7,6 +7,7 @@ import com.merlab.signals.core.SignalProcessor;
 
 /**
  * Pops [Signal A, Signal B], pushes Signal( convolveReverse(A,B) ).
+ * Long kernels switch to FFT overlap-add automatically.
  */
 public class ConvolveReversedOp implements RPNOperation {
 
@@ -19,13 +20,10 @@ public class ConvolveReversedOp implements RPNOperation {
     public Object apply(List<Object> args) {
         Signal a = (Signal) args.get(0);
         Signal b = (Signal) args.get(1);
-        // call the List<List> version internally:
-        List<Double> conv = SignalProcessor.convolveReversed(
-          a.getValues(),
-          b.getValues()
-        );
+        // primitive version: no boxing, FFT path for long kernels
+        double[] conv = SignalProcessor.convolveReversed(a.view(), b.view());
         // wrap in a Signal before returning
-        return new Signal(conv);
+        return Signal.wrap(conv);
     }
     
     // ConvolveReversedOp.java
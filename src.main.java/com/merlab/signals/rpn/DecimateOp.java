@@ -8,6 +8,7 @@ import com.merlab.signals.core.SignalProcessor;
 /**
  * Binary RPN op: [Signal, Double(factor)] DECIMATE
  * → takes every n­th sample.
+ * No anti-alias filtering; use {@link ResampleOp} ("resample") for that.
  */
 public class DecimateOp implements RPNOperation {
 
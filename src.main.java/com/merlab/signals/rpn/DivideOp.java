@@ -1,5 +1,6 @@
 package com.merlab.signals.rpn;
 
+import java.lang.invoke.MethodHandle;
 import java.util.List;
 
 import com.merlab.signals.core.Signal;
@@ -9,7 +10,7 @@ import com.merlab.signals.core.SignalProcessor.LengthMode;
 /**
  * Pops two Signals, divides element-wise a ÷ b, pushes the result.
  */
-public class DivideOp implements RPNOperation {
+public class DivideOp implements ElementwiseOp {
 
     @Override
     public int arity() {
@@ -26,6 +27,28 @@ public class DivideOp implements RPNOperation {
         return new Signal(quot);
     }
     
+    @Override
+    public boolean fusable(boolean[] signalArgs) {
+        return signalArgs[0] && signalArgs[1];
+    }
+
+    @Override
+    public void applyBlock(double[][] args, double[] out, long start, int len) {
+        double[] a = args[0], b = args[1];
+        for (int i = 0; i < len; i++) {
+            if (b[i] == 0.0) {
+                throw new IllegalArgumentException(
+                    "División por cero en la posición " + (start + i));
+            }
+            out[i] = a[i] / b[i];
+        }
+    }
+
+    @Override
+    public MethodHandle sampleHandle(boolean[] signalArgs) {
+        return RPNKernel.DIVIDE;
+    }
+
     // DivideOp.java
     @Override public String getName() { return "/"; }
     @Override public String getDescription() { return "Divides two signals element-wise."; }
@@ -0,0 +1,46 @@
+package com.merlab.signals.rpn;
+
+import java.lang.invoke.MethodHandle;
+
+import com.merlab.signals.core.SignalProcessor.LengthMode;
+
+/**
+ * An op whose output sample i depends only on sample i of its arguments.
+ * {@link RPNPlan} fuses chains of these ops into one blocked loop instead
+ * of materializing a Signal after every step.
+ */
+public interface ElementwiseOp extends RPNOperation {
+
+    /**
+     * Whether this argument combination can be evaluated elementwise:
+     * signalArgs[i] is true for a Signal argument and false for a Number.
+     * Combinations the op rejects go through {@link #apply} as usual.
+     */
+    boolean fusable(boolean[] signalArgs);
+
+    /**
+     * Length alignment of the fused op. The parser requests the pending
+     * "pad" mode for "+" and REQUIRE_EQUAL for everything else.
+     */
+    default LengthMode lengthMode(LengthMode requested) {
+        return requested;
+    }
+
+    /**
+     * Evaluates one block: out[i] = f(args[0][i], ..., args[arity-1][i])
+     * for i &lt; len. Number arguments arrive broadcast over the block;
+     * start is the index of the block's first sample in the whole signal
+     * (a long: a {@link StreamingRPNProgram} can run past 2^31 samples).
+     */
+    void applyBlock(double[][] args, double[] out, long start, int len);
+
+    /**
+     * Per-sample function for the JIT ({@link RPNEngine#enableJit(int)}):
+     * a handle of type (double x arity)double, optionally followed by an
+     * int sample index, computing exactly what applyBlock computes for one
+     * sample. Null (the default) keeps chains with this op interpreted.
+     */
+    default MethodHandle sampleHandle(boolean[] signalArgs) {
+        return null;
+    }
+}
@@ -1,27 +1,28 @@
 package com.merlab.signals.rpn;
 
-import com.merlab.signals.core.Complex;
+import com.merlab.signals.core.FFT;
 import com.merlab.signals.core.Signal;
 import com.merlab.signals.core.SignalProcessor;
 
 import java.util.List;
 
 /**
- * Pops 1 Signal, performs FFT (power‐of‐two length),
+ * Pops 1 Signal, performs FFT (any length),
  * pushes back a List<Complex> (frequency bins).
+ * Uses the packed real-input {@link FFT#realForward} (half-size complex
+ * transform) and fills the upper half by conjugate symmetry.
  */
 public class FFTOp implements RPNOperation {
     @Override public int arity() { return 1; }
     @Override
     public Object apply(List<Object> args) {
-        Signal s         = (Signal) args.get(0);
-        List<Complex> X  = SignalProcessor.fft(s.getValues());
-        return X;  // push the raw Complex list
+        Signal s = (Signal) args.get(0);
+        return SignalProcessor.fft(s.view());  // push the raw Complex list
     }
     
     // FFTOp.java
     @Override public String getName() { return "fft"; }
-    @Override public String getDescription() { return "Computes the FFT of a signal (radix-2)."; }
+    @Override public String getDescription() { return "Computes the FFT of a real signal (any length)."; }
     @Override public String getExample() { return "sig1 fft"; }
     @Override public String getCategory() { return "Transform"; }
 }
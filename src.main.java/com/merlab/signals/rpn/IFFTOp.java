@@ -0,0 +1,36 @@
+package com.merlab.signals.rpn;
+
+import com.merlab.signals.core.Complex;
+import com.merlab.signals.core.FFT;
+import com.merlab.signals.core.Signal;
+
+import java.util.List;
+
+/**
+ * Pops a List<Complex> spectrum of any length (radix-2 for powers of two,
+ * Bluestein otherwise), performs the inverse FFT and pushes back a Signal
+ * with the real part.
+ */
+public class IFFTOp implements RPNOperation {
+    @Override public int arity() { return 1; }
+    @Override
+    public Object apply(List<Object> args) {
+        @SuppressWarnings("unchecked")
+        List<Complex> X = (List<Complex>) args.get(0);
+        int n = X.size();
+        double[] re = new double[n];
+        double[] im = new double[n];
+        for (int k = 0; k < n; k++) {
+            re[k] = X.get(k).re;
+            im[k] = X.get(k).im;
+        }
+        FFT.inverse(re, im);
+        return Signal.wrap(re);
+    }
+
+    // IFFTOp.java
+    @Override public String getName() { return "ifft"; }
+    @Override public String getDescription() { return "Computes the inverse FFT of a spectrum (real part)."; }
+    @Override public String getExample() { return "sig1 fft ifft"; }
+    @Override public String getCategory() { return "Transform"; }
+}
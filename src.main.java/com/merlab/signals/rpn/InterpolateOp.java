@@ -7,6 +7,7 @@ import com.merlab.signals.core.SignalProcessor;
 
 /**
  * Binary RPN op: [Signal, Double(factor)] INTERPOLATE
+ * (linear; use {@link ResampleOp} ("resample") for band-limited interpolation).
  */
 public class InterpolateOp implements RPNOperation {
 
@@ -0,0 +1,108 @@
+package com.merlab.signals.rpn;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.core.SignalProcessor.LengthMode;
+
+/**
+ * Resultado diferido de una cadena de {@link ElementwiseOp}: un árbol cuyas
+ * hojas son Signals o Numbers. No se calcula nada hasta
+ * {@link #materialize()}, que evalúa el árbol entero recorriendo la salida
+ * en bloques de {@link #BLOCK} muestras; los intermedios solo existen en
+ * unos pocos buffers de bloque que caben en caché.
+ */
+final class LazySignal {
+
+    /** Muestras por bloque de evaluación (8 KB por buffer). */
+    static final int BLOCK = 1024;
+
+    private final ElementwiseOp op;
+    private final Object[] args;
+    private final int length;
+
+    /**
+     * @param args Signal, LazySignal o Number, en el orden de la op
+     * @param mode alineación de longitudes entre los argumentos señal
+     */
+    LazySignal(ElementwiseOp op, Object[] args, LengthMode mode) {
+        this.op = op;
+        this.args = args;
+        int n = -1;
+        boolean equal = true;
+        for (Object a : args) {
+            if (a instanceof Number) {
+                continue;
+            }
+            int len = a instanceof LazySignal ? ((LazySignal) a).length : ((Signal) a).size();
+            if (n >= 0 && len != n) {
+                equal = false;
+            }
+            n = Math.max(n, len);
+        }
+        if (!equal && mode != LengthMode.PAD_WITH_ZEROS) {
+            throw new IllegalArgumentException("Longitudes distintas entre señales");
+        }
+        this.length = Math.max(n, 0);
+    }
+
+    int length() {
+        return length;
+    }
+
+    ElementwiseOp op() {
+        return op;
+    }
+
+    /** Signal, LazySignal or Number arguments, in the op's order. */
+    Object[] args() {
+        return args;
+    }
+
+    /** Evalúa el árbol completo en una única pasada por bloques. */
+    Signal materialize() {
+        double[] out = new double[length];
+        double[] block = new double[Math.min(BLOCK, length)];
+        Deque<double[]> pool = new ArrayDeque<>();
+        for (int start = 0; start < length; start += BLOCK) {
+            int len = Math.min(BLOCK, length - start);
+            eval(start, len, block, pool);
+            System.arraycopy(block, 0, out, start, len);
+        }
+        return Signal.wrap(out);
+    }
+
+    /** Deja en dst[0..len) las muestras [start, start+len) de este nodo. */
+    private void eval(int start, int len, double[] dst, Deque<double[]> pool) {
+        // un hijo más corto que su padre (solo bajo un "+" con relleno) vale 0
+        // fuera de su longitud; ahí no se evalúa, para no dividir entre ceros
+        int valid = Math.max(0, Math.min(len, length - start));
+        if (valid > 0) {
+            double[][] in = new double[args.length][];
+            for (int k = 0; k < args.length; k++) {
+                double[] buf = pool.isEmpty() ? new double[BLOCK] : pool.pop();
+                Object a = args[k];
+                if (a instanceof LazySignal) {
+                    ((LazySignal) a).eval(start, valid, buf, pool);
+                } else if (a instanceof Signal) {
+                    double[] v = ((Signal) a).view();
+                    int copy = Math.max(0, Math.min(valid, v.length - start));
+                    if (copy > 0) {
+                        System.arraycopy(v, start, buf, 0, copy);
+                    }
+                    Arrays.fill(buf, copy, valid, 0.0);
+                } else {
+                    Arrays.fill(buf, 0, valid, ((Number) a).doubleValue());
+                }
+                in[k] = buf;
+            }
+            op.applyBlock(in, dst, start, valid);
+            for (double[] buf : in) {
+                pool.push(buf);
+            }
+        }
+        Arrays.fill(dst, valid, len, 0.0);
+    }
+}
@@ -1,9 +1,9 @@
 package com.merlab.signals.rpn;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import com.merlab.signals.core.Signal;
+import com.merlab.signals.core.SignalProcessor;
 
 /**
  * Pops [Signal, Number window], pushes Signal of same length:
@@ -25,24 +25,18 @@ public class MovingAverageOp implements RPNOperation {
             throw new IllegalArgumentException("Window must be >= 1, was " + window);
         }
 
-        List<Double> in = s.getValues();
-        List<Double> out = new ArrayList<>(in.size());
-
-        for (int i = 0; i < in.size(); i++) {
-            // for the first window-1 samples, just pass through
-            if (i < window - 1) {
-                out.add(in.get(i));
-            } else {
-                // sliding average over the last 'window' samples
-                double sum = 0;
-                for (int j = i - window + 1; j <= i; j++) {
-                    sum += in.get(j);
-                }
-                out.add(sum / window);
-            }
+        double[] in = s.view();
+        if (window > in.length) {
+            // every sample falls in the pass-through prefix
+            return new Signal(in);
         }
-
-        return new Signal(out);
+        // for the first window-1 samples, just pass through; then the
+        // running-sum average of the last 'window' samples
+        double[] out = new double[in.length];
+        System.arraycopy(in, 0, out, 0, window - 1);
+        double[] averaged = SignalProcessor.movingAverage(in, window);
+        System.arraycopy(averaged, 0, out, window - 1, averaged.length);
+        return Signal.wrap(out);
     }
     
     // MovingAverageOp.java
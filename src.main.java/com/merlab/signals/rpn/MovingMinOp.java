@@ -0,0 +1,26 @@
+package com.merlab.signals.rpn;
+
+import java.util.List;
+
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.core.StatisticalProcessor;
+
+/**
+ * Pops [Signal, Number window], pushes the sliding-window minimum
+ * (length n - window + 1, one value per full window).
+ */
+public class MovingMinOp implements RPNOperation {
+    @Override public int arity() { return 2; }
+    @Override
+    public Object apply(List<Object> args) {
+        Signal s   = (Signal) args.get(0);
+        int window = ((Number) args.get(1)).intValue();
+        return StatisticalProcessor.movingMin(s, window);
+    }
+
+    // MovingMinOp.java
+    @Override public String getName() { return "movmin"; }
+    @Override public String getDescription() { return "Computes the moving minimum of a signal (window)."; }
+    @Override public String getExample() { return "sig1 5 movmin"; }
+    @Override public String getCategory() { return "Filter"; }
+}
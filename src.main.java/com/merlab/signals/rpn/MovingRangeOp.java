@@ -0,0 +1,26 @@
+package com.merlab.signals.rpn;
+
+import java.util.List;
+
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.core.StatisticalProcessor;
+
+/**
+ * Pops [Signal, Number window], pushes the sliding-window range (max - min)
+ * (length n - window + 1, one value per full window).
+ */
+public class MovingRangeOp implements RPNOperation {
+    @Override public int arity() { return 2; }
+    @Override
+    public Object apply(List<Object> args) {
+        Signal s   = (Signal) args.get(0);
+        int window = ((Number) args.get(1)).intValue();
+        return StatisticalProcessor.movingRange(s, window);
+    }
+
+    // MovingRangeOp.java
+    @Override public String getName() { return "movrange"; }
+    @Override public String getDescription() { return "Computes the moving range (max - min) of a signal (window)."; }
+    @Override public String getExample() { return "sig1 5 movrange"; }
+    @Override public String getCategory() { return "Filter"; }
+}
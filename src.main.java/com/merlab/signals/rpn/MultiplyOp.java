@@ -1,10 +1,12 @@
 package com.merlab.signals.rpn;
 
+import java.lang.invoke.MethodHandle;
 import java.util.List;
 
 import com.merlab.signals.core.Signal;
 import com.merlab.signals.core.SignalProcessor;
 import com.merlab.signals.core.SignalProcessor.LengthMode;
+import com.merlab.signals.simd.Kernels;
 
 
 /**
@@ -12,7 +14,7 @@ import com.merlab.signals.core.SignalProcessor.LengthMode;
  * - Si recibe [Signal,Signal] → producto elemento–a–elemento
  * - Si recibe [Signal,Number] o [Number,Signal] → escala la señal
  */
-public class MultiplyOp implements RPNOperation {
+public class MultiplyOp implements ElementwiseOp {
 
     @Override
     public int arity() {
@@ -63,6 +65,22 @@ public class MultiplyOp implements RPNOperation {
         );
     }
     
+    @Override
+    public boolean fusable(boolean[] signalArgs) {
+        return signalArgs[0] || signalArgs[1];
+    }
+
+    /** A Number argument arrives broadcast, so both cases are a plain product. */
+    @Override
+    public void applyBlock(double[][] args, double[] out, long start, int len) {
+        Kernels.multiply(args[0], args[1], out, len);
+    }
+
+    @Override
+    public MethodHandle sampleHandle(boolean[] signalArgs) {
+        return RPNKernel.MULTIPLY;
+    }
+
     // MultiplyOp.java
     @Override public String getName() { return "*"; }
     @Override public String getDescription() { return "Multiplies two signals element-wise."; }
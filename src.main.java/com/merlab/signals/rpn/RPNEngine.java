@@ -1,7 +1,7 @@
 package com.merlab.signals.rpn;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -9,24 +9,45 @@ import com.merlab.signals.core.SignalProcessor.LengthMode;
 
 /**
  * A registry and executor for RPN-style operations.
+ * The registry is an immutable {@link RPNRegistry} replaced on every
+ * register() (copy-on-write), so lookups and execution are safe from many
+ * threads; each evaluation must use its own RPNStack.
  */
 public class RPNEngine {
-    private final Map<String, RPNOperation> registry = new HashMap<>();
+    private volatile RPNRegistry registry;
+    // bumped on every register(), so compiled plans can detect stale op references
+    private volatile long version;
+    private volatile RPNResultCache resultCache;
+    private volatile int jitThreshold;
+
+    /** An engine with no ops. */
+    public RPNEngine() {
+        this(RPNRegistry.of(Map.of()));
+    }
+
+    /** An engine starting from the given registry, e.g. {@link RPNRegistry#builtins()}. */
+    public RPNEngine(RPNRegistry registry) {
+        this.registry = registry;
+    }
 
     /** Register a token, for example "+", "norm", or "dec", with its operation. */
-    public void register(String token, RPNOperation op) {
-        registry.put(token, op);
+    public synchronized void register(String token, RPNOperation op) {
+        registry = registry.with(token, op);
+        version++;
     }
 
-    public Object execute(String token, RPNStack stack, LengthMode mode) {
-        RPNOperation op = getOperation(token);
-        ensureEnoughArguments(token, stack, op);
+    /** Current registry snapshot. */
+    public RPNRegistry getRegistry() {
+        return registry;
+    }
 
-        if (op instanceof BinaryLengthModeOp) {
-            return ((BinaryLengthModeOp) op).apply(stack, mode);
-        }
+    /** Number of registrations so far; changes whenever the registry does. */
+    long version() {
+        return version;
+    }
 
-        return execute(token, stack);
+    public Object execute(String token, RPNStack stack, LengthMode mode) {
+        return execute(getOperation(token), token, stack, mode);
     }
 
     /**
@@ -34,30 +55,111 @@ public class RPNEngine {
      * Pops op.arity() arguments, calls apply(), and pushes the result.
      */
     public Object execute(String token, RPNStack stack) {
-        RPNOperation op = getOperation(token);
-        ensureEnoughArguments(token, stack, op);
+        return execute(getOperation(token), token, stack, LengthMode.REQUIRE_EQUAL);
+    }
 
-        if (op instanceof BinaryLengthModeOp) {
-            return ((BinaryLengthModeOp) op).apply(stack, LengthMode.REQUIRE_EQUAL);
-        }
+    private Object execute(RPNOperation op, String token, RPNStack stack, LengthMode mode) {
+        ensureEnoughArguments(token, stack, op);
 
         int n = op.arity();
-        List<Object> args = new ArrayList<>(n);
-        for (int i = 0; i < n; i++) {
-            args.add(0, stack.pop());
+        Object[] args = new Object[n];
+        for (int i = n - 1; i >= 0; i--) {
+            args[i] = stack.pop();
         }
 
-        Object result = op.apply(args);
+        Object result = invoke(op, op instanceof BinaryLengthModeOp ? mode : null, args);
         stack.push(result);
         return result;
     }
 
+    /**
+     * Apply an op to its arguments (bottom first), through the result cache
+     * when one is enabled. mode is only used by BinaryLengthModeOps.
+     */
+    Object invoke(RPNOperation op, LengthMode mode, Object[] args) {
+        return invoke(op, mode, args, Arrays.asList(args));
+    }
+
+    /** Same, with {@code list} a fixed-size view of {@code args} the caller reuses. */
+    Object invoke(RPNOperation op, LengthMode mode, Object[] args, List<Object> list) {
+        RPNResultCache cache = resultCache;
+        if (cache == null) {
+            return call(op, mode, list);
+        }
+        return cache.apply(op, mode, args, () -> call(op, mode, list));
+    }
+
+    private static Object call(RPNOperation op, LengthMode mode, List<Object> list) {
+        if (op instanceof BinaryLengthModeOp) {
+            return ((BinaryLengthModeOp) op).apply(list, mode);
+        }
+        return op.apply(list);
+    }
+
+    /**
+     * Enable an LRU cache of op results with room for maxEntries results
+     * and {@link RPNResultCache#DEFAULT_MAX_BYTES} of samples (replacing
+     * any previous cache), or disable it with 0.
+     */
+    public void enableResultCache(int maxEntries) {
+        enableResultCache(maxEntries, RPNResultCache.DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Enable an LRU cache of op results holding at most maxEntries results
+     * and maxBytes of samples, arguments included (replacing any previous
+     * cache), or disable it with maxEntries 0.
+     */
+    public void enableResultCache(int maxEntries, long maxBytes) {
+        resultCache = maxEntries > 0 ? new RPNResultCache(maxEntries, maxBytes) : null;
+    }
+
+    /** The result cache with its hit/miss counters, or null if disabled. */
+    public RPNResultCache getResultCache() {
+        return resultCache;
+    }
+
+    /**
+     * Compile fused elementwise chains into {@link RPNKernel}s (one straight
+     * MethodHandle loop per chain shape) once a shape has been evaluated
+     * threshold times by the same program, or disable it with 0. Chains
+     * with ops that have no sample handle keep the blocked interpreter.
+     */
+    public void enableJit(int threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("threshold debe ser >= 0");
+        }
+        jitThreshold = threshold;
+    }
+
+    /** Evaluations before a chain is compiled, or 0 if the JIT is off. */
+    public int getJitThreshold() {
+        return jitThreshold;
+    }
+
+    /**
+     * Resolve a token list once into a {@link CompiledRPNProgram} that can be
+     * run repeatedly without lookups or parsing.
+     */
+    public CompiledRPNProgram compile(List<String> tokens) {
+        return new CompiledRPNProgram(this, tokens);
+    }
+
+    /**
+     * Resolve a token list into a {@link StreamingRPNProgram} that evaluates
+     * it chunk by chunk over unbounded sources.
+     * @throws IllegalArgumentException if an op needs the whole signal
+     */
+    public StreamingRPNProgram compileStreaming(List<String> tokens) {
+        return new StreamingRPNProgram(compile(tokens), this);
+    }
+
     public boolean hasOp(String token) {
-        return registry.containsKey(token);
+        return registry.contains(token);
     }
 
     public List<RPNOperation> listOperations() {
-        return new ArrayList<>(registry.values());
+        return new ArrayList<>(registry.asMap().values());
     }
 
     public void printHelp() {
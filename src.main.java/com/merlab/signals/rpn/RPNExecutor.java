@@ -0,0 +1,136 @@
+package com.merlab.signals.rpn;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.merlab.signals.core.Signal;
+
+/**
+ * Evaluates many RPN expressions concurrently on a fixed pool of worker
+ * threads fed by a bounded queue. Every submission gets its own stack and
+ * shares the parser's immutable registry and plan cache.
+ * <p>
+ * When the queue is full {@link #submit} throws
+ * {@link RejectedExecutionException} (back-pressure for the caller). An
+ * expression still running after the timeout completes its future with a
+ * {@link TimeoutException} and its worker is interrupted, which stops the
+ * evaluation before its next op.
+ */
+public final class RPNExecutor implements AutoCloseable {
+
+    private static final AtomicInteger POOLS = new AtomicInteger();
+
+    private final RPNParser parser;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService timer;
+    private final long timeoutMillis;
+    private final Set<CompletableFuture<Object>> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param parser        parser (and registry) shared by all evaluations
+     * @param threads       worker threads
+     * @param queueCapacity expressions that may wait for a worker
+     * @param timeoutMillis limit per expression, from submission; 0 = none
+     */
+    public RPNExecutor(RPNParser parser, int threads, int queueCapacity, long timeoutMillis) {
+        if (threads < 1 || queueCapacity < 1 || timeoutMillis < 0) {
+            throw new IllegalArgumentException(
+                "threads y queueCapacity deben ser >= 1 y timeoutMillis >= 0");
+        }
+        int id = POOLS.incrementAndGet();
+        this.parser = parser;
+        this.timeoutMillis = timeoutMillis;
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), daemonThreads("rpn-executor-" + id + "-"),
+            new ThreadPoolExecutor.AbortPolicy());
+        this.timer = Executors.newSingleThreadScheduledExecutor(daemonThreads("rpn-timeout-" + id + "-"));
+    }
+
+    /** Executor with one worker per available processor. */
+    public RPNExecutor(RPNParser parser, int queueCapacity, long timeoutMillis) {
+        this(parser, Runtime.getRuntime().availableProcessors(), queueCapacity, timeoutMillis);
+    }
+
+    /**
+     * Queues an expression; the future completes with the top of its stack.
+     * @throws RejectedExecutionException if the queue is full or the executor is closed
+     */
+    public CompletableFuture<Object> submit(String expression, Map<String, Signal> variables) {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        pending.add(result);
+        result.whenComplete((r, e) -> pending.remove(result));
+        Runnable evaluation = () -> {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                result.complete(parser.compile(expression).evaluate(variables));
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        };
+        Future<?> task;
+        try {
+            task = workers.submit(evaluation);
+        } catch (RejectedExecutionException ex) {
+            pending.remove(result);
+            throw ex;
+        }
+        if (timeoutMillis > 0) {
+            ScheduledFuture<?> deadline = timer.schedule(() -> {
+                if (result.completeExceptionally(new TimeoutException(
+                        "RPN expression exceeded " + timeoutMillis + " ms: " + expression))) {
+                    task.cancel(true);
+                }
+            }, timeoutMillis, TimeUnit.MILLISECONDS);
+            result.whenComplete((r, e) -> deadline.cancel(false));
+        }
+        return result;
+    }
+
+    /** Expressions waiting for a worker. */
+    public int getQueuedCount() {
+        return workers.getQueue().size();
+    }
+
+    /** Expressions being evaluated right now. */
+    public int getActiveCount() {
+        return workers.getActiveCount();
+    }
+
+    /**
+     * Stops accepting work and interrupts running evaluations; futures not
+     * yet completed end with a {@link CancellationException}.
+     */
+    @Override
+    public void close() {
+        workers.shutdownNow();
+        timer.shutdownNow();
+        for (CompletableFuture<Object> f : pending) {
+            f.completeExceptionally(new CancellationException("RPNExecutor closed"));
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
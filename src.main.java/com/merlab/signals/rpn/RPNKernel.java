@@ -0,0 +1,343 @@
+package com.merlab.signals.rpn;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.merlab.signals.core.Signal;
+
+/**
+ * A fused elementwise chain compiled into one straight loop, enabled with
+ * {@link RPNEngine#enableJit(int)}. The per-sample handles of the chain's
+ * ops ({@link ElementwiseOp#sampleHandle}) are composed into a single
+ * expression {@code (i, signals, scalars) -> double}: one hidden copy of
+ * {@link RPNKernelNode2} (etc.) per op, and of {@link RPNKernelLoop} for
+ * the loop, each holding its op and children as static final constants.
+ * The JIT then inlines the whole tree into the loop, with no per-op
+ * dispatch and no intermediate block buffers. The kernel is a scalar
+ * loop: unlike the Vector API kernels in
+ * {@link com.merlab.signals.simd.Kernels}, any SIMD comes only from C2's
+ * auto-vectorization. Signals and scalars are
+ * parameters, so one kernel serves every evaluation of the same chain
+ * shape; the hidden classes are unloaded with their kernel.
+ * <p>
+ * Chains with an op that has no sample handle, or whose signals differ in
+ * length ("pad" +), stay with {@link LazySignal#materialize()}. Results are
+ * bit-identical to the interpreter.
+ */
+final class RPNKernel {
+
+    private static final MethodType NODE =
+        MethodType.methodType(double.class, int.class, double[][].class, double[].class);
+    private static final String SIGNAL = "signal";
+    private static final String SCALAR = "scalar";
+
+    private static final MethodHandle SIGNAL_AT;
+    private static final MethodHandle SCALAR_AT;
+    static final MethodHandle ADD;
+    static final MethodHandle SUBTRACT;
+    static final MethodHandle MULTIPLY;
+    static final MethodHandle DIVIDE;
+    static final MethodHandle CLAMP;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodType binary = MethodType.methodType(double.class, double.class, double.class);
+        try {
+            SIGNAL_AT = lookup.findStatic(RPNKernel.class, "signalAt", NODE.appendParameterTypes(int.class));
+            SCALAR_AT = lookup.findStatic(RPNKernel.class, "scalarAt", NODE.appendParameterTypes(int.class));
+            ADD = lookup.findStatic(RPNKernel.class, "add", binary);
+            SUBTRACT = lookup.findStatic(RPNKernel.class, "subtract", binary);
+            MULTIPLY = lookup.findStatic(RPNKernel.class, "multiply", binary);
+            DIVIDE = lookup.findStatic(RPNKernel.class, "divide", binary.appendParameterTypes(int.class));
+            CLAMP = lookup.findStatic(RPNKernel.class, "clamp", binary.appendParameterTypes(double.class));
+        } catch (ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    private static double signalAt(int i, double[][] signals, double[] scalars, int k) {
+        return signals[k][i];
+    }
+
+    private static double scalarAt(int i, double[][] signals, double[] scalars, int k) {
+        return scalars[k];
+    }
+
+    private static double add(double a, double b) {
+        return a + b;
+    }
+
+    private static double subtract(double a, double b) {
+        return a - b;
+    }
+
+    private static double multiply(double a, double b) {
+        return a * b;
+    }
+
+    private static double divide(double a, double b, int i) {
+        if (b == 0.0) {
+            throw new IllegalArgumentException("División por cero en la posición " + i);
+        }
+        return a / b;
+    }
+
+    /**
+     * Same result, bit for bit, as the interpreter's
+     * {@code x < lo ? lo : x > hi ? hi : x}. Math.min/max compile without
+     * branches, which matters on noisy signals, but they only agree with
+     * the comparisons when:
+     * <ul>
+     *   <li>lo &lt; hi: with inverted bounds the comparisons return lo for
+     *       x &lt; lo, min(max(x, lo), hi) always hi; lo &lt; hi is also
+     *       false for NaN bounds;</li>
+     *   <li>neither bound is ±0.0: max(-0.0, 0.0) is 0.0 but -0.0 &lt; 0.0
+     *       is false, so the comparisons keep x = -0.0 (and likewise
+     *       min(0.0, -0.0) for the upper bound).</li>
+     * </ul>
+     * The condition depends only on the bounds, so the branch on it is
+     * perfectly predicted; NaN samples give NaN either way.
+     */
+    private static double clamp(double x, double lo, double hi) {
+        if (lo < hi && lo != 0.0 && hi != 0.0) {
+            return Math.min(Math.max(x, lo), hi);
+        }
+        return x < lo ? lo : x > hi ? hi : x;
+    }
+
+    private static final MethodType LOOP =
+        MethodType.methodType(void.class, double[].class, double[][].class, double[].class);
+    private static final Map<String, byte[]> TEMPLATES = new ConcurrentHashMap<>();
+
+    /** (double[] out, double[][] signals, double[] scalars) void */
+    private final MethodHandle loop;
+
+    private RPNKernel(MethodHandle loop) {
+        this.loop = loop;
+    }
+
+    /**
+     * Compiles a chain shape, or returns null if one of its ops has no
+     * sample handle or more than three arguments.
+     */
+    static RPNKernel compile(Shape shape) {
+        try {
+            MethodHandle expr = node(shape, new int[2]);
+            if (expr == null) {
+                return null;
+            }
+            return new RPNKernel(define("RPNKernelLoop", List.of(expr), "run", LOOP));
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("No se pudo generar el kernel RPN", ex);
+        }
+    }
+
+    /**
+     * Handle (i, signals, scalars) -> double for a shape node. Every op
+     * node is its own hidden class: nodes sharing one method (or one
+     * LambdaForm) would look recursive to the JIT and stop inlining.
+     */
+    private static MethodHandle node(Object shape, int[] next) throws ReflectiveOperationException {
+        if (shape == SIGNAL) {
+            return MethodHandles.insertArguments(SIGNAL_AT, 3, next[0]++);
+        }
+        if (shape == SCALAR) {
+            return MethodHandles.insertArguments(SCALAR_AT, 3, next[1]++);
+        }
+        Shape s = (Shape) shape;
+        int n = s.children.length;
+        boolean[] signalArgs = new boolean[n];
+        for (int j = 0; j < n; j++) {
+            signalArgs[j] = s.children[j] != SCALAR;
+        }
+        MethodHandle op = s.op.sampleHandle(signalArgs);
+        if (op == null || n < 1 || n > 3) {
+            return null;
+        }
+        if (op.type().parameterCount() == n) {
+            // sin índice de muestra: se añade un int que se ignora
+            op = MethodHandles.dropArguments(op, n, int.class);
+        }
+        List<MethodHandle> parts = new ArrayList<>();
+        parts.add(op);
+        for (int j = 0; j < n; j++) {
+            MethodHandle child = node(s.children[j], next);
+            if (child == null) {
+                return null;
+            }
+            parts.add(child);
+        }
+        return define("RPNKernelNode" + n, parts, "at", NODE);
+    }
+
+    /** Defines a hidden copy of a template with the given class data and returns one of its methods. */
+    private static MethodHandle define(String template, List<MethodHandle> parts, String method, MethodType type)
+            throws ReflectiveOperationException {
+        MethodHandles.Lookup hidden = MethodHandles.lookup()
+            .defineHiddenClassWithClassData(template(template), parts, true);
+        return hidden.findStatic(hidden.lookupClass(), method, type);
+    }
+
+    /** Element {@code index} of the class data of a hidden template copy. */
+    static MethodHandle part(MethodHandles.Lookup lookup, int index) {
+        try {
+            return MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, index);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static byte[] template(String name) {
+        return TEMPLATES.computeIfAbsent(name, k -> {
+            try (InputStream in = RPNKernel.class.getResourceAsStream(k + ".class")) {
+                if (in == null) {
+                    throw new IllegalStateException(k + ".class no encontrado");
+                }
+                return in.readAllBytes();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    Signal run(double[][] signals, double[] scalars, int length) {
+        double[] out = new double[length];
+        try {
+            loop.invokeExact(out, signals, scalars);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+        return Signal.wrap(out);
+    }
+
+    /**
+     * Structure of a LazySignal tree: op identities and which leaves are
+     * signals or scalars. Equal shapes share a kernel.
+     */
+    static final class Shape {
+        private final ElementwiseOp op;
+        private final Object[] children;
+        private final int hash;
+
+        private Shape(ElementwiseOp op, Object[] children) {
+            this.op = op;
+            this.children = children;
+            this.hash = 31 * System.identityHashCode(op) + Arrays.hashCode(children);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Shape)) {
+                return false;
+            }
+            Shape s = (Shape) o;
+            return op == s.op && hash == s.hash && Arrays.equals(children, s.children);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Per-program kernel cache. A shape is compiled once it has been
+     * evaluated {@code threshold} times; shapes that cannot be compiled
+     * are remembered and not retried.
+     */
+    static final class Cache {
+        private final Map<Shape, Entry> entries = new ConcurrentHashMap<>();
+
+        /** Evaluates the chain with its kernel, or returns null if it has none (yet). */
+        Signal evaluate(LazySignal lazy, int threshold) {
+            List<double[]> signals = new ArrayList<>();
+            List<Double> scalars = new ArrayList<>();
+            Object shape = shape(lazy, lazy.length(), signals, scalars);
+            if (!(shape instanceof Shape)) {
+                return null;
+            }
+            Entry entry = entries.computeIfAbsent((Shape) shape, k -> new Entry());
+            RPNKernel kernel = entry.kernel(threshold, (Shape) shape);
+            if (kernel == null) {
+                return null;
+            }
+            double[] s = new double[scalars.size()];
+            for (int i = 0; i < s.length; i++) {
+                s[i] = scalars.get(i);
+            }
+            return kernel.run(signals.toArray(new double[0][]), s, lazy.length());
+        }
+
+        int compiled() {
+            int n = 0;
+            for (Entry e : entries.values()) {
+                if (e.kernel != null) {
+                    n++;
+                }
+            }
+            return n;
+        }
+
+        /**
+         * Shape of a node, collecting its leaves in depth-first order; null
+         * if a signal is shorter than the chain (padding is left to LazySignal).
+         */
+        private static Object shape(Object node, int length, List<double[]> signals, List<Double> scalars) {
+            if (node instanceof Number) {
+                scalars.add(((Number) node).doubleValue());
+                return SCALAR;
+            }
+            if (node instanceof Signal) {
+                double[] v = ((Signal) node).view();
+                if (v.length != length) {
+                    return null;
+                }
+                signals.add(v);
+                return SIGNAL;
+            }
+            LazySignal lazy = (LazySignal) node;
+            Object[] args = lazy.args();
+            Object[] children = new Object[args.length];
+            for (int j = 0; j < args.length; j++) {
+                children[j] = shape(args[j], length, signals, scalars);
+                if (children[j] == null) {
+                    return null;
+                }
+            }
+            return new Shape(lazy.op(), children);
+        }
+    }
+
+    private static final class Entry {
+        private final AtomicInteger uses = new AtomicInteger();
+        private volatile RPNKernel kernel;
+        private volatile boolean unsupported;
+
+        RPNKernel kernel(int threshold, Shape shape) {
+            RPNKernel k = kernel;
+            if (k != null || unsupported || uses.incrementAndGet() < threshold) {
+                return k;
+            }
+            synchronized (this) {
+                if (kernel == null && !unsupported) {
+                    kernel = compile(shape);
+                    unsupported = kernel == null;
+                }
+                return kernel;
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.merlab.signals.rpn;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Template for {@link RPNKernel}: its bytes are defined again as a hidden
+ * class per kernel, with the root node of the expression as class data.
+ * In each copy {@link #EXPR} is a static final constant, so the JIT
+ * inlines the whole expression into the loop. Never used directly.
+ */
+final class RPNKernelLoop {
+
+    /** (int i, double[][] signals, double[] scalars) double */
+    private static final MethodHandle EXPR = RPNKernel.part(MethodHandles.lookup(), 0);
+
+    private RPNKernelLoop() {
+    }
+
+    static void run(double[] out, double[][] signals, double[] scalars) throws Throwable {
+        for (int i = 0; i < out.length; i++) {
+            out[i] = (double) EXPR.invokeExact(i, signals, scalars);
+        }
+    }
+}
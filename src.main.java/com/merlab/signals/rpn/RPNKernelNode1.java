@@ -0,0 +1,24 @@
+package com.merlab.signals.rpn;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Template for an {@link RPNKernel} node with one argument, defined again
+ * as a hidden class per node with its class data [op, argument]: each
+ * copy is a distinct method whose handles are static final constants, so
+ * the JIT inlines the whole tree. Never used directly.
+ */
+final class RPNKernelNode1 {
+
+    /** (double, int i) double */
+    private static final MethodHandle OP = RPNKernel.part(MethodHandles.lookup(), 0);
+    private static final MethodHandle A = RPNKernel.part(MethodHandles.lookup(), 1);
+
+    private RPNKernelNode1() {
+    }
+
+    static double at(int i, double[][] signals, double[] scalars) throws Throwable {
+        return (double) OP.invokeExact((double) A.invokeExact(i, signals, scalars), i);
+    }
+}
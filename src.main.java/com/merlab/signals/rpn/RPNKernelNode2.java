@@ -0,0 +1,21 @@
+package com.merlab.signals.rpn;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/** {@link RPNKernelNode1} for ops with 2 arguments. */
+final class RPNKernelNode2 {
+
+    /** (double x 2, int i) double */
+    private static final MethodHandle OP = RPNKernel.part(MethodHandles.lookup(), 0);
+    private static final MethodHandle A = RPNKernel.part(MethodHandles.lookup(), 1);
+    private static final MethodHandle B = RPNKernel.part(MethodHandles.lookup(), 2);
+
+    private RPNKernelNode2() {
+    }
+
+    static double at(int i, double[][] signals, double[] scalars) throws Throwable {
+        return (double) OP.invokeExact((double) A.invokeExact(i, signals, scalars),
+            (double) B.invokeExact(i, signals, scalars), i);
+    }
+}
@@ -0,0 +1,23 @@
+package com.merlab.signals.rpn;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/** {@link RPNKernelNode1} for ops with 3 arguments. */
+final class RPNKernelNode3 {
+
+    /** (double x 3, int i) double */
+    private static final MethodHandle OP = RPNKernel.part(MethodHandles.lookup(), 0);
+    private static final MethodHandle A = RPNKernel.part(MethodHandles.lookup(), 1);
+    private static final MethodHandle B = RPNKernel.part(MethodHandles.lookup(), 2);
+    private static final MethodHandle C = RPNKernel.part(MethodHandles.lookup(), 3);
+
+    private RPNKernelNode3() {
+    }
+
+    static double at(int i, double[][] signals, double[] scalars) throws Throwable {
+        return (double) OP.invokeExact((double) A.invokeExact(i, signals, scalars),
+            (double) B.invokeExact(i, signals, scalars),
+            (double) C.invokeExact(i, signals, scalars), i);
+    }
+}
@@ -21,4 +21,10 @@ public interface RPNOperation {
     String getDescription();
     default String getExample() { return ""; }   // Opcional
     default String getCategory() { return "General"; }
+
+    /**
+     * Whether the result depends only on the arguments (no randomness and
+     * no side effects), so it may be served from an {@link RPNResultCache}.
+     */
+    default boolean isDeterministic() { return true; }
 }
@@ -1,10 +1,9 @@
 package com.merlab.signals.rpn;
 
 import com.merlab.signals.core.Signal;
-import com.merlab.signals.core.SignalProcessor.LengthMode;
-import com.merlab.signals.persistence.DatabaseManager;
-import com.merlab.signals.plot.SignalPlotter;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -14,103 +13,30 @@ import java.util.Map;
  * - Si está en el mapa de variables, empuja esa Signal.
  * - Si es un número, lo parsea a Double y lo empuja.
  * - Si no reconoce el token, lanza IllegalArgumentException.
+ * Las expresiones se compilan a un {@link RPNPlan} (con las ops
+ * elemento a elemento fusionadas) que se guarda en una caché LRU.
+ * El parser no guarda estado entre evaluaciones: se puede compartir entre
+ * hilos siempre que cada evaluación use su propia RPNStack.
  */
 public class RPNParser {
+    /** Planes compilados que se conservan (por lista de tokens) */
+    private static final int MAX_CACHED_PLANS = 256;
+
     private final RPNEngine engine;
-    // Pendiente de modo para la próxima op binaria
-    private LengthMode nextMode = null;
+    private final Map<List<String>, RPNPlan> plans = Collections.synchronizedMap(
+        new LinkedHashMap<List<String>, RPNPlan>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<String>, RPNPlan> eldest) {
+                return size() > MAX_CACHED_PLANS;
+            }
+        });
 
     /**
-     * Constructor por defecto: crea un engine con todas las ops registradas.
+     * Constructor por defecto: engine con las ops de {@link RPNRegistry#builtins()}.
      */
     public RPNParser() {
-        this.engine = new RPNEngine();
-        // Registrar aquí todas tus operaciones builtin:
-        engine.register("+",    new AddOp());
-        engine.register("-",    new SubtractOp());
-        engine.register("*",    new MultiplyOp());
-        engine.register("/",    new DivideOp());
-        engine.register("+pwz",    new AddPadWithZerosOp());
-        engine.register("norm", new NormalizeOp());
-        engine.register("dec",  new DecimateOp());
-        engine.register("pad",  new PadOp());            // si tienes un op “pad”
-        engine.register("blend",  new BlendOp());
-        engine.register("clamp",  new ClampOp());
-        // … y todas las demás …
-        engine.register("ip", new InterpolateOp());
-        engine.register("scale",     new ScaleOp());
-        engine.register("deriv",     new DerivativeOp());
-        engine.register("intg",      new IntegrateOp());
-        engine.register("conv",      new ConvolveOp());
-        engine.register("convR",     new ConvolveReversedOp());
-        engine.register("convRS",     new ConvolveReversedWithStrideOp());
-        engine.register("lpf",       new LowPassFilterOp());
-        engine.register("hpf",       new HighPassFilterOp());
-        engine.register("bpf",       new BandPassFilterOp());
-        engine.register("fft",       new FFTOp());
-        engine.register("mean",      new MeanOp());
-        engine.register("var",       new VarianceOp());
-        engine.register("std",       new StdDevOp());
-        engine.register("median",    new MedianOp());
-        engine.register("min",       new MinOp());
-        engine.register("max",       new MaxOp());
-        engine.register("range",     new RangeOp());
-        engine.register("acor",      new AutocorrelationOp());
-        engine.register("movavg",    new MovingAverageOp());
-        engine.register("wma",       new WeightedMovingAverageOp());
-        engine.register("gsmooth",   new GaussianSmoothingOp());
-        engine.register("zcr",       new ZeroCrossingRateOp());
-        engine.register("lqr",       new LQROp());
-        engine.register("skew",      new SkewnessOp());
-        engine.register("kurt",      new KurtosisOp());
-        
-        engine.register("gsin",      new GenerateSineAllOp());
-        engine.register("gnorm",      new GenerateNormalOp());
-        
-     // En tu RPNEngine:
-        engine.register("plot", new RPNOperation() {
-            @Override public int arity() { return 2; } // título, señal
-            @Override public Object apply(List<Object> args) {
-                String title = (String) args.get(0);
-                Signal signal = (Signal) args.get(1);
-                SignalPlotter.plotSignal(title, signal);
-                return signal; // Devuelve la señal para seguir la cadena
-                
-            }
-            @Override
-            public String getName() { return "movavg"; }
-            @Override
-            public String getDescription() {
-                return "Computes the moving average. Args: [Signal, windowSize].";
-            }
-            @Override
-            public String getExample() {
-                return "sig1 3 movavg";
-            }
-            @Override
-            public String getCategory() { return "Filter"; }
-        });
-        engine.register("save", new RPNOperation() {
-            @Override public int arity() { return 2; } // db, señal
-            @Override public Object apply(List<Object> args) {
-                DatabaseManager db = (DatabaseManager) args.get(0);
-                Signal signal = (Signal) args.get(1);
-                db.saveSignal(signal);
-                return signal;
-            }
-            @Override
-            public String getName() { return "movavg"; }
-            @Override
-            public String getDescription() {
-                return "Computes the moving average. Args: [Signal, windowSize].";
-            }
-            @Override
-            public String getExample() {
-                return "sig1 3 movavg";
-            }
-            @Override
-            public String getCategory() { return "Filter"; }
-        });
+        this(new RPNEngine(RPNRegistry.builtins()));
     }
     
     /**
@@ -119,55 +45,52 @@ public class RPNParser {
     public RPNParser(RPNEngine engine) {
         this.engine = engine;
     }
+    /**
+     * Compila una expresión separada por espacios (o la toma de la caché).
+     */
+    public RPNPlan compile(String expression) {
+        return compile(List.of(expression.trim().split("\\s+")));
+    }
+
+    /**
+     * Compila una lista de tokens (o la toma de la caché). El plan se
+     * recompila si desde entonces se ha registrado alguna op en el engine.
+     */
+    public RPNPlan compile(List<String> tokens) {
+        RPNPlan plan = plans.get(tokens);
+        if (plan == null || plan.program().version() != engine.version()) {
+            plan = new RPNPlan(engine.compile(tokens));
+            plans.put(plan.tokens(), plan);
+        }
+        return plan;
+    }
+
+    /**
+     * Compila una expresión para evaluarla por bloques sobre fuentes
+     * troceadas ({@link StreamingRPNProgram}). No se cachea: cada programa
+     * guarda el estado de su propio flujo.
+     */
+    public StreamingRPNProgram compileStreaming(String expression) {
+        return engine.compileStreaming(List.of(expression.trim().split("\\s+")));
+    }
+
     /** 
      * Ejecuta una expresión completa en una sola línea, separada por espacios.
      */
     public void parseAndExecute(String expression,
                                 Map<String,Signal> variables,
                                 RPNStack stack) {
-        String[] tokens = expression.trim().split("\\s+");
-        parseAndExecute(List.of(tokens), variables, stack);
+        compile(expression).execute(variables, stack);
     }
 
     /**
-     * Ejecuta una lista de tokens ya separada.
+     * Ejecuta una lista de tokens ya separada: el prefijo "pad" hace que el
+     * siguiente "+" rellene con ceros; el resto de tokens son ops, números
+     * literales o variables, en ese orden.
      */
     public void parseAndExecute(List<String> tokens,
                                 Map<String,Signal> variables,
                                 RPNStack stack) {
-    	
-    	LengthMode nextMode = LengthMode.REQUIRE_EQUAL; // default
-    	
-        for (String token : tokens) {
-            // 1) Si es el prefijo “pad”, marcamos el modo y no tocamos la pila:
-            if ("pad".equals(token)) {
-                nextMode = LengthMode.PAD_WITH_ZEROS;
-            }
-            // ¿Es operación binaria y necesita LengthMode?
-            else if ("+".equals(token)) {
-                // Usar nextMode y luego restaurar
-                engine.execute("+", stack, nextMode);
-                nextMode = LengthMode.REQUIRE_EQUAL; // restaurar default
-            }
-            // 1) Operación RPN
-            else if (engine.hasOp(token)) {
-                engine.execute(token, stack);
-            }
-            // 2) Variable (Signal predefinida)
-            else if (variables.containsKey(token)) {
-                stack.push(variables.get(token));
-            }
-            // 3) Número literal
-            else {
-                try {
-                    double d = Double.parseDouble(token);
-                    stack.push(d);
-                } catch (NumberFormatException ex) {
-                    throw new IllegalArgumentException(
-                        "Token desconocido en RPNParser: " + token
-                    );
-                }
-            }
-        }
+        compile(tokens).execute(variables, stack);
     }
 }
@@ -0,0 +1,143 @@
+package com.merlab.signals.rpn;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+import com.merlab.signals.core.Signal;
+
+/**
+ * Fused execution of a {@link CompiledRPNProgram}, built (and cached) by
+ * {@link RPNParser#compile(String)}. The plan holds no bindings: it can be
+ * re-executed against new variables, also from several threads at once.
+ * <p>
+ * Adjacent {@link ElementwiseOp}s are not run one by one. Each pushes a
+ * deferred {@link LazySignal}, and the whole chain is evaluated in a single
+ * blocked loop when a non-elementwise op needs its value or the expression
+ * ends, so {@code sig1 sig2 + sig3 * 2 *} allocates one output array
+ * instead of three. Results are identical to step-by-step evaluation; a
+ * division by zero inside a chain is reported when the chain is evaluated.
+ * <p>
+ * {@link #evaluateAll(List)} and {@link #evaluateChannels(Map)} run the same
+ * plan over a batch of bindings, split across a {@link ForkJoinPool}, with
+ * results in input order.
+ */
+public final class RPNPlan {
+
+    private final CompiledRPNProgram program;
+
+    RPNPlan(CompiledRPNProgram program) {
+        this.program = program;
+    }
+
+    /** Tokens of the compiled expression. */
+    public List<String> tokens() {
+        return program.tokens();
+    }
+
+    /** The resolved program the plan runs. */
+    public CompiledRPNProgram program() {
+        return program;
+    }
+
+    /**
+     * Runs the plan on the given stack. On return every value the plan
+     * pushed is materialized (Signals and scalars, as with the interpreter).
+     */
+    public void execute(Map<String, Signal> variables, RPNStack stack) {
+        program.execute(variables, stack, true);
+    }
+
+    /** Runs the plan on a fresh stack and returns its top value (or null). */
+    public Object evaluate(Map<String, Signal> variables) {
+        Object[] st = program.run(variables, new Object[0], true);
+        return st.length == 0 ? null : st[st.length - 1];
+    }
+
+    /** {@link #evaluateAll(List, ForkJoinPool)} on the common pool. */
+    public List<Object> evaluateAll(List<Map<String, Signal>> bindings) {
+        return evaluateAll(bindings, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Evaluates the plan once per binding map, in parallel on {@code pool}.
+     * The i-th result belongs to the i-th map; the first failure is rethrown.
+     */
+    public List<Object> evaluateAll(List<Map<String, Signal>> bindings, ForkJoinPool pool) {
+        Object[] out = new Object[bindings.size()];
+        forEach(pool, out.length, i -> out[i] = evaluate(bindings.get(i)));
+        return Arrays.asList(out);
+    }
+
+    /** {@link #evaluateChannels(Map, ForkJoinPool)} on the common pool. */
+    public double[][] evaluateChannels(Map<String, double[][]> channels) {
+        return evaluateChannels(channels, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Evaluates the plan for every channel of a channel matrix: each
+     * variable is bound to one row per channel (all variables with the same
+     * number of rows). Returns one row per channel, in order; a scalar
+     * result becomes a row of length 1.
+     */
+    public double[][] evaluateChannels(Map<String, double[][]> channels, ForkJoinPool pool) {
+        int count = -1;
+        for (double[][] rows : channels.values()) {
+            if (count >= 0 && rows.length != count) {
+                throw new IllegalArgumentException("Número de canales distinto entre variables");
+            }
+            count = rows.length;
+        }
+        double[][] out = new double[Math.max(count, 0)][];
+        forEach(pool, out.length, ch -> {
+            Map<String, Signal> vars = new HashMap<>();
+            channels.forEach((name, rows) -> vars.put(name, Signal.wrap(rows[ch])));
+            Object result = evaluate(vars);
+            if (result instanceof Signal) {
+                out[ch] = ((Signal) result).toArray();
+            } else if (result instanceof Number) {
+                out[ch] = new double[] {((Number) result).doubleValue()};
+            } else {
+                throw new IllegalArgumentException(
+                    "Resultado no numérico en el canal " + ch + ": " + result);
+            }
+        });
+        return out;
+    }
+
+    private static void forEach(ForkJoinPool pool, int n, IntConsumer body) {
+        if (n == 1) {
+            body.accept(0);
+        } else if (n > 1) {
+            pool.invoke(new BatchTask(body, 0, n));
+        }
+    }
+
+    /** Bisects [from, to) until each task evaluates a single item. */
+    private static final class BatchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final IntConsumer body;
+        private final int from;
+        private final int to;
+
+        BatchTask(IntConsumer body, int from, int to) {
+            this.body = body;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BatchTask(body, from, mid), new BatchTask(body, mid, to));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.merlab.signals.rpn;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.persistence.DatabaseManager;
+import com.merlab.signals.plot.SignalPlotter;
+
+/**
+ * Immutable token-to-op table. {@link #builtins()} is the default set,
+ * built once and shared by every {@link RPNParser} and SignalManager; ops
+ * are stateless, so the same instances serve concurrent evaluations.
+ * {@link #with(String, RPNOperation)} derives a new registry instead of
+ * modifying this one.
+ */
+public final class RPNRegistry {
+
+    private static final RPNRegistry BUILTINS = new RPNRegistry(defaults());
+
+    private final Map<String, RPNOperation> ops;
+
+    private RPNRegistry(Map<String, RPNOperation> ops) {
+        this.ops = Collections.unmodifiableMap(new LinkedHashMap<>(ops));
+    }
+
+    /** The built-in ops, in registration order. */
+    public static RPNRegistry builtins() {
+        return BUILTINS;
+    }
+
+    /** A registry with exactly the given ops. */
+    public static RPNRegistry of(Map<String, RPNOperation> ops) {
+        return new RPNRegistry(ops);
+    }
+
+    /** A copy of this registry with {@code token} bound to {@code op}. */
+    public RPNRegistry with(String token, RPNOperation op) {
+        Map<String, RPNOperation> copy = new LinkedHashMap<>(ops);
+        copy.put(token, op);
+        return new RPNRegistry(copy);
+    }
+
+    /** The op registered for the token, or null. */
+    public RPNOperation get(String token) {
+        return ops.get(token);
+    }
+
+    public boolean contains(String token) {
+        return ops.containsKey(token);
+    }
+
+    /** Read-only view, in registration order. */
+    public Map<String, RPNOperation> asMap() {
+        return ops;
+    }
+
+    private static Map<String, RPNOperation> defaults() {
+        Map<String, RPNOperation> ops = new LinkedHashMap<>();
+        ops.put("+",    new AddOp());
+        ops.put("-",    new SubtractOp());
+        ops.put("*",    new MultiplyOp());
+        ops.put("/",    new DivideOp());
+        ops.put("+pwz",    new AddPadWithZerosOp());
+        ops.put("norm", new NormalizeOp());
+        ops.put("dec",  new DecimateOp());
+        ops.put("pad",  new PadOp());
+        ops.put("blend",  new BlendOp());
+        ops.put("clamp",  new ClampOp());
+        // … y todas las demás …
+        ops.put("ip", new InterpolateOp());
+        ops.put("resample", new ResampleOp());
+        ops.put("scale",     new ScaleOp());
+        ops.put("deriv",     new DerivativeOp());
+        ops.put("intg",      new IntegrateOp());
+        ops.put("conv",      new ConvolveOp());
+        ops.put("convR",     new ConvolveReversedOp());
+        ops.put("convRS",     new ConvolveReversedWithStrideOp());
+        ops.put("lpf",       new LowPassFilterOp());
+        ops.put("hpf",       new HighPassFilterOp());
+        ops.put("bpf",       new BandPassFilterOp());
+        ops.put("bwlpf",    new ButterworthLowPassOp());
+        ops.put("bwhpf",    new ButterworthHighPassOp());
+        ops.put("bwbpf",    new ButterworthBandPassOp());
+        ops.put("cheblpf",  new ChebyshevLowPassOp());
+        ops.put("chebhpf",  new ChebyshevHighPassOp());
+        ops.put("chebbpf",  new ChebyshevBandPassOp());
+        ops.put("fft",       new FFTOp());
+        ops.put("ifft",      new IFFTOp());
+        ops.put("mean",      new MeanOp());
+        ops.put("var",       new VarianceOp());
+        ops.put("std",       new StdDevOp());
+        ops.put("median",    new MedianOp());
+        ops.put("min",       new MinOp());
+        ops.put("max",       new MaxOp());
+        ops.put("range",     new RangeOp());
+        ops.put("acor",      new AutocorrelationOp());
+        ops.put("movavg",    new MovingAverageOp());
+        ops.put("movmed",   new MovingMedianOp());
+        ops.put("movmin",   new MovingMinOp());
+        ops.put("movmax",   new MovingMaxOp());
+        ops.put("movrange", new MovingRangeOp());
+        ops.put("wma",       new WeightedMovingAverageOp());
+        ops.put("gsmooth",   new GaussianSmoothingOp());
+        ops.put("zcr",       new ZeroCrossingRateOp());
+        ops.put("lqr",       new LQROp());
+        ops.put("skew",      new SkewnessOp());
+        ops.put("kurt",      new KurtosisOp());
+        
+        ops.put("gsin",      new GenerateSineAllOp());
+        ops.put("gnorm",      new GenerateNormalOp());
+        
+        ops.put("plot", new RPNOperation() {
+            @Override public int arity() { return 2; } // título, señal
+            @Override public Object apply(List<Object> args) {
+                String title = (String) args.get(0);
+                Signal signal = (Signal) args.get(1);
+                SignalPlotter.plotSignal(title, signal);
+                return signal; // Devuelve la señal para seguir la cadena
+                
+            }
+            @Override public boolean isDeterministic() { return false; }
+            @Override public String getName() { return "plot"; }
+            @Override public String getDescription() { return "Plots a signal with a title and passes it on."; }
+            @Override public String getExample() { return "title sig1 plot"; }
+            @Override public String getCategory() { return "Output"; }
+        });
+        ops.put("save", new RPNOperation() {
+            @Override public int arity() { return 2; } // db, señal
+            @Override public Object apply(List<Object> args) {
+                DatabaseManager db = (DatabaseManager) args.get(0);
+                Signal signal = (Signal) args.get(1);
+                db.saveSignal(signal);
+                return signal;
+            }
+            @Override public boolean isDeterministic() { return false; }
+            @Override public String getName() { return "save"; }
+            @Override public String getDescription() { return "Saves a signal to the database and passes it on."; }
+            @Override public String getExample() { return "db sig1 save"; }
+            @Override public String getCategory() { return "Output"; }
+        });
+        return ops;
+    }
+}
@@ -0,0 +1,289 @@
+package com.merlab.signals.rpn;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.core.SignalProcessor.LengthMode;
+
+/**
+ * Content-addressed LRU cache of op results, enabled with
+ * {@link RPNEngine#enableResultCache(int, long)}. The key is the op
+ * instance, its LengthMode and its arguments: Signals by length and a
+ * 64-bit hash of their samples (compared sample by sample on a hash
+ * match), scalars, strings and booleans by value. Because lookups go by
+ * content, a repeated chain such as {@code sig1 5 movavg norm} hits at
+ * every step.
+ * <p>
+ * The cache keeps its own copies of the Signal arguments and results, so
+ * it never pins a caller's Signal and callers may modify what they get
+ * back: every hit returns a fresh copy. Results other than Signals and
+ * immutable values (boxed numbers, strings, booleans) are computed but
+ * not stored. The cache is bounded both by entry count and by the samples
+ * it holds (keys plus results, 8 bytes each); the least recently used
+ * entries go first, and a result bigger than the whole byte budget is not
+ * stored.
+ * <p>
+ * Only {@link RPNOperation#isDeterministic() deterministic} ops are cached,
+ * and not {@link ElementwiseOp}s, which cost about as much as the hash.
+ */
+public final class RPNResultCache {
+
+    /** Byte budget of {@link #RPNResultCache(int)}: 64 MiB of samples. */
+    public static final long DEFAULT_MAX_BYTES = 64L << 20;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    // entries and bytes are guarded by entries
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public RPNResultCache(int maxEntries) {
+        this(maxEntries, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * @param maxEntries results kept at most (>= 1)
+     * @param maxBytes   sample bytes kept at most, keys included (>= 1)
+     */
+    public RPNResultCache(int maxEntries, long maxBytes) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries debe ser >= 1");
+        }
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("maxBytes debe ser >= 1");
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the cached result of {@code op} on {@code args}, or computes
+     * and stores it. Calls with uncacheable ops or arguments just compute.
+     */
+    Object apply(RPNOperation op, LengthMode mode, Object[] args, Supplier<Object> compute) {
+        if (!op.isDeterministic() || op instanceof ElementwiseOp) {
+            return compute.get();
+        }
+        Object[] parts = new Object[args.length];
+        long keyBytes = 0;
+        for (int i = 0; i < args.length; i++) {
+            parts[i] = argumentKey(args[i]);
+            if (parts[i] == null) {
+                return compute.get();
+            }
+            if (parts[i] instanceof SignalKey) {
+                keyBytes += ((SignalKey) parts[i]).samples.length * (long) Double.BYTES;
+            }
+        }
+        Key key = new Key(op, mode, parts);
+        Entry cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached != null) {
+            hits.increment();
+            return copyOf(cached.value);
+        }
+        misses.increment();
+        Object result = compute.get();
+        if (!storable(result)) {
+            return result;
+        }
+        Object stored = copyOf(result);
+        long weight = keyBytes + sampleBytes(stored);
+        if (weight <= maxBytes) {
+            store(key.detached(), new Entry(stored, weight));
+        }
+        return result;
+    }
+
+    private void store(Key key, Entry entry) {
+        synchronized (entries) {
+            Entry old = entries.put(key, entry);
+            bytes += entry.bytes - (old == null ? 0 : old.bytes);
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (entries.size() > maxEntries || bytes > maxBytes) {
+                bytes -= eldest.next().bytes;
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    /** Lookups served from the cache. */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /** Lookups that had to compute the result. */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /** Entries dropped to stay within {@link #maxEntries()} and {@link #maxBytes()}. */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /** hits / (hits + misses), or 0 before the first lookup. */
+    public double hitRate() {
+        long h = hits(), total = h + misses();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int maxEntries() {
+        return maxEntries;
+    }
+
+    /** Sample bytes held now, keys included. */
+    public long bytes() {
+        synchronized (entries) {
+            return bytes;
+        }
+    }
+
+    public long maxBytes() {
+        return maxBytes;
+    }
+
+    /** Drops all entries; the counters are kept. */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            bytes = 0;
+        }
+    }
+
+    /** Signals, which are copied, and values nobody can modify. */
+    private static boolean storable(Object value) {
+        return value instanceof Signal || value instanceof Double || value instanceof Integer
+            || value instanceof Long || value instanceof String || value instanceof Boolean;
+    }
+
+    private static Object copyOf(Object value) {
+        return value instanceof Signal ? Signal.wrap(((Signal) value).toArray()) : value;
+    }
+
+    private static long sampleBytes(Object value) {
+        return value instanceof Signal ? ((Signal) value).size() * (long) Double.BYTES : 0;
+    }
+
+    private static Object argumentKey(Object arg) {
+        if (arg instanceof Signal) {
+            return new SignalKey(((Signal) arg).view());
+        }
+        if (arg instanceof Number) {
+            return ((Number) arg).doubleValue();
+        }
+        if (arg instanceof String || arg instanceof Boolean) {
+            return arg;
+        }
+        return null;
+    }
+
+    private static final class Entry {
+        final Object value;
+        final long bytes;
+
+        Entry(Object value, long bytes) {
+            this.value = value;
+            this.bytes = bytes;
+        }
+    }
+
+    private static final class Key {
+        private final RPNOperation op;
+        private final LengthMode mode;
+        private final Object[] args;
+        private final int hash;
+
+        Key(RPNOperation op, LengthMode mode, Object[] args) {
+            this.op = op;
+            this.mode = mode;
+            this.args = args;
+            this.hash = 31 * (31 * System.identityHashCode(op) + (mode == null ? 0 : mode.hashCode()))
+                + Arrays.hashCode(args);
+        }
+
+        /** The same key over private copies of the samples, to be stored. */
+        Key detached() {
+            Object[] copy = args.clone();
+            for (int i = 0; i < copy.length; i++) {
+                if (copy[i] instanceof SignalKey) {
+                    copy[i] = ((SignalKey) copy[i]).detached();
+                }
+            }
+            return new Key(op, mode, copy);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key k = (Key) o;
+            return op == k.op && mode == k.mode && hash == k.hash && Arrays.equals(args, k.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /** Signal fingerprint: length plus 64-bit hash, checked sample by sample on a match. */
+    private static final class SignalKey {
+        private final double[] samples;
+        private final long hash;
+
+        SignalKey(double[] samples) {
+            long h = samples.length;
+            for (double x : samples) {
+                h = (h + Double.doubleToLongBits(x)) * 0x9E3779B97F4A7C15L;
+                h ^= h >>> 29;
+            }
+            this.samples = samples;
+            this.hash = h;
+        }
+
+        private SignalKey(double[] samples, long hash) {
+            this.samples = samples;
+            this.hash = hash;
+        }
+
+        /** A lookup key reads the caller's array; a stored one owns a copy. */
+        SignalKey detached() {
+            return new SignalKey(samples.clone(), hash);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof SignalKey)) {
+                return false;
+            }
+            SignalKey k = (SignalKey) o;
+            if (samples.length != k.samples.length || hash != k.hash) {
+                return false;
+            }
+            return samples == k.samples || Arrays.equals(samples, k.samples);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(hash);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.merlab.signals.rpn;
+
+import java.util.List;
+
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.core.SignalProcessor;
+
+/**
+ * Pops [Signal, Number up, Number down], pushes the signal resampled by
+ * up/down with a polyphase anti-aliasing FIR (length ceil(n*up/down)).
+ * Unlike dec/ip it neither aliases nor leaves spectral images.
+ */
+public class ResampleOp implements RPNOperation {
+    @Override public int arity() { return 3; }
+
+    @Override
+    public Object apply(List<Object> args) {
+        Signal s = (Signal) args.get(0);
+        int up   = ((Number) args.get(1)).intValue();
+        int down = ((Number) args.get(2)).intValue();
+        return Signal.wrap(SignalProcessor.resample(s.view(), up, down));
+    }
+
+    // ResampleOp.java
+    @Override public String getName() { return "resample"; }
+    @Override public String getDescription() { return "Resamples a signal by up/down with a polyphase anti-aliasing filter."; }
+    @Override public String getExample() { return "sig1 1 4 resample"; }
+    @Override public String getCategory() { return "Transform"; }
+}
@@ -10,6 +10,8 @@ import com.merlab.signals.core.SignalProcessor;
  *   Pops [ Signal, factor, divideFlag ]
  *   If divideFlag==false → multiplies each sample by factor
  *   If divideFlag==true  → divides each sample by factor
+ *   divideFlag may also be a Number (non-zero = divide), since RPN
+ *   literals are always numbers: "sig 2 1 scale" halves sig
  */
 public class ScaleOp implements RPNOperation {
 
@@ -21,8 +23,11 @@ public class ScaleOp implements RPNOperation {
     @Override
     public Object apply(List<Object> args) {
         Signal s       = (Signal) args.get(0);
-        double factor  = ((Double) args.get(1)).doubleValue();
-        boolean divide = ((Boolean) args.get(2)).booleanValue();
+        double factor  = ((Number) args.get(1)).doubleValue();
+        Object flag    = args.get(2);
+        boolean divide = flag instanceof Boolean
+            ? ((Boolean) flag).booleanValue()
+            : ((Number) flag).doubleValue() != 0.0;
 
         List<Double> out = SignalProcessor.scale(
             s.getValues(),
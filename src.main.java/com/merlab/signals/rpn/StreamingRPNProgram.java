@@ -0,0 +1,591 @@
+package com.merlab.signals.rpn;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.merlab.signals.core.SignalProcessor;
+import com.merlab.signals.core.SignalProcessor.LengthMode;
+import com.merlab.signals.streaming.StreamingDerivative;
+import com.merlab.signals.streaming.StreamingFilter;
+import com.merlab.signals.streaming.StreamingHighPass;
+import com.merlab.signals.streaming.StreamingIntegrator;
+import com.merlab.signals.streaming.StreamingLowPass;
+import com.merlab.signals.streaming.StreamingMovingAverage;
+
+/**
+ * An RPN expression evaluated over chunked sources, built by
+ * {@link RPNEngine#compileStreaming(List)}. Every variable is a stream
+ * fed one chunk at a time and the result is emitted chunk by chunk, so
+ * memory depends on the chunk size (plus windows and length skew between
+ * operands), never on the length of the recording.
+ * <p>
+ * Supported on streams: {@link ElementwiseOp}s (+, -, *, /, clamp, ...),
+ * {@code scale}, {@code movavg}, {@code lpf}, {@code hpf}, {@code deriv}
+ * and {@code intg}; their scalar arguments must be literals. Sub-expressions
+ * of literals only are folded at compile time. Any op that needs the whole
+ * signal ({@code median}, {@code fft}, ...) is rejected when compiling.
+ * <p>
+ * The concatenation of all chunks from {@link #process}, {@link #end} and
+ * {@link #finish} equals the batch result of the same expression on the
+ * concatenated inputs. Samples that arrive on one operand before another
+ * wait in a buffer of at most {@link #getMaxPending()} samples; a stream
+ * that is over early should be closed with {@link #end(String)} so that,
+ * under "pad", the other operand is emitted as it arrives instead of
+ * piling up. A program holds per-stream state, so it is not thread-safe;
+ * compile one per stream.
+ */
+public final class StreamingRPNProgram {
+
+    /** Default of {@link #setMaxPending(int)}: 8 MiB per waiting operand. */
+    public static final int DEFAULT_MAX_PENDING = 1 << 20;
+
+    private static final Object STREAM = new Object();
+    private static final double[] EMPTY = new double[0];
+
+    private final List<String> tokens;
+    private final List<String> variables;
+    /** Per step: the variable slot to push, or -1 to run stages[step]. */
+    private final int[] pushSlot;
+    private final Stage[] stages;
+    private final int maxDepth;
+    /** Per variable: whether its stream has ended. */
+    private final boolean[] ended;
+    private int maxPending = DEFAULT_MAX_PENDING;
+
+    StreamingRPNProgram(CompiledRPNProgram program, RPNEngine engine) {
+        program.checkDepth(0);
+        this.tokens = program.tokens();
+        this.variables = program.variables();
+        List<Integer> slots = new ArrayList<>();
+        List<Stage> built = new ArrayList<>();
+        // pila simbólica: STREAM o el valor de una constante
+        List<Object> st = new ArrayList<>();
+        int depth = 0, high = 0;
+        for (int pc = 0; pc < program.size(); pc++) {
+            switch (program.kind(pc)) {
+                case CompiledRPNProgram.LITERAL:
+                    st.add(program.literal(pc));
+                    break;
+                case CompiledRPNProgram.VARIABLE:
+                    st.add(STREAM);
+                    slots.add(program.slot(pc));
+                    built.add(null);
+                    high = Math.max(high, ++depth);
+                    break;
+                default:
+                    RPNOperation op = program.op(pc);
+                    int n = op.arity();
+                    Object[] args = st.subList(st.size() - n, st.size()).toArray();
+                    st.subList(st.size() - n, st.size()).clear();
+                    int streams = 0;
+                    for (Object a : args) {
+                        if (a == STREAM) {
+                            streams++;
+                        }
+                    }
+                    if (streams == 0) {
+                        st.add(fold(engine, program, pc, args));
+                    } else {
+                        slots.add(-1);
+                        built.add(stage(program, pc, args));
+                        depth -= streams - 1;
+                        st.add(STREAM);
+                    }
+            }
+        }
+        if (st.size() != 1 || st.get(0) != STREAM) {
+            throw new IllegalArgumentException(
+                "La expresión en streaming debe dejar una única señal en la pila: " + this.tokens);
+        }
+        this.pushSlot = slots.stream().mapToInt(Integer::intValue).toArray();
+        this.stages = built.toArray(new Stage[0]);
+        this.maxDepth = high;
+        this.ended = new boolean[variables.size()];
+    }
+
+    /** Evaluates an op on literals once, at compile time. */
+    private static Object fold(RPNEngine engine, CompiledRPNProgram program, int pc, Object[] args) {
+        RPNOperation op = program.op(pc);
+        Object value = op.isDeterministic() ? engine.invoke(op, program.mode(pc), args) : null;
+        if (!(value instanceof Number || value instanceof Boolean)) {
+            throw unsupported(program.name(pc));
+        }
+        return value;
+    }
+
+    private static Stage stage(CompiledRPNProgram program, int pc, Object[] args) {
+        RPNOperation op = program.op(pc);
+        String name = program.name(pc);
+        if (op instanceof ElementwiseOp) {
+            boolean[] signalArgs = new boolean[args.length];
+            for (int i = 0; i < args.length; i++) {
+                signalArgs[i] = args[i] == STREAM;
+                if (!signalArgs[i] && !(args[i] instanceof Number)) {
+                    throw badArguments(name);
+                }
+            }
+            ElementwiseOp e = (ElementwiseOp) op;
+            if (!e.fusable(signalArgs)) {
+                throw badArguments(name);
+            }
+            LengthMode mode = program.mode(pc) != null ? program.mode(pc) : LengthMode.REQUIRE_EQUAL;
+            return new ElementwiseStage(e, args, e.lengthMode(mode));
+        }
+        if (args[0] != STREAM) {
+            throw badArguments(name);
+        }
+        for (int i = 1; i < args.length; i++) {
+            if (args[i] == STREAM) {
+                throw badArguments(name);
+            }
+        }
+        if (op instanceof ScaleOp) {
+            double factor = number(args[1], name);
+            boolean divide = args[2] instanceof Boolean
+                ? (Boolean) args[2] : number(args[2], name) != 0.0;
+            return new FilterStage(new Scale(factor, divide));
+        }
+        if (op instanceof MovingAverageOp) {
+            int window = (int) number(args[1], name);
+            if (window < 1) {
+                throw new IllegalArgumentException("Window must be >= 1, was " + window);
+            }
+            return new FilterStage(new MovingAverage(window));
+        }
+        if (op instanceof LowPassFilterOp) {
+            return new FilterStage(new StreamingLowPass(number(args[1], name)));
+        }
+        if (op instanceof HighPassFilterOp) {
+            return new FilterStage(new StreamingHighPass(number(args[1], name)));
+        }
+        if (op instanceof DerivativeOp) {
+            return new FilterStage(new StreamingDerivative());
+        }
+        if (op instanceof IntegrateOp) {
+            return new FilterStage(new StreamingIntegrator());
+        }
+        throw unsupported(name);
+    }
+
+    private static double number(Object arg, String name) {
+        if (!(arg instanceof Number)) {
+            throw badArguments(name);
+        }
+        return ((Number) arg).doubleValue();
+    }
+
+    private static IllegalArgumentException unsupported(String name) {
+        return new IllegalArgumentException(
+            "Operación no soportada en modo streaming (necesita la señal completa): " + name);
+    }
+
+    private static IllegalArgumentException badArguments(String name) {
+        return new IllegalArgumentException(
+            "Argumentos no válidos en modo streaming para " + name);
+    }
+
+    /** Tokens the program was compiled from. */
+    public List<String> tokens() {
+        return tokens;
+    }
+
+    /** Stream names the program reads, in order of first use. */
+    public List<String> variables() {
+        return variables;
+    }
+
+    /**
+     * Samples an operand may hold while waiting for the others before
+     * {@link #process} fails; see {@link #setMaxPending(int)}.
+     */
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    /**
+     * Caps the samples buffered per operand of a multi-stream op while the
+     * other operands lag behind. Past the cap the call fails with an
+     * IllegalStateException instead of buffering without limit.
+     */
+    public void setMaxPending(int samples) {
+        if (samples < 1) {
+            throw new IllegalArgumentException("maxPending debe ser >= 1");
+        }
+        maxPending = samples;
+    }
+
+    /**
+     * Feeds the next chunk of every variable (chunks may differ in length)
+     * and returns the output samples that are ready, possibly none. Ended
+     * variables may be left out.
+     * @throws IllegalStateException if one operand gets more than
+     *         {@link #getMaxPending()} samples ahead of another
+     */
+    public double[] process(Map<String, double[]> chunks) {
+        return step(bind(chunks), ended);
+    }
+
+    /**
+     * Marks the stream of {@code variable} as over and returns the output
+     * samples that become ready: under "pad" the shorter operand counts as
+     * zeros from now on, so the other one no longer waits for it.
+     * @throws IllegalArgumentException if the operands' lengths can no
+     *         longer line up as the batch expression requires
+     */
+    public double[] end(String variable) {
+        int slot = variables.indexOf(variable);
+        if (slot < 0) {
+            throw new IllegalArgumentException("Token desconocido en RPNParser: " + variable);
+        }
+        ended[slot] = true;
+        return step(none(), ended);
+    }
+
+    /**
+     * Feeds the last chunks, returns the remaining output and resets the
+     * program for a new stream.
+     * @throws IllegalArgumentException if the streams' lengths do not line
+     *         up as the batch expression requires
+     */
+    public double[] finish(Map<String, double[]> chunks) {
+        try {
+            double[][] bound = bind(chunks);
+            Arrays.fill(ended, true);
+            return step(bound, ended);
+        } finally {
+            reset();
+        }
+    }
+
+    /** {@link #finish(Map)} with no further input. */
+    public double[] finish() {
+        try {
+            Arrays.fill(ended, true);
+            return step(none(), ended);
+        } finally {
+            reset();
+        }
+    }
+
+    /** Drops all per-stream state; the next chunk starts a new stream. */
+    public void reset() {
+        Arrays.fill(ended, false);
+        for (Stage s : stages) {
+            if (s != null) {
+                s.reset();
+            }
+        }
+    }
+
+    /**
+     * Pulls one chunk from every source per step until all are exhausted
+     * (an exhausted source is {@link #end(String) ended}), passes every
+     * non-empty output chunk to the sink and finishes the stream.
+     *
+     * @return number of output samples
+     */
+    public long run(Map<String, ? extends Iterator<double[]>> sources, Consumer<double[]> sink) {
+        for (String name : variables) {
+            if (!sources.containsKey(name)) {
+                throw new IllegalArgumentException("Token desconocido en RPNParser: " + name);
+            }
+        }
+        long emitted = 0;
+        Map<String, double[]> chunks = new HashMap<>();
+        boolean more = true;
+        while (more) {
+            more = false;
+            for (int i = 0; i < ended.length; i++) {
+                Iterator<double[]> it = sources.get(variables.get(i));
+                boolean has = !ended[i] && it.hasNext();
+                chunks.put(variables.get(i), has ? it.next() : EMPTY);
+                ended[i] |= !has;
+                more |= has;
+            }
+            double[] out = more ? process(chunks) : finish();
+            if (out.length > 0) {
+                sink.accept(out);
+                emitted += out.length;
+            }
+        }
+        return emitted;
+    }
+
+    private double[][] bind(Map<String, double[]> chunks) {
+        double[][] bound = new double[variables.size()][];
+        for (int i = 0; i < bound.length; i++) {
+            bound[i] = chunks.get(variables.get(i));
+            if (bound[i] == null && ended[i]) {
+                bound[i] = EMPTY;
+            } else if (bound[i] == null) {
+                throw new IllegalArgumentException("Token desconocido en RPNParser: " + variables.get(i));
+            } else if (ended[i] && bound[i].length > 0) {
+                throw new IllegalStateException("El flujo " + variables.get(i) + " ya terminó");
+            }
+        }
+        return bound;
+    }
+
+    private double[][] none() {
+        double[][] none = new double[variables.size()][];
+        Arrays.fill(none, EMPTY);
+        return none;
+    }
+
+    /** Runs one chunk through the stages; done[v] tells whether variable v has ended. */
+    private double[] step(double[][] bound, boolean[] done) {
+        double[][] st = new double[maxDepth][];
+        // whether each stack entry's stream is over
+        boolean[] over = new boolean[maxDepth];
+        int sp = 0;
+        for (int i = 0; i < pushSlot.length; i++) {
+            if (pushSlot[i] >= 0) {
+                over[sp] = done[pushSlot[i]];
+                st[sp++] = bound[pushSlot[i]];
+            } else {
+                Stage s = stages[i];
+                sp -= s.inputs();
+                double[][] in = Arrays.copyOfRange(st, sp, sp + s.inputs());
+                boolean[] inOver = Arrays.copyOfRange(over, sp, sp + s.inputs());
+                boolean all = true;
+                for (boolean b : inOver) {
+                    all &= b;
+                }
+                st[sp] = s.process(in, inOver, maxPending);
+                over[sp++] = all;
+            }
+        }
+        return st[0];
+    }
+
+    @Override
+    public String toString() {
+        return String.join(" ", tokens);
+    }
+
+    /** A stateful op on one or more stream inputs; inputs are never modified. */
+    private interface Stage {
+        int inputs();
+
+        /**
+         * Processes the next chunks; over[k] is true once input k has
+         * ended, and when all have, whatever is pending is flushed.
+         */
+        double[] process(double[][] in, boolean[] over, int maxPending);
+
+        void reset();
+    }
+
+    private static final class FilterStage implements Stage {
+        private final StreamingFilter filter;
+
+        FilterStage(StreamingFilter filter) {
+            this.filter = filter;
+        }
+
+        @Override public int inputs() { return 1; }
+        @Override public double[] process(double[][] in, boolean[] over, int maxPending) { return filter.process(in[0]); }
+        @Override public void reset() { filter.reset(); }
+    }
+
+    /**
+     * Runs an ElementwiseOp over aligned stream inputs. Samples that arrive
+     * on one input before the others wait in a pending buffer, up to
+     * maxPending. Once an input has ended it can fall behind no more: under
+     * PAD_WITH_ZEROS it is padded with zeros as the others arrive, and
+     * otherwise any sample the others have beyond it is an error.
+     */
+    private static final class ElementwiseStage implements Stage {
+        private final ElementwiseOp op;
+        private final LengthMode mode;
+        /** Per op argument: the literal, or null for a stream input. */
+        private final Double[] constants;
+        private final double[][] broadcast;
+        private final int streams;
+        private final double[][] pending;
+        private final int[] pendingLength;
+        private long position;
+
+        ElementwiseStage(ElementwiseOp op, Object[] args, LengthMode mode) {
+            this.op = op;
+            this.mode = mode;
+            this.constants = new Double[args.length];
+            this.broadcast = new double[args.length][];
+            int n = 0;
+            for (int i = 0; i < args.length; i++) {
+                if (args[i] == STREAM) {
+                    n++;
+                } else {
+                    constants[i] = ((Number) args[i]).doubleValue();
+                    broadcast[i] = EMPTY;
+                }
+            }
+            this.streams = n;
+            this.pending = new double[n][];
+            this.pendingLength = new int[n];
+            Arrays.fill(pending, EMPTY);
+        }
+
+        @Override
+        public int inputs() {
+            return streams;
+        }
+
+        @Override
+        public double[] process(double[][] in, boolean[] over, int maxPending) {
+            if (streams == 1) {
+                // nada que alinear: se aplica directamente sobre el bloque
+                return apply(in, in[0].length);
+            }
+            // listas: lo que tienen todas las entradas que siguen abiertas
+            int ready = Integer.MAX_VALUE, longest = 0;
+            for (int k = 0; k < streams; k++) {
+                append(k, in[k]);
+                if (!over[k]) {
+                    ready = Math.min(ready, pendingLength[k]);
+                }
+                longest = Math.max(longest, pendingLength[k]);
+            }
+            if (ready == Integer.MAX_VALUE) {
+                // todas terminaron: se vacía lo pendiente
+                ready = longest;
+            }
+            for (int k = 0; k < streams; k++) {
+                if (over[k] && pendingLength[k] < ready) {
+                    if (mode != LengthMode.PAD_WITH_ZEROS) {
+                        throw new IllegalArgumentException("Longitudes distintas entre señales");
+                    }
+                    // relleno con ceros de la entrada que ya terminó
+                    ensure(k, ready);
+                    Arrays.fill(pending[k], pendingLength[k], ready, 0.0);
+                    pendingLength[k] = ready;
+                }
+            }
+            double[] out = drain(ready);
+            for (int k = 0; k < streams; k++) {
+                if (pendingLength[k] > maxPending) {
+                    throw new IllegalStateException("Una entrada de " + op.getName()
+                        + " lleva más de " + maxPending + " muestras de adelanto sobre las demás;"
+                        + " trocee las entradas a la par o cierre con end() la que terminó");
+                }
+            }
+            return out;
+        }
+
+        @Override
+        public void reset() {
+            Arrays.fill(pending, EMPTY);
+            Arrays.fill(pendingLength, 0);
+            position = 0;
+        }
+
+        /** Emits the first n pending samples of every input. */
+        private double[] drain(int n) {
+            double[] out = apply(pending, n);
+            for (int k = 0; k < streams; k++) {
+                int rest = pendingLength[k] - n;
+                if (rest > 0) {
+                    System.arraycopy(pending[k], n, pending[k], 0, rest);
+                }
+                pendingLength[k] = rest;
+            }
+            return out;
+        }
+
+        /** out[i] = op(args...)[i] for i &lt; n, streams taken in order from in. */
+        private double[] apply(double[][] in, int n) {
+            double[][] args = new double[constants.length][];
+            int k = 0;
+            for (int i = 0; i < args.length; i++) {
+                if (constants[i] == null) {
+                    args[i] = in[k++];
+                } else {
+                    if (broadcast[i].length < n) {
+                        broadcast[i] = new double[n];
+                        Arrays.fill(broadcast[i], constants[i]);
+                    }
+                    args[i] = broadcast[i];
+                }
+            }
+            double[] out = new double[n];
+            if (n > 0) {
+                op.applyBlock(args, out, position, n);
+            }
+            position += n;
+            return out;
+        }
+
+        private void append(int k, double[] chunk) {
+            ensure(k, pendingLength[k] + chunk.length);
+            System.arraycopy(chunk, 0, pending[k], pendingLength[k], chunk.length);
+            pendingLength[k] += chunk.length;
+        }
+
+        private void ensure(int k, int capacity) {
+            if (pending[k].length < capacity) {
+                pending[k] = Arrays.copyOf(pending[k], Math.max(capacity, 2 * pending[k].length));
+            }
+        }
+    }
+
+    /** {@link ScaleOp} on a chunk: stateless. */
+    private static final class Scale implements StreamingFilter {
+        private final double factor;
+        private final boolean divide;
+
+        Scale(double factor, boolean divide) {
+            this.factor = factor;
+            this.divide = divide;
+        }
+
+        @Override
+        public double[] process(double[] chunk) {
+            return SignalProcessor.scale(chunk, factor, divide);
+        }
+
+        @Override
+        public void reset() {
+        }
+    }
+
+    /**
+     * {@link MovingAverageOp} semantics: the first window-1 samples pass
+     * through, the rest come from a {@link StreamingMovingAverage}, with the
+     * same running sum as the batch op.
+     */
+    private static final class MovingAverage implements StreamingFilter {
+        private final int window;
+        private final StreamingMovingAverage average;
+        private long seen;
+
+        MovingAverage(int window) {
+            this.window = window;
+            this.average = new StreamingMovingAverage(window);
+        }
+
+        @Override
+        public double[] process(double[] chunk) {
+            int through = (int) Math.min(chunk.length, Math.max(0, window - 1 - seen));
+            double[] averaged = average.process(chunk);
+            seen += chunk.length;
+            if (through == 0) {
+                return averaged;
+            }
+            double[] out = new double[through + averaged.length];
+            System.arraycopy(chunk, 0, out, 0, through);
+            System.arraycopy(averaged, 0, out, through, averaged.length);
+            return out;
+        }
+
+        @Override
+        public void reset() {
+            average.reset();
+            seen = 0;
+        }
+    }
+}
@@ -1,13 +1,15 @@
 package com.merlab.signals.rpn;
 
+import java.lang.invoke.MethodHandle;
 import java.util.List;
 
 import com.merlab.signals.core.Signal;
 import com.merlab.signals.core.SignalProcessor;
 import com.merlab.signals.core.SignalProcessor.LengthMode;
+import com.merlab.signals.simd.Kernels;
 
 /** Binary RPN op that subtracts B from A */
-public class SubtractOp implements RPNOperation {
+public class SubtractOp implements ElementwiseOp {
 
     @Override public int arity() { return 2; }
 
@@ -21,6 +23,21 @@ public class SubtractOp implements RPNOperation {
         return new Signal(diff);
     }
     
+    @Override
+    public boolean fusable(boolean[] signalArgs) {
+        return signalArgs[0] && signalArgs[1];
+    }
+
+    @Override
+    public void applyBlock(double[][] args, double[] out, long start, int len) {
+        Kernels.subtract(args[0], args[1], out, len);
+    }
+
+    @Override
+    public MethodHandle sampleHandle(boolean[] signalArgs) {
+        return RPNKernel.SUBTRACT;
+    }
+
     // SubtractOp.java
     @Override public String getName() { return "-"; }
     @Override public String getDescription() { return "Subtracts two signals element-wise."; }
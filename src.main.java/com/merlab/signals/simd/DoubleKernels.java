@@ -0,0 +1,56 @@
+package com.merlab.signals.simd;
+
+/**
+ * Núcleos numéricos sobre los primeros {@code n} elementos de arrays
+ * {@code double[]}. Las operaciones elemento a elemento admiten que
+ * {@code out} sea uno de los operandos (cálculo en sitio) y dan el mismo
+ * resultado, bit a bit, en todas las implementaciones. Las reducciones
+ * (sumas, productos escalares) pueden diferir en el redondeo porque el
+ * orden de suma depende del número de carriles.
+ *
+ * @see Kernels
+ */
+public interface DoubleKernels {
+
+    /** Nombre de la implementación (p. ej. "scalar" o "vector-256") */
+    String name();
+
+    /** out[i] = a[i] + b[i] */
+    void add(double[] a, double[] b, double[] out, int n);
+
+    /** out[i] = a[i] - b[i] */
+    void subtract(double[] a, double[] b, double[] out, int n);
+
+    /** out[i] = a[i] * b[i] */
+    void multiply(double[] a, double[] b, double[] out, int n);
+
+    /** out[i] = a[i] * factor */
+    void scale(double[] a, double factor, double[] out, int n);
+
+    /** out[i] = ((a[i] - offset) / range) * factor */
+    void normalize(double[] a, double offset, double range, double factor, double[] out, int n);
+
+    /** out[i] = a[i] &lt; lo ? lo : a[i] &gt; hi ? hi : a[i] (NaN y -0.0 se conservan) */
+    void clamp(double[] a, double lo, double hi, double[] out, int n);
+
+    /** Mínimo de a[0..n) con la semántica del bucle {@code if (a[i] < min)} (n ≥ 1) */
+    double min(double[] a, int n);
+
+    /** Máximo de a[0..n) con la semántica del bucle {@code if (a[i] > max)} (n ≥ 1) */
+    double max(double[] a, int n);
+
+    /** Σ a[i] */
+    double sum(double[] a, int n);
+
+    /** Σ a[i]·b[i] */
+    double dot(double[] a, double[] b, int n);
+
+    /** Σ (a[i] - b[i])² */
+    double sumSquaredDiff(double[] a, double[] b, int n);
+
+    /** Σ |a[i] - b[i]| */
+    double sumAbsDiff(double[] a, double[] b, int n);
+
+    /** max |a[i] - b[i]| (0 si n = 0) */
+    double maxAbsDiff(double[] a, double[] b, int n);
+}
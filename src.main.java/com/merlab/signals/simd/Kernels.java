@@ -0,0 +1,103 @@
+package com.merlab.signals.simd;
+
+/**
+ * Punto de acceso a los núcleos numéricos vectorizados.
+ * <p>
+ * Al cargar la clase se elige una implementación:
+ * <ul>
+ *   <li>Vector API ({@code jdk.incubator.vector}) si el módulo está presente
+ *       en tiempo de ejecución ({@code --add-modules jdk.incubator.vector})
+ *       y la CPU ofrece vectores de al menos dos doubles;</li>
+ *   <li>si no, la implementación escalar.</li>
+ * </ul>
+ * La propiedad de sistema {@code merlab.simd=false} fuerza la escalar.
+ * Los métodos estáticos delegan en una constante, de modo que el JIT los
+ * resuelve sin coste de despacho.
+ */
+public final class Kernels {
+
+    private static final DoubleKernels IMPL = load();
+
+    private Kernels() {
+    }
+
+    private static DoubleKernels load() {
+        if (!Boolean.parseBoolean(System.getProperty("merlab.simd", "true"))) {
+            return ScalarKernels.INSTANCE;
+        }
+        try {
+            Class<?> c = Class.forName("com.merlab.signals.simd.VectorApiKernels");
+            return (DoubleKernels) c.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError | UnsupportedOperationException e) {
+            // módulo jdk.incubator.vector no disponible, o sin vectores útiles
+            return ScalarKernels.INSTANCE;
+        }
+    }
+
+    /** Implementación activa */
+    public static DoubleKernels get() {
+        return IMPL;
+    }
+
+    /** Implementación escalar de referencia (siempre disponible) */
+    public static DoubleKernels scalar() {
+        return ScalarKernels.INSTANCE;
+    }
+
+    /** true si la implementación activa usa la Vector API */
+    public static boolean isVectorized() {
+        return IMPL != ScalarKernels.INSTANCE;
+    }
+
+    public static void add(double[] a, double[] b, double[] out, int n) {
+        IMPL.add(a, b, out, n);
+    }
+
+    public static void subtract(double[] a, double[] b, double[] out, int n) {
+        IMPL.subtract(a, b, out, n);
+    }
+
+    public static void multiply(double[] a, double[] b, double[] out, int n) {
+        IMPL.multiply(a, b, out, n);
+    }
+
+    public static void scale(double[] a, double factor, double[] out, int n) {
+        IMPL.scale(a, factor, out, n);
+    }
+
+    public static void normalize(double[] a, double offset, double range, double factor, double[] out, int n) {
+        IMPL.normalize(a, offset, range, factor, out, n);
+    }
+
+    public static void clamp(double[] a, double lo, double hi, double[] out, int n) {
+        IMPL.clamp(a, lo, hi, out, n);
+    }
+
+    public static double min(double[] a, int n) {
+        return IMPL.min(a, n);
+    }
+
+    public static double max(double[] a, int n) {
+        return IMPL.max(a, n);
+    }
+
+    public static double sum(double[] a, int n) {
+        return IMPL.sum(a, n);
+    }
+
+    public static double dot(double[] a, double[] b, int n) {
+        return IMPL.dot(a, b, n);
+    }
+
+    public static double sumSquaredDiff(double[] a, double[] b, int n) {
+        return IMPL.sumSquaredDiff(a, b, n);
+    }
+
+    public static double sumAbsDiff(double[] a, double[] b, int n) {
+        return IMPL.sumAbsDiff(a, b, n);
+    }
+
+    public static double maxAbsDiff(double[] a, double[] b, int n) {
+        return IMPL.maxAbsDiff(a, b, n);
+    }
+}
@@ -0,0 +1,157 @@
+package com.merlab.signals.simd;
+
+/**
+ * Implementación escalar de referencia. Las reducciones usan cuatro
+ * acumuladores independientes para aprovechar el paralelismo a nivel de
+ * instrucción cuando no hay SIMD disponible.
+ */
+final class ScalarKernels implements DoubleKernels {
+
+    static final ScalarKernels INSTANCE = new ScalarKernels();
+
+    private ScalarKernels() {
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public void add(double[] a, double[] b, double[] out, int n) {
+        for (int i = 0; i < n; i++) {
+            out[i] = a[i] + b[i];
+        }
+    }
+
+    @Override
+    public void subtract(double[] a, double[] b, double[] out, int n) {
+        for (int i = 0; i < n; i++) {
+            out[i] = a[i] - b[i];
+        }
+    }
+
+    @Override
+    public void multiply(double[] a, double[] b, double[] out, int n) {
+        for (int i = 0; i < n; i++) {
+            out[i] = a[i] * b[i];
+        }
+    }
+
+    @Override
+    public void scale(double[] a, double factor, double[] out, int n) {
+        for (int i = 0; i < n; i++) {
+            out[i] = a[i] * factor;
+        }
+    }
+
+    @Override
+    public void normalize(double[] a, double offset, double range, double factor, double[] out, int n) {
+        for (int i = 0; i < n; i++) {
+            out[i] = ((a[i] - offset) / range) * factor;
+        }
+    }
+
+    @Override
+    public void clamp(double[] a, double lo, double hi, double[] out, int n) {
+        for (int i = 0; i < n; i++) {
+            double x = a[i];
+            out[i] = x < lo ? lo : x > hi ? hi : x;
+        }
+    }
+
+    @Override
+    public double min(double[] a, int n) {
+        double min = a[0];
+        for (int i = 1; i < n; i++) {
+            if (a[i] < min) min = a[i];
+        }
+        return min;
+    }
+
+    @Override
+    public double max(double[] a, int n) {
+        double max = a[0];
+        for (int i = 1; i < n; i++) {
+            if (a[i] > max) max = a[i];
+        }
+        return max;
+    }
+
+    @Override
+    public double sum(double[] a, int n) {
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (; i + 3 < n; i += 4) {
+            s0 += a[i];
+            s1 += a[i + 1];
+            s2 += a[i + 2];
+            s3 += a[i + 3];
+        }
+        for (; i < n; i++) {
+            s0 += a[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    @Override
+    public double dot(double[] a, double[] b, int n) {
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (; i + 3 < n; i += 4) {
+            s0 += a[i] * b[i];
+            s1 += a[i + 1] * b[i + 1];
+            s2 += a[i + 2] * b[i + 2];
+            s3 += a[i + 3] * b[i + 3];
+        }
+        for (; i < n; i++) {
+            s0 += a[i] * b[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    @Override
+    public double sumSquaredDiff(double[] a, double[] b, int n) {
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (; i + 3 < n; i += 4) {
+            double d0 = a[i] - b[i], d1 = a[i + 1] - b[i + 1];
+            double d2 = a[i + 2] - b[i + 2], d3 = a[i + 3] - b[i + 3];
+            s0 += d0 * d0;
+            s1 += d1 * d1;
+            s2 += d2 * d2;
+            s3 += d3 * d3;
+        }
+        for (; i < n; i++) {
+            double d = a[i] - b[i];
+            s0 += d * d;
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    @Override
+    public double sumAbsDiff(double[] a, double[] b, int n) {
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (; i + 3 < n; i += 4) {
+            s0 += Math.abs(a[i] - b[i]);
+            s1 += Math.abs(a[i + 1] - b[i + 1]);
+            s2 += Math.abs(a[i + 2] - b[i + 2]);
+            s3 += Math.abs(a[i + 3] - b[i + 3]);
+        }
+        for (; i < n; i++) {
+            s0 += Math.abs(a[i] - b[i]);
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    @Override
+    public double maxAbsDiff(double[] a, double[] b, int n) {
+        double max = 0.0;
+        for (int i = 0; i < n; i++) {
+            double d = Math.abs(a[i] - b[i]);
+            if (d > max) max = d;
+        }
+        return max;
+    }
+}
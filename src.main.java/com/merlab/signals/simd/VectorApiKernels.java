@@ -0,0 +1,213 @@
+package com.merlab.signals.simd;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementación con la Vector API ({@code jdk.incubator.vector}) usando la
+ * especie preferida de la CPU (256 bits con AVX2, 512 con AVX-512). El resto
+ * que no llena un vector se procesa con el bucle escalar.
+ * <p>
+ * Solo se carga por reflexión desde {@link Kernels}: si el módulo incubador
+ * no está presente (falta {@code --add-modules jdk.incubator.vector}) la
+ * carga falla y se usa {@link ScalarKernels}.
+ */
+final class VectorApiKernels implements DoubleKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    VectorApiKernels() {
+        if (SPECIES.length() < 2) {
+            throw new UnsupportedOperationException("Sin vectores de al menos dos doubles");
+        }
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + SPECIES.vectorBitSize();
+    }
+
+    @Override
+    public void add(double[] a, double[] b, double[] out, int n) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, i).add(DoubleVector.fromArray(SPECIES, b, i)).intoArray(out, i);
+        }
+        for (; i < n; i++) {
+            out[i] = a[i] + b[i];
+        }
+    }
+
+    @Override
+    public void subtract(double[] a, double[] b, double[] out, int n) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, i).sub(DoubleVector.fromArray(SPECIES, b, i)).intoArray(out, i);
+        }
+        for (; i < n; i++) {
+            out[i] = a[i] - b[i];
+        }
+    }
+
+    @Override
+    public void multiply(double[] a, double[] b, double[] out, int n) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, i).mul(DoubleVector.fromArray(SPECIES, b, i)).intoArray(out, i);
+        }
+        for (; i < n; i++) {
+            out[i] = a[i] * b[i];
+        }
+    }
+
+    @Override
+    public void scale(double[] a, double factor, double[] out, int n) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, i).mul(factor).intoArray(out, i);
+        }
+        for (; i < n; i++) {
+            out[i] = a[i] * factor;
+        }
+    }
+
+    @Override
+    public void normalize(double[] a, double offset, double range, double factor, double[] out, int n) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, a, i).sub(offset).div(range).mul(factor).intoArray(out, i);
+        }
+        for (; i < n; i++) {
+            out[i] = ((a[i] - offset) / range) * factor;
+        }
+    }
+
+    @Override
+    public void clamp(double[] a, double lo, double hi, double[] out, int n) {
+        int i = 0;
+        // blend por comparación (no min/max) para conservar NaN y -0.0 igual que el bucle escalar
+        for (int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+            DoubleVector v = DoubleVector.fromArray(SPECIES, a, i);
+            v = v.blend(lo, v.compare(VectorOperators.LT, lo));
+            v = v.blend(hi, v.compare(VectorOperators.GT, hi));
+            v.intoArray(out, i);
+        }
+        for (; i < n; i++) {
+            double x = a[i];
+            out[i] = x < lo ? lo : x > hi ? hi : x;
+        }
+    }
+
+    @Override
+    public double min(double[] a, int n) {
+        return extreme(a, n, VectorOperators.LT);
+    }
+
+    @Override
+    public double max(double[] a, int n) {
+        return extreme(a, n, VectorOperators.GT);
+    }
+
+    /** Mínimo (LT) o máximo (GT): cada carril solo se actualiza si la comparación es cierta. */
+    private static double extreme(double[] a, int n, VectorOperators.Comparison better) {
+        double best = a[0];
+        int i = 0;
+        int bound = SPECIES.loopBound(n);
+        if (bound > 0) {
+            DoubleVector acc = DoubleVector.broadcast(SPECIES, best);
+            for (; i < bound; i += SPECIES.length()) {
+                DoubleVector v = DoubleVector.fromArray(SPECIES, a, i);
+                VectorMask<Double> m = v.compare(better, acc);
+                acc = acc.blend(v, m);
+            }
+            for (double lane : acc.toArray()) {
+                if (better == VectorOperators.LT ? lane < best : lane > best) best = lane;
+            }
+        }
+        for (; i < n; i++) {
+            if (better == VectorOperators.LT ? a[i] < best : a[i] > best) best = a[i];
+        }
+        return best;
+    }
+
+    @Override
+    public double sum(double[] a, int n) {
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+            acc = acc.add(DoubleVector.fromArray(SPECIES, a, i));
+        }
+        double s = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) {
+            s += a[i];
+        }
+        return s;
+    }
+
+    @Override
+    public double dot(double[] a, double[] b, int n) {
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+            acc = acc.add(DoubleVector.fromArray(SPECIES, a, i).mul(DoubleVector.fromArray(SPECIES, b, i)));
+        }
+        double s = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) {
+            s += a[i] * b[i];
+        }
+        return s;
+    }
+
+    @Override
+    public double sumSquaredDiff(double[] a, double[] b, int n) {
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+            DoubleVector d = DoubleVector.fromArray(SPECIES, a, i).sub(DoubleVector.fromArray(SPECIES, b, i));
+            acc = acc.add(d.mul(d));
+        }
+        double s = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) {
+            double d = a[i] - b[i];
+            s += d * d;
+        }
+        return s;
+    }
+
+    @Override
+    public double sumAbsDiff(double[] a, double[] b, int n) {
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+            DoubleVector d = DoubleVector.fromArray(SPECIES, a, i).sub(DoubleVector.fromArray(SPECIES, b, i));
+            acc = acc.add(d.lanewise(VectorOperators.ABS));
+        }
+        double s = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < n; i++) {
+            s += Math.abs(a[i] - b[i]);
+        }
+        return s;
+    }
+
+    @Override
+    public double maxAbsDiff(double[] a, double[] b, int n) {
+        DoubleVector acc = DoubleVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+            DoubleVector d = DoubleVector.fromArray(SPECIES, a, i).sub(DoubleVector.fromArray(SPECIES, b, i))
+                                         .lanewise(VectorOperators.ABS);
+            acc = acc.blend(d, d.compare(VectorOperators.GT, acc));
+        }
+        double max = 0.0;
+        for (double lane : acc.toArray()) {
+            if (lane > max) max = lane;
+        }
+        for (; i < n; i++) {
+            double d = Math.abs(a[i] - b[i]);
+            if (d > max) max = d;
+        }
+        return max;
+    }
+}
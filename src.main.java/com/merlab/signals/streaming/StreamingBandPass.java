@@ -0,0 +1,44 @@
+package com.merlab.signals.streaming;
+
+/**
+ * Pasabanda por bloques: pasa-altos (alphaHP) seguido de pasa-bajos (alphaLP).
+ * Equivale a {@code SignalProcessor.bandPassFilter}.
+ */
+public class StreamingBandPass implements StreamingFilter {
+    private final StreamingHighPass highPass;
+    private final StreamingLowPass lowPass;
+
+    /**
+     * @param alphaHP coeficiente del pasa-altos en [0,1]
+     * @param alphaLP coeficiente del pasa-bajos en [0,1]
+     */
+    public StreamingBandPass(double alphaHP, double alphaLP) {
+        this.highPass = new StreamingHighPass(alphaHP);
+        this.lowPass = new StreamingLowPass(alphaLP);
+    }
+
+    /** Procesa una muestra y devuelve la salida filtrada. */
+    public double process(double x) {
+        return lowPass.process(highPass.process(x));
+    }
+
+    @Override
+    public double[] process(double[] chunk) {
+        return process(chunk, new double[chunk.length]);
+    }
+
+    /**
+     * Procesa un bloque sobre un buffer de salida de la misma longitud
+     * ({@code out} puede ser {@code chunk}).
+     */
+    public double[] process(double[] chunk, double[] out) {
+        highPass.process(chunk, out);
+        return lowPass.process(out, out);
+    }
+
+    @Override
+    public void reset() {
+        highPass.reset();
+        lowPass.reset();
+    }
+}
@@ -0,0 +1,57 @@
+package com.merlab.signals.streaming;
+
+/**
+ * Derivada por diferencias por bloques: y = (x[i] - x[i-dt]) / dt para
+ * i >= dt. Como {@code SignalProcessor.derivative(x, dt)}, la salida total
+ * tiene dt muestras menos que la entrada; solo se guardan las dt últimas.
+ */
+public class StreamingDerivative implements StreamingFilter {
+    private final int dt;
+    private final double[] ring;
+    private int pos;
+    private long seen;
+
+    /** Primera diferencia (dt = 1). */
+    public StreamingDerivative() {
+        this(1);
+    }
+
+    /**
+     * @param dt salto de muestras para la diferencia (>= 1)
+     */
+    public StreamingDerivative(int dt) {
+        if (dt < 1) {
+            throw new IllegalArgumentException("dt debe ser >= 1");
+        }
+        this.dt = dt;
+        this.ring = new double[dt];
+    }
+
+    @Override
+    public double[] process(double[] chunk) {
+        long before = Math.max(0, seen - dt);
+        long after = Math.max(0, seen + chunk.length - dt);
+        double[] out = new double[(int) (after - before)];
+        int o = 0;
+        for (double x : chunk) {
+            if (seen >= dt) {
+                // ring[pos] es x[i - dt]
+                out[o++] = (x - ring[pos]) / dt;
+            }
+            ring[pos] = x;
+            pos = (pos + 1 == dt) ? 0 : pos + 1;
+            seen++;
+        }
+        return out;
+    }
+
+    @Override
+    public void reset() {
+        pos = 0;
+        seen = 0;
+    }
+
+    public int getDt() {
+        return dt;
+    }
+}
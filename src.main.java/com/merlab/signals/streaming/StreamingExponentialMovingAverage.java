@@ -0,0 +1,22 @@
+package com.merlab.signals.streaming;
+
+/**
+ * EMA por bloques: ema[n] = α·x[n] + (1-α)·ema[n-1], con ema[0] = x[0].
+ * Equivale a {@code StatisticalProcessor.exponentialMovingAverage}.
+ */
+public class StreamingExponentialMovingAverage extends StreamingLowPass {
+
+    /**
+     * @param alpha factor de suavizado en (0, 1]
+     */
+    public StreamingExponentialMovingAverage(double alpha) {
+        super(checkAlpha(alpha));
+    }
+
+    private static double checkAlpha(double alpha) {
+        if (alpha <= 0.0 || alpha > 1.0) {
+            throw new IllegalArgumentException("Alpha debe estar en (0, 1]");
+        }
+        return alpha;
+    }
+}
@@ -0,0 +1,35 @@
+package com.merlab.signals.streaming;
+
+import com.merlab.signals.core.Signal;
+
+/**
+ * Filtro con estado que procesa una señal por bloques (chunks).
+ * El estado se conserva entre llamadas, de modo que procesar una señal
+ * troceada en bloques de cualquier tamaño produce exactamente las mismas
+ * muestras que la versión por lotes de {@code SignalProcessor} /
+ * {@code StatisticalProcessor}, con memoria constante.
+ */
+public interface StreamingFilter {
+
+    /**
+     * Procesa el siguiente bloque de muestras.
+     *
+     * @param chunk muestras de entrada (no se modifican)
+     * @return muestras de salida producidas por este bloque
+     *         (puede tener menos muestras que la entrada)
+     */
+    double[] process(double[] chunk);
+
+    /**
+     * Procesa el siguiente bloque de una señal.
+     *
+     * @param chunk bloque de entrada
+     * @return nueva señal con las muestras de salida de este bloque
+     */
+    default Signal process(Signal chunk) {
+        return Signal.wrap(process(chunk.view()));
+    }
+
+    /** Descarta el estado acumulado; el siguiente bloque se trata como el inicio de la señal. */
+    void reset();
+}
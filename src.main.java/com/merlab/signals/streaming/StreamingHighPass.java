@@ -0,0 +1,63 @@
+package com.merlab.signals.streaming;
+
+/**
+ * Pasa-altos exponencial por bloques: y[n] = α·(y[n-1] + x[n] – x[n-1]),
+ * con y[0] = x[0]. Equivale a {@code SignalProcessor.highPassFilter}.
+ */
+public class StreamingHighPass implements StreamingFilter {
+    private final double alpha;
+    private double prevX;
+    private double prevY;
+    private boolean started;
+
+    /**
+     * @param alpha factor de filtro en [0,1]
+     */
+    public StreamingHighPass(double alpha) {
+        this.alpha = alpha;
+    }
+
+    /** Procesa una muestra y devuelve la salida filtrada. */
+    public double process(double x) {
+        if (!started) {
+            started = true; // conservamos el primer valor sin filtrar
+            prevX = x;
+            prevY = x;
+        } else {
+            prevY = alpha * (prevY + x - prevX);
+            prevX = x;
+        }
+        return prevY;
+    }
+
+    @Override
+    public double[] process(double[] chunk) {
+        return process(chunk, new double[chunk.length]);
+    }
+
+    /**
+     * Procesa un bloque sobre un buffer de salida de la misma longitud
+     * ({@code out} puede ser {@code chunk}).
+     */
+    public double[] process(double[] chunk, double[] out) {
+        if (out.length != chunk.length) {
+            throw new IllegalArgumentException(
+                "Buffer de salida de longitud " + out.length + ", se esperaba " + chunk.length);
+        }
+        for (int i = 0; i < chunk.length; i++) {
+            out[i] = process(chunk[i]);
+        }
+        return out;
+    }
+
+    @Override
+    public void reset() {
+        started = false;
+        prevX = 0.0;
+        prevY = 0.0;
+    }
+
+    public double getAlpha() {
+        return alpha;
+    }
+}
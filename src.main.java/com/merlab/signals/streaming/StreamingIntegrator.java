@@ -0,0 +1,24 @@
+package com.merlab.signals.streaming;
+
+/**
+ * Suma acumulada por bloques. Equivale a {@code SignalProcessor.integrate}:
+ * la suma se arrastra de un bloque al siguiente.
+ */
+public class StreamingIntegrator implements StreamingFilter {
+    private double sum;
+
+    @Override
+    public double[] process(double[] chunk) {
+        double[] out = new double[chunk.length];
+        for (int i = 0; i < chunk.length; i++) {
+            sum += chunk[i];
+            out[i] = sum;
+        }
+        return out;
+    }
+
+    @Override
+    public void reset() {
+        sum = 0.0;
+    }
+}
@@ -0,0 +1,59 @@
+package com.merlab.signals.streaming;
+
+/**
+ * Pasa-bajos exponencial por bloques: y[n] = α·x[n] + (1-α)·y[n-1],
+ * con y[0] = x[0]. Equivale a {@code SignalProcessor.lowPassFilter}.
+ */
+public class StreamingLowPass implements StreamingFilter {
+    private final double alpha;
+    private double prev;
+    private boolean started;
+
+    /**
+     * @param alpha factor de filtro en [0,1]
+     */
+    public StreamingLowPass(double alpha) {
+        this.alpha = alpha;
+    }
+
+    /** Procesa una muestra y devuelve la salida filtrada. */
+    public double process(double x) {
+        if (!started) {
+            started = true; // el primer valor no cambia
+            prev = x;
+        } else {
+            prev = alpha * x + (1 - alpha) * prev;
+        }
+        return prev;
+    }
+
+    @Override
+    public double[] process(double[] chunk) {
+        return process(chunk, new double[chunk.length]);
+    }
+
+    /**
+     * Procesa un bloque sobre un buffer de salida de la misma longitud
+     * ({@code out} puede ser {@code chunk}).
+     */
+    public double[] process(double[] chunk, double[] out) {
+        if (out.length != chunk.length) {
+            throw new IllegalArgumentException(
+                "Buffer de salida de longitud " + out.length + ", se esperaba " + chunk.length);
+        }
+        for (int i = 0; i < chunk.length; i++) {
+            out[i] = process(chunk[i]);
+        }
+        return out;
+    }
+
+    @Override
+    public void reset() {
+        started = false;
+        prev = 0.0;
+    }
+
+    public double getAlpha() {
+        return alpha;
+    }
+}
@@ -0,0 +1,60 @@
+package com.merlab.signals.streaming;
+
+/**
+ * Media móvil simple por bloques, con un buffer circular de {@code window}
+ * muestras. Emite una salida por cada ventana completa, igual que
+ * {@code SignalProcessor.movingAverage} / {@code StatisticalProcessor.movingAverage}
+ * (n - window + 1 salidas en total), usando la misma suma acumulada.
+ */
+public class StreamingMovingAverage implements StreamingFilter {
+    private final int window;
+    private final double[] ring;
+    private int pos;
+    private long seen;
+    private double sum;
+
+    /**
+     * @param window tamaño de la ventana (>= 1)
+     */
+    public StreamingMovingAverage(int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("Window inválida");
+        }
+        this.window = window;
+        this.ring = new double[window];
+    }
+
+    @Override
+    public double[] process(double[] chunk) {
+        long before = Math.max(0, seen - (window - 1));
+        long after = Math.max(0, seen + chunk.length - (window - 1));
+        double[] out = new double[(int) (after - before)];
+        int o = 0;
+        for (double x : chunk) {
+            if (seen < window) {
+                // llenando la primera ventana
+                sum += x;
+            } else {
+                sum += x - ring[pos];
+            }
+            ring[pos] = x;
+            pos = (pos + 1 == window) ? 0 : pos + 1;
+            seen++;
+            if (seen >= window) {
+                out[o++] = sum / window;
+            }
+        }
+        return out;
+    }
+
+    @Override
+    public void reset() {
+        pos = 0;
+        seen = 0;
+        sum = 0.0;
+    }
+
+    public int getWindow() {
+        return window;
+    }
+}
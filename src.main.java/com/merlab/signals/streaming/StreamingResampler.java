@@ -0,0 +1,71 @@
+package com.merlab.signals.streaming;
+
+import com.merlab.signals.core.PolyphaseResampler;
+
+/**
+ * Remuestreo polifásico L/M por bloques. Cada bloque emite las salidas
+ * cuya ventana ya está completa; como el filtro por defecto es de fase
+ * lineal centrado, las últimas salidas necesitan muestras "futuras" y se
+ * obtienen al cerrar el flujo con {@link #flush()}. La concatenación de
+ * todas las salidas (incluido flush) es idéntica bit a bit a
+ * {@link PolyphaseResampler#resample(double[])} sobre la señal completa.
+ * Solo se conservan ⌈taps / L⌉ - 1 muestras de historia.
+ */
+public class StreamingResampler implements StreamingFilter {
+    private final PolyphaseResampler resampler;
+    private double[] history = new double[0];
+    private long seen;
+    private long next;
+
+    /** Remuestreo L/M con el filtro por defecto. */
+    public StreamingResampler(int up, int down) {
+        this(new PolyphaseResampler(up, down));
+    }
+
+    public StreamingResampler(PolyphaseResampler resampler) {
+        this.resampler = resampler;
+    }
+
+    @Override
+    public double[] process(double[] chunk) {
+        double[] buf = new double[history.length + chunk.length];
+        System.arraycopy(history, 0, buf, 0, history.length);
+        System.arraycopy(chunk, 0, buf, history.length, chunk.length);
+        long base = seen - history.length;
+        long end = seen + chunk.length;
+        // salidas cuya muestra más reciente ya ha llegado
+        long last = next;
+        while (resampler.lastInputFor(last) < end) {
+            last++;
+        }
+        double[] out = emit(buf, base, end, last);
+        int keep = Math.min(buf.length, resampler.getPhaseLength() - 1);
+        history = new double[keep];
+        System.arraycopy(buf, buf.length - keep, history, 0, keep);
+        seen = end;
+        return out;
+    }
+
+    /**
+     * Cierra el flujo: emite las salidas pendientes tratando como cero las
+     * muestras posteriores a la última recibida.
+     */
+    public double[] flush() {
+        return emit(history, seen - history.length, seen, resampler.outputLength(seen));
+    }
+
+    private double[] emit(double[] buf, long base, long end, long until) {
+        double[] out = new double[(int) Math.max(0, until - next)];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = resampler.outputAt(next++, buf, base, end);
+        }
+        return out;
+    }
+
+    @Override
+    public void reset() {
+        history = new double[0];
+        seen = 0;
+        next = 0;
+    }
+}
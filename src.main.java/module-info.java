@@ -23,11 +23,15 @@ module MerLabSignalStudio {
     requires javafx.controls;
     requires javafx.web;
     requires javafx.graphics;      // a veces necesario
+    // opcional: núcleos SIMD (com.merlab.signals.simd); sin el módulo se usa la versión escalar
+    requires static jdk.incubator.vector;
     opens com.merlab.signals.plot to javafx.graphics;
     // Si tus tests están bajo com.merlab.signals.test, ábrelo para reflexión:
     opens com.merlab.signals.test to org.junit.jupiter.api;
     //exports com.merlab.signals;	
     exports com.merlab.signals.core;
+    exports com.merlab.signals.streaming;
+    exports com.merlab.signals.simd;
     exports com.merlab.signals.rpn;
     exports com.merlab.signals.features;
     exports com.merlab.signals.nn.manager;
@@ -0,0 +1,32 @@
+package com.merlab.signals.rpn.test;
+
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.rpn.AutocorrelationOp;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AutocorrelationOpTest {
+
+    @Test
+    void testAutocorrelationSequence() {
+        Signal s = new Signal(Arrays.asList(1.0, 2.0, 3.0, 4.0));
+        Signal out = (Signal) new AutocorrelationOp().apply(List.of(s, 3.0));
+        assertArrayEquals(new double[] {1.0, 0.25, -0.30, -0.45}, out.toArray(), 1e-9);
+    }
+
+    @Test
+    void testLargeLagUsesSameNormalization() {
+        double[] x = new double[2000];
+        for (int i = 0; i < x.length; i++) x[i] = Math.sin(2 * Math.PI * i / 50.0);
+        Signal out = (Signal) new AutocorrelationOp().apply(List.of(new Signal(x), 500.0));
+        assertEquals(501, out.size());
+        assertEquals(1.0, out.get(0), 1e-12);
+        // periodo 50: máximo local en lag 50, mínimo en lag 25
+        assertTrue(out.get(50) > 0.9);
+        assertTrue(out.get(25) < -0.9);
+    }
+}
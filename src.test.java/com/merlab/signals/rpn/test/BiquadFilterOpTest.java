@@ -0,0 +1,44 @@
+package com.merlab.signals.rpn.test;
+
+import com.merlab.signals.core.SOSFilter;
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.core.SignalGenerator;
+import com.merlab.signals.rpn.ButterworthLowPassOp;
+import com.merlab.signals.rpn.ChebyshevBandPassOp;
+import com.merlab.signals.rpn.RPNParser;
+import com.merlab.signals.rpn.RPNStack;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BiquadFilterOpTest {
+
+    @Test
+    void testButterworthLowPassOp() {
+        Signal s = SignalGenerator.generateSineAll(256, 1.0, 5.0, 0.0, false);
+        Signal out = (Signal) new ButterworthLowPassOp().apply(List.of(s, 4.0, 0.1));
+        assertArrayEquals(SOSFilter.butterworthLowPass(4, 0.1).filter(s.toArray()), out.toArray(), 0.0);
+    }
+
+    @Test
+    void testChebyshevBandPassOpArity() {
+        ChebyshevBandPassOp op = new ChebyshevBandPassOp();
+        assertEquals(5, op.arity());
+        assertEquals("chebbpf", op.getName());
+    }
+
+    @Test
+    void testRegisteredInParser() {
+        RPNParser parser = new RPNParser();
+        Signal s = new Signal(new double[] {1, 0, 0, 0, 0, 0});
+        RPNStack stack = new RPNStack();
+        parser.parseAndExecute("sig 2 0.25 bwhpf sig 2 1 0.1 0.3 chebbpf", Map.of("sig", s), stack);
+        Signal bp = (Signal) stack.pop();
+        Signal hp = (Signal) stack.pop();
+        assertArrayEquals(SOSFilter.butterworthHighPass(2, 0.25).filter(s.toArray()), hp.toArray(), 0.0);
+        assertArrayEquals(SOSFilter.chebyshevBandPass(2, 1, 0.1, 0.3).filter(s.toArray()), bp.toArray(), 0.0);
+    }
+}
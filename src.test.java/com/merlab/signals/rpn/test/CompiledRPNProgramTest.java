@@ -0,0 +1,79 @@
+package com.merlab.signals.rpn.test;
+
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.rpn.AddOp;
+import com.merlab.signals.rpn.CompiledRPNProgram;
+import com.merlab.signals.rpn.MultiplyOp;
+import com.merlab.signals.rpn.NormalizeOp;
+import com.merlab.signals.rpn.RPNEngine;
+import com.merlab.signals.rpn.RPNStack;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledRPNProgramTest {
+
+    private RPNEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new RPNEngine();
+        engine.register("+", new AddOp());
+        engine.register("*", new MultiplyOp());
+        engine.register("norm", new NormalizeOp());
+    }
+
+    @Test
+    void testRunWithNewBindings() {
+        CompiledRPNProgram p = engine.compile(List.of("x", "y", "+", "0.5", "*", "x", "+"));
+        assertEquals(List.of("x", "y"), p.variables());
+        assertEquals(0, p.requiredDepth());
+        for (int k = 1; k <= 3; k++) {
+            Signal x = new Signal(new double[] {k, 2 * k});
+            Signal y = new Signal(new double[] {1, 1});
+            Signal out = (Signal) p.run(Map.of("x", x, "y", y));
+            assertArrayEquals(new double[] {(k + 1) * 0.5 + k, (2 * k + 1) * 0.5 + 2 * k}, out.view());
+        }
+    }
+
+    @Test
+    void testPadPrefixFoldedIntoAdd() {
+        CompiledRPNProgram p = engine.compile(List.of("a", "b", "pad", "+"));
+        Signal out = (Signal) p.run(Map.of(
+            "a", new Signal(new double[] {1, 2, 3}), "b", new Signal(new double[] {1})));
+        assertArrayEquals(new double[] {2, 2, 3}, out.view());
+    }
+
+    @Test
+    void testConsumesValuesAlreadyOnStack() {
+        CompiledRPNProgram p = engine.compile(List.of("3", "*", "norm"));
+        assertEquals(1, p.requiredDepth());
+        RPNStack stack = new RPNStack();
+        stack.push(new Signal(new double[] {1, 2, 5}));
+        p.execute(Map.of(), stack);
+        assertEquals(1, stack.size());
+        assertArrayEquals(new double[] {0, 0.25, 1}, ((Signal) stack.peek()).view(), 1e-12);
+    }
+
+    @Test
+    void testArityCheckedBeforeRunning() {
+        CompiledRPNProgram p = engine.compile(List.of("x", "+"));
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+            () -> p.run(Map.of("x", new Signal(new double[] {1}))));
+        assertEquals("Not enough arguments for +: need 2", ex.getMessage());
+    }
+
+    @Test
+    void testUnboundVariableAndUnknownOp() {
+        CompiledRPNProgram p = engine.compile(List.of("x", "y", "+"));
+        assertThrows(IllegalArgumentException.class,
+            () -> p.run(Map.of("x", new Signal(new double[] {1}))));
+        assertThrows(IllegalArgumentException.class,
+            () -> new RPNEngine().compile(List.of("x", "x", "+")));
+    }
+}
@@ -52,12 +52,21 @@ class FFTTest {
     }
 
     @Test
-    void testNonPowerOfTwoThrows() {
-        // length=3 is not a power of two
+    void testNonPowerOfTwoLength() {
+        // length=3 is not a power of two: FFT of [1,2,3] = [6, -1.5+0.866i, -1.5-0.866i]
         Signal s = new Signal(Arrays.asList(1.0, 2.0, 3.0));
-        assertThrows(IllegalArgumentException.class, () ->
-            op.apply(List.of(s))
-        );
+
+        @SuppressWarnings("unchecked")
+        List<Complex> X = (List<Complex>) op.apply(List.of(s));
+
+        assertEquals(3, X.size());
+        double h = Math.sqrt(3) / 2;
+        assertEquals(6.0,  X.get(0).re, TOL);
+        assertEquals(0.0,  X.get(0).im, TOL);
+        assertEquals(-1.5, X.get(1).re, TOL);
+        assertEquals(h,    X.get(1).im, TOL);
+        assertEquals(-1.5, X.get(2).re, TOL);
+        assertEquals(-h,   X.get(2).im, TOL);
     }
 
     @Test
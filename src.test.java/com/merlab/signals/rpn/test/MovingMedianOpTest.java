@@ -0,0 +1,34 @@
+package com.merlab.signals.rpn.test;
+
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.rpn.MovingMaxOp;
+import com.merlab.signals.rpn.MovingMedianOp;
+import com.merlab.signals.rpn.MovingMinOp;
+import com.merlab.signals.rpn.MovingRangeOp;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovingMedianOpTest {
+
+    private final Signal spiky = new Signal(Arrays.asList(1.0, 1.0, 50.0, 1.0, 2.0, 2.0));
+
+    @Test
+    void testMovingMedianRemovesSpike() {
+        Signal out = (Signal) new MovingMedianOp().apply(List.of(spiky, 3.0));
+        assertEquals(Arrays.asList(1.0, 1.0, 2.0, 2.0), out.getValues());
+    }
+
+    @Test
+    void testMovingMinMaxRange() {
+        Signal min = (Signal) new MovingMinOp().apply(List.of(spiky, 3.0));
+        Signal max = (Signal) new MovingMaxOp().apply(List.of(spiky, 3.0));
+        Signal range = (Signal) new MovingRangeOp().apply(List.of(spiky, 3.0));
+        assertEquals(Arrays.asList(1.0, 1.0, 1.0, 1.0), min.getValues());
+        assertEquals(Arrays.asList(50.0, 50.0, 50.0, 2.0), max.getValues());
+        assertEquals(Arrays.asList(49.0, 49.0, 49.0, 1.0), range.getValues());
+    }
+}
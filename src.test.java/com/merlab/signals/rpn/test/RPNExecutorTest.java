@@ -0,0 +1,118 @@
+package com.merlab.signals.rpn.test;
+
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.rpn.RPNEngine;
+import com.merlab.signals.rpn.RPNExecutor;
+import com.merlab.signals.rpn.RPNOperation;
+import com.merlab.signals.rpn.RPNParser;
+import com.merlab.signals.rpn.RPNRegistry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RPNExecutorTest {
+
+    /** Op identidad que espera a que se abra el latch. */
+    private static RPNOperation waitOn(CountDownLatch latch) {
+        return new RPNOperation() {
+            @Override public int arity() { return 1; }
+            @Override public Object apply(List<Object> args) {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return args.get(0);
+            }
+            @Override public String getName() { return "wait"; }
+            @Override public String getDescription() { return "Blocks until released."; }
+        };
+    }
+
+    @Test
+    void testConcurrentEvaluationsUseOwnStacks() throws Exception {
+        try (RPNExecutor executor = new RPNExecutor(new RPNParser(), 4, 256, 0)) {
+            List<CompletableFuture<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                Signal x = new Signal(new double[] {i, i + 1});
+                futures.add(executor.submit("x x + 3 * norm x +", Map.of("x", x)));
+            }
+            for (int i = 0; i < 200; i++) {
+                Signal out = (Signal) futures.get(i).get(10, TimeUnit.SECONDS);
+                assertArrayEquals(new double[] {i, i + 2}, out.view(), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    void testSameSignalFromManyWorkers() throws Exception {
+        // construida con add(): sobra capacidad y view() no devuelve el array interno
+        Signal x = new Signal();
+        for (int i = 0; i < 1000; i++) {
+            x.add(Math.sin(i * 0.01));
+        }
+        String expression = "x x + 3 * norm x +";
+        double[] expected = ((Signal) new RPNParser().compile(expression).evaluate(Map.of("x", x))).toArray();
+        double[] before = x.toArray();
+
+        try (RPNExecutor executor = new RPNExecutor(new RPNParser(), 8, 512, 0)) {
+            List<CompletableFuture<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                futures.add(executor.submit(expression, Map.of("x", x)));
+            }
+            for (CompletableFuture<Object> f : futures) {
+                assertArrayEquals(expected, ((Signal) f.get(10, TimeUnit.SECONDS)).view(), 0.0);
+            }
+        }
+        assertArrayEquals(before, x.view(), 0.0);
+        assertNotSame(x.view(), x.view());
+    }
+
+    @Test
+    void testBoundedQueueRejects() {
+        CountDownLatch release = new CountDownLatch(1);
+        RPNParser parser = new RPNParser(
+            new RPNEngine(RPNRegistry.builtins().with("wait", waitOn(release))));
+        Map<String, Signal> vars = Map.of("x", new Signal(new double[] {1}));
+        try (RPNExecutor executor = new RPNExecutor(parser, 1, 1, 0)) {
+            executor.submit("x wait", vars);
+            // el único worker puede no haber tomado aún la primera tarea
+            assertThrows(RejectedExecutionException.class, () -> {
+                for (int i = 0; i < 3; i++) {
+                    executor.submit("x wait", vars);
+                }
+            });
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testTimeoutCompletesFutureAndInterruptsWorker() throws Exception {
+        CountDownLatch never = new CountDownLatch(1);
+        RPNParser parser = new RPNParser(
+            new RPNEngine(RPNRegistry.builtins().with("wait", waitOn(never))));
+        try (RPNExecutor executor = new RPNExecutor(parser, 1, 4, 50)) {
+            CompletableFuture<Object> slow = executor.submit(
+                "x wait 2 *", Map.of("x", new Signal(new double[] {1})));
+            ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> slow.get(5, TimeUnit.SECONDS));
+            assertTrue(ex.getCause() instanceof TimeoutException);
+
+            // el worker queda libre para la siguiente expresión
+            Object next = executor.submit("x 2 *", Map.of("x", new Signal(new double[] {4})))
+                .get(5, TimeUnit.SECONDS);
+            assertArrayEquals(new double[] {8}, ((Signal) next).view());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.merlab.signals.rpn.test;
+
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.rpn.RPNEngine;
+import com.merlab.signals.rpn.RPNParser;
+import com.merlab.signals.rpn.RPNPlan;
+import com.merlab.signals.rpn.RPNRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RPNKernelTest {
+
+    private RPNParser interpreted;
+    private RPNEngine engine;
+    private RPNParser jit;
+
+    @BeforeEach
+    void setUp() {
+        interpreted = new RPNParser();
+        engine = new RPNEngine(RPNRegistry.builtins());
+        engine.enableJit(2);
+        jit = new RPNParser(engine);
+    }
+
+    private static Signal random(int n, long seed) {
+        Random rnd = new Random(seed);
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = rnd.nextGaussian();
+        }
+        return Signal.wrap(x);
+    }
+
+    @Test
+    void testKernelMatchesInterpreterBitForBit() {
+        Map<String, Signal> vars = Map.of("a", random(3000, 1), "b", random(3000, 2), "c", random(3000, 3));
+        for (String expr : new String[] {
+                "a b + c * 2 * -1 1 clamp b /",
+                "a b - a max *",
+                "3 a * c - 0 0.5 clamp"}) {
+            Signal expected = (Signal) interpreted.compile(expr).evaluate(vars);
+            RPNPlan plan = jit.compile(expr);
+            // la primera evaluación interpreta, la segunda ya usa el kernel
+            for (int i = 0; i < 3; i++) {
+                assertArrayEquals(expected.view(), ((Signal) plan.evaluate(vars)).view(), expr);
+            }
+            assertEquals(1, plan.program().compiledKernelCount(), expr);
+        }
+    }
+
+    @Test
+    void testClampSpecialisationMatchesInterpreterOnEdgeBounds() {
+        // muestras con ±0.0, NaN e infinitos, además de ruido a ambos lados de los límites
+        double[] x = random(2000, 4).toArray();
+        double[] special = {0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 1.0, -1.0};
+        for (int i = 0; i < x.length; i += 5) {
+            x[i] = special[(i / 5) % special.length];
+        }
+        Map<String, Signal> vars = Map.of("a", Signal.wrap(x));
+        // el primero toma el camino min/max; el resto, el de comparaciones
+        for (String bounds : new String[] {
+                "-1 1", "-0.0 0.5", "0 0.5", "-0.5 0", "-0.5 -0.0",
+                "1 -1", "0.5 0.5", "NaN 1", "-1 NaN"}) {
+            String expr = "a " + bounds + " clamp 1 *";
+            Signal expected = (Signal) interpreted.compile(expr).evaluate(vars);
+            RPNPlan plan = jit.compile(expr);
+            for (int i = 0; i < 3; i++) {
+                // assertArrayEquals compara los bits: distingue 0.0 de -0.0
+                assertArrayEquals(expected.view(), ((Signal) plan.evaluate(vars)).view(), expr);
+            }
+            assertEquals(1, plan.program().compiledKernelCount(), expr);
+        }
+    }
+
+    @Test
+    void testKernelReportsDivisionByZeroPosition() {
+        RPNPlan plan = jit.compile("a b /");
+        Map<String, Signal> ok = Map.of("a", new Signal(new double[] {1, 2, 3}), "b", new Signal(new double[] {1, 2, 4}));
+        plan.evaluate(ok);
+        plan.evaluate(ok);
+        assertEquals(1, plan.program().compiledKernelCount());
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> plan.evaluate(
+            Map.of("a", new Signal(new double[] {1, 2, 3}), "b", new Signal(new double[] {1, 0, 4}))));
+        assertTrue(ex.getMessage().endsWith("posición 1"), ex.getMessage());
+    }
+
+    @Test
+    void testPaddingAndDisabledJitStayInterpreted() {
+        RPNPlan pad = jit.compile("a pad b +");
+        Map<String, Signal> vars = Map.of("a", new Signal(new double[] {1, 2}), "b", new Signal(new double[] {10, 20, 30}));
+        for (int i = 0; i < 3; i++) {
+            assertArrayEquals(new double[] {11, 22, 30}, ((Signal) pad.evaluate(vars)).view());
+        }
+        assertEquals(0, pad.program().compiledKernelCount());
+
+        engine.enableJit(0);
+        RPNPlan off = jit.compile("a a +");
+        for (int i = 0; i < 3; i++) {
+            off.evaluate(vars);
+        }
+        assertEquals(0, off.program().compiledKernelCount());
+        assertThrows(IllegalArgumentException.class, () -> engine.enableJit(-1));
+    }
+}
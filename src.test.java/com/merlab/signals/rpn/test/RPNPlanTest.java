@@ -0,0 +1,145 @@
+package com.merlab.signals.rpn.test;
+
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.core.SignalProcessor;
+import com.merlab.signals.core.SignalProcessor.LengthMode;
+import com.merlab.signals.rpn.NormalizeOp;
+import com.merlab.signals.rpn.RPNParser;
+import com.merlab.signals.rpn.RPNPlan;
+import com.merlab.signals.rpn.RPNStack;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RPNPlanTest {
+
+    private RPNParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new RPNParser();
+    }
+
+    private static Signal random(int n, long seed) {
+        Random rnd = new Random(seed);
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = rnd.nextGaussian();
+        }
+        return Signal.wrap(x);
+    }
+
+    @Test
+    void testFusedChainMatchesStepByStep() {
+        // más largo que un bloque para cubrir el último bloque parcial
+        int n = 2500;
+        Signal a = random(n, 1), b = random(n, 2), c = random(n, 3);
+        Signal out = (Signal) parser.compile("a b + c * 2 * -1 1 clamp b /")
+            .evaluate(Map.of("a", a, "b", b, "c", c));
+
+        double[] y = SignalProcessor.addSignals(a.view(), b.view(), LengthMode.REQUIRE_EQUAL);
+        y = SignalProcessor.multiplySignals(y, c.view(), LengthMode.REQUIRE_EQUAL);
+        y = SignalProcessor.scale(y, 2.0, false);
+        y = SignalProcessor.clamp(y, -1, 1, null);
+        y = SignalProcessor.divideSignals(y, b.view(), LengthMode.REQUIRE_EQUAL);
+        assertArrayEquals(y, out.view());
+    }
+
+    @Test
+    void testMixedWithNonElementwiseOp() {
+        Signal a = random(100, 4), b = random(100, 5);
+        Signal out = (Signal) parser.compile("a b - norm 3 *").evaluate(Map.of("a", a, "b", b));
+        double[] diff = SignalProcessor.subtractSignals(a.view(), b.view(), LengthMode.REQUIRE_EQUAL);
+        Signal norm = (Signal) new NormalizeOp().apply(List.of(Signal.wrap(diff)));
+        assertArrayEquals(SignalProcessor.scale(norm.view(), 3.0, false), out.view());
+    }
+
+    @Test
+    void testPlanIsCachedAndReusable() {
+        RPNPlan plan = parser.compile("x y + 2 *");
+        assertSame(plan, parser.compile("x y + 2 *"));
+        assertSame(plan, parser.compile(List.of("x", "y", "+", "2", "*")));
+
+        Signal first = (Signal) plan.evaluate(Map.of(
+            "x", new Signal(new double[] {1, 2}), "y", new Signal(new double[] {3, 4})));
+        Signal second = (Signal) plan.evaluate(Map.of(
+            "x", new Signal(new double[] {0, 0, 1}), "y", new Signal(new double[] {1, 1, 1})));
+        assertArrayEquals(new double[] {8, 12}, first.view());
+        assertArrayEquals(new double[] {2, 2, 4}, second.view());
+    }
+
+    @Test
+    void testPadPrefixInsideFusedChain() {
+        // (a * 2) tiene 2 muestras; el "+" con relleno la extiende con ceros
+        Map<String, Signal> vars = Map.of(
+            "a", new Signal(new double[] {1, 2}),
+            "b", new Signal(new double[] {10, 20, 30}));
+        RPNStack stack = new RPNStack();
+        parser.parseAndExecute("a 2 * pad b + b -", vars, stack);
+        assertEquals(1, stack.size());
+        assertArrayEquals(new double[] {2, 4, 0}, ((Signal) stack.peek()).view());
+    }
+
+    @Test
+    void testErrorsMatchInterpreter() {
+        Map<String, Signal> vars = Map.of(
+            "a", new Signal(new double[] {1, 2, 3}),
+            "b", new Signal(new double[] {1, 0, 1}),
+            "c", new Signal(new double[] {1, 2}));
+        assertThrows(IllegalArgumentException.class,
+            () -> parser.compile("a c +").evaluate(vars));
+        assertThrows(IllegalArgumentException.class,
+            () -> parser.compile("a b / 2 *").evaluate(vars));
+        assertThrows(IllegalStateException.class,
+            () -> parser.compile("a *").evaluate(vars));
+        assertThrows(IllegalArgumentException.class,
+            () -> parser.compile("2 3 *").evaluate(vars));
+    }
+
+    @Test
+    void testEvaluateAllKeepsInputOrder() {
+        RPNPlan plan = parser.compile("x 10 * y +");
+        List<Map<String, Signal>> batch = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            batch.add(Map.of("x", new Signal(new double[] {i, -i}),
+                             "y", new Signal(new double[] {1, 1})));
+        }
+        List<Object> out = plan.evaluateAll(batch);
+        assertEquals(200, out.size());
+        for (int i = 0; i < 200; i++) {
+            assertArrayEquals(new double[] {10 * i + 1, -10 * i + 1}, ((Signal) out.get(i)).view());
+        }
+    }
+
+    @Test
+    void testEvaluateChannels() {
+        double[][] x = {{1, 2, 3}, {4, 5, 6}, {0, 0, 8}};
+        double[][] y = {{1, 1, 1}, {2, 2, 2}, {3, 3, 3}};
+        double[][] sum = parser.compile("x y +").evaluateChannels(Map.of("x", x, "y", y));
+        assertArrayEquals(new double[] {2, 3, 4}, sum[0]);
+        assertArrayEquals(new double[] {6, 7, 8}, sum[1]);
+        assertArrayEquals(new double[] {3, 3, 11}, sum[2]);
+
+        double[][] max = parser.compile("x max").evaluateChannels(Map.of("x", x));
+        assertArrayEquals(new double[][] {{3}, {6}, {8}}, max);
+
+        assertThrows(IllegalArgumentException.class, () -> parser.compile("x y +")
+            .evaluateChannels(Map.of("x", x, "y", new double[][] {{1, 1, 1}})));
+    }
+
+    @Test
+    void testBatchFailurePropagates() {
+        List<Map<String, Signal>> batch = List.of(
+            Map.of("x", new Signal(new double[] {1, 2})),
+            Map.of("x", new Signal(new double[] {1, 2, 3})));
+        assertThrows(IllegalArgumentException.class,
+            () -> parser.compile("x y +").evaluateAll(batch));
+    }
+}
@@ -0,0 +1,134 @@
+package com.merlab.signals.rpn.test;
+
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.rpn.RPNEngine;
+import com.merlab.signals.rpn.RPNOperation;
+import com.merlab.signals.rpn.RPNParser;
+import com.merlab.signals.rpn.RPNRegistry;
+import com.merlab.signals.rpn.RPNResultCache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RPNResultCacheTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private RPNEngine engine;
+    private RPNParser parser;
+
+    @BeforeEach
+    void setUp() {
+        // "count" es la identidad, pero cuenta cuántas veces se ejecuta
+        RPNOperation counting = new RPNOperation() {
+            @Override public int arity() { return 1; }
+            @Override public Object apply(List<Object> args) {
+                calls.incrementAndGet();
+                return Signal.wrap(((Signal) args.get(0)).toArray());
+            }
+            @Override public String getName() { return "count"; }
+            @Override public String getDescription() { return "Counting identity."; }
+        };
+        engine = new RPNEngine(RPNRegistry.builtins().with("count", counting));
+        engine.enableResultCache(16);
+        parser = new RPNParser(engine);
+    }
+
+    @Test
+    void testRepeatedChainIsServedFromCache() {
+        Signal sig = new Signal(new double[] {1, 5, 2, 8, 3, 9, 4});
+        Signal first = (Signal) parser.compile("sig count 3 movavg norm").evaluate(Map.of("sig", sig));
+        RPNResultCache cache = engine.getResultCache();
+        assertEquals(0, cache.hits());
+        assertEquals(3, cache.misses());
+
+        // mismo prefijo, otra expresión y otra instancia con el mismo contenido
+        Signal copy = new Signal(sig.toArray());
+        Signal second = (Signal) parser.compile("sig count 3 movavg norm 2 *").evaluate(Map.of("sig", copy));
+        assertEquals(1, calls.get());
+        assertEquals(3, cache.hits());
+        assertArrayEquals(first.view(), halve(second.view()), 1e-12);
+    }
+
+    private static double[] halve(double[] x) {
+        double[] y = x.clone();
+        for (int i = 0; i < y.length; i++) {
+            y[i] /= 2;
+        }
+        return y;
+    }
+
+    @Test
+    void testChangedContentOrParametersMiss() {
+        Signal sig = new Signal(new double[] {1, 2, 3, 4});
+        parser.compile("sig count 2 movavg").evaluate(Map.of("sig", sig));
+        parser.compile("sig count 3 movavg").evaluate(Map.of("sig", sig));
+        assertEquals(1, calls.get());
+
+        sig.add(5);
+        parser.compile("sig count 2 movavg").evaluate(Map.of("sig", sig));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testLruEvictionAndDisable() {
+        engine.enableResultCache(2);
+        for (int i = 0; i < 5; i++) {
+            parser.compile("sig count").evaluate(Map.of("sig", new Signal(new double[] {i})));
+        }
+        RPNResultCache cache = engine.getResultCache();
+        assertEquals(2, cache.size());
+        assertEquals(3, cache.evictions());
+
+        engine.enableResultCache(0);
+        assertNull(engine.getResultCache());
+        parser.compile("sig count").evaluate(Map.of("sig", new Signal(new double[] {4})));
+        assertEquals(6, calls.get());
+    }
+
+    @Test
+    void testMutatingHitResultDoesNotCorruptLaterHits() {
+        Signal sig = new Signal(new double[] {1, 2, 3});
+        Signal miss = (Signal) parser.compile("sig count").evaluate(Map.of("sig", sig));
+        miss.view()[0] = 100;
+
+        Signal hit = (Signal) parser.compile("sig count").evaluate(Map.of("sig", sig));
+        assertArrayEquals(new double[] {1, 2, 3}, hit.view(), 0.0);
+        hit.view()[1] = -1;
+        hit.add(7);
+
+        Signal again = (Signal) parser.compile("sig count").evaluate(Map.of("sig", sig));
+        assertArrayEquals(new double[] {1, 2, 3}, again.view(), 0.0);
+        assertNotSame(hit, again);
+        assertEquals(1, calls.get());
+        assertEquals(2, engine.getResultCache().hits());
+    }
+
+    @Test
+    void testByteBudgetBoundsSamplesHeld() {
+        // cada entrada de 10 muestras pesa 160 bytes: 80 de clave y 80 de resultado
+        engine.enableResultCache(100, 400);
+        RPNResultCache cache = engine.getResultCache();
+        for (int i = 0; i < 4; i++) {
+            double[] v = new double[10];
+            v[0] = i;
+            parser.compile("sig count").evaluate(Map.of("sig", new Signal(v)));
+        }
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.evictions());
+        assertEquals(320, cache.bytes());
+
+        // más grande que todo el presupuesto: se calcula pero no se guarda
+        Signal big = new Signal(new double[100]);
+        parser.compile("sig count").evaluate(Map.of("sig", big));
+        parser.compile("sig count").evaluate(Map.of("sig", big));
+        assertEquals(6, calls.get());
+        assertEquals(2, cache.size());
+        assertTrue(cache.bytes() <= cache.maxBytes());
+    }
+}
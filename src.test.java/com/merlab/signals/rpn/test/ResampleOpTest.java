@@ -0,0 +1,29 @@
+package com.merlab.signals.rpn.test;
+
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.rpn.ResampleOp;
+
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResampleOpTest {
+
+    private final ResampleOp op = new ResampleOp();
+
+    @Test
+    void testResampleLengthAndDC() {
+        double[] x = new double[200];
+        java.util.Arrays.fill(x, 2.0);
+        Signal out = (Signal) op.apply(List.of(new Signal(x), 2.0, 5.0));
+        assertEquals(80, out.size());
+        // lejos de los bordes una constante se conserva (ganancia DC = 1)
+        assertEquals(2.0, out.get(40), 1e-3);
+    }
+
+    @Test
+    void testInvalidFactor() {
+        Signal s = new Signal(new double[] {1, 2, 3});
+        assertThrows(IllegalArgumentException.class, () -> op.apply(List.of(s, 0.0, 2.0)));
+    }
+}
@@ -0,0 +1,145 @@
+package com.merlab.signals.rpn.test;
+
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.rpn.RPNParser;
+import com.merlab.signals.rpn.StreamingRPNProgram;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingRPNProgramTest {
+
+    private RPNParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new RPNParser();
+    }
+
+    private static double[] random(int n, long seed) {
+        Random rnd = new Random(seed);
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = Math.sin(i * 0.03) + 0.2 * rnd.nextGaussian();
+        }
+        return x;
+    }
+
+    /** Trocea x en bloques de tamaño aleatorio (incluidos bloques vacíos). */
+    private static Iterator<double[]> chunks(double[] x, long seed) {
+        Random rnd = new Random(seed);
+        List<double[]> out = new ArrayList<>();
+        for (int i = 0; i < x.length; ) {
+            int len = Math.min(x.length - i, rnd.nextInt(50));
+            out.add(Arrays.copyOfRange(x, i, i + len));
+            i += len;
+        }
+        return out.iterator();
+    }
+
+    private static double[] stream(StreamingRPNProgram program, Map<String, Iterator<double[]>> sources) {
+        List<double[]> parts = new ArrayList<>();
+        long n = program.run(sources, parts::add);
+        double[] out = new double[(int) n];
+        int pos = 0;
+        for (double[] p : parts) {
+            System.arraycopy(p, 0, out, pos, p.length);
+            pos += p.length;
+        }
+        return out;
+    }
+
+    @Test
+    void testChunkedOutputMatchesBatch() {
+        int n = 3000;
+        double[] x = random(n, 1), y = random(n, 2);
+        Map<String, Signal> batch = Map.of("x", Signal.wrap(x), "y", Signal.wrap(y));
+        for (String expr : new String[] {
+                "x 5 movavg 0.2 lpf y 0.9 hpf + 2 *",
+                "x intg y 0.5 * - -1 1 clamp",
+                "x 3 0 scale 8 movavg y 2 1 scale +",
+                "x deriv"}) {
+            Signal expected = (Signal) parser.compile(expr).evaluate(batch);
+            // las dos fuentes se trocean de forma distinta
+            double[] actual = stream(parser.compileStreaming(expr),
+                Map.of("x", chunks(x, 3), "y", chunks(y, 4)));
+            assertArrayEquals(expected.view(), actual, expr);
+        }
+    }
+
+    @Test
+    void testProcessAndFinishWithPadding() {
+        StreamingRPNProgram p = parser.compileStreaming("a pad b +");
+        assertArrayEquals(new double[] {11}, p.process(Map.of("a", new double[] {1}, "b", new double[] {10, 20})));
+        assertArrayEquals(new double[] {22}, p.process(Map.of("a", new double[] {2}, "b", new double[0])));
+        assertArrayEquals(new double[] {30, 40}, p.finish(Map.of("a", new double[0], "b", new double[] {30, 40})));
+
+        // tras finish el programa empieza un flujo nuevo
+        assertArrayEquals(new double[] {2}, p.process(Map.of("a", new double[] {1}, "b", new double[] {1})));
+    }
+
+    @Test
+    void testShortStreamIsPaddedAsTheLongOneArrives() {
+        double[] a = random(10, 5), b = random(200_000, 6);
+        Signal expected = (Signal) parser.compile("a pad b +")
+            .evaluate(Map.of("a", Signal.wrap(a), "b", Signal.wrap(b)));
+
+        StreamingRPNProgram p = parser.compileStreaming("a pad b +");
+        // si "b" se acumulara esperando a "a", superaría el límite y fallaría
+        p.setMaxPending(100);
+        List<double[]> chunksOfB = new ArrayList<>();
+        for (int i = 0; i < b.length; i += 50) {
+            chunksOfB.add(Arrays.copyOfRange(b, i, i + 50));
+        }
+        double[] actual = stream(p, Map.of("a", List.of(a).iterator(), "b", chunksOfB.iterator()));
+        assertArrayEquals(expected.view(), actual);
+
+        // por bloques a mano: tras end("a") cada bloque de "b" sale entero
+        assertArrayEquals(new double[] {11}, p.process(Map.of("a", new double[] {1}, "b", new double[] {10, 20})));
+        assertArrayEquals(new double[] {20}, p.end("a"));
+        assertArrayEquals(new double[] {30, 40}, p.process(Map.of("b", new double[] {30, 40})));
+        assertThrows(IllegalStateException.class,
+            () -> p.process(Map.of("a", new double[] {1}, "b", new double[0])));
+        assertArrayEquals(new double[] {50}, p.finish(Map.of("b", new double[] {50})));
+    }
+
+    @Test
+    void testLaggingOperandIsBoundedWithoutPad() {
+        StreamingRPNProgram p = parser.compileStreaming("a b *");
+        p.setMaxPending(1000);
+        // "b" no llega: "a" se acumula hasta el límite y entonces falla
+        assertArrayEquals(new double[0], p.process(Map.of("a", new double[600], "b", new double[0])));
+        assertThrows(IllegalStateException.class,
+            () -> p.process(Map.of("a", new double[600], "b", new double[0])));
+
+        // sin pad, terminar "a" cuando "b" ya la superó es un error inmediato
+        p.reset();
+        p.process(Map.of("a", new double[] {1, 2}, "b", new double[] {3, 4, 5}));
+        assertThrows(IllegalArgumentException.class, () -> p.end("a"));
+    }
+
+    @Test
+    void testLengthMismatchFailsOnFinish() {
+        StreamingRPNProgram p = parser.compileStreaming("x deriv x +");
+        p.process(Map.of("x", new double[] {1, 2, 3}));
+        assertThrows(IllegalArgumentException.class, p::finish);
+    }
+
+    @Test
+    void testRejectsWholeSignalOps() {
+        assertThrows(IllegalArgumentException.class, () -> parser.compileStreaming("x median"));
+        assertThrows(IllegalArgumentException.class, () -> parser.compileStreaming("x fft"));
+        assertThrows(IllegalArgumentException.class, () -> parser.compileStreaming("x y lpf"));
+        assertThrows(IllegalArgumentException.class, () -> parser.compileStreaming("x y"));
+        assertThrows(IllegalStateException.class, () -> parser.compileStreaming("x +"));
+    }
+}
@@ -0,0 +1,94 @@
+package com.merlab.signals.test;
+
+import com.merlab.signals.core.FastConvolution;
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.core.SignalProcessor;
+import com.merlab.signals.core.SignalProcessor.LengthMode;
+import com.merlab.signals.core.StatisticalProcessor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FastConvolutionTest {
+
+    private static final double TOL = 1e-8;
+
+    private static double[] random(int n, long seed) {
+        Random rnd = new Random(seed);
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) x[i] = rnd.nextGaussian();
+        return x;
+    }
+
+    /** Convolución directa de referencia */
+    private static double[] directConvolve(double[] x, double[] h) {
+        double[] y = new double[x.length + h.length - 1];
+        for (int i = 0; i < x.length; i++) {
+            for (int j = 0; j < h.length; j++) {
+                y[i + j] += x[i] * h[j];
+            }
+        }
+        return y;
+    }
+
+    @Test
+    void testOverlapAddMatchesDirect() {
+        int[][] sizes = { {5000, 300}, {300, 5000}, {1000, 1000}, {4097, 33}, {40, 40} };
+        for (int[] nm : sizes) {
+            double[] x = random(nm[0], nm[0]);
+            double[] h = random(nm[1], nm[1] + 1);
+            assertArrayEquals(directConvolve(x, h), FastConvolution.convolve(x, h, null), TOL,
+                "n=" + nm[0] + " m=" + nm[1]);
+        }
+    }
+
+    @Test
+    void testAutomaticSelection() {
+        assertFalse(FastConvolution.useFFT(10_000.0 * 8, 10_000, 8), "kernel corto: bucle directo");
+        assertTrue(FastConvolution.useFFT(100_000.0 * 4096, 100_000, 4096), "kernel largo: FFT");
+
+        // el resultado es el mismo por ambas vías
+        double[] x = random(20_000, 1);
+        double[] h = random(4096, 2);
+        assertArrayEquals(directConvolve(x, h), SignalProcessor.convolve(x, h), 1e-7);
+    }
+
+    @Test
+    void testConvolveReversedVariantsWithLongKernel() {
+        double[] x = random(3000, 3);
+        double[] h = random(512, 4);
+        double[] rev = new double[h.length];
+        for (int i = 0; i < h.length; i++) rev[i] = h[h.length - 1 - i];
+        double[] full = directConvolve(x, h);
+        double[] fullRev = directConvolve(x, rev);
+
+        assertArrayEquals(fullRev, SignalProcessor.convolveReversed(x, h), 1e-7);
+
+        int stride = 3;
+        double[] strided = SignalProcessor.convolveReversedWithStride(x, rev, stride);
+        assertEquals((x.length - h.length) / stride + 1, strided.length);
+        for (int o = 0; o < strided.length; o++) {
+            assertEquals(fullRev[o * stride + h.length - 1], strided[o], 1e-7, "o=" + o);
+        }
+
+        double[] padded = SignalProcessor.convolveReversed(x, h, 2, LengthMode.PAD_WITH_ZEROS);
+        for (int o = 0; o < padded.length; o++) {
+            assertEquals(full[o * 2 + h.length - 1], padded[o], 1e-7, "o=" + o);
+        }
+    }
+
+    @Test
+    void testCrossCorrelationsMatchSingleLag() {
+        Signal x = new Signal(random(2000, 5));
+        Signal y = new Signal(random(1800, 6));
+        double[] all = StatisticalProcessor.crossCorrelations(x, y, 1500);
+        for (int k = 0; k <= 1500; k += 37) {
+            assertEquals(StatisticalProcessor.crossCorrelation(x, y, k), all[k], 1e-10, "lag=" + k);
+        }
+        assertThrows(IllegalArgumentException.class,
+            () -> StatisticalProcessor.crossCorrelations(x, y, 1800));
+    }
+}
@@ -0,0 +1,88 @@
+package com.merlab.signals.test;
+
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.core.SignalProcessor;
+import com.merlab.signals.simd.DoubleKernels;
+import com.merlab.signals.simd.Kernels;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KernelsTest {
+
+    private static double[] random(int n, Random rnd) {
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) x[i] = rnd.nextGaussian() * 10;
+        return x;
+    }
+
+    /** Comprueba una implementación contra bucles escalares ingenuos. */
+    private static void check(DoubleKernels k) {
+        Random rnd = new Random(17);
+        // longitudes con y sin resto respecto a 2, 4 y 8 carriles
+        for (int n : new int[] {1, 3, 8, 13, 64, 1001}) {
+            double[] a = random(n, rnd), b = random(n, rnd), out = new double[n];
+            String msg = k.name() + " n=" + n;
+
+            k.add(a, b, out, n);
+            for (int i = 0; i < n; i++) assertEquals(a[i] + b[i], out[i], msg);
+            k.subtract(a, b, out, n);
+            for (int i = 0; i < n; i++) assertEquals(a[i] - b[i], out[i], msg);
+            k.multiply(a, b, out, n);
+            for (int i = 0; i < n; i++) assertEquals(a[i] * b[i], out[i], msg);
+            k.scale(a, 0.3, out, n);
+            for (int i = 0; i < n; i++) assertEquals(a[i] * 0.3, out[i], msg);
+            k.normalize(a, -2.0, 7.0, 3.0, out, n);
+            for (int i = 0; i < n; i++) assertEquals(((a[i] + 2.0) / 7.0) * 3.0, out[i], msg);
+            k.clamp(a, -5.0, 5.0, out, n);
+            for (int i = 0; i < n; i++) assertEquals(Math.max(-5.0, Math.min(5.0, a[i])), out[i], msg);
+
+            double min = a[0], max = a[0], sum = 0, dot = 0, ssd = 0, sad = 0, mad = 0;
+            for (int i = 0; i < n; i++) {
+                min = Math.min(min, a[i]);
+                max = Math.max(max, a[i]);
+                sum += a[i];
+                dot += a[i] * b[i];
+                ssd += (a[i] - b[i]) * (a[i] - b[i]);
+                sad += Math.abs(a[i] - b[i]);
+                mad = Math.max(mad, Math.abs(a[i] - b[i]));
+            }
+            assertEquals(min, k.min(a, n), msg);
+            assertEquals(max, k.max(a, n), msg);
+            assertEquals(mad, k.maxAbsDiff(a, b, n), msg);
+            double tol = 1e-12 * n * 100;
+            assertEquals(sum, k.sum(a, n), tol, msg);
+            assertEquals(dot, k.dot(a, b, n), tol, msg);
+            assertEquals(ssd, k.sumSquaredDiff(a, b, n), tol, msg);
+            assertEquals(sad, k.sumAbsDiff(a, b, n), tol, msg);
+        }
+    }
+
+    @Test
+    void testActiveAndScalarKernels() {
+        check(Kernels.get());
+        check(Kernels.scalar());
+        assertEquals(Kernels.isVectorized(), !"scalar".equals(Kernels.get().name()));
+    }
+
+    @Test
+    void testInPlaceAndEdgeValues() {
+        double[] x = new double[19];
+        for (int i = 0; i < x.length; i++) x[i] = i - 9;
+        x[3] = Double.NaN;
+        x[4] = -0.0;
+        double[] y = SignalProcessor.clamp(x, 0.0, 5.0, x);
+        assertSame(x, y);
+        assertTrue(Double.isNaN(y[3]), "NaN se conserva");
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(y[4]), "-0.0 se conserva");
+        assertEquals(0.0, y[0]);
+        assertEquals(5.0, y[18]);
+        assertEquals(0.0, Kernels.maxAbsDiff(new double[0], new double[0], 0));
+
+        Signal s = SignalProcessor.clamp(new Signal(new double[] {-2, 0.5, 9}), -1, 1);
+        assertArrayEquals(new double[] {-1, 0.5, 1}, s.toArray());
+    }
+}
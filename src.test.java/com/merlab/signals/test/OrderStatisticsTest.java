@@ -0,0 +1,100 @@
+package com.merlab.signals.test;
+
+import com.merlab.signals.core.OrderStatistics;
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.core.SignalProcessor;
+import com.merlab.signals.core.StatisticalProcessor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderStatisticsTest {
+
+    /** Percentil con interpolación lineal sobre una copia ordenada (referencia). */
+    private static double sortedPercentile(double[] x, double p) {
+        double[] s = x.clone();
+        Arrays.sort(s);
+        double idx = p / 100.0 * (s.length - 1);
+        int lo = (int) Math.floor(idx), hi = (int) Math.ceil(idx);
+        return s[lo] + (idx - lo) * (s[hi] - s[lo]);
+    }
+
+    @Test
+    void testOrderStatisticsMatchSort() {
+        Random rnd = new Random(11);
+        for (int n : new int[] {1, 2, 7, 16, 17, 100, 1001}) {
+            double[] x = new double[n];
+            for (int i = 0; i < n; i++) {
+                // muchos repetidos para ejercitar la partición en tres vías
+                x[i] = n > 50 ? rnd.nextInt(20) : rnd.nextGaussian();
+            }
+            double[] copy = x.clone();
+            double[] sorted = x.clone();
+            Arrays.sort(sorted);
+            int[] ranks = {n - 1, 0, n / 2, n / 3, n - 1};
+            double[] v = OrderStatistics.orderStatistics(x, ranks);
+            for (int i = 0; i < ranks.length; i++) {
+                assertEquals(sorted[ranks[i]], v[i], "n=" + n + " rank=" + ranks[i]);
+            }
+            assertArrayEquals(copy, x, "la entrada no se modifica");
+        }
+    }
+
+    @Test
+    void testPercentilesAndMedianMatchSort() {
+        Random rnd = new Random(3);
+        double[] x = new double[500];
+        for (int i = 0; i < x.length; i++) x[i] = rnd.nextDouble() * 10 - 5;
+        double[] ps = {0, 1.5, 25, 50, 90, 99.9, 100};
+        double[] got = OrderStatistics.percentiles(x, ps);
+        for (int i = 0; i < ps.length; i++) {
+            assertEquals(sortedPercentile(x, ps[i]), got[i], 1e-12, "p=" + ps[i]);
+            assertEquals(sortedPercentile(x, ps[i]), SignalProcessor.percentile(x, ps[i]), 1e-12);
+        }
+        assertEquals(sortedPercentile(x, 50), OrderStatistics.median(x), 1e-12);
+        assertEquals(sortedPercentile(x, 50), SignalProcessor.median(SignalProcessor.toList(x)), 1e-12);
+    }
+
+    @Test
+    void testAdversarialInputs() {
+        int n = 5000;
+        double[] asc = new double[n], desc = new double[n], same = new double[n];
+        for (int i = 0; i < n; i++) {
+            asc[i] = i;
+            desc[i] = n - i;
+            same[i] = 4.0;
+        }
+        assertEquals((n - 1) / 2.0, OrderStatistics.median(asc), 1e-12);
+        assertEquals((n + 1) / 2.0, OrderStatistics.median(desc), 1e-12);
+        assertEquals(4.0, OrderStatistics.median(same));
+        assertEquals(0.0, OrderStatistics.medianAbsoluteDeviation(same));
+    }
+
+    @Test
+    void testTukeyQuartilesAndMad() {
+        double[] x = {7, 1, 9, 3, 5, 11, 2};
+        double[] s = x.clone();
+        Arrays.sort(s); // 1 2 3 5 7 9 11
+        Signal sig = new Signal(x);
+        assertEquals(2.0, StatisticalProcessor.percentile(sig, 25), 1e-12);
+        assertEquals(9.0, StatisticalProcessor.percentile(sig, 75), 1e-12);
+        assertEquals(7.0, StatisticalProcessor.iqr(sig), 1e-12);
+        // |x - 5| = 2 4 4 2 0 6 3 → mediana 3
+        assertEquals(3.0, StatisticalProcessor.medianAbsoluteDeviation(sig), 1e-12);
+    }
+
+    @Test
+    void testNaNAndErrors() {
+        double[] x = {3, Double.NaN, 1, 2};
+        // NaN queda al final, como con Collections.sort
+        assertArrayEquals(new double[] {1, 2, 3, Double.NaN},
+                          OrderStatistics.orderStatistics(x, 0, 1, 2, 3));
+        assertThrows(IllegalArgumentException.class, () -> OrderStatistics.median(new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> OrderStatistics.percentile(x, 101));
+        assertThrows(IllegalArgumentException.class, () -> OrderStatistics.orderStatistics(x, 4));
+    }
+}
@@ -0,0 +1,118 @@
+package com.merlab.signals.test;
+
+import com.merlab.signals.core.PolyphaseResampler;
+import com.merlab.signals.core.SignalProcessor;
+import com.merlab.signals.streaming.StreamingResampler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolyphaseResamplerTest {
+
+    private static double[] sine(int n, double cyclesPerSample) {
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) x[i] = Math.sin(2 * Math.PI * cyclesPerSample * i);
+        return x;
+    }
+
+    /** Referencia: insertar ceros, convolucionar a tasa completa y diezmar. */
+    private static double[] naive(double[] x, int up, int down, double[] h) {
+        int delay = (h.length - 1) / 2;
+        double[] xu = new double[x.length * up];
+        for (int i = 0; i < x.length; i++) xu[i * up] = x[i];
+        int count = (x.length * up + down - 1) / down;
+        double[] y = new double[count];
+        for (int m = 0; m < count; m++) {
+            int t = m * down + delay;
+            double acc = 0;
+            for (int k = 0; k < h.length; k++) {
+                int j = t - k;
+                if (j >= 0 && j < xu.length) acc += h[k] * xu[j];
+            }
+            y[m] = acc;
+        }
+        return y;
+    }
+
+    @Test
+    void testMatchesFullRateReference() {
+        Random rnd = new Random(4);
+        double[] x = new double[157];
+        for (int i = 0; i < x.length; i++) x[i] = rnd.nextGaussian();
+        double[] h = new double[31];
+        for (int i = 0; i < h.length; i++) h[i] = rnd.nextGaussian();
+        for (int[] r : new int[][] {{1, 3}, {3, 1}, {2, 3}, {5, 4}, {1, 1}}) {
+            double[] got = new PolyphaseResampler(r[0], r[1], h).resample(x);
+            assertArrayEquals(naive(x, r[0], r[1], h), got, 1e-12, r[0] + "/" + r[1]);
+        }
+    }
+
+    @Test
+    void testRatioReductionAndLengths() {
+        PolyphaseResampler r = new PolyphaseResampler(6, 4);
+        assertEquals(3, r.getUp());
+        assertEquals(2, r.getDown());
+        assertEquals(30, r.getDelay(), "20·max(L,M)+1 coeficientes");
+        assertEquals(15, r.outputLength(10));
+        double[] x = {1, 2, 3};
+        assertArrayEquals(x, new PolyphaseResampler(2, 2).resample(x));
+        assertThrows(IllegalArgumentException.class, () -> new PolyphaseResampler(0, 1));
+    }
+
+    @Test
+    void testDecimationRemovesAliases() {
+        // 0.3 ciclos/muestra está por encima del nuevo Nyquist (0.125): debe desaparecer
+        double[] high = new PolyphaseResampler(1, 4).resample(sine(4000, 0.3));
+        double[] low = new PolyphaseResampler(1, 4).resample(sine(4000, 0.01));
+        double[] dropped = SignalProcessor.decimate(sine(4000, 0.3), 4);
+        double maxHigh = 0, maxDropped = 0;
+        for (int i = 50; i < high.length - 50; i++) {
+            maxHigh = Math.max(maxHigh, Math.abs(high[i]));
+            maxDropped = Math.max(maxDropped, Math.abs(dropped[i]));
+            assertEquals(Math.sin(2 * Math.PI * 0.04 * i), low[i], 5e-3, "banda de paso alineada");
+        }
+        assertTrue(maxHigh < 1e-2, "atenuado: " + maxHigh);
+        assertTrue(maxDropped > 0.5, "sin filtro hay aliasing");
+    }
+
+    @Test
+    void testInterpolationIsBandLimited() {
+        double[] x = sine(600, 0.05);
+        double[] y = new PolyphaseResampler(3, 1).resample(x);
+        assertEquals(1800, y.length);
+        for (int i = 150; i < y.length - 150; i++) {
+            assertEquals(Math.sin(2 * Math.PI * 0.05 * i / 3.0), y[i], 5e-3);
+        }
+    }
+
+    @Test
+    void testStreamingIsBitIdentical() {
+        Random rnd = new Random(9);
+        double[] x = new double[3001];
+        for (int i = 0; i < x.length; i++) x[i] = rnd.nextGaussian();
+        for (int[] r : new int[][] {{1, 4}, {3, 2}, {160, 147}}) {
+            double[] batch = new PolyphaseResampler(r[0], r[1]).resample(x);
+            StreamingResampler sr = new StreamingResampler(r[0], r[1]);
+            double[] out = new double[0];
+            int i = 0;
+            while (i <= x.length) {
+                int len = Math.min(x.length - i, rnd.nextInt(200));
+                out = concat(out, sr.process(Arrays.copyOfRange(x, i, i + len)));
+                i += len;
+                if (i == x.length) break;
+            }
+            out = concat(out, sr.flush());
+            assertArrayEquals(batch, out, r[0] + "/" + r[1]);
+        }
+    }
+
+    private static double[] concat(double[] a, double[] b) {
+        double[] c = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, c, a.length, b.length);
+        return c;
+    }
+}
@@ -0,0 +1,100 @@
+package com.merlab.signals.test;
+
+import com.merlab.signals.core.SOSFilter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SOSFilterTest {
+
+    private static final double HALF_POWER = 1 / Math.sqrt(2);
+
+    @Test
+    void testButterworthSecondOrderCoefficients() {
+        // referencia: scipy.signal.butter(2, 0.2) (corte = 0.1·fs)
+        SOSFilter f = SOSFilter.butterworthLowPass(2, 0.1);
+        assertEquals(1, f.getSectionCount());
+        double[] sos = f.getSections()[0];
+        assertArrayEquals(
+            new double[] {0.06745527, 0.13491055, 0.06745527, 1.0, -1.1429805, 0.4128016},
+            sos, 1e-7);
+    }
+
+    @Test
+    void testButterworthResponses() {
+        for (int order : new int[] {1, 4, 7}) {
+            SOSFilter lp = SOSFilter.butterworthLowPass(order, 0.1);
+            assertEquals((order + 1) / 2, lp.getSectionCount());
+            assertEquals(1.0, lp.magnitude(0.0), 1e-9, "LP DC, orden " + order);
+            assertEquals(HALF_POWER, lp.magnitude(0.1), 1e-9, "LP corte, orden " + order);
+            assertTrue(lp.magnitude(0.3) < Math.pow(0.5, order), "LP banda de rechazo, orden " + order);
+
+            SOSFilter hp = SOSFilter.butterworthHighPass(order, 0.2);
+            assertEquals(1.0, hp.magnitude(0.5), 1e-9, "HP Nyquist, orden " + order);
+            assertEquals(HALF_POWER, hp.magnitude(0.2), 1e-9, "HP corte, orden " + order);
+        }
+        SOSFilter bp = SOSFilter.butterworthBandPass(3, 0.1, 0.2);
+        assertEquals(3, bp.getSectionCount());
+        assertEquals(HALF_POWER, bp.magnitude(0.1), 1e-9);
+        assertEquals(HALF_POWER, bp.magnitude(0.2), 1e-9);
+        assertTrue(bp.magnitude(0.01) < 1e-3 && bp.magnitude(0.45) < 1e-3);
+    }
+
+    @Test
+    void testChebyshevRipple() {
+        double ripple = 1.0;
+        double edge = Math.pow(10, -ripple / 20);
+        for (int order : new int[] {3, 4}) {
+            SOSFilter lp = SOSFilter.chebyshevLowPass(order, ripple, 0.15);
+            assertEquals(edge, lp.magnitude(0.15), 1e-9, "ganancia en el borde, orden " + order);
+            for (double f = 0; f < 0.15; f += 0.005) {
+                double m = lp.magnitude(f);
+                assertTrue(m <= 1.0 + 1e-9 && m >= edge - 1e-9, "rizado en f=" + f);
+            }
+            SOSFilter hp = SOSFilter.chebyshevHighPass(order, ripple, 0.15);
+            assertEquals(edge, hp.magnitude(0.15), 1e-9);
+        }
+        SOSFilter bp = SOSFilter.chebyshevBandPass(2, ripple, 0.1, 0.2);
+        assertEquals(edge, bp.magnitude(0.1), 1e-9);
+        assertEquals(edge, bp.magnitude(0.2), 1e-9);
+    }
+
+    @Test
+    void testFilterMatchesDifferenceEquation() {
+        SOSFilter f = SOSFilter.butterworthLowPass(2, 0.1);
+        double[] c = f.getSections()[0];
+        Random rnd = new Random(1);
+        double[] x = new double[200];
+        for (int i = 0; i < x.length; i++) x[i] = rnd.nextGaussian();
+
+        double[] expected = new double[x.length];
+        for (int n = 0; n < x.length; n++) {
+            double v = c[0] * x[n];
+            if (n >= 1) v += c[1] * x[n - 1] - c[4] * expected[n - 1];
+            if (n >= 2) v += c[2] * x[n - 2] - c[5] * expected[n - 2];
+            expected[n] = v;
+        }
+        assertArrayEquals(expected, f.filter(x), 1e-12);
+
+        // en sitio y multi-canal dan lo mismo
+        double[][] channels = {x.clone(), x.clone(), new double[0]};
+        double[][] out = f.filter(channels);
+        assertArrayEquals(expected, out[0], 1e-12);
+        assertArrayEquals(expected, out[1], 1e-12);
+        assertEquals(0, out[2].length);
+        double[] inPlace = x.clone();
+        f.filter(inPlace, inPlace);
+        assertArrayEquals(expected, inPlace, 1e-12);
+    }
+
+    @Test
+    void testInvalidDesigns() {
+        assertThrows(IllegalArgumentException.class, () -> SOSFilter.butterworthLowPass(0, 0.1));
+        assertThrows(IllegalArgumentException.class, () -> SOSFilter.butterworthLowPass(2, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> SOSFilter.butterworthBandPass(2, 0.2, 0.1));
+        assertThrows(IllegalArgumentException.class, () -> SOSFilter.chebyshevLowPass(2, 0.0, 0.1));
+    }
+}
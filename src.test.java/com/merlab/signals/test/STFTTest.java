@@ -0,0 +1,77 @@
+package com.merlab.signals.test;
+
+import com.merlab.signals.core.Complex;
+import com.merlab.signals.core.STFT;
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.core.SignalProcessor;
+import com.merlab.signals.core.Spectrogram;
+import com.merlab.signals.core.WindowFunction;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class STFTTest {
+
+    @Test
+    void testWindows() {
+        double[] hann = WindowFunction.HANN.coefficients(8);
+        assertEquals(0.0, hann[0], 1e-15);
+        assertEquals(1.0, hann[4], 1e-15);
+        assertEquals(hann[1], hann[7], 1e-15, "periódica: simétrica respecto a n/2");
+        assertEquals(0.08, WindowFunction.HAMMING.coefficients(8)[0], 1e-12);
+        assertEquals(0.0, WindowFunction.BLACKMAN.coefficients(8)[0], 1e-12);
+        assertArrayEquals(new double[] {1, 1, 1}, WindowFunction.RECTANGULAR.coefficients(3));
+    }
+
+    @Test
+    void testFramesMatchWindowedFFT() {
+        double[] x = new double[1000];
+        for (int i = 0; i < x.length; i++) x[i] = Math.sin(0.3 * i) + 0.1 * Math.cos(1.7 * i);
+        STFT stft = new STFT(64, 24, WindowFunction.HAMMING);
+        Spectrogram s = stft.magnitude(x);
+        assertEquals(1 + (1000 - 64) / 24, s.frames());
+        assertEquals(33, s.bins());
+        double[] w = stft.windowCoefficients();
+        for (int t : new int[] {0, 7, s.frames() - 1}) {
+            double[] frame = new double[64];
+            for (int i = 0; i < 64; i++) frame[i] = x[t * 24 + i] * w[i];
+            List<Complex> ref = SignalProcessor.fft(frame);
+            for (int k = 0; k < s.bins(); k++) {
+                assertEquals(ref.get(k).abs(), s.get(t, k), 1e-9, "t=" + t + " k=" + k);
+            }
+        }
+        Spectrogram p = stft.power(new Signal(x));
+        assertEquals(s.get(3, 5) * s.get(3, 5), p.get(3, 5), 1e-9);
+    }
+
+    @Test
+    void testSinePeakAndAxes() {
+        double fs = 1000, f0 = 125;
+        double[] x = new double[4096];
+        for (int i = 0; i < x.length; i++) x[i] = Math.sin(2 * Math.PI * f0 * i / fs);
+        Spectrogram s = new STFT(256, 128, WindowFunction.HANN).magnitude(x);
+        double[] mean = s.meanSpectrum();
+        int peak = 0;
+        for (int k = 1; k < mean.length; k++) if (mean[k] > mean[peak]) peak = k;
+        assertEquals(f0, s.frequencies(fs)[peak], 1e-9);
+        assertEquals(0.128, s.times(fs)[0], 1e-12);
+        assertArrayEquals(s.frame(2), s.toMatrix()[2]);
+        String trace = s.toPlotlyHeatmap(fs, true);
+        assertTrue(trace.startsWith("{\"type\":\"heatmap\""));
+        assertTrue(s.toPlotlyHtml("x", fs, false).contains("Plotly.newPlot"));
+    }
+
+    @Test
+    void testShortSignalAndErrors() {
+        Spectrogram s = new STFT(16, 4, WindowFunction.HANN).magnitude(new double[10]);
+        assertEquals(0, s.frames());
+        assertEquals(0, s.data().length);
+        assertTrue(Arrays.stream(s.meanSpectrum()).allMatch(v -> v == 0.0));
+        assertThrows(IllegalArgumentException.class, () -> new STFT(0, 1, WindowFunction.HANN));
+        assertThrows(IllegalArgumentException.class, () -> new STFT(8, 0, WindowFunction.HANN));
+    }
+}
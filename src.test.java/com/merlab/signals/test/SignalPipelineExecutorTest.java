@@ -0,0 +1,141 @@
+package com.merlab.signals.test;
+
+import org.junit.jupiter.api.Test;
+
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.core.SignalManager;
+import com.merlab.signals.core.SignalPipelineExecutor;
+import com.merlab.signals.core.SignalPipelineExecutor.Stage;
+import com.merlab.signals.core.SignalPipelineExecutor.StageMetrics;
+import com.merlab.signals.core.SignalProvider;
+import com.merlab.signals.core.SignalStack;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignalPipelineExecutorTest {
+
+    /** Proveedor que entrega las señales {base, base+1, ...} de una muestra y luego null. */
+    private static SignalProvider counting(int base, int count) {
+        AtomicInteger next = new AtomicInteger();
+        return () -> {
+            int i = next.getAndIncrement();
+            return i < count ? new Signal(new double[] {base + i}) : null;
+        };
+    }
+
+    @Test
+    void testManyProvidersThroughBoundedStages() throws InterruptedException {
+        Queue<Double> saved = new ConcurrentLinkedQueue<>();
+        AtomicInteger plotted = new AtomicInteger();
+        List<Stage> stages = List.of(
+            new Stage("doble", 3, s -> Signal.wrap(new double[] {s.get(0) * 2})),
+            new Stage("más uno", 2, s -> Signal.wrap(new double[] {s.get(0) + 1})));
+        SignalPipelineExecutor ex = new SignalPipelineExecutor(stages, 2,
+            s -> saved.add(s.get(0)), (title, s) -> plotted.incrementAndGet());
+
+        List<SignalProvider> providers = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            providers.add(counting(p * 1000, 250));
+        }
+        assertEquals(1000, ex.run(providers, Integer.MAX_VALUE));
+
+        List<Double> expected = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            for (int i = 0; i < 250; i++) {
+                expected.add(2.0 * (p * 1000 + i) + 1);
+            }
+        }
+        List<Double> got = new ArrayList<>(saved);
+        Collections.sort(got);
+        assertEquals(expected, got);
+        // fuente + dos etapas
+        assertEquals(3000, plotted.get());
+
+        List<StageMetrics> m = ex.getMetrics();
+        assertEquals(List.of("source", "doble", "más uno", "plot", "save"),
+            m.stream().map(StageMetrics::getName).toList());
+        for (StageMetrics sm : m) {
+            assertEquals(sm.getName().equals("plot") ? 3000 : 1000, sm.getProcessed(), sm.getName());
+            assertEquals(0, sm.getFailed());
+            assertEquals(0, sm.getQueued());
+            assertTrue(sm.getThroughputPerSecond() > 0);
+        }
+    }
+
+    @Test
+    void testFailingSignalsAreDroppedAndCounted() throws InterruptedException {
+        List<Stage> stages = List.of(new Stage("impares", 2, s -> {
+            if (s.get(0) % 2 == 0) {
+                throw new IllegalArgumentException("par: " + s.get(0));
+            }
+            return s;
+        }));
+        SignalPipelineExecutor ex = new SignalPipelineExecutor(stages, 1, null, null);
+        // maxPerProvider corta antes del null del proveedor
+        assertEquals(5, ex.run(List.of(counting(0, 100)), 10));
+
+        StageMetrics m = ex.getMetrics().get(1);
+        assertEquals(5, m.getProcessed());
+        assertEquals(5, m.getFailed());
+        assertInstanceOf(IllegalArgumentException.class, ex.getFirstError());
+        assertEquals(2, ex.getMetrics().size());
+
+        // sin proveedores termina sin hacer nada
+        assertEquals(0, ex.run(List.of(), 10));
+    }
+
+    @Test
+    void testManagerPipelineMatchesRunPipelineStages() throws InterruptedException {
+        SignalManager mgr = new SignalManager(null, new SignalStack(), null, true, false, true);
+        SignalPipelineExecutor ex = mgr.pipelineExecutor(2, 4, false);
+        assertEquals(List.of("Señal Procesada", "Media & Varianza", "Salida NN"),
+            ex.getStages().stream().map(Stage::getName).toList());
+
+        Queue<Signal> out = new ConcurrentLinkedQueue<>();
+        List<Stage> withCapture = new ArrayList<>(ex.getStages());
+        SignalPipelineExecutor capturing = new SignalPipelineExecutor(withCapture, 4, out::add, null);
+        SignalProvider one = () -> new Signal(new double[] {5, 2, 4, 8});
+        assertEquals(3, capturing.run(List.of(one), 3));
+
+        // mismo resultado que normalizar, estadísticas y NN sobre el stack
+        SignalStack stack = new SignalStack();
+        SignalManager serial = new SignalManager(null, stack, null, true, false, true);
+        serial.addSignal(new Signal(new double[] {5, 2, 4, 8}));
+        serial.normalizeLastSignal();
+        serial.statsLastSignal();
+        serial.nnLastSignal();
+        for (Signal s : out) {
+            assertArrayEquals(stack.peek().view(), s.view(), 1e-12);
+        }
+    }
+
+    @Test
+    void testErrorsDoNotHangThePipeline() {
+        // un Error en una etapa o en el dibujo no debe dejar run() bloqueado
+        List<Stage> stages = List.of(
+            new Stage("frágil", 2, s -> {
+                if (s.get(0) % 3 == 0) {
+                    throw new StackOverflowError("simulado");
+                }
+                return s;
+            }),
+            new Stage("igual", 1, s -> s));
+        SignalPipelineExecutor ex = new SignalPipelineExecutor(stages, 1, null, (title, s) -> {
+            throw new ExceptionInInitializerError("simulado");
+        });
+        long done = assertTimeoutPreemptively(Duration.ofSeconds(10),
+            () -> ex.run(List.of(counting(0, 30)), Integer.MAX_VALUE));
+        assertEquals(20, done);
+        assertEquals(10, ex.getMetrics().get(1).getFailed());
+        assertEquals(30 + 20 + 20, ex.getMetrics().get(3).getFailed());
+        assertInstanceOf(Error.class, ex.getFirstError());
+    }
+}
@@ -0,0 +1,115 @@
+package com.merlab.signals.test;
+
+import org.junit.jupiter.api.Test;
+
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.core.SignalManager;
+import com.merlab.signals.core.SignalManager.RPNOp;
+import com.merlab.signals.core.SignalPool;
+import com.merlab.signals.core.SignalProcessor.LengthMode;
+import com.merlab.signals.core.SignalStack;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignalPoolTest {
+
+    @Test
+    void testReleasedBufferIsReused() {
+        SignalPool pool = new SignalPool(2);
+        Signal a = pool.acquire(4);
+        double[] buf = a.view();
+        assertEquals(4, a.size());
+
+        assertTrue(pool.release(a));
+        // la señal liberada queda vacía y no se puede liberar dos veces
+        assertEquals(0, a.size());
+        assertFalse(pool.release(a));
+        assertEquals(1, pool.getPooledCount());
+
+        Signal b = pool.acquire(4);
+        assertSame(buf, b.view());
+        assertEquals(1, pool.getHits());
+        assertEquals(1, pool.getMisses());
+        assertEquals(0, pool.getPooledCount());
+    }
+
+    @Test
+    void testForeignSignalsAreIgnored() {
+        SignalPool pool = new SignalPool(1);
+        Signal foreign = new Signal(new double[] {1, 2, 3});
+        assertFalse(pool.release(foreign));
+        assertEquals(3, foreign.size());
+        assertFalse(pool.release(null));
+        assertThrows(IllegalArgumentException.class, () -> new SignalPool(0));
+    }
+
+    @Test
+    void testManagerPipelineRecyclesIntermediates() {
+        SignalPool pool = new SignalPool(4);
+        SignalStack stack = new SignalStack();
+        SignalManager mgr = new SignalManager(null, stack, null, false, false, false, pool);
+        Signal x = new Signal(new double[] {1, 2, 3});
+        Signal y = new Signal(new double[] {4, 5, 6});
+
+        // ((x + y) * y) + x, tres veces: solo los primeros intermedios son nuevos
+        for (int round = 0; round < 3; round++) {
+            stack.push(x);
+            stack.push(y);
+            mgr.operateRPN(RPNOp.ADD, LengthMode.REQUIRE_EQUAL);
+            stack.push(y);
+            mgr.operateRPN(RPNOp.MULTIPLY, LengthMode.REQUIRE_EQUAL);
+            stack.push(x);
+            mgr.operateRPN(RPNOp.ADD, LengthMode.REQUIRE_EQUAL);
+            assertArrayEquals(new double[] {21, 37, 57}, stack.peek().view(), 1e-12);
+            pool.release(stack.pop());
+        }
+        assertEquals(2, pool.getMisses());
+        assertEquals(7, pool.getHits());
+        // las entradas no son de la reserva y siguen intactas
+        assertArrayEquals(new double[] {1, 2, 3}, x.view(), 0.0);
+
+        // sin reserva el resultado es el mismo
+        SignalStack plain = new SignalStack();
+        SignalManager ref = new SignalManager(null, plain, null, false, false, false);
+        plain.push(x);
+        plain.push(y);
+        ref.operateRPN(RPNOp.ADD, LengthMode.REQUIRE_EQUAL);
+        assertArrayEquals(new double[] {5, 7, 9}, plain.peek().view(), 0.0);
+    }
+
+    @Test
+    void testFailedOperationAndDroppedSignalsReturnToPool() {
+        SignalPool pool = new SignalPool(4);
+        SignalStack stack = new SignalStack(2, SignalStack.EvictionPolicy.DROP_OLDEST);
+        SignalManager mgr = new SignalManager(null, stack, null, false, false, false, pool);
+
+        // la división falla: el buffer reservado vuelve a la reserva y el stack no cambia
+        Signal num = new Signal(new double[] {1, 2});
+        Signal den = new Signal(new double[] {1, 0});
+        stack.push(num);
+        stack.push(den);
+        assertThrows(IllegalArgumentException.class,
+            () -> mgr.operateRPN(RPNOp.DIVIDE, LengthMode.REQUIRE_EQUAL));
+        assertEquals(1, pool.getPooledCount());
+        assertSame(den, stack.peek());
+
+        // un resultado de la reserva expulsado por DROP_OLDEST también vuelve
+        stack.push(new Signal(new double[] {3, 4}));
+        mgr.operateRPN(RPNOp.ADD, LengthMode.REQUIRE_EQUAL);
+        Signal result = stack.peek();
+        assertEquals(0, pool.getPooledCount());
+        stack.push(new Signal(new double[] {5, 6}));
+        stack.push(new Signal(new double[] {7, 8}));
+        assertEquals(0, result.size());
+        assertEquals(1, pool.getPooledCount());
+
+        // y los que quedan al vaciar el stack
+        stack.push(new Signal(new double[] {1, 1}));
+        mgr.operateRPN(RPNOp.ADD, LengthMode.REQUIRE_EQUAL);
+        stack.clear();
+        assertEquals(1, pool.getPooledCount());
+        // un único buffer ha servido a las tres operaciones
+        assertEquals(1, pool.getMisses());
+        assertEquals(2, pool.getHits());
+    }
+}
@@ -1,6 +1,7 @@
 package com.merlab.signals.test;
 
 import com.merlab.signals.core.Complex;
+import com.merlab.signals.core.FFT;
 import com.merlab.signals.core.Signal;
 import com.merlab.signals.core.SignalGenerator;
 import com.merlab.signals.core.SignalProcessor;
@@ -8,6 +9,7 @@ import com.merlab.signals.core.SignalProcessor;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -75,4 +77,138 @@ class SignalProcessorFFTTest {
     void testFFTSize1024() {
         checkFFT(1024);
     }    
+    @Test
+    void testIterativeFFTMatchesDirectDFT() {
+        int n = 64;
+        Random rnd = new Random(42);
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) x[i] = rnd.nextGaussian();
+
+        double[] re = x.clone(), im = new double[n];
+        FFT.forward(re, im);
+
+        for (int k = 0; k < n; k++) {
+            double sr = 0, si = 0;
+            for (int j = 0; j < n; j++) {
+                double angle = -2 * Math.PI * j * k / n;
+                sr += x[j] * Math.cos(angle);
+                si += x[j] * Math.sin(angle);
+            }
+            assertEquals(sr, re[k], 1e-9, "re[" + k + "]");
+            assertEquals(si, im[k], 1e-9, "im[" + k + "]");
+        }
+    }
+
+    @Test
+    void testInverseFFTRoundTrip() {
+        int n = 1 << 12;
+        Random rnd = new Random(7);
+        double[] re = new double[n], im = new double[n];
+        for (int i = 0; i < n; i++) {
+            re[i] = rnd.nextDouble();
+            im[i] = rnd.nextDouble();
+        }
+        double[] re0 = re.clone(), im0 = im.clone();
+        SignalProcessor.fft(re, im);
+        SignalProcessor.ifft(re, im);
+        assertArrayEquals(re0, re, 1e-9, "ifft(fft(x)) real");
+        assertArrayEquals(im0, im, 1e-9, "ifft(fft(x)) imag");
+    }
+
+    @Test
+    void testPlanIsCachedPerSize() {
+        assertSame(FFT.plan(1024), FFT.plan(1024));
+        assertThrows(IllegalArgumentException.class, () -> FFT.plan(1000));
+    }
+
+    @Test
+    void testArbitraryLengthMatchesDirectDFT() {
+        for (int n : new int[] {1, 3, 5, 12, 100, 243}) {
+            Random rnd = new Random(n);
+            double[] xr = new double[n], xi = new double[n];
+            for (int i = 0; i < n; i++) {
+                xr[i] = rnd.nextGaussian();
+                xi[i] = rnd.nextGaussian();
+            }
+            double[] re = xr.clone(), im = xi.clone();
+            FFT.forward(re, im);
+
+            for (int k = 0; k < n; k++) {
+                double sr = 0, si = 0;
+                for (int j = 0; j < n; j++) {
+                    double angle = -2 * Math.PI * ((long) j * k % n) / n;
+                    double c = Math.cos(angle), s = Math.sin(angle);
+                    sr += xr[j] * c - xi[j] * s;
+                    si += xr[j] * s + xi[j] * c;
+                }
+                assertEquals(sr, re[k], 1e-8, "n=" + n + " re[" + k + "]");
+                assertEquals(si, im[k], 1e-8, "n=" + n + " im[" + k + "]");
+            }
+
+            FFT.inverse(re, im);
+            assertArrayEquals(xr, re, 1e-9, "ifft(fft(x)) real, n=" + n);
+            assertArrayEquals(xi, im, 1e-9, "ifft(fft(x)) imag, n=" + n);
+        }
+    }
+
+    @Test
+    void testRealFFTMatchesComplexFFT() {
+        for (int n : new int[] {2, 7, 16, 30, 1000}) {
+            Random rnd = new Random(31 + n);
+            double[] x = new double[n];
+            for (int i = 0; i < n; i++) x[i] = rnd.nextGaussian();
+
+            double[] re = x.clone(), im = new double[n];
+            FFT.forward(re, im);
+
+            int bins = n / 2 + 1;
+            double[] rr = new double[bins], ri = new double[bins];
+            FFT.realForward(x, rr, ri);
+            for (int k = 0; k < bins; k++) {
+                assertEquals(re[k], rr[k], 1e-9, "n=" + n + " re[" + k + "]");
+                assertEquals(im[k], ri[k], 1e-9, "n=" + n + " im[" + k + "]");
+            }
+
+            // la lista completa se reconstruye por simetría conjugada
+            List<Complex> full = SignalProcessor.fft(x);
+            assertEquals(n, full.size());
+            for (int k = 0; k < n; k++) {
+                assertEquals(re[k], full.get(k).re, 1e-9, "n=" + n + " X[" + k + "].re");
+                assertEquals(im[k], full.get(k).im, 1e-9, "n=" + n + " X[" + k + "].im");
+            }
+        }
+    }
+
+    @Test
+    void testFFTNonPowerOfTwoSine() {
+        checkFFT(100);
+        checkFFT(1000);
+    }
+
+    @Test
+    void testRealForwardWithPlanAndScratchMatches() {
+        Random rnd = new Random(7);
+        // radix-2, mitad Bluestein e impar
+        for (int n : new int[] {64, 90, 45, 1, 2}) {
+            FFT.RealPlan plan = FFT.realPlan(n);
+            FFT.RealPlan.Scratch scratch = plan.newScratch();
+            assertEquals(n / 2 + 1, plan.bins());
+            // el mismo scratch sirve para varias tramas seguidas
+            for (int frame = 0; frame < 3; frame++) {
+                double[] x = new double[n];
+                for (int i = 0; i < n; i++) {
+                    x[i] = rnd.nextGaussian();
+                }
+                double[] re = new double[plan.bins()], im = new double[plan.bins()];
+                double[] rr = new double[plan.bins()], ri = new double[plan.bins()];
+                FFT.realForward(x, re, im);
+                FFT.realForward(plan, x, rr, ri, scratch);
+                assertArrayEquals(re, rr, 0.0, "n=" + n);
+                assertArrayEquals(im, ri, 0.0, "n=" + n);
+            }
+        }
+        FFT.RealPlan p8 = FFT.realPlan(8);
+        assertThrows(IllegalArgumentException.class,
+            () -> FFT.realForward(p8, new double[6], new double[4], new double[4], p8.newScratch()));
+    }
 }
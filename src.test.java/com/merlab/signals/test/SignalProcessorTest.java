@@ -368,4 +368,47 @@ public class SignalProcessorTest {
 	            "Señal corta < kernel debe devolver lista vacía");
 	    }	    
 
+	    @Test
+	    void testArrayOverloadsMatchListVersions() {
+	        List<Double> a = Arrays.asList(1.0, 4.0, 2.0, 8.0, 5.0);
+	        List<Double> b = Arrays.asList(0.5, 1.0, 2.0);
+	        double[] x = {1.0, 4.0, 2.0, 8.0, 5.0};
+	        double[] h = {0.5, 1.0, 2.0};
+	        assertArrayEquals(toArray(SignalProcessor.convolve(a, b)),
+	                          SignalProcessor.convolve(x, h), 1e-12, "convolve double[]");
+	        assertArrayEquals(toArray(SignalProcessor.movingAverage(a, 3)),
+	                          SignalProcessor.movingAverage(x, 3), 1e-12, "movingAverage double[]");
+	        assertArrayEquals(toArray(SignalProcessor.highPassFilter(a, 0.7)),
+	                          SignalProcessor.highPassFilter(x, 0.7), 1e-12, "highPassFilter double[]");
+	        assertArrayEquals(toArray(SignalProcessor.derivative(a, 2)),
+	                          SignalProcessor.derivative(x, 2), 1e-12, "derivative double[]");
+	    }
+
+	    @Test
+	    void testArrayOverloadsInPlace() {
+	        double[] x = {1.0, 2.0, 3.0, 4.0};
+	        double[] same = SignalProcessor.bandPassFilter(x, 0.6, 0.4, x);
+	        double[] expected = SignalProcessor.bandPassFilter(new double[] {1.0, 2.0, 3.0, 4.0}, 0.6, 0.4);
+	        assertTrue(same == x, "Con out == x se debe escribir en sitio");
+	        assertArrayEquals(expected, x, 1e-12, "bandPass en sitio igual a fuera de sitio");
+	    }
+
+	    @Test
+	    void testArrayOverloadWrongBufferLength() {
+	        double[] x = {1.0, 2.0, 3.0};
+	        assertThrows(IllegalArgumentException.class, () ->
+	            SignalProcessor.addSignals(x, x, SignalProcessor.LengthMode.REQUIRE_EQUAL, new double[2]));
+	    }
+
+	    @Test
+	    void testDecimateWithRepeatedValues() {
+	        // decimate toma muestras por índice, no por valor
+	        List<Double> in = Arrays.asList(1.0, 1.0, 1.0, 1.0);
+	        assertEquals(Arrays.asList(1.0, 1.0), SignalProcessor.decimate(in, 2));
+	    }
+
+	    private static double[] toArray(List<Double> l) {
+	        return l.stream().mapToDouble(d -> d).toArray();
+	    }
+
 }
@@ -75,4 +75,59 @@ class SignalStackTest {
         stack.pop();
         assertEquals(3, snapshot.size(), "Snapshot no debe cambiar tras pop en el stack");
     }
+
+    @Test
+    void testBoundedStackPolicies() {
+        SignalStack dropping = new SignalStack(3, SignalStack.EvictionPolicy.DROP_OLDEST);
+        Signal[] s = new Signal[5];
+        for (int i = 0; i < s.length; i++) {
+            s[i] = new Signal(new double[] {i});
+            dropping.push(s[i]);
+        }
+        // quedan las tres más recientes, del tope al fondo
+        assertEquals(3, dropping.size());
+        assertEquals(2, dropping.getEvictedCount());
+        assertSame(s[4], dropping.peek());
+        assertSame(s[3], dropping.peekSecond());
+        assertSame(s[2], dropping.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> dropping.get(3));
+
+        SignalStack rejecting = new SignalStack(2, SignalStack.EvictionPolicy.REJECT);
+        rejecting.push(s[0]);
+        rejecting.push(s[1]);
+        assertThrows(IllegalStateException.class, () -> rejecting.push(s[2]));
+        assertSame(s[1], rejecting.peek());
+        assertThrows(IllegalArgumentException.class,
+            () -> new SignalStack(0, SignalStack.EvictionPolicy.REJECT));
+    }
+
+    @Test
+    void testGrowthAndWraparoundKeepLifoOrder() {
+        SignalStack stack = new SignalStack();
+        // pop/push alternados desplazan el tope por el array circular
+        for (int i = 0; i < 10; i++) {
+            stack.push(new Signal(new double[] {-1}));
+            stack.pop();
+        }
+        Signal[] s = new Signal[40];
+        for (int i = 0; i < s.length; i++) {
+            s[i] = new Signal(new double[] {i});
+            stack.push(s[i]);
+        }
+        stack.push(null);
+        assertNull(stack.pop());
+
+        List<Signal> seen = new java.util.ArrayList<>();
+        stack.forEach(seen::add);
+        List<Signal> snapshot = stack.getStack();
+        assertEquals(s.length, seen.size());
+        for (int i = 0; i < s.length; i++) {
+            assertSame(s[s.length - 1 - i], seen.get(i));
+            assertSame(s[s.length - 1 - i], snapshot.get(i));
+            assertSame(s[s.length - 1 - i], stack.get(i));
+        }
+        stack.clear();
+        assertTrue(stack.isEmpty());
+        assertEquals(s.length, snapshot.size());
+    }
 }
@@ -0,0 +1,78 @@
+package com.merlab.signals.test;
+
+import org.junit.jupiter.api.Test;
+
+import com.merlab.signals.core.Signal;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignalTest {
+
+    @Test
+    void testAddGrowsPastInitialCapacity() {
+        Signal s = new Signal();
+        for (int i = 0; i < 1000; i++) {
+            s.add(i);
+        }
+        assertEquals(1000, s.size());
+        assertEquals(999.0, s.get(999), 1e-12);
+        assertThrows(IndexOutOfBoundsException.class, () -> s.get(1000));
+    }
+
+    @Test
+    void testGetValuesIsLiveAndUnmodifiable() {
+        Signal s = new Signal(Arrays.asList(1.0, 2.0));
+        List<Double> view = s.getValues();
+        s.add(3.0);
+        // la vista refleja el nuevo valor
+        assertEquals(Arrays.asList(1.0, 2.0, 3.0), view);
+        assertThrows(UnsupportedOperationException.class, () -> view.add(4.0));
+    }
+
+    @Test
+    void testToArrayCopiesAndViewShares() {
+        Signal s = new Signal(new double[] {1.0, 2.0, 3.0});
+        double[] copy = s.toArray();
+        copy[0] = 99.0;
+        assertEquals(1.0, s.get(0), 1e-12, "toArray debe devolver una copia");
+
+        double[] shared = s.view();
+        assertEquals(3, shared.length);
+        shared[0] = 42.0;
+        assertEquals(42.0, s.get(0), 1e-12, "view debe compartir el array interno");
+    }
+
+    @Test
+    void testWrapDoesNotCopy() {
+        double[] raw = {5.0, 6.0};
+        Signal s = Signal.wrap(raw);
+        assertSame(raw, s.view());
+    }
+
+    @Test
+    void testViewOfGrownSignalDoesNotTrimIt() {
+        Signal s = new Signal();
+        for (int i = 0; i < 20; i++) {
+            s.add(i);
+        }
+        // con capacidad sobrante view() copia y deja la señal como estaba
+        double[] first = s.view();
+        assertEquals(20, first.length);
+        assertNotSame(first, s.view());
+        assertArrayEquals(first, s.view(), 0.0);
+
+        s.trimToSize();
+        assertSame(s.view(), s.view());
+        assertArrayEquals(first, s.view(), 0.0);
+    }
+
+    @Test
+    void testSetValuesFromOwnView() {
+        Signal s = new Signal(Arrays.asList(1.0, 2.0, 3.0));
+        s.setValues(s.getValues());
+        assertEquals(Arrays.asList(1.0, 2.0, 3.0), s.getValues());
+    }
+}
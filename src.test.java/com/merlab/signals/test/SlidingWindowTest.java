@@ -0,0 +1,73 @@
+package com.merlab.signals.test;
+
+import com.merlab.signals.core.SlidingWindow;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowTest {
+
+    /** Referencia por fuerza bruta: ordena cada ventana */
+    private static double[][] bruteForce(double[] x, int w) {
+        int n = x.length - w + 1;
+        double[] med = new double[n], min = new double[n], max = new double[n];
+        for (int i = 0; i < n; i++) {
+            double[] win = Arrays.copyOfRange(x, i, i + w);
+            Arrays.sort(win);
+            med[i] = (w % 2 == 1) ? win[w / 2] : (win[w / 2 - 1] + win[w / 2]) / 2.0;
+            min[i] = win[0];
+            max[i] = win[w - 1];
+        }
+        return new double[][] {med, min, max};
+    }
+
+    @Test
+    void testMatchesBruteForceWithDuplicates() {
+        Random rnd = new Random(11);
+        double[] x = new double[500];
+        // valores enteros pequeños para forzar muchos empates
+        for (int i = 0; i < x.length; i++) x[i] = rnd.nextInt(7);
+        for (int w : new int[] {1, 2, 3, 8, 33, 500}) {
+            double[][] ref = bruteForce(x, w);
+            assertArrayEquals(ref[0], SlidingWindow.movingMedian(x, w), "mediana w=" + w);
+            assertArrayEquals(ref[1], SlidingWindow.movingMin(x, w), "min w=" + w);
+            assertArrayEquals(ref[2], SlidingWindow.movingMax(x, w), "max w=" + w);
+        }
+    }
+
+    @Test
+    void testRandomDoublesAndRange() {
+        Random rnd = new Random(3);
+        double[] x = new double[2000];
+        for (int i = 0; i < x.length; i++) x[i] = rnd.nextGaussian();
+        int w = 64;
+        double[][] ref = bruteForce(x, w);
+        assertArrayEquals(ref[0], SlidingWindow.movingMedian(x, w));
+        double[] range = SlidingWindow.movingRange(x, w);
+        for (int i = 0; i < range.length; i++) {
+            assertEquals(ref[2][i] - ref[1][i], range[i], 0.0);
+        }
+    }
+
+    @Test
+    void testLargeWindowIsFast() {
+        double[] x = new double[1_000_000];
+        Random rnd = new Random(5);
+        for (int i = 0; i < x.length; i++) x[i] = rnd.nextDouble();
+        long t0 = System.nanoTime();
+        double[] med = SlidingWindow.movingMedian(x, 10_001);
+        long ms = (System.nanoTime() - t0) / 1_000_000;
+        assertEquals(x.length - 10_000, med.length);
+        assertTrue(ms < 10_000, "mediana móvil con ventana 10k tardó " + ms + " ms");
+    }
+
+    @Test
+    void testInvalidWindow() {
+        assertThrows(IllegalArgumentException.class, () -> SlidingWindow.movingMedian(new double[3], 0));
+        assertThrows(IllegalArgumentException.class, () -> SlidingWindow.movingMax(new double[3], 4));
+    }
+}
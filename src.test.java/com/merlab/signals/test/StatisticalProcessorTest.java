@@ -257,6 +257,34 @@ class StatisticalProcessorTest {
         assertEquals(0.25, StatisticalProcessor.partialAutocorrelation(s, 1), 1e-9);
     }
 
+    @Test
+    void testAutocorrelationsFFTPathMatchesPerLag() {
+        java.util.Random rnd = new java.util.Random(21);
+        double[] x = new double[3000];
+        for (int i = 1; i < x.length; i++) x[i] = 0.8 * x[i - 1] + rnd.nextGaussian();
+        Signal s = new Signal(x);
+        double[] ac = StatisticalProcessor.autocorrelations(s, 400);
+        for (int k : new int[] {0, 1, 7, 64, 399, 400}) {
+            assertEquals(StatisticalProcessor.autocorrelation(s, k), ac[k], 1e-10, "lag=" + k);
+        }
+    }
+
+    @Test
+    void testPartialAutocorrelationsOfAR1() {
+        // AR(1) con φ = 0.8: PACF ≈ 0.8 en lag 1 y ≈ 0 después
+        java.util.Random rnd = new java.util.Random(5);
+        double[] x = new double[20000];
+        for (int i = 1; i < x.length; i++) x[i] = 0.8 * x[i - 1] + rnd.nextGaussian();
+        Signal s = new Signal(x);
+        double[] pacf = StatisticalProcessor.partialAutocorrelations(s, 100);
+        assertEquals(1.0, pacf[0], 0.0);
+        assertEquals(0.8, pacf[1], 0.02);
+        for (int k = 2; k <= 100; k++) {
+            assertEquals(0.0, pacf[k], 0.05, "lag=" + k);
+        }
+        assertEquals(pacf[5], StatisticalProcessor.partialAutocorrelation(s, 5), 1e-12);
+    }
+
     @Test
     void testCrossCorrelation() {
         // Dos señales idénticas [1,2,3], mean=2.0
@@ -0,0 +1,99 @@
+package com.merlab.signals.test;
+
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.core.StatisticalProcessor;
+import com.merlab.signals.core.StatsAccumulator;
+import com.merlab.signals.features.FeatureExtractor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatsAccumulatorTest {
+
+    private static double[] random(int n, long seed) {
+        Random rnd = new Random(seed);
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) x[i] = Math.exp(rnd.nextGaussian()); // asimétrica
+        return x;
+    }
+
+    @Test
+    void testMatchesTwoPassMoments() {
+        double[] x = random(5000, 1);
+        int n = x.length;
+        double sum = 0, sq = 0, abs = 0;
+        for (double v : x) { sum += v; sq += v * v; abs += Math.abs(v); }
+        double mu = sum / n;
+        double m2 = 0, m3 = 0, m4 = 0;
+        for (double v : x) {
+            double d = v - mu;
+            m2 += d * d; m3 += d * d * d; m4 += d * d * d * d;
+        }
+        StatsAccumulator acc = StatsAccumulator.of(x);
+        assertEquals(n, acc.count());
+        assertEquals(sum, acc.sum(), 1e-9);
+        assertEquals(mu, acc.mean(), 1e-12);
+        assertEquals(m2 / n, acc.variance(), 1e-9);
+        assertEquals(m3 / n, acc.thirdCentralMoment(), 1e-8);
+        assertEquals(m4 / n, acc.fourthCentralMoment(), 1e-7);
+        assertEquals(Math.sqrt(n) * m3 / Math.pow(m2, 1.5), acc.skewness(), 1e-9);
+        assertEquals(n * m4 / (m2 * m2), acc.kurtosis(), 1e-8);
+        assertEquals(sq, acc.energy(), 1e-9);
+        assertEquals(abs / n, acc.meanAbs(), 1e-12);
+    }
+
+    @Test
+    void testCombineEqualsSequential() {
+        double[] x = random(3001, 2);
+        StatsAccumulator whole = StatsAccumulator.of(x);
+        StatsAccumulator a = new StatsAccumulator(), b = new StatsAccumulator(), c = new StatsAccumulator();
+        for (int i = 0; i < x.length; i++) {
+            (i < 1000 ? a : i < 1001 ? b : c).add(x[i]);
+        }
+        a.combine(b).combine(c).combine(new StatsAccumulator());
+        assertEquals(whole.count(), a.count());
+        assertEquals(whole.mean(), a.mean(), 1e-12);
+        assertEquals(whole.variance(), a.variance(), 1e-10);
+        assertEquals(whole.skewness(), a.skewness(), 1e-9);
+        assertEquals(whole.kurtosis(), a.kurtosis(), 1e-9);
+        assertEquals(whole.min(), a.min(), 0.0);
+        assertEquals(whole.max(), a.max(), 0.0);
+    }
+
+    @Test
+    void testStableWithLargeOffset() {
+        // varianza 1 alrededor de 1e9: la fórmula E[x²]-E[x]² perdería todos los dígitos
+        Random rnd = new Random(3);
+        StatsAccumulator acc = new StatsAccumulator();
+        for (int i = 0; i < 100_000; i++) acc.add(1e9 + rnd.nextGaussian());
+        assertEquals(1.0, acc.variance(), 0.02);
+        assertEquals(3.0, acc.kurtosis(), 0.1);
+    }
+
+    @Test
+    void testStatisticalFeaturesMatchScalarStats() {
+        Signal s = new Signal(random(800, 4));
+        double[] f = FeatureExtractor.extractStatisticalFeatures(s).toArray();
+        assertEquals(FeatureExtractor.STATISTICAL_FEATURES.size(), f.length);
+        assertEquals(StatisticalProcessor.mean(s),          f[0], 1e-12);
+        assertEquals(StatisticalProcessor.variance(s),      f[1], 1e-12);
+        assertEquals(StatisticalProcessor.skewness(s),      f[3], 1e-12);
+        assertEquals(StatisticalProcessor.kurtosis(s),      f[4], 1e-12);
+        assertEquals(StatisticalProcessor.range(s),         f[7], 1e-12);
+        assertEquals(StatisticalProcessor.rms(s),           f[8], 1e-12);
+        assertEquals(StatisticalProcessor.crestFactor(s),   f[10], 1e-12);
+        assertEquals(StatisticalProcessor.impulseFactor(s), f[11], 1e-12);
+        assertEquals(StatisticalProcessor.shapeFactor(s),   f[12], 1e-12);
+    }
+
+    @Test
+    void testEmptyThrows() {
+        StatsAccumulator acc = new StatsAccumulator();
+        assertEquals(0.0, acc.sum(), 0.0);
+        assertThrows(IllegalArgumentException.class, acc::mean);
+        assertThrows(IllegalArgumentException.class, () -> StatisticalProcessor.variance(new Signal()));
+    }
+}
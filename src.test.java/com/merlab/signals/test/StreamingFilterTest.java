@@ -0,0 +1,102 @@
+package com.merlab.signals.test;
+
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.core.SignalProcessor;
+import com.merlab.signals.core.StatisticalProcessor;
+import com.merlab.signals.streaming.StreamingBandPass;
+import com.merlab.signals.streaming.StreamingDerivative;
+import com.merlab.signals.streaming.StreamingExponentialMovingAverage;
+import com.merlab.signals.streaming.StreamingFilter;
+import com.merlab.signals.streaming.StreamingHighPass;
+import com.merlab.signals.streaming.StreamingIntegrator;
+import com.merlab.signals.streaming.StreamingLowPass;
+import com.merlab.signals.streaming.StreamingMovingAverage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingFilterTest {
+
+    private static double[] random(int n, long seed) {
+        Random rnd = new Random(seed);
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) x[i] = Math.sin(i * 0.05) + 0.3 * rnd.nextGaussian();
+        return x;
+    }
+
+    /** Pasa la señal por el filtro en bloques de tamaño aleatorio (incluidos bloques vacíos). */
+    private static double[] streamInChunks(StreamingFilter f, double[] x, long seed) {
+        Random rnd = new Random(seed);
+        double[] out = new double[0];
+        int i = 0;
+        while (i < x.length) {
+            int len = Math.min(x.length - i, rnd.nextInt(40));
+            double[] y = f.process(Arrays.copyOfRange(x, i, i + len));
+            int old = out.length;
+            out = Arrays.copyOf(out, old + y.length);
+            System.arraycopy(y, 0, out, old, y.length);
+            i += len;
+        }
+        return out;
+    }
+
+    @Test
+    void testLowHighBandPassAreBitIdentical() {
+        double[] x = random(1000, 1);
+        // assertArrayEquals sin delta compara bit a bit
+        assertArrayEquals(SignalProcessor.lowPassFilter(x, 0.2),
+                          streamInChunks(new StreamingLowPass(0.2), x, 2));
+        assertArrayEquals(SignalProcessor.highPassFilter(x, 0.9),
+                          streamInChunks(new StreamingHighPass(0.9), x, 3));
+        assertArrayEquals(SignalProcessor.bandPassFilter(x, 0.9, 0.3),
+                          streamInChunks(new StreamingBandPass(0.9, 0.3), x, 4));
+    }
+
+    @Test
+    void testMovingAveragesAreBitIdentical() {
+        double[] x = random(777, 5);
+        for (int w : new int[] {1, 5, 64}) {
+            assertArrayEquals(SignalProcessor.movingAverage(x, w),
+                              streamInChunks(new StreamingMovingAverage(w), x, w), "window=" + w);
+            assertArrayEquals(StatisticalProcessor.movingAverage(new Signal(x), w).toArray(),
+                              streamInChunks(new StreamingMovingAverage(w), x, w + 1), "window=" + w);
+        }
+        assertArrayEquals(StatisticalProcessor.exponentialMovingAverage(new Signal(x), 0.1).toArray(),
+                          streamInChunks(new StreamingExponentialMovingAverage(0.1), x, 6));
+    }
+
+    @Test
+    void testDerivativeAndIntegratorAreBitIdentical() {
+        double[] x = random(500, 7);
+        for (int dt : new int[] {1, 3}) {
+            assertArrayEquals(SignalProcessor.derivative(x, dt),
+                              streamInChunks(new StreamingDerivative(dt), x, 8 + dt), "dt=" + dt);
+        }
+        assertArrayEquals(SignalProcessor.integrate(x),
+                          streamInChunks(new StreamingIntegrator(), x, 9));
+    }
+
+    @Test
+    void testMovingAverageEmitsOnlyFullWindows() {
+        StreamingMovingAverage ma = new StreamingMovingAverage(3);
+        assertEquals(0, ma.process(new double[] {1, 2}).length);
+        assertArrayEquals(new double[] {2.0, 3.0}, ma.process(new double[] {3, 4}), 1e-12);
+        ma.reset();
+        assertEquals(0, ma.process(new double[] {10}).length);
+    }
+
+    @Test
+    void testResetAndSignalChunks() {
+        StreamingLowPass lp = new StreamingLowPass(0.5);
+        Signal first = lp.process(new Signal(new double[] {4, 0}));
+        assertArrayEquals(new double[] {4, 2}, first.toArray(), 1e-12);
+        lp.reset();
+        assertEquals(8.0, lp.process(8.0), 1e-12, "tras reset el primer valor no cambia");
+        assertThrows(IllegalArgumentException.class, () -> new StreamingExponentialMovingAverage(0.0));
+        assertThrows(IllegalArgumentException.class, () -> new StreamingMovingAverage(0));
+    }
+}
@@ -0,0 +1,145 @@
+package com.merlab.signals.test;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.core.SignalManager;
+import com.merlab.signals.core.SignalManager.RPNOp;
+import com.merlab.signals.core.SignalProcessor.LengthMode;
+import com.merlab.signals.core.SignalPool;
+import com.merlab.signals.core.SignalStack;
+import com.merlab.signals.core.TieredSignalStack;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TieredSignalStackTest {
+
+    @TempDir
+    Path dir;
+
+    private static Signal ramp(int n, double start) {
+        double[] v = new double[n];
+        for (int i = 0; i < n; i++) {
+            v[i] = start + i;
+        }
+        return new Signal(v);
+    }
+
+    private long spillFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void testDeepSignalsSpillAndPageBackIn() throws IOException {
+        // 100 muestras = 800 bytes: caben dos señales en memoria
+        TieredSignalStack stack = new TieredSignalStack(1, 1600, dir);
+        Signal[] s = new Signal[5];
+        for (int i = 0; i < s.length; i++) {
+            s[i] = ramp(100, i * 1000);
+            stack.push(s[i]);
+        }
+        assertEquals(3, stack.getSpilledCount());
+        assertEquals(3, spillFiles());
+        assertEquals(3 * 800, stack.getSpilledBytes());
+        assertEquals(1600, stack.getResidentBytes());
+        // las volcadas siguen en el stack, vacías
+        assertEquals(0, s[0].size());
+
+        // pop/peekSecond devuelven las mismas instancias con su contenido
+        for (int i = s.length - 1; i >= 1; i--) {
+            assertSame(s[i - 1], stack.peekSecond());
+            assertSame(s[i], stack.pop());
+            assertArrayEquals(ramp(100, i * 1000).view(), s[i].view(), 0.0);
+        }
+        assertSame(s[0], stack.pop());
+        assertArrayEquals(ramp(100, 0).view(), s[0].view(), 0.0);
+
+        assertEquals(3, stack.getSpillCount());
+        assertEquals(3, stack.getPageInCount());
+        assertEquals(stack.getBytesWritten(), stack.getBytesRead());
+        assertEquals(0, stack.getSpilledBytes());
+        assertEquals(0, spillFiles());
+    }
+
+    @Test
+    void testHotSignalsStayResidentOverBudget() throws IOException {
+        TieredSignalStack stack = new TieredSignalStack(2, 0, dir);
+        Signal a = ramp(10, 0), b = ramp(10, 10), c = ramp(10, 20);
+        stack.push(a);
+        stack.push(b);
+        assertEquals(0, stack.getSpilledCount());
+        stack.push(c);
+        assertEquals(1, stack.getSpilledCount());
+        assertEquals(0, a.size());
+
+        // getStack carga todo; el siguiente push vuelve a aplicar el presupuesto
+        List<Signal> all = stack.getStack();
+        assertEquals(10, all.get(2).size());
+        assertEquals(0, stack.getSpilledCount());
+        stack.push(ramp(10, 30));
+        assertEquals(2, stack.getSpilledCount());
+
+        stack.close();
+        assertTrue(stack.isEmpty());
+        assertEquals(0, spillFiles());
+        assertThrows(IllegalArgumentException.class, () -> new TieredSignalStack(-1, 0, dir));
+    }
+
+    @Test
+    void testDropOldestDeletesSpilledBottomAndManagerWorks() throws IOException {
+        TieredSignalStack stack = new TieredSignalStack(1, 0, dir, 2, SignalStack.EvictionPolicy.DROP_OLDEST);
+        stack.push(ramp(4, 0));
+        stack.push(ramp(4, 10));
+        assertEquals(1, spillFiles());
+        stack.push(ramp(4, 20));
+        assertEquals(1, stack.getEvictedCount());
+        assertEquals(1, spillFiles());
+
+        // SignalManager opera igual sobre el stack por niveles
+        SignalManager mgr = new SignalManager(null, stack, null, false, false, false);
+        mgr.operateRPN(RPNOp.ADD, LengthMode.REQUIRE_EQUAL);
+        assertArrayEquals(new double[] {30, 32, 34, 36}, stack.peek().view(), 0.0);
+        assertEquals(0, spillFiles());
+    }
+
+    @Test
+    void testFailedSpillKeepsSignalInMemory() throws IOException {
+        // el directorio no existe: ningún volcado puede crear su fichero
+        TieredSignalStack stack = new TieredSignalStack(1, 0, dir.resolve("missing"));
+        Signal a = ramp(8, 0), b = ramp(8, 10);
+        stack.push(a);
+        stack.push(b);
+        assertEquals(2, stack.size());
+        assertEquals(1, stack.getSpillFailureCount());
+        assertNotNull(stack.getLastSpillError());
+        assertEquals(0, stack.getSpilledCount());
+        assertArrayEquals(ramp(8, 0).view(), a.view(), 0.0);
+        assertEquals(0, spillFiles());
+    }
+
+    @Test
+    void testPooledOperationsDoNotPageInDeepSignals() {
+        TieredSignalStack stack = new TieredSignalStack(2, 0, dir);
+        SignalManager mgr = new SignalManager(null, stack, null, false, false, false, new SignalPool(4));
+        for (int i = 0; i < 4; i++) {
+            stack.push(ramp(16, i * 100));
+        }
+        assertEquals(2, stack.getSpilledCount());
+        for (int i = 0; i < 3; i++) {
+            stack.push(ramp(16, 1000));
+            mgr.operateRPN(RPNOp.ADD, LengthMode.REQUIRE_EQUAL);
+        }
+        // el stack llegó a tener 5 señales y la más profunda sigue en disco
+        assertEquals(0, stack.getPageInCount());
+        assertEquals(4, stack.size());
+    }
+}
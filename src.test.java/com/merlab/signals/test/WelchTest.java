@@ -0,0 +1,82 @@
+package com.merlab.signals.test;
+
+import com.merlab.signals.core.PowerSpectrum;
+import com.merlab.signals.core.Signal;
+import com.merlab.signals.core.Welch;
+import com.merlab.signals.core.WindowFunction;
+import com.merlab.signals.features.FeatureExtractor;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WelchTest {
+
+    private static double[] sine(int n, double fs, double f0, double amp, double offset) {
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) x[i] = offset + amp * Math.sin(2 * Math.PI * f0 * i / fs);
+        return x;
+    }
+
+    @Test
+    void testSinePowerAndPeak() {
+        double fs = 1000;
+        // 125 Hz cae justo en un bin con segmento de 256; la media se elimina
+        PowerSpectrum psd = Welch.psd(sine(8192, fs, 125, 2.0, 5.0), fs, 256);
+        assertEquals(129, psd.size());
+        assertEquals(fs / 256, psd.binWidth(), 1e-12);
+        assertEquals(2.0 * 2.0 / 2, psd.totalPower(), 1e-6, "Parseval: A²/2");
+        assertEquals(2.0, psd.bandPower(100, 150), 1e-6);
+        assertEquals(0.0, psd.density()[0], 1e-12, "detrend constante");
+    }
+
+    @Test
+    void testWhiteNoiseTotalPowerIsVariance() {
+        Random rnd = new Random(8);
+        double[] x = new double[1 << 15];
+        for (int i = 0; i < x.length; i++) x[i] = 3.0 * rnd.nextGaussian();
+        PowerSpectrum psd = new Welch(512, 256, WindowFunction.HAMMING).psd(x, 100.0);
+        assertEquals(9.0, psd.totalPower(), 0.2);
+        // plano: densidad ≈ σ²/(fs/2)
+        assertEquals(9.0 / 50.0, psd.density()[100], 0.06);
+    }
+
+    @Test
+    void testSpectralFeatures() {
+        double fs = 1000;
+        Signal s = new Signal(sine(4096, fs, 125, 1.0, 0.0));
+        Signal f = FeatureExtractor.extractSpectralFeatures(s, fs);
+        assertEquals(FeatureExtractor.SPECTRAL_FEATURES.size() + FeatureExtractor.DEFAULT_BANDS, f.size());
+        assertEquals(125.0, f.get(0), 1.0, "centroid");
+        assertTrue(f.get(1) < 5.0, "bandwidth estrecho");
+        assertEquals(125.0, f.get(2), 4.0, "rolloff");
+        assertTrue(f.get(3) < 0.01, "tono puro: nada plano");
+        assertEquals(125.0, f.get(4), 1e-9, "dominante");
+        // 125 Hz está en la segunda banda [125, 250)
+        assertEquals(0.5, f.get(5) + f.get(6), 1e-6);
+        assertTrue(f.get(6) > f.get(5));
+        assertEquals(0.0, f.get(7), 1e-9);
+        assertEquals(0.0, f.get(8), 1e-9);
+
+        double[] flat = new double[65];
+        java.util.Arrays.fill(flat, 2.0);
+        Signal white = FeatureExtractor.extractSpectralFeatures(new PowerSpectrum(flat, 1.0));
+        assertEquals(1.0, white.get(3), 1e-12, "flatness de un espectro plano");
+        assertEquals(32.0, white.get(0), 1e-12);
+        assertEquals(5, white.size());
+    }
+
+    @Test
+    void testShortSignalAndErrors() {
+        PowerSpectrum psd = Welch.psd(new double[] {1, -1, 1, -1}, 4.0, 256);
+        assertEquals(3, psd.size());
+        assertThrows(IllegalArgumentException.class, () -> new Welch(64).psd(new double[10], 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new Welch(8, 0, WindowFunction.HANN));
+        assertThrows(IllegalArgumentException.class,
+            () -> FeatureExtractor.extractSpectralFeatures(psd, 2.0, 1.0));
+        Signal zero = FeatureExtractor.extractSpectralFeatures(new PowerSpectrum(new double[5], 1.0), 0, 1, 2);
+        assertArrayEquals(new double[7], zero.toArray());
+    }
+}